@@ -0,0 +1,158 @@
+package com.example.SAFPE.config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.function.ThrowingFunction;
+
+import com.example.SAFPE.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 한 종류의 작업만 실행하는 크기가 정해진 스레드 풀 (bulkhead)
+ * 
+ * 작업 종류마다 풀과 대기열을 따로 두어서 한 종류가 몰려도 다른 종류나 요청 스레드(Tomcat)는 영향을 받지 않는다. 대기열이 가득
+ * 차면 기다리지 않고 바로 429로 거절한다. (PasswordHashingExecutor와 같은 방식)
+ * 
+ * 제출한 스레드의 SecurityContext를 작업 스레드로 넘기므로 작업 안에서도 현재 사용자를 알 수 있다. 대기열 길이, 실행 중인 작업
+ * 수, 대기 시간, 거절 수, 제출한 스레드에서 실행한 수를 bulkhead.* 메트릭으로 남긴다. (name 태그로 구분)
+ */
+public class Bulkhead {
+
+	private final String name;
+	private final int queueCapacity;
+	private final ThreadPoolTaskExecutor executor;
+	private final Timer waitTimer;
+	private final Counter rejected;
+	private final Counter callerRuns;
+
+	public Bulkhead(String name, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+		this.name = name;
+		this.queueCapacity = queueCapacity;
+		this.waitTimer = Timer.builder("bulkhead.wait").description("Time tasks spent queued before a worker ran them")
+				.tag("name", name).register(meterRegistry);
+		this.rejected = Counter.builder("bulkhead.rejected").description("Tasks rejected because the queue was full")
+				.tag("name", name).register(meterRegistry);
+		this.callerRuns = Counter.builder("bulkhead.caller.runs")
+				.description("Tasks run by the submitting thread because the queue was full").tag("name", name)
+				.register(meterRegistry);
+
+		this.executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix(name + "-");
+		executor.setDaemon(true);
+		executor.setTaskDecorator(decorator());
+		executor.initialize();
+
+		Gauge.builder("bulkhead.queue.size", executor, pool -> pool.getThreadPoolExecutor().getQueue().size())
+				.description("Tasks waiting for a worker").tag("name", name)
+				.register(meterRegistry);
+		Gauge.builder("bulkhead.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+				.description("Tasks being executed").tag("name", name).register(meterRegistry);
+	}
+
+	/**
+	 * 풀에서 작업을 실행한다. (결과는 기다리지 않음)
+	 * 
+	 * @param task
+	 * @return 작업 결과 (작업에서 던진 예외로 실패할 수 있음)
+	 * @throws TooManyRequestsException 대기열이 가득 찬 경우
+	 */
+	public <T> CompletableFuture<T> submit(Callable<T> task) {
+		try {
+			return executor.submitCompletable(task);
+		} catch (TaskRejectedException e) {
+			rejected.increment();
+			throw new TooManyRequestsException("요청이 많습니다. 잠시 후 다시 시도해 주세요. (" + name + ")", 1);
+		}
+	}
+
+	/**
+	 * 풀에서 작업을 실행하되, 대기열이 가득 차면 거절하지 않고 제출한 스레드에서 직접 실행한다.
+	 * 
+	 * 한 요청이 여러 작업을 넣는 경우(일괄 생성 등)에 쓴다. 제출한 스레드가 작업을 하는 동안에는 더 넣지 못하므로 자연스럽게 속도가
+	 * 조절된다.
+	 * 
+	 * @param task
+	 * @return 작업 결과 (작업에서 던진 예외로 실패할 수 있음)
+	 */
+	public <T> CompletableFuture<T> submitOrRun(Callable<T> task) {
+		try {
+			return executor.submitCompletable(task);
+		} catch (TaskRejectedException e) {
+			callerRuns.increment();
+			try {
+				return CompletableFuture.completedFuture(task.call());
+			} catch (Exception failure) {
+				return CompletableFuture.failedFuture(failure);
+			}
+		}
+	}
+
+	/**
+	 * 앞선 비동기 작업(AI 분석 등)이 끝나면 그 결과로 풀에서 작업을 실행한다.
+	 * 
+	 * 앞선 작업을 기다리는 동안에는 풀의 스레드를 쓰지 않는다. 앞선 작업은 다른 스레드에서 끝나므로 SecurityContext는 이 메소드를
+	 * 호출한 스레드의 것을 넘긴다.
+	 * 
+	 * @param previous
+	 * @param task
+	 * @return 작업 결과 (대기열이 가득 찼으면 TooManyRequestsException으로 실패)
+	 */
+	public <T, R> CompletableFuture<R> submitAfter(CompletableFuture<T> previous, ThrowingFunction<T, R> task) {
+		SecurityContext context = SecurityContextHolder.getContext();
+		return previous.thenCompose(value -> submit(() -> {
+			SecurityContextHolder.setContext(context);
+			return task.applyWithException(value);
+		}));
+	}
+
+	/**
+	 * Spring MVC 비동기 처리(StreamingResponseBody 등)에 쓸 실행기
+	 */
+	public AsyncTaskExecutor asTaskExecutor() {
+		return executor;
+	}
+
+	public int getQueueDepth() {
+		return executor.getThreadPoolExecutor().getQueue().size();
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	// 대기 시간 기록, SecurityContext 전달
+	private TaskDecorator decorator() {
+		return runnable -> {
+			long submittedAt = System.nanoTime();
+			SecurityContext context = SecurityContextHolder.getContext();
+			return () -> {
+				waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+				SecurityContextHolder.setContext(context);
+				try {
+					runnable.run();
+				} finally {
+					SecurityContextHolder.clearContext();
+				}
+			};
+		};
+	}
+}
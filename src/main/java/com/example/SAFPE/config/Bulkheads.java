@@ -0,0 +1,69 @@
+package com.example.SAFPE.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 작업 종류별 스레드 풀
+ * 
+ * - render : PNG/PDF 내보내기 (CPU). 기본 크기는 CPU 코어의 절반
+ * - ai : AI 분석이 끝난 업로드의 이미지 저장과 프로젝트 저장 (분석을 기다리는 동안에는 스레드를 쓰지 않음)
+ * - storage : 업로드 파일 스트리밍, 일괄 생성의 이미지 저장 (디스크/네트워크 I/O, Spring MVC 비동기 실행기로도 사용)
+ * - thumbnail : 목록용 평면도 미리보기 생성 (PlanThumbnailService). 늦어져도 되는 작업이라 작게 두고 내보내기와 나누어 쓴다.
+ *
+ * ai 풀의 작업은 모두 트랜잭션을 열기 때문에 스레드 수를 DB 커넥션 풀(spring.datasource.hikari.maximum-pool-size)의 절반
+ * 이하로 제한한다. 업로드가 몰려도 나머지 커넥션은 목록 조회 같은 요청 스레드가 쓴다.
+ */
+@Component
+public class Bulkheads {
+
+	private final Bulkhead render;
+	private final Bulkhead ai;
+	private final Bulkhead storage;
+	private final Bulkhead thumbnail;
+
+	public Bulkheads(MeterRegistry meterRegistry, @Value("${bulkhead.render.threads:0}") int renderThreads,
+			@Value("${bulkhead.render.queue-capacity:32}") int renderQueueCapacity,
+			@Value("${bulkhead.ai.threads:4}") int aiThreads,
+			@Value("${bulkhead.ai.queue-capacity:64}") int aiQueueCapacity,
+			@Value("${bulkhead.storage.threads:8}") int storageThreads,
+			@Value("${bulkhead.storage.queue-capacity:128}") int storageQueueCapacity,
+			@Value("${bulkhead.thumbnail.threads:1}") int thumbnailThreads,
+			@Value("${bulkhead.thumbnail.queue-capacity:16}") int thumbnailQueueCapacity,
+			@Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+		int renderPoolSize = renderThreads > 0 ? renderThreads
+				: Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		this.render = new Bulkhead("render", renderPoolSize, renderQueueCapacity, meterRegistry);
+		int aiPoolSize = Math.max(1, Math.min(aiThreads, connectionPoolSize / 2));
+		this.ai = new Bulkhead("ai", aiPoolSize, aiQueueCapacity, meterRegistry);
+		this.storage = new Bulkhead("storage", storageThreads, storageQueueCapacity, meterRegistry);
+		this.thumbnail = new Bulkhead("thumbnail", thumbnailThreads, thumbnailQueueCapacity, meterRegistry);
+	}
+
+	public Bulkhead render() {
+		return render;
+	}
+
+	public Bulkhead ai() {
+		return ai;
+	}
+
+	public Bulkhead storage() {
+		return storage;
+	}
+
+	public Bulkhead thumbnail() {
+		return thumbnail;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		render.shutdown();
+		ai.shutdown();
+		storage.shutdown();
+		thumbnail.shutdown();
+	}
+}
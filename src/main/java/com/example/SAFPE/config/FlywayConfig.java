@@ -0,0 +1,21 @@
+package com.example.SAFPE.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 스키마 마이그레이션 (src/main/resources/db/migration)
+ * 
+ * 엔티티로 자동 생성된 기존 DB는 처음 실행할 때 V1(Flyway 도입 전 스키마)로 baseline 처리하고 V1_1부터 적용한다. V1_1은
+ * ddl-auto가 이미 만든 컬럼과 테이블은 건너뛰고 유니크 키 이름을 맞춘다. 스키마는 마이그레이션으로만 바꾸므로
+ * spring.jpa.hibernate.ddl-auto는 validate(또는 none)로 둔다.
+ */
+@Configuration
+public class FlywayConfig {
+
+	@Bean
+	public FlywayConfigurationCustomizer baselineExistingSchema() {
+		return configuration -> configuration.baselineOnMigrate(true).baselineVersion("1");
+	}
+}
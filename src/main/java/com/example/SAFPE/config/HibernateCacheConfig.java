@@ -0,0 +1,36 @@
+package com.example.SAFPE.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate 2차 캐시 (JCache + Ehcache, 설정은 ehcache.xml)
+ * 
+ * 프로젝트와 벽/문/창문, 프로젝트의 요소 컬렉션을 서버 메모리에 보관해서 같은 프로젝트를 다시 열 때 DB를 읽지 않는다. 영역마다
+ * 최대 개수가 정해져 있어 넘치면 오래 쓰지 않은 항목부터 밀려난다.
+ * 
+ * 캐시 적중률은 Hibernate 통계를 통해 메트릭(hibernate.second.level.cache.requests)으로 확인한다.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+	@Bean
+	public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+			@Value("${jpa.second-level-cache.enabled:true}") boolean enabled,
+			@Value("${jpa.statistics.enabled:true}") boolean statistics) {
+		return properties -> {
+			properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+			if (enabled) {
+				properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+				properties.put("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+				properties.put("hibernate.javax.cache.uri", "classpath:ehcache.xml");
+				// 요소를 자식 쪽에서만 추가/삭제해도(PlanOperationService) 프로젝트의 요소 컬렉션 캐시를 비운다.
+				properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+			}
+			properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+		};
+	}
+}
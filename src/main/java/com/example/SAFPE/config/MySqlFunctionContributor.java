@@ -0,0 +1,20 @@
+package com.example.SAFPE.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * JPQL/Criteria에서 쓰는 MySQL 전용 함수 등록 (META-INF/services에 등록되어 Hibernate가 불러온다)
+ *
+ * match_against(title, '+word*') → MATCH (title) AGAINST ('+word*' IN BOOLEAN MODE). FULLTEXT 인덱스를 사용하며 일치하면 0보다 크다.
+ */
+public class MySqlFunctionContributor implements FunctionContributor {
+
+	@Override
+	public void contributeFunctions(FunctionContributions functionContributions) {
+		functionContributions.getFunctionRegistry().registerPattern("match_against",
+				"match (?1) against (?2 in boolean mode)",
+				functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+	}
+}
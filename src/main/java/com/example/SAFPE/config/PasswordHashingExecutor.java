@@ -0,0 +1,92 @@
+package com.example.SAFPE.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.SAFPE.exception.TooManyRequestsException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 비밀번호 해싱(BCrypt) 전용 스레드 풀
+ * 
+ * BCrypt는 CPU를 많이 쓰기 때문에 요청 스레드에서 바로 실행하면 로그인이 몰릴 때 다른 API까지 느려진다. 해싱 작업은 크기가
+ * 정해진 풀에서만 실행하고, 대기열이 가득 차면 기다리지 않고 바로 429로 거절한다.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+	private final ThreadPoolExecutor executor;
+	private final long timeoutMs;
+
+	public PasswordHashingExecutor(@Value("${auth.hashing.threads:0}") int threads,
+			@Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+			@Value("${auth.hashing.timeout-ms:5000}") long timeoutMs) {
+		// 기본값은 CPU 코어의 절반 (나머지는 다른 요청 처리에 남겨둠)
+		int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		AtomicInteger threadNumber = new AtomicInteger();
+
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		this.timeoutMs = timeoutMs;
+	}
+
+	/**
+	 * 해싱 풀에서 작업을 실행하고 결과를 기다린다.
+	 * 
+	 * @param task
+	 * @return 작업 결과
+	 * @throws TooManyRequestsException 대기열이 가득 찼거나 제한 시간 안에 끝나지 않은 경우
+	 */
+	public <T> T execute(Callable<T> task) {
+		Future<T> future;
+		try {
+			future = executor.submit(task);
+		} catch (RejectedExecutionException e) {
+			throw new TooManyRequestsException("로그인 요청이 많습니다. 잠시 후 다시 시도해 주세요.", 1);
+		}
+
+		try {
+			return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw new TooManyRequestsException("로그인 요청이 많습니다. 잠시 후 다시 시도해 주세요.", 1);
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Password hashing was interrupted", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	public int getQueueDepth() {
+		return executor.getQueue().size();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,33 @@
+package com.example.SAFPE.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 해싱 작업을 {@link PasswordHashingExecutor}에 맡기는 PasswordEncoder
+ * 
+ * AuthenticationManager(DaoAuthenticationProvider)가 로그인 시 호출하는 matches()와 회원가입 시
+ * encode()가 모두 요청 스레드가 아닌 해싱 전용 풀에서 실행된다.
+ */
+@RequiredArgsConstructor
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+	private final PasswordEncoder delegate;
+	private final PasswordHashingExecutor passwordHashingExecutor;
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return passwordHashingExecutor.execute(() -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return passwordHashingExecutor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+}
@@ -0,0 +1,12 @@
+package com.example.SAFPE.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업 활성화 (업로드 파일 정리 등)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
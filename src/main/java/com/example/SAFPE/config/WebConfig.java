@@ -2,25 +2,35 @@ package com.example.SAFPE.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
-	@Value("${file.upload-dir}")
-	private String uploadDir;
+	private final Bulkheads bulkheads;
+	private final long asyncTimeoutMs;
+
+	public WebConfig(Bulkheads bulkheads, @Value("${bulkhead.async-timeout-ms:120000}") long asyncTimeoutMs) {
+		this.bulkheads = bulkheads;
+		this.asyncTimeoutMs = asyncTimeoutMs;
+	}
 
 	@Override
 	public void addCorsMappings(CorsRegistry registry) {
 		registry.addMapping("/api/**") // /api/로 시작하는 모든 요청에 대해
 				.allowedOrigins("http://localhost:5173") // Vue 개발 서버 주소
-				.allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS").allowedHeaders("*").allowCredentials(true);
+				.allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS").allowedHeaders("*").allowCredentials(true)
+				// 다른 출처 응답에서 스크립트가 읽을 수 있는 헤더 (If-Match로 돌려보낼 버전, 429 응답의 재시도 시간)
+				.exposedHeaders(HttpHeaders.ETAG, HttpHeaders.RETRY_AFTER);
 	}
 
+	// CompletableFuture로 응답하는 API가 기다리는 최대 시간, StreamingResponseBody는 storage 풀에서 실행
 	@Override
-	public void addResourceHandlers(ResourceHandlerRegistry registry) {
-		registry.addResourceHandler("/uploads/**").addResourceLocations("file:" + uploadDir + "/");
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		configurer.setDefaultTimeout(asyncTimeoutMs);
+		configurer.setTaskExecutor(bulkheads.storage().asTaskExecutor());
 	}
 }
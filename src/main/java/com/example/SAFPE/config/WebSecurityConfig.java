@@ -2,6 +2,7 @@ package com.example.SAFPE.config;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,6 +20,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import com.example.SAFPE.config.jwt.JwtAuthenticationFilter;
 import com.example.SAFPE.config.jwt.JwtTokenProvider;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -29,25 +31,33 @@ public class WebSecurityConfig {
 	private final JwtTokenProvider jwtTokenProvider;
 	private final UserDetailsService userDetailsService;
 
+	// BCrypt work factor (4 ~ 31). 값이 1 오를 때마다 해싱 시간이 두 배가 된다.
+	@Value("${auth.bcrypt.strength:10}")
+	private int bcryptStrength;
+
 	@Bean
 	public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
 		// CORS 설정 활성화
 		http.cors(withDefaults());
 		http.csrf(AbstractHttpConfigurer::disable) // CSRF 비활성화
 				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // 세션 사용 안
-				.authorizeHttpRequests(auth -> auth.requestMatchers("/api/auth/**", "/api/share/**", "/uploads/**")
-						.permitAll().anyRequest().authenticated() // api/auth
+				.authorizeHttpRequests(auth -> auth.requestMatchers("/api/auth/**", "/api/share/**", "/uploads/**", "/ws/**")
+						.permitAll()
+						// 비동기 응답(CompletableFuture)의 결과 전달. 원래 요청에서 이미 인증을 확인했다.
+						.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll().anyRequest().authenticated() // api/auth
 				// 경로는
 				// 인증 없이
 				// 허용
 				).addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService),
 						UsernamePasswordAuthenticationFilter.class);
+		// /ws/** 는 핸드셰이크 단계에서 토큰을 직접 검증 (PlanEditHandshakeInterceptor)
 		return http.build();
 	}
 
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+		// 해싱은 요청 스레드가 아닌 전용 풀에서 실행
+		return new PooledPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), passwordHashingExecutor);
 	}
 
 	@Bean
@@ -0,0 +1,98 @@
+package com.example.SAFPE.config.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 주 DB / 복제본 라우팅 (datasource.routing.enabled=true일 때만)
+ * 
+ * JPA, JdbcTemplate은 라우팅 DataSource를 사용하고, Flyway 마이그레이션과 하트비트는 항상 주 DB에 직접 연결한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+	// 기존 spring.datasource.* 설정으로 만든 주 DB 커넥션 풀
+	@Bean
+	@FlywayDataSource
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	public ReplicaDataSources replicaDataSources(ReplicaRoutingProperties properties) {
+		return new ReplicaDataSources(properties.getReplicas());
+	}
+
+	@Bean
+	public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource,
+			ReplicaDataSources replicaDataSources, ReplicaRoutingProperties properties) {
+		ReplicaLagMonitor monitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSources.asMap(),
+				properties.getMaxLagMs());
+		monitor.check(); // 시작하자마자 복제본을 쓸 수 있도록
+		return monitor;
+	}
+
+	@Bean
+	public ReadYourWritesTracker readYourWritesTracker(ReplicaRoutingProperties properties) {
+		return new ReadYourWritesTracker(Duration.ofMillis(properties.getStickyMs()), Clock.systemUTC());
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSources replicaDataSources,
+			ReplicaLagMonitor replicaLagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+				new ArrayList<>(replicaDataSources.asMap().keySet()), replicaLagMonitor, readYourWritesTracker);
+		Map<Object, Object> targets = new HashMap<>(replicaDataSources.asMap());
+		targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+		routing.setTargetDataSources(targets);
+		routing.setDefaultTargetDataSource(primaryDataSource);
+		routing.afterPropertiesSet();
+
+		// 트랜잭션 시작 시점이 아니라 첫 쿼리 시점에 연결을 가져와야 readOnly 여부로 라우팅할 수 있다.
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	@Bean
+	public HeartbeatTask replicaHeartbeatTask(ReplicaLagMonitor replicaLagMonitor,
+			ReadYourWritesTracker readYourWritesTracker) {
+		return new HeartbeatTask(replicaLagMonitor, readYourWritesTracker);
+	}
+
+	public static class HeartbeatTask {
+		private final ReplicaLagMonitor replicaLagMonitor;
+		private final ReadYourWritesTracker readYourWritesTracker;
+
+		HeartbeatTask(ReplicaLagMonitor replicaLagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+			this.replicaLagMonitor = replicaLagMonitor;
+			this.readYourWritesTracker = readYourWritesTracker;
+		}
+
+		@Scheduled(fixedDelayString = "${datasource.routing.heartbeat-interval-ms:1000}")
+		public void beat() {
+			replicaLagMonitor.check();
+			readYourWritesTracker.purgeExpired();
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.example.SAFPE.config.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.SAFPE.config.jwt.UserPrincipal;
+
+/**
+ * 사용자별 마지막 쓰기 시각 (read-your-writes)
+ * 
+ * 복제본은 주 DB보다 조금 늦게 반영되므로, 방금 수정한 사용자가 바로 다시 읽으면 수정 전 데이터를 볼 수 있다. 수정한 뒤 일정 시간
+ * 동안은 그 사용자의 읽기를 주 DB로 보낸다. 기록은 서버마다 따로 가지므로 서버가 여러 대면 로드밸런서의 세션 고정이 필요하다.
+ */
+public class ReadYourWritesTracker {
+
+	private final Map<Long, Long> lastWriteAt = new ConcurrentHashMap<>();
+	private final long windowMs;
+	private final Clock clock;
+
+	public ReadYourWritesTracker(Duration window, Clock clock) {
+		this.windowMs = window.toMillis();
+		this.clock = clock;
+	}
+
+	public void recordWrite(Long userId) {
+		if (userId != null) {
+			lastWriteAt.put(userId, clock.millis());
+		}
+	}
+
+	public boolean isSticky(Long userId) {
+		if (userId == null) {
+			return false;
+		}
+		Long writtenAt = lastWriteAt.get(userId);
+		if (writtenAt == null) {
+			return false;
+		}
+		if (clock.millis() - writtenAt < windowMs) {
+			return true;
+		}
+		lastWriteAt.remove(userId, writtenAt);
+		return false;
+	}
+
+	// 기간이 지난 기록 정리 (하트비트마다 호출)
+	public void purgeExpired() {
+		long now = clock.millis();
+		lastWriteAt.values().removeIf(writtenAt -> now - writtenAt >= windowMs);
+	}
+
+	// 현재 요청의 사용자 ID (로그인하지 않았거나 요청 밖이면 null)
+	public static Long currentUserId() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+			return principal.getId();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,40 @@
+package com.example.SAFPE.config.datasource;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 복제본 커넥션 풀 목록 (키: replica-0, replica-1, ...)
+ */
+public class ReplicaDataSources implements AutoCloseable {
+
+	private final Map<String, HikariDataSource> dataSources = new LinkedHashMap<>();
+
+	public ReplicaDataSources(List<ReplicaRoutingProperties.Replica> replicas) {
+		for (int i = 0; i < replicas.size(); i++) {
+			ReplicaRoutingProperties.Replica replica = replicas.get(i);
+			HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).url(replica.getUrl())
+					.username(replica.getUsername()).password(replica.getPassword()).build();
+			dataSource.setPoolName("replica-" + i);
+			dataSource.setReadOnly(true);
+			dataSources.put("replica-" + i, dataSource);
+		}
+	}
+
+	public Map<String, DataSource> asMap() {
+		return Collections.unmodifiableMap(dataSources);
+	}
+
+	@Override
+	public void close() {
+		dataSources.values().forEach(HikariDataSource::close);
+	}
+}
@@ -0,0 +1,69 @@
+package com.example.SAFPE.config.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 복제본 지연 확인 (하트비트)
+ * 
+ * 주 DB의 replication_heartbeat 행에 현재 시각을 쓰고, 복제본에 복제된 시각과 비교한다. 지연이 maxLagMs를 넘거나
+ * 복제본에 연결할 수 없으면 다음 확인까지 그 복제본으로는 읽기를 보내지 않는다.
+ */
+public class ReplicaLagMonitor {
+
+	private static final String READ_BEAT = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+	private static final String WRITE_BEAT = "UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1";
+
+	private final JdbcTemplate primary;
+	private final Map<String, JdbcTemplate> replicas;
+	private final long maxLagMs;
+	// 복제본별 지연 (ms). 확인 전이거나 연결에 실패했으면 Long.MAX_VALUE
+	private final Map<String, Long> lagMs = new ConcurrentHashMap<>();
+
+	public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, long maxLagMs) {
+		this.primary = new JdbcTemplate(primary);
+		this.replicas = new ConcurrentHashMap<>();
+		replicas.forEach((key, dataSource) -> {
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+			jdbcTemplate.setQueryTimeout(1);
+			this.replicas.put(key, jdbcTemplate);
+			lagMs.put(key, Long.MAX_VALUE);
+		});
+		this.maxLagMs = maxLagMs;
+	}
+
+	public boolean isHealthy(String replicaKey) {
+		return lagMs.getOrDefault(replicaKey, Long.MAX_VALUE) <= maxLagMs;
+	}
+
+	public long getLagMs(String replicaKey) {
+		return lagMs.getOrDefault(replicaKey, Long.MAX_VALUE);
+	}
+
+	/**
+	 * 복제본 지연을 다시 계산하고 주 DB에 새 하트비트를 쓴다.
+	 * 
+	 * 복제본을 먼저 읽으므로 측정된 지연에는 하트비트 간격만큼이 항상 더해진다.
+	 */
+	public void check() {
+		long now = System.currentTimeMillis();
+		replicas.forEach((key, jdbcTemplate) -> {
+			try {
+				Long beatAt = jdbcTemplate.queryForObject(READ_BEAT, Long.class);
+				lagMs.put(key, beatAt != null && beatAt > 0 ? Math.max(0, now - beatAt) : Long.MAX_VALUE);
+			} catch (Exception e) {
+				lagMs.put(key, Long.MAX_VALUE);
+			}
+		});
+
+		try {
+			primary.update(WRITE_BEAT, now);
+		} catch (Exception e) {
+			System.err.println("Failed to write replication heartbeat: " + e.getMessage());
+		}
+	}
+}
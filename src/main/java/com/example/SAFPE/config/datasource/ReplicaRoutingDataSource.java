@@ -0,0 +1,128 @@
+package com.example.SAFPE.config.datasource;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본으로, 나머지는 주 DB로 보내는 DataSource
+ * 
+ * 트랜잭션이 시작된 뒤 실제 연결을 가져와야 읽기 전용 여부를 알 수 있으므로 LazyConnectionDataSourceProxy로 감싸서
+ * 사용한다. 복제본은 돌아가면서 고르고, 지연된 복제본은 건너뛴다. 쓸 수 있는 복제본이 없으면 주 DB에서 읽는다. 복제본에서 읽은
+ * 엔티티는 2차 캐시에 넣지 않는다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	public static final String PRIMARY = "primary";
+
+	// readFromPrimary 안에서는 읽기 전용 트랜잭션도 주 DB로 보낸다.
+	private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+	private final List<String> replicaKeys;
+	private final ReplicaLagMonitor lagMonitor;
+	private final ReadYourWritesTracker readYourWritesTracker;
+	private final AtomicInteger nextReplica = new AtomicInteger();
+
+	public ReplicaRoutingDataSource(List<String> replicaKeys, ReplicaLagMonitor lagMonitor,
+			ReadYourWritesTracker readYourWritesTracker) {
+		this.replicaKeys = List.copyOf(replicaKeys);
+		this.lagMonitor = lagMonitor;
+		this.readYourWritesTracker = readYourWritesTracker;
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		Long userId = ReadYourWritesTracker.currentUserId();
+
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			// 쓰기 트랜잭션이 커밋되면 이 사용자의 읽기를 잠시 주 DB로 고정
+			if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+				TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+					@Override
+					public void afterCommit() {
+						readYourWritesTracker.recordWrite(userId);
+					}
+				});
+			}
+			return PRIMARY;
+		}
+
+		if (replicaKeys.isEmpty() || PRIMARY_READS.get() != null || readYourWritesTracker.isSticky(userId)) {
+			return PRIMARY;
+		}
+
+		int start = Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size());
+		for (int i = 0; i < replicaKeys.size(); i++) {
+			String key = replicaKeys.get((start + i) % replicaKeys.size());
+			if (lagMonitor.isHealthy(key)) {
+				skipSecondLevelCachePuts();
+				return key;
+			}
+		}
+		return PRIMARY;
+	}
+
+	/**
+	 * 복제본에서 읽는 트랜잭션 동안 Hibernate 세션이 2차 캐시에 넣지 않게 한다. (캐시에서 읽기만 함)
+	 * 
+	 * 2차 캐시(READ_WRITE)는 주 DB의 커밋으로만 무효화되므로, 복제가 늦은 사이 복제본에서 읽은 이전 벽/문/창문이 들어가면
+	 * 만료될 때까지 남는다. 첫 쿼리에서 연결을 가져올 때 호출되므로 DB에서 읽은 엔티티는 모두 이 설정을 따른다. 트랜잭션이 끝나면
+	 * 세션(open-in-view로 요청 동안 유지됨)의 원래 설정으로 되돌린다.
+	 */
+	private void skipSecondLevelCachePuts() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+			if (resource instanceof EntityManagerHolder holder && holder.getEntityManager() != null) {
+				Session session = holder.getEntityManager().unwrap(Session.class);
+				CacheMode previous = session.getCacheMode();
+				if (previous == CacheMode.GET || previous == CacheMode.IGNORE) {
+					continue;
+				}
+				session.setCacheMode(CacheMode.GET);
+				TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+					@Override
+					public void afterCompletion(int status) {
+						if (session.isOpen()) {
+							session.setCacheMode(previous);
+						}
+					}
+				});
+			}
+		}
+	}
+
+	/**
+	 * 읽기 전용 트랜잭션이어도 주 DB에서 읽는다.
+	 * 
+	 * 커밋 직후 다시 읽어서 오래 보관할 결과(공유 링크 캐시 등)는 아직 복제되지 않은 복제본에서 읽으면 안 된다. 라우팅을 쓰지
+	 * 않을 때는 그냥 실행한다.
+	 * 
+	 * @param read
+	 * @return
+	 * @throws E
+	 */
+	public static <T, E extends Exception> T readFromPrimary(PrimaryRead<T, E> read) throws E {
+		if (PRIMARY_READS.get() != null) {
+			return read.get();
+		}
+		PRIMARY_READS.set(Boolean.TRUE);
+		try {
+			return read.get();
+		} finally {
+			PRIMARY_READS.remove();
+		}
+	}
+
+	@FunctionalInterface
+	public interface PrimaryRead<T, E extends Exception> {
+		T get() throws E;
+	}
+}
@@ -0,0 +1,35 @@
+package com.example.SAFPE.config.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 읽기 전용 복제본(replica) 라우팅 설정 (datasource.routing.*)
+ * 
+ * 주 DB는 기존 spring.datasource.* 설정을 그대로 사용한다.
+ */
+@ConfigurationProperties(prefix = "datasource.routing")
+@Getter
+@Setter
+public class ReplicaRoutingProperties {
+	private boolean enabled;
+	private List<Replica> replicas = new ArrayList<>();
+	// 이 값보다 뒤처진 복제본은 읽기에서 제외 (하트비트 간격만큼의 지연이 항상 포함되므로 간격보다 크게 설정)
+	private long maxLagMs = 3000;
+	// 사용자가 직접 수정한 뒤 이 시간 동안은 그 사용자의 읽기도 주 DB에서 처리
+	private long stickyMs = 5000;
+	private long heartbeatIntervalMs = 1000;
+
+	@Getter
+	@Setter
+	public static class Replica {
+		private String url;
+		private String username;
+		private String password;
+	}
+}
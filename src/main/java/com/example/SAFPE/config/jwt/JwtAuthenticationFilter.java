@@ -26,9 +26,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			throws ServletException, IOException {
 		String token = resolveToken(request);
 
-		if (token != null && jwtTokenProvider.validateToken(token)) {
-			String username = jwtTokenProvider.getUsernameFromToken(token);
-			UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+		// 토큰 검증과 사용자 이름 추출을 한 번의 파싱(또는 캐시 조회)으로 처리
+		VerifiedToken verifiedToken = token != null ? jwtTokenProvider.verify(token).orElse(null) : null;
+
+		if (verifiedToken != null) {
+			// 토큰에 사용자 ID가 있으면 DB 조회 없이 인증 정보를 만든다. (이전 버전 토큰만 DB에서 조회)
+			UserDetails userDetails = verifiedToken.getUserId() != null
+					? new UserPrincipal(verifiedToken.getUserId(), verifiedToken.getUsername(), null)
+					: userDetailsService.loadUserByUsername(verifiedToken.getUsername());
 			UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails,
 					null, userDetails.getAuthorities());
 			SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -2,10 +2,14 @@ package com.example.SAFPE.config.jwt;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -15,40 +19,64 @@ import jakarta.annotation.PostConstruct;
 @Component
 public class JwtTokenProvider {
 
+	private static final String USER_ID_CLAIM = "uid";
+
 	@Value("${jwt.secret}")
 	private String secretKey;
 
 	@Value("${jwt.expiration}")
 	private long expirationInMs;
 
+	@Value("${jwt.cache-size:10000}")
+	private int cacheSize;
+
 	private Key key;
 
+	// 파서는 thread-safe 하므로 한 번만 만들어서 재사용
+	private JwtParser jwtParser;
+
+	private VerifiedTokenCache verifiedTokenCache;
+
 	@PostConstruct
 	protected void init() {
 //		key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
 		// Decoders.BASE64대신 Decoders.BASE64URL 사용
 		key = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(secretKey));
+		jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+		verifiedTokenCache = new VerifiedTokenCache(cacheSize);
 	}
 
-	public String createToken(String username) {
+	public String createToken(Long userId, String username) {
 		Date now = new Date();
 		Date expiryDate = new Date(now.getTime() + expirationInMs);
 
-		return Jwts.builder().setSubject(username).setIssuedAt(now).setExpiration(expiryDate)
-				.signWith(key, SignatureAlgorithm.HS256).compact();
+		return Jwts.builder().setSubject(username).claim(USER_ID_CLAIM, userId).setIssuedAt(now)
+				.setExpiration(expiryDate).signWith(key, SignatureAlgorithm.HS256).compact();
 	}
 
-	public String getUsernameFromToken(String token) {
-		return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
-	}
+	/**
+	 * 토큰 검증과 사용자 정보 추출을 한 번에 처리한다. 최근에 검증한 토큰은 서명 검증 없이 캐시에서 바로 반환한다.
+	 * 
+	 * @param token
+	 * @return 유효하지 않은 토큰이면 Optional.empty()
+	 */
+	public Optional<VerifiedToken> verify(String token) {
+		VerifiedToken cached = verifiedTokenCache.get(token);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
 
-	public boolean validateToken(String token) {
 		try {
-			Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-			return true;
-		} catch (Exception e) {
+			Claims claims = jwtParser.parseClaimsJws(token).getBody();
+			Object userId = claims.get(USER_ID_CLAIM);
+			long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+			VerifiedToken verifiedToken = new VerifiedToken(
+					userId instanceof Number ? ((Number) userId).longValue() : null, claims.getSubject(), expiresAt);
+			verifiedTokenCache.put(token, verifiedToken);
+			return Optional.of(verifiedToken);
+		} catch (JwtException | IllegalArgumentException e) {
 			// MalformedJwtExceptino, ExpiredJwtException 등
+			return Optional.empty();
 		}
-		return false;
 	}
 }
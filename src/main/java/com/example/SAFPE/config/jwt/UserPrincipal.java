@@ -0,0 +1,54 @@
+package com.example.SAFPE.config.jwt;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import lombok.Getter;
+
+/**
+ * 인증된 사용자 정보
+ * 
+ * JWT에 담긴 사용자 ID와 이름만으로 만들 수 있으므로, 인증된 요청마다 users 테이블을 조회할 필요가 없다. 토큰에서 복원한
+ * 경우 password는 null이다.
+ */
+@Getter
+public class UserPrincipal implements UserDetails {
+
+	private final Long id;
+	private final String username;
+	private final String password;
+
+	public UserPrincipal(Long id, String username, String password) {
+		this.id = id;
+		this.username = username;
+		this.password = password;
+	}
+
+	@Override
+	public Collection<? extends GrantedAuthority> getAuthorities() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public boolean isAccountNonExpired() {
+		return true;
+	}
+
+	@Override
+	public boolean isAccountNonLocked() {
+		return true;
+	}
+
+	@Override
+	public boolean isCredentialsNonExpired() {
+		return true;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return true;
+	}
+}
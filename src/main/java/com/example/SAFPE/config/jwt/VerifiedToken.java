@@ -0,0 +1,19 @@
+package com.example.SAFPE.config.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 서명 검증이 끝난 토큰에서 꺼낸 정보
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+	private final Long userId; // 사용자 ID 클레임이 없는 이전 버전 토큰이면 null
+	private final String username;
+	private final long expiresAt; // epoch millis
+
+	public boolean isExpired(long now) {
+		return now >= expiresAt;
+	}
+}
@@ -0,0 +1,81 @@
+package com.example.SAFPE.config.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * 최근에 검증한 토큰을 보관하는 크기 제한 캐시 (Caffeine)
+ * 
+ * 원본 토큰 대신 SHA-256 다이제스트를 키로 사용하므로 메모리에 Bearer 토큰이 남지 않는다. 항목은 토큰의 만료 시각에 함께
+ * 만료되고, 조회할 때도 만료 시각을 다시 확인한다. 모든 인증 요청이 거치므로 전역 락 없이 동시에 조회할 수 있는 캐시를 쓴다.
+ */
+public class VerifiedTokenCache {
+
+	private final Cache<String, VerifiedToken> entries;
+	private final LongSupplier clock; // epoch millis
+
+	public VerifiedTokenCache(int maxSize) {
+		this(maxSize, System::currentTimeMillis);
+	}
+
+	VerifiedTokenCache(int maxSize, LongSupplier clock) {
+		this.clock = clock;
+		this.entries = Caffeine.newBuilder().maximumSize(maxSize)
+				.ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong()))
+				.expireAfter(new Expiry<String, VerifiedToken>() {
+					@Override
+					public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+						return remainingNanos(value);
+					}
+
+					@Override
+					public long expireAfterUpdate(String key, VerifiedToken value, long currentTime,
+							long currentDuration) {
+						return remainingNanos(value);
+					}
+
+					@Override
+					public long expireAfterRead(String key, VerifiedToken value, long currentTime,
+							long currentDuration) {
+						return currentDuration;
+					}
+				}).build();
+	}
+
+	public VerifiedToken get(String token) {
+		String key = digest(token);
+		VerifiedToken cached = entries.getIfPresent(key);
+		if (cached != null && cached.isExpired(clock.getAsLong())) {
+			entries.invalidate(key);
+			return null;
+		}
+		return cached;
+	}
+
+	public void put(String token, VerifiedToken verifiedToken) {
+		entries.put(digest(token), verifiedToken);
+	}
+
+	private long remainingNanos(VerifiedToken value) {
+		// 만료 시각이 없는 토큰(Long.MAX_VALUE)은 변환 값이 Long.MAX_VALUE로 고정되어 크기 제한으로만 밀려난다.
+		return Math.max(0, TimeUnit.MILLISECONDS.toNanos(value.getExpiresAt() - clock.getAsLong()));
+	}
+
+	private String digest(String token) {
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getEncoder().encodeToString(hash);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
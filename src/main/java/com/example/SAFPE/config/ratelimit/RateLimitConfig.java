@@ -0,0 +1,37 @@
+package com.example.SAFPE.config.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 비용이 큰 API(업로드, 내보내기, AI 분석)의 사용자별 요청 제한 (ratelimit.enabled=false로 끌 수 있음)
+ */
+@Configuration
+@ConditionalOnProperty(name = "ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+	private final RateLimitProperties properties;
+	private final UserRateLimiter userRateLimiter;
+
+	public RateLimitConfig(RateLimitProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.userRateLimiter = new UserRateLimiter(properties, meterRegistry);
+	}
+
+	@Bean
+	public UserRateLimiter userRateLimiter() {
+		return userRateLimiter;
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new RateLimitInterceptor(userRateLimiter, properties)).addPathPatterns("/api/**");
+	}
+}
@@ -0,0 +1,64 @@
+package com.example.SAFPE.config.ratelimit;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.example.SAFPE.config.jwt.UserPrincipal;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * @RateLimited가 붙은 요청을 컨트롤러 실행 전에 사용자별로 제한한다.
+ * 
+ * 사용자는 JwtAuthenticationFilter가 넣어 둔 UserPrincipal로 구분한다. 인증되지 않은 요청은 보안 설정에서 이미 거절되므로
+ * 여기서는 통과시킨다.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+	private final UserRateLimiter rateLimiter;
+	private final RateLimitProperties properties;
+
+	public RateLimitInterceptor(UserRateLimiter rateLimiter, RateLimitProperties properties) {
+		this.rateLimiter = rateLimiter;
+		this.properties = properties;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		// 비동기 응답(CompletableFuture)의 결과를 쓰는 두 번째 디스패치는 이미 처음 요청에서 토큰을 꺼냈다.
+		if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod handlerMethod)) {
+			return true;
+		}
+		RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+		if (rateLimited == null) {
+			return true;
+		}
+
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+			return true;
+		}
+
+		rateLimiter.acquire(principal.getId(), costName(rateLimited, request));
+		return true;
+	}
+
+	// param이 지정되어 있으면 그 값을 붙인다. (export + format=pdf → export.pdf)
+	// 설정에 없는 값(format=xyz)은 이름만 사용한다. 기본 비용으로 싸게 통과하거나 메트릭 태그가 끝없이 늘지 않게 하기 위함
+	String costName(RateLimited rateLimited, HttpServletRequest request) {
+		if (rateLimited.param().isEmpty()) {
+			return rateLimited.value();
+		}
+		String value = request.getParameter(rateLimited.param());
+		if (!StringUtils.hasText(value)) {
+			return rateLimited.value();
+		}
+		String name = rateLimited.value() + "." + value.trim().toLowerCase();
+		return properties.getCosts().containsKey(name) ? name : rateLimited.value();
+	}
+}
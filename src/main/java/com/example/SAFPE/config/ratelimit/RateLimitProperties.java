@@ -0,0 +1,33 @@
+package com.example.SAFPE.config.ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 사용자별 요청 비용 제한 설정 (ratelimit.*)
+ * 
+ * 사용자마다 capacity개까지 토큰이 쌓이고 초당 refill-per-second개씩 다시 채워진다. 비용이 큰 요청은 토큰을 더 많이 쓴다.
+ */
+@ConfigurationProperties(prefix = "ratelimit")
+@Getter
+@Setter
+public class RateLimitProperties {
+	private boolean enabled = true;
+	private int capacity = 60;
+	private double refillPerSecond = 1.0;
+	private int defaultCost = 1;
+	// 이 시간 동안 요청이 없던 사용자의 버킷은 정리한다. (다시 오면 가득 찬 버킷으로 시작하므로 결과는 같음)
+	private long idleEvictSeconds = 600;
+	// 비용 이름별 토큰 수 (설정 파일의 값이 기본값을 덮어씀). export는 format 없이 요청한 경우 (png)
+	private Map<String, Integer> costs = new HashMap<>(Map.of("upload", 10, "batch", 30, "import", 10, "duplicate", 5,
+			"export", 5, "export.png", 5, "export.pdf", 8, "export.dxf", 3));
+
+	int costOf(String name) {
+		return costs.getOrDefault(name, defaultCost);
+	}
+}
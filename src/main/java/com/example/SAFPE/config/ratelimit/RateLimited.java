@@ -0,0 +1,29 @@
+package com.example.SAFPE.config.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 사용자별 토큰 버킷에서 비용만큼 토큰을 꺼내야 실행되는 컨트롤러 메소드 (RateLimitInterceptor)
+ * 
+ * 비용은 ratelimit.costs.<이름>으로 설정한다. 설정이 없으면 ratelimit.default-cost를 사용한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimited {
+
+	/**
+	 * 비용 이름 (예: upload, export)
+	 */
+	String value();
+
+	/**
+	 * 지정하면 이 요청 파라미터의 값을 비용 이름 뒤에 붙인다. (예: format=pdf → export.pdf, 파라미터가 없거나 붙인 이름이
+	 * ratelimit.costs에 없으면 이름만 사용)
+	 */
+	String param() default "";
+}
@@ -0,0 +1,65 @@
+package com.example.SAFPE.config.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 잠금 없는 토큰 버킷
+ * 
+ * 토큰 수와 마지막으로 채운 시각을 불변 객체 하나로 묶어 compareAndSet으로 바꾼다. 같은 사용자의 요청이 동시에 들어와도 한쪽이
+ * 다시 계산할 뿐 기다리지 않는다. 채우기는 별도 스레드 없이 꺼낼 때 지난 시간만큼 계산한다.
+ */
+class TokenBucket {
+
+	private final double capacity;
+	private final double tokensPerNano;
+	private final AtomicReference<State> state;
+
+	TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+		this.capacity = capacity;
+		this.tokensPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.state = new AtomicReference<>(new State(capacity, nowNanos));
+	}
+
+	/**
+	 * 토큰을 cost개 꺼낸다.
+	 * 
+	 * @return 꺼냈으면 0, 모자라면 cost개가 쌓일 때까지 기다려야 하는 시간(ns). (모자라면 아무것도 꺼내지 않음)
+	 */
+	long tryAcquire(int cost, long nowNanos) {
+		double needed = Math.min(cost, capacity); // capacity보다 큰 비용은 가득 찬 버킷 하나로 처리
+		while (true) {
+			State current = state.get();
+			double tokens = current.refilled(nowNanos);
+			if (tokens < needed) {
+				return (long) Math.ceil((needed - tokens) / tokensPerNano);
+			}
+			if (state.compareAndSet(current, new State(tokens - needed, Math.max(nowNanos, current.updatedNanos)))) {
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * 마지막으로 꺼낸 뒤 idleNanos 이상 지났고 가득 차 있으면 true (정리해도 되는 버킷)
+	 */
+	boolean isIdle(long nowNanos, long idleNanos) {
+		State current = state.get();
+		return nowNanos - current.updatedNanos >= idleNanos && current.refilled(nowNanos) >= capacity;
+	}
+
+	private final class State {
+		private final double tokens;
+		private final long updatedNanos;
+
+		State(double tokens, long updatedNanos) {
+			this.tokens = tokens;
+			this.updatedNanos = updatedNanos;
+		}
+
+		double refilled(long nowNanos) {
+			long elapsed = Math.max(0, nowNanos - updatedNanos);
+			return Math.min(capacity, tokens + elapsed * tokensPerNano);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.example.SAFPE.config.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.example.SAFPE.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 사용자별 토큰 버킷 모음
+ * 
+ * 버킷은 처음 요청할 때 가득 찬 상태로 만들고, 오래 쓰지 않은 버킷은 주기적으로 정리한다. 거절된 요청은 비용 이름별
+ * ratelimit.rejected 메트릭으로 남는다.
+ */
+public class UserRateLimiter {
+
+	private final RateLimitProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final LongSupplier nanoClock;
+	private final ConcurrentMap<Long, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+	public UserRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+		this(properties, meterRegistry, System::nanoTime);
+	}
+
+	UserRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.nanoClock = nanoClock;
+	}
+
+	/**
+	 * 사용자의 버킷에서 비용 이름에 해당하는 토큰을 꺼낸다.
+	 * 
+	 * @throws TooManyRequestsException 토큰이 모자라는 경우 (Retry-After는 필요한 토큰이 쌓이는 시간)
+	 */
+	public void acquire(Long userId, String costName) {
+		long now = nanoClock.getAsLong();
+		TokenBucket bucket = buckets.computeIfAbsent(userId,
+				id -> new TokenBucket(properties.getCapacity(), properties.getRefillPerSecond(), now));
+
+		long waitNanos = bucket.tryAcquire(properties.costOf(costName), now);
+		if (waitNanos > 0) {
+			Counter.builder("ratelimit.rejected").description("Requests rejected by the per-user rate limiter")
+					.tag("cost", costName).register(meterRegistry).increment();
+			long retryAfterSeconds = Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+			throw new TooManyRequestsException("요청이 너무 많습니다. " + retryAfterSeconds + "초 후 다시 시도해 주세요.",
+					retryAfterSeconds);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${ratelimit.idle-evict-seconds:600}", timeUnit = TimeUnit.SECONDS)
+	public void evictIdleBuckets() {
+		long now = nanoClock.getAsLong();
+		long idleNanos = TimeUnit.SECONDS.toNanos(properties.getIdleEvictSeconds());
+		buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+	}
+
+	int bucketCount() {
+		return buckets.size();
+	}
+}
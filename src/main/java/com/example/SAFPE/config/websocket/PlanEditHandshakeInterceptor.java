@@ -0,0 +1,73 @@
+package com.example.SAFPE.config.websocket;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.example.SAFPE.config.jwt.JwtTokenProvider;
+import com.example.SAFPE.config.jwt.VerifiedToken;
+import com.example.SAFPE.repository.ProjectRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 편집 채널 연결 전에 JWT와 프로젝트 소유자를 확인
+ * 
+ * 브라우저의 WebSocket API는 Authorization 헤더를 보낼 수 없으므로 토큰은 ?token= 쿼리 파라미터로 받는다. 연결은 토큰보다
+ * 오래 살 수 있으므로 만료 시각을 세션에 남겨 두고 메시지를 받을 때마다 PlanEditWebSocketHandler가 확인한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PlanEditHandshakeInterceptor implements HandshakeInterceptor {
+
+	public static final String PROJECT_ID_ATTRIBUTE = "projectId";
+	public static final String USER_ID_ATTRIBUTE = "userId";
+	public static final String TOKEN_EXPIRES_AT_ATTRIBUTE = "tokenExpiresAt";
+
+	private final JwtTokenProvider jwtTokenProvider;
+	private final ProjectRepository projectRepository;
+
+	@Override
+	public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+			WebSocketHandler wsHandler, Map<String, Object> attributes) throws Exception {
+		String token = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("token");
+		VerifiedToken verifiedToken = token != null ? jwtTokenProvider.verify(token).orElse(null) : null;
+		if (verifiedToken == null || verifiedToken.getUserId() == null) {
+			response.setStatusCode(HttpStatus.UNAUTHORIZED);
+			return false;
+		}
+
+		// 경로 형식 : /ws/projects/{projectId}/edit
+		Long projectId = parseProjectId(request.getURI().getPath());
+		if (projectId == null
+				|| projectRepository.findVersionByUserIdAndId(verifiedToken.getUserId(), projectId).isEmpty()) {
+			response.setStatusCode(HttpStatus.FORBIDDEN);
+			return false;
+		}
+
+		attributes.put(PROJECT_ID_ATTRIBUTE, projectId);
+		attributes.put(USER_ID_ATTRIBUTE, verifiedToken.getUserId());
+		attributes.put(TOKEN_EXPIRES_AT_ATTRIBUTE, verifiedToken.getExpiresAt());
+		return true;
+	}
+
+	@Override
+	public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler,
+			Exception exception) {
+	}
+
+	private Long parseProjectId(String path) {
+		String[] segments = path.split("/");
+		try {
+			return Long.valueOf(segments[segments.length - 2]);
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+}
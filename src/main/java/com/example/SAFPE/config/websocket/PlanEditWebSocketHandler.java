@@ -0,0 +1,61 @@
+package com.example.SAFPE.config.websocket;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import com.example.SAFPE.dto.collab.PlanEditMessage;
+import com.example.SAFPE.service.PlanCollaborationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 평면도 공동 편집 WebSocket 핸들러 (/ws/projects/{projectId}/edit)
+ */
+@Component
+@RequiredArgsConstructor
+public class PlanEditWebSocketHandler extends TextWebSocketHandler {
+
+	// 토큰이 만료된 세션을 닫을 때 쓰는 코드 (4000번대는 애플리케이션 정의)
+	static final CloseStatus TOKEN_EXPIRED = new CloseStatus(4401, "Token expired");
+
+	private final PlanCollaborationService planCollaborationService;
+	private final ObjectMapper objectMapper;
+
+	@Override
+	public void afterConnectionEstablished(WebSocketSession session) {
+		planCollaborationService.join(getProjectId(session), session);
+	}
+
+	@Override
+	protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+		// 연결한 뒤 토큰이 만료되었으면 작업을 받지 않고 닫는다. (클라이언트는 새 토큰으로 다시 연결)
+		Long expiresAt = (Long) session.getAttributes().get(PlanEditHandshakeInterceptor.TOKEN_EXPIRES_AT_ATTRIBUTE);
+		if (expiresAt == null || System.currentTimeMillis() >= expiresAt) {
+			session.close(TOKEN_EXPIRED);
+			return;
+		}
+
+		try {
+			PlanEditMessage editMessage = objectMapper.readValue(message.getPayload(), PlanEditMessage.class);
+			planCollaborationService.submit(getProjectId(session), session, editMessage.getOps());
+		} catch (JsonProcessingException e) {
+			planCollaborationService.reject(getProjectId(session), session, "Invalid message: " + e.getOriginalMessage());
+		}
+	}
+
+	@Override
+	public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+		planCollaborationService.leave(getProjectId(session), session);
+	}
+
+	private Long getProjectId(WebSocketSession session) {
+		return (Long) session.getAttributes().get(PlanEditHandshakeInterceptor.PROJECT_ID_ATTRIBUTE);
+	}
+}
@@ -0,0 +1,33 @@
+package com.example.SAFPE.config.websocket;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+	private final PlanEditWebSocketHandler planEditWebSocketHandler;
+	private final PlanEditHandshakeInterceptor planEditHandshakeInterceptor;
+
+	@Override
+	public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+		registry.addHandler(planEditWebSocketHandler, "/ws/projects/*/edit")
+				.addInterceptors(planEditHandshakeInterceptor).setAllowedOrigins("http://localhost:5173"); // Vue 개발 서버 주소
+	}
+
+	@Bean
+	public ServletServerContainerFactoryBean createWebSocketContainer() {
+		// 여러 작업을 한 번에 보내는 메시지를 받을 수 있도록 기본값(8KB)보다 크게 설정
+		ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+		container.setMaxTextMessageBufferSize(512 * 1024);
+		return container;
+	}
+}
@@ -1,26 +1,48 @@
 package com.example.SAFPE.controller;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.SAFPE.config.Bulkheads;
+import com.example.SAFPE.config.ratelimit.RateLimited;
+import com.example.SAFPE.dto.BatchProjectResultDto;
+import com.example.SAFPE.dto.CompactPlanDataDto;
+import com.example.SAFPE.dto.CompactProjectDto;
+import com.example.SAFPE.dto.CompactUpdateProjectRequest;
+import com.example.SAFPE.dto.PlanDataDto;
+import com.example.SAFPE.dto.PlanHistoryEntryDto;
+import com.example.SAFPE.dto.PlanImportResultDto;
 import com.example.SAFPE.dto.ProjectDto;
+import com.example.SAFPE.dto.ProjectSearchRequest;
+import com.example.SAFPE.dto.ProjectSummaryDto;
 import com.example.SAFPE.dto.UpdateProjectRequest;
+import com.example.SAFPE.exception.PreconditionFailedException;
+import com.example.SAFPE.service.ProjectBatchService;
 import com.example.SAFPE.service.ProjectService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -28,15 +50,116 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ProjectController {
 	private final ProjectService projectService;
+	private final ProjectBatchService projectBatchService;
+	private final Bulkheads bulkheads;
 
+	private static final String DXF_CONTENT_TYPE = "application/dxf";
+
+	private static final MediaType COMPACT_MEDIA_TYPE = MediaType.parseMediaType(CompactPlanDataDto.MEDIA_TYPE);
+	private static final String JSON_REPRESENTATION = "json";
+	private static final String COMPACT_REPRESENTATION = "compact";
+	private static final String CBOR_REPRESENTATION = "cbor";
+
+	/**
+	 * 프로젝트 목록 조회 (평면도 요소 없이 요약과 미리보기 URL만)
+	 * 
+	 * 미리보기는 평면도를 저장할 때마다 미리 만들어 /uploads/에 올려 두므로 목록 화면은 이미지만 받으면 된다.
+	 * 
+	 * @return
+	 */
 	@GetMapping
-	public ResponseEntity<List<ProjectDto>> getAllProjects() {
-		return ResponseEntity.ok(projectService.getAllProjects());
+	public ResponseEntity<List<ProjectSummaryDto>> getProjectSummaries() {
+		return ResponseEntity.ok(projectService.getProjectSummaries());
 	}
 
+	/**
+	 * 평면도 요소를 포함한 프로젝트 목록 조회 (?view=full)
+	 * 
+	 * List<ProjectDto>를 모으지 않고 프로젝트를 읽는 대로 응답에 JSON으로 쓴다.
+	 * 
+	 * @param response
+	 * @throws IOException
+	 */
+	@GetMapping(params = "view=full")
+	public void getAllProjects(HttpServletResponse response) throws IOException {
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		projectService.writeAllProjects(response.getOutputStream());
+	}
+
+	// 평면도 좌표를 평평한 배열로 담은 목록 (Accept: application/vnd.safpe.plan+json 또는 application/cbor)
+	@GetMapping(produces = { CompactPlanDataDto.MEDIA_TYPE, MediaType.APPLICATION_CBOR_VALUE })
+	public ResponseEntity<List<CompactProjectDto>> getAllProjectsCompact() {
+		return ResponseEntity.ok(projectService.getAllProjectsCompact());
+	}
+
+	/**
+	 * 프로젝트 검색 (최신순, 평면도 요소 없이 요약만)
+	 * 
+	 * 제목 단어(q)나 앞부분(titlePrefix), 생성/수정일, 공개 여부, 면적으로 거른다. 다음 페이지는 마지막으로 받은 프로젝트의 id를
+	 * lastId로 넘겨 조회한다.
+	 * 
+	 * @param request
+	 * @return
+	 */
+	@GetMapping("/search")
+	public ResponseEntity<List<ProjectSummaryDto>> searchProjects(@ModelAttribute ProjectSearchRequest request) {
+		return ResponseEntity.ok(projectService.searchProjects(request));
+	}
+
+	/**
+	 * 프로젝트 상세 조회
+	 * 
+	 * 버전을 ETag로 내려준다. If-None-Match가 현재 버전과 같으면 평면도 요소를 읽지 않고 304로 응답한다. 본문은 엔티티에서
+	 * 응답으로 바로 쓴다.
+	 * 
+	 * 같은 URL이 Accept에 따라 다른 형식으로 응답하므로 ETag는 형식마다 다르게 ("3-json", "3-compact", "3-cbor") 붙이고
+	 * Vary: Accept를 함께 보낸다.
+	 * 
+	 * @param projectId
+	 * @param webRequest
+	 * @param response
+	 * @throws IOException
+	 */
 	@GetMapping("/{projectId}")
-	public ResponseEntity<ProjectDto> getProejctById(@PathVariable("projectId") Long projectId) {
-		return ResponseEntity.ok(projectService.getProjectById(projectId));
+	public void getProejctById(@PathVariable("projectId") Long projectId, WebRequest webRequest,
+			HttpServletResponse response) throws IOException {
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+		if (webRequest.checkNotModified(eTag(projectService.getProjectVersion(projectId), JSON_REPRESENTATION))) {
+			return; // 304 Not Modified
+		}
+
+		projectService.writeProject(projectId, version -> {
+			// 본문과 같은 시점에 읽은 버전으로 ETag를 다시 설정
+			response.setHeader(HttpHeaders.ETAG, "\"" + eTag(version, JSON_REPRESENTATION) + "\"");
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			return response.getOutputStream();
+		});
+	}
+
+	/**
+	 * 프로젝트 상세 조회 (평면도 좌표를 평평한 배열로 담은 형식)
+	 * 
+	 * Accept 헤더로 선택한다. 그 외의 Accept(application/json 등)는 기존 JSON 형식으로 응답한다.
+	 * 
+	 * @param projectId
+	 * @param webRequest
+	 * @param response
+	 * @return
+	 */
+	@GetMapping(value = "/{projectId}", produces = { CompactPlanDataDto.MEDIA_TYPE,
+			MediaType.APPLICATION_CBOR_VALUE })
+	public ResponseEntity<CompactProjectDto> getProjectByIdCompact(@PathVariable("projectId") Long projectId,
+			WebRequest webRequest, HttpServletResponse response) {
+		MediaType mediaType = compactMediaType(webRequest.getHeader(HttpHeaders.ACCEPT));
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+		if (webRequest.checkNotModified(
+				eTag(projectService.getProjectVersion(projectId), representation(mediaType)))) {
+			return null; // 304 Not Modified
+		}
+
+		CompactProjectDto project = projectService.getProjectByIdCompact(projectId);
+		return ResponseEntity.ok().contentType(mediaType).eTag(eTag(project.getVersion(), representation(mediaType)))
+				.body(project);
 	}
 
 //	@Deprecated
@@ -49,58 +172,297 @@ public class ProjectController {
 	/**
 	 * 프로젝트를 생성함게 동시에 이미지 업로드
 	 * 
+	 * AI 분석은 스레드와 DB 커넥션을 잡지 않고 기다린다. 분석이 끝나면 ai 풀에서 이미지를 저장하고 짧은 트랜잭션으로 프로젝트를
+	 * 만든다.
+	 * 
 	 * @param title
 	 * @param file
 	 * @return
 	 * @throws IOException
 	 * @createAt 2025.10.28
 	 */
+	@RateLimited("upload")
 	@PostMapping(consumes = { MediaType.MULTIPART_FORM_DATA_VALUE })
-	public ResponseEntity<ProjectDto> createProjectWithImage(@RequestParam("title") String title,
+	public CompletableFuture<ResponseEntity<ProjectDto>> createProjectWithImage(@RequestParam("title") String title,
 			@RequestParam("file") MultipartFile file) throws IOException {
-		ProjectDto createProject = projectService.createProjectWithImage(title, file);
-		return new ResponseEntity<>(createProject, HttpStatus.CREATED);
+		return bulkheads.ai().submitAfter(projectService.analyzeImage(file), aiResponse -> {
+			String imageUrl = projectService.storeImage(file);
+			ProjectDto createProject = projectService.createProjectWithImage(title, imageUrl, aiResponse);
+			return new ResponseEntity<>(createProject, HttpStatus.CREATED);
+		});
 	}
 
+	/**
+	 * 여러 이미지로 프로젝트를 한 번에 생성
+	 * 
+	 * 파일마다 이미지 저장과 AI 분석을 동시에 진행하고, 끝난 파일부터 묶어서 저장한다. 일부 파일이 실패해도 나머지는 생성되며 결과는
+	 * 파일 순서대로 파일별로 돌려준다.
+	 * 
+	 * @param files
+	 * @param titles 파일과 같은 순서의 제목 (생략하면 파일 이름)
+	 * @return
+	 */
+	@RateLimited("batch")
+	@PostMapping(value = "/batch", consumes = { MediaType.MULTIPART_FORM_DATA_VALUE })
+	public ResponseEntity<List<BatchProjectResultDto>> createProjects(@RequestParam("files") List<MultipartFile> files,
+			@RequestParam(value = "titles", required = false) List<String> titles) {
+		return ResponseEntity.ok(projectBatchService.createProjects(files, titles));
+	}
+
+	/**
+	 * 도면 파일(DXF, GeoJSON)을 가져와 새 프로젝트 생성
+	 * 
+	 * DXF는 LINE, LWPOLYLINE을, GeoJSON은 LineString 계열 도형을 읽는다. 레이어 이름(또는 Feature 속성)에
+	 * door/window가 들어 있으면 문/창문으로, 나머지는 벽으로 저장한다.
+	 * 
+	 * @param title
+	 * @param file
+	 * @param format dxf 또는 geojson (생략하면 파일 확장자로 판단)
+	 * @return
+	 * @throws IOException
+	 */
+	@RateLimited("import")
+	@PostMapping(value = "/import", consumes = { MediaType.MULTIPART_FORM_DATA_VALUE })
+	public ResponseEntity<PlanImportResultDto> importProject(@RequestParam("title") String title,
+			@RequestParam("file") MultipartFile file, @RequestParam(value = "format", required = false) String format)
+			throws IOException {
+		return new ResponseEntity<>(projectService.importProject(title, file, format), HttpStatus.CREATED);
+	}
+
+	/**
+	 * 프로젝트 복제 (평면도 전체 대신 복사한 요소 수만 반환)
+	 * 
+	 * @param projectId
+	 * @param title 새 프로젝트 제목 (생략하면 원본 제목 + " (copy)")
+	 * @return
+	 */
+	@RateLimited("duplicate")
+	@PostMapping("/{projectId}/duplicate")
+	public ResponseEntity<PlanImportResultDto> duplicateProject(@PathVariable("projectId") Long projectId,
+			@RequestParam(value = "title", required = false) String title) {
+		return new ResponseEntity<>(projectService.duplicateProject(projectId, title), HttpStatus.CREATED);
+	}
+
+	/**
+	 * 프로젝트 삭제
+	 * 
+	 * If-Match 헤더가 있으면 그 버전일 때만 삭제한다. (다르면 412 Precondition Failed)
+	 * 
+	 * @param projectId
+	 * @param ifMatch
+	 * @return
+	 */
+	@DeleteMapping("/{projectId}")
+	public ResponseEntity<Void> deleteProject(@PathVariable("projectId") Long projectId,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		projectService.deleteProject(projectId, parseVersion(ifMatch));
+		return ResponseEntity.noContent().build();
+	}
+
+	/**
+	 * 프로젝트 수정
+	 * 
+	 * If-Match 헤더가 있으면 그 버전일 때만 수정한다. (다르면 412 Precondition Failed)
+	 * 
+	 * @param projectId
+	 * @param ifMatch
+	 * @param request
+	 * @return
+	 */
 	@PutMapping("/{projectId}")
 	public ResponseEntity<ProjectDto> updateProject(@PathVariable("projectId") Long projectId,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
 			@RequestBody UpdateProjectRequest request) {
-		return ResponseEntity.ok(projectService.updateProject(projectId, request));
+		ProjectDto project = projectService.updateProject(projectId, request, parseVersion(ifMatch));
+		return ResponseEntity.ok().eTag(eTag(project.getVersion(), JSON_REPRESENTATION)).body(project);
+	}
+
+	/**
+	 * 프로젝트 수정 (Content-Type: application/vnd.safpe.plan+json 또는 application/cbor)
+	 * 
+	 * 응답 형식은 요청 형식과 상관없이 Accept로 고른다.
+	 * 
+	 * @param projectId
+	 * @param ifMatch
+	 * @param accept
+	 * @param request
+	 * @return
+	 */
+	@PutMapping(value = "/{projectId}", consumes = { CompactPlanDataDto.MEDIA_TYPE,
+			MediaType.APPLICATION_CBOR_VALUE })
+	public ResponseEntity<CompactProjectDto> updateProjectCompact(@PathVariable("projectId") Long projectId,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+			@RequestBody CompactUpdateProjectRequest request) {
+		MediaType mediaType = compactMediaType(accept);
+		CompactProjectDto project = projectService.updateProjectCompact(projectId, request.toRequest(),
+				parseVersion(ifMatch));
+		return ResponseEntity.ok().contentType(mediaType).varyBy(HttpHeaders.ACCEPT)
+				.eTag(eTag(project.getVersion(), representation(mediaType))).body(project);
+	}
+
+	/**
+	 * 변경 이력 조회 (최신순)
+	 * 
+	 * 다음 페이지는 마지막으로 받은 항목의 seq를 before로 넘겨 조회한다.
+	 * 
+	 * @param projectId
+	 * @param before
+	 * @param size
+	 * @return
+	 */
+	@GetMapping("/{projectId}/history")
+	public ResponseEntity<List<PlanHistoryEntryDto>> getProjectHistory(@PathVariable("projectId") Long projectId,
+			@RequestParam(value = "before", required = false) Long before,
+			@RequestParam(value = "size", defaultValue = "50") int size) {
+		return ResponseEntity.ok(projectService.getProjectHistory(projectId, before, size));
+	}
+
+	/**
+	 * 변경 이력의 seq 시점 평면도 조회
+	 * 
+	 * @param projectId
+	 * @param seq
+	 * @return
+	 */
+	@GetMapping("/{projectId}/history/{seq}")
+	public ResponseEntity<PlanDataDto> getPlanAt(@PathVariable("projectId") Long projectId,
+			@PathVariable("seq") long seq) {
+		return ResponseEntity.ok(projectService.getPlanAt(projectId, seq));
+	}
+
+	/**
+	 * 평면도를 변경 이력의 seq 시점으로 복원 (실행 취소/다시 실행)
+	 * 
+	 * @param projectId
+	 * @param seq
+	 * @param ifMatch
+	 * @return
+	 */
+	@PostMapping("/{projectId}/history/{seq}/restore")
+	public ResponseEntity<ProjectDto> restoreProject(@PathVariable("projectId") Long projectId,
+			@PathVariable("seq") long seq,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		ProjectDto project = projectService.restoreProject(projectId, seq, parseVersion(ifMatch));
+		return ResponseEntity.ok().eTag(eTag(project.getVersion(), JSON_REPRESENTATION)).body(project);
 	}
 
+	// 형식별 ETag ("3-json", "3-compact", "3-cbor")
+	private static String eTag(Long version, String representation) {
+		return version + "-" + representation;
+	}
+
+	// Accept에서 먼저 고른 압축 형식 (둘 다 받을 수 있으면 application/vnd.safpe.plan+json)
+	private static MediaType compactMediaType(String accept) {
+		List<MediaType> acceptable = new ArrayList<>(
+				accept != null && !accept.isBlank() ? MediaType.parseMediaTypes(accept) : List.of(MediaType.ALL));
+		MimeTypeUtils.sortBySpecificity(acceptable);
+		for (MediaType mediaType : acceptable) {
+			if (mediaType.isCompatibleWith(COMPACT_MEDIA_TYPE)) {
+				return COMPACT_MEDIA_TYPE;
+			}
+			if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+				return MediaType.APPLICATION_CBOR;
+			}
+		}
+		return COMPACT_MEDIA_TYPE;
+	}
+
+	private static String representation(MediaType mediaType) {
+		return MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaType) ? CBOR_REPRESENTATION
+				: COMPACT_REPRESENTATION;
+	}
+
+	// If-Match 헤더("3-json", W/"3-cbor", "3", *)에서 버전 번호를 꺼낸다. (형식은 따지지 않음)
+	private Long parseVersion(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+			return null;
+		}
+
+		String eTag = ifMatch.trim();
+		if (eTag.startsWith("W/")) {
+			eTag = eTag.substring(2);
+		}
+		eTag = eTag.replace("\"", "");
+		int separator = eTag.indexOf('-');
+		try {
+			return Long.valueOf(separator >= 0 ? eTag.substring(0, separator) : eTag);
+		} catch (NumberFormatException e) {
+			throw new PreconditionFailedException("Invalid If-Match header: " + ifMatch);
+		}
+	}
+
+	// createProjectWithImage와 같이 AI 분석이 끝난 뒤 ai 풀에서 저장
+	// 다른 사용자의 프로젝트면 AI 분석과 파일 저장 전에 404
+	@RateLimited("upload")
 	@PostMapping("/{projectId}/background-image")
-	public ResponseEntity<ProjectDto> uploadBackgroundImage(@PathVariable("projectId") Long projectId,
-			@RequestParam("file") MultipartFile file) throws IOException {
-		return ResponseEntity.ok(projectService.uploadBackgroundImage(projectId, file));
+	public CompletableFuture<ResponseEntity<ProjectDto>> uploadBackgroundImage(
+			@PathVariable("projectId") Long projectId, @RequestParam("file") MultipartFile file) throws IOException {
+		projectService.getProjectVersion(projectId);
+		return bulkheads.ai().submitAfter(projectService.analyzeImage(file), aiResponse -> {
+			String imageUrl = projectService.storeImage(file);
+			return ResponseEntity.ok(projectService.uploadBackgroundImage(projectId, imageUrl, aiResponse));
+		});
+	}
+
+	/**
+	 * 프로젝트를 DXF로 내보내기 (CAD에서 편집 가능)
+	 * 
+	 * 파일 전체를 메모리에 만들지 않고 응답으로 바로 쓴다.
+	 * 
+	 * @param projectId
+	 * @param response
+	 * @throws IOException
+	 */
+	@RateLimited("export.dxf")
+	@GetMapping(value = "/{projectId}/export", params = "format=dxf")
+	public void exportProjectDxf(@PathVariable("projectId") Long projectId, HttpServletResponse response)
+			throws IOException {
+		response.setContentType(DXF_CONTENT_TYPE);
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				ContentDisposition.attachment().filename("floorplan-" + projectId + ".dxf").build().toString());
+		projectService.exportDxf(projectId, response.getOutputStream());
 	}
 
+	/**
+	 * 프로젝트를 PNG/PDF로 내보내기
+	 * 
+	 * 그리기는 CPU를 많이 쓰므로 render 풀에서 실행하고, 요청 스레드는 결과를 기다리지 않고 돌아간다.
+	 * 
+	 * @param projectId
+	 * @param format    png 또는 pdf
+	 * @return
+	 */
+	@RateLimited(value = "export", param = "format")
 	@GetMapping("/{projectId}/export")
-	public ResponseEntity<byte[]> exportProject(@PathVariable("projectId") Long projectId,
+	public CompletableFuture<ResponseEntity<byte[]>> exportProject(@PathVariable("projectId") Long projectId,
 			@RequestParam(value = "format", defaultValue = "png") String format) {
+		MediaType mediaType;
+		if ("pdf".equalsIgnoreCase(format)) {
+			mediaType = MediaType.APPLICATION_PDF;
+		} else if ("png".equalsIgnoreCase(format)) {
+			mediaType = MediaType.IMAGE_PNG;
+		} else {
+			// 지원하지 않는 포맷은 풀에 넣지 않고 바로 거절
+			return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+		}
 
-		try {
-			byte[] fileContent = projectService.exportProject(projectId, format);
-			String fileName = "floorplan-" + projectId + "." + format.toLowerCase();
-
-			MediaType mediaType;
-			if ("pdf".equalsIgnoreCase(format)) {
-				mediaType = MediaType.APPLICATION_PDF;
-			} else if ("png".equalsIgnoreCase(format)) {
-				mediaType = MediaType.IMAGE_PNG;
-			} else {
-				return ResponseEntity.badRequest().build();
-			}
+		return bulkheads.render().submit(() -> {
+			try {
+				byte[] fileContent = projectService.exportProject(projectId, format);
+				String fileName = "floorplan-" + projectId + "." + format.toLowerCase();
 
-			return ResponseEntity.ok()
-					// 헤더는 브라우저가 파일을 다운로드 하도록 함
-					.header(HttpHeaders.CONTENT_DISPOSITION, "attachment: filename=\"" + fileName + "\"")
-					.contentType(mediaType).body(fileContent);
-		} catch (IOException e) {
-			e.printStackTrace();
-			return ResponseEntity.internalServerError().build();
-		} catch (IllegalArgumentException e) {
-			return ResponseEntity.badRequest().body(e.getMessage().getBytes());
-		}
+				return ResponseEntity.ok()
+						// 헤더는 브라우저가 파일을 다운로드 하도록 함
+						.header(HttpHeaders.CONTENT_DISPOSITION, "attachment: filename=\"" + fileName + "\"")
+						.contentType(mediaType).body(fileContent);
+			} catch (IOException e) {
+				e.printStackTrace();
+				return ResponseEntity.internalServerError().build();
+			} catch (IllegalArgumentException e) {
+				return ResponseEntity.badRequest().body(e.getMessage().getBytes());
+			}
+		});
 	}
 
 	/**
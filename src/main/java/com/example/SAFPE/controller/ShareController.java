@@ -1,13 +1,15 @@
 package com.example.SAFPE.controller;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.example.SAFPE.dto.ProjectDto;
-import com.example.SAFPE.service.ProjectService;
+import com.example.SAFPE.service.PublicProjectCache;
+import com.example.SAFPE.service.ShareService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -15,7 +17,7 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/api/share")
 @RequiredArgsConstructor
 public class ShareController {
-	private final ProjectService projectService;
+	private final ShareService shareService;
 
 	/**
 	 * 공유 링크로 프로젝트 조회
@@ -26,7 +28,12 @@ public class ShareController {
 	 * @create_At 2025.08.24
 	 */
 	@GetMapping("/{shareId}")
-	public ResponseEntity<ProjectDto> getSharedProject(@PathVariable("shareId") String shareId) {
-		return ResponseEntity.ok(projectService.getPublicProjectByShareId(shareId));
+	public ResponseEntity<byte[]> getSharedProject(@PathVariable("shareId") String shareId) {
+		PublicProjectCache.CachedProject sharedProject = shareService.getPublicProjectJson(shareId);
+
+		// ETag를 설정하면 If-None-Match가 같은 요청에는 스프링이 본문 없이 304 Not Modified로 응답한다.
+		// no-cache : 브라우저는 캐시된 응답을 쓰기 전에 항상 ETag로 재검증
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).eTag(sharedProject.getETag())
+				.cacheControl(CacheControl.noCache()).body(sharedProject.getBody());
 	}
 }
@@ -0,0 +1,64 @@
+package com.example.SAFPE.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.SAFPE.service.FileStorageService;
+import com.example.SAFPE.service.storage.StoredBlob;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+public class UploadController {
+	private final FileStorageService fileStorageService;
+
+	/**
+	 * 업로드 파일 조회
+	 * 
+	 * 저장소가 서명된 URL을 만들 수 있으면(S3) 그 URL로 리다이렉트하고, 아니면(로컬 디스크) 파일을 스트리밍한다. 파일 이름에
+	 * UUID가 들어 있어 내용이 바뀌지 않으므로 오래 캐시해도 된다.
+	 * 
+	 * @param fileName
+	 * @return
+	 * @throws IOException
+	 */
+	@GetMapping("/uploads/{fileName:.+}")
+	public ResponseEntity<StreamingResponseBody> getFile(@PathVariable("fileName") String fileName) throws IOException {
+		Optional<URI> directUrl = fileStorageService.getDirectUrl(fileName);
+		if (directUrl.isPresent()) {
+			// 서명된 URL은 만료되므로 리다이렉트 응답은 캐시하지 않음
+			return ResponseEntity.status(HttpStatus.FOUND).location(directUrl.get())
+					.cacheControl(CacheControl.noStore()).build();
+		}
+
+		StoredBlob blob = fileStorageService.loadFile(fileName);
+		MediaType contentType = blob.getContentType() != null ? MediaType.parseMediaType(blob.getContentType())
+				: MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(contentType)
+				.cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+		if (blob.getSize() >= 0) {
+			response.contentLength(blob.getSize());
+		}
+		// 파일 내용은 요청 스레드가 아닌 storage 풀에서 복사한다. (WebConfig의 비동기 실행기)
+		return response.body(out -> {
+			try (InputStream in = blob.getContent()) {
+				in.transferTo(out);
+			}
+		});
+	}
+}
@@ -0,0 +1,26 @@
+package com.example.SAFPE.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일괄 프로젝트 생성의 파일별 결과 (요청한 파일 순서와 같음)
+ *
+ * 실패한 파일은 projectId 없이 error만 담는다. 다른 파일의 생성에는 영향을 주지 않는다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchProjectResultDto {
+	private int index;
+	private String filename;
+	private Long projectId;
+	private String title;
+	private int walls;
+	// AI 분석 결과를 받았는지 (실패하면 빈 평면도로 생성)
+	private boolean analyzed;
+	private String error;
+}
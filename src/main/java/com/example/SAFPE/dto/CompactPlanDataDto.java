@@ -0,0 +1,137 @@
+package com.example.SAFPE.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * 좌표를 평평한 숫자 배열로 담은 평면도 (application/vnd.safpe.plan+json, application/cbor)
+ * 
+ * 요소마다 {"start":{"x":..,"y":..}} 같은 객체를 만들지 않으므로 큰 평면도에서 페이로드와 직렬화 비용이 줄어든다.
+ * 
+ * walls : [startX, startY, endX, endY, ...] (벽 하나당 4개)
+ * doors, windows : [x, y, width, ...] (하나당 3개)
+ * *Ids : 같은 순서의 요소 ID (요청에서는 생략 가능)
+ */
+@Data
+public class CompactPlanDataDto {
+
+	public static final String MEDIA_TYPE = "application/vnd.safpe.plan+json";
+
+	public static final int WALL_STRIDE = 4;
+	public static final int OPENING_STRIDE = 3;
+
+	private double[] walls;
+	private long[] wallIds;
+	private double[] doors;
+	private long[] doorIds;
+	private double[] windows;
+	private long[] windowIds;
+
+	public static CompactPlanDataDto from(PlanDataDto planData) {
+		CompactPlanDataDto compact = new CompactPlanDataDto();
+		if (planData == null) {
+			return compact;
+		}
+
+		List<WallDto> wallDtos = planData.getWalls() != null ? planData.getWalls() : List.of();
+		compact.walls = new double[wallDtos.size() * WALL_STRIDE];
+		compact.wallIds = new long[wallDtos.size()];
+		for (int i = 0; i < wallDtos.size(); i++) {
+			WallDto wall = wallDtos.get(i);
+			int offset = i * WALL_STRIDE;
+			compact.walls[offset] = wall.getStart().getX();
+			compact.walls[offset + 1] = wall.getStart().getY();
+			compact.walls[offset + 2] = wall.getEnd().getX();
+			compact.walls[offset + 3] = wall.getEnd().getY();
+			compact.wallIds[i] = wall.getId() != null ? wall.getId() : 0;
+		}
+
+		List<DoorDto> doorDtos = planData.getDoors() != null ? planData.getDoors() : List.of();
+		compact.doors = new double[doorDtos.size() * OPENING_STRIDE];
+		compact.doorIds = new long[doorDtos.size()];
+		for (int i = 0; i < doorDtos.size(); i++) {
+			DoorDto door = doorDtos.get(i);
+			int offset = i * OPENING_STRIDE;
+			compact.doors[offset] = door.getPosition().getX();
+			compact.doors[offset + 1] = door.getPosition().getY();
+			compact.doors[offset + 2] = door.getWidth();
+			compact.doorIds[i] = door.getId() != null ? door.getId() : 0;
+		}
+
+		List<WindowDto> windowDtos = planData.getWindows() != null ? planData.getWindows() : List.of();
+		compact.windows = new double[windowDtos.size() * OPENING_STRIDE];
+		compact.windowIds = new long[windowDtos.size()];
+		for (int i = 0; i < windowDtos.size(); i++) {
+			WindowDto window = windowDtos.get(i);
+			int offset = i * OPENING_STRIDE;
+			compact.windows[offset] = window.getPosition().getX();
+			compact.windows[offset + 1] = window.getPosition().getY();
+			compact.windows[offset + 2] = window.getWidth();
+			compact.windowIds[i] = window.getId() != null ? window.getId() : 0;
+		}
+		return compact;
+	}
+
+	public PlanDataDto toPlanData() {
+		List<WallDto> wallDtos = new ArrayList<>();
+		int wallCount = count(walls, WALL_STRIDE, wallIds, "walls");
+		for (int i = 0; i < wallCount; i++) {
+			int offset = i * WALL_STRIDE;
+			WallDto wall = new WallDto();
+			wall.setId(idAt(wallIds, i));
+			wall.setStart(new PointDto(walls[offset], walls[offset + 1]));
+			wall.setEnd(new PointDto(walls[offset + 2], walls[offset + 3]));
+			wallDtos.add(wall);
+		}
+
+		List<DoorDto> doorDtos = new ArrayList<>();
+		int doorCount = count(doors, OPENING_STRIDE, doorIds, "doors");
+		for (int i = 0; i < doorCount; i++) {
+			int offset = i * OPENING_STRIDE;
+			DoorDto door = new DoorDto();
+			door.setId(idAt(doorIds, i));
+			door.setPosition(new PointDto(doors[offset], doors[offset + 1]));
+			door.setWidth(doors[offset + 2]);
+			doorDtos.add(door);
+		}
+
+		List<WindowDto> windowDtos = new ArrayList<>();
+		int windowCount = count(windows, OPENING_STRIDE, windowIds, "windows");
+		for (int i = 0; i < windowCount; i++) {
+			int offset = i * OPENING_STRIDE;
+			WindowDto window = new WindowDto();
+			window.setId(idAt(windowIds, i));
+			window.setPosition(new PointDto(windows[offset], windows[offset + 1]));
+			window.setWidth(windows[offset + 2]);
+			windowDtos.add(window);
+		}
+
+		PlanDataDto planData = new PlanDataDto();
+		planData.setWalls(wallDtos);
+		planData.setDoors(doorDtos);
+		planData.setWindows(windowDtos);
+		return planData;
+	}
+
+	// 배열 길이가 요소 크기의 배수인지 확인하고 요소 개수를 반환
+	private static int count(double[] values, int stride, long[] ids, String name) {
+		if (values == null) {
+			return 0;
+		}
+		if (values.length % stride != 0) {
+			throw new IllegalArgumentException(name + " length must be a multiple of " + stride);
+		}
+		int count = values.length / stride;
+		if (ids != null && ids.length != count) {
+			throw new IllegalArgumentException(name + " and their ids have different lengths");
+		}
+		return count;
+	}
+
+	// ID 0은 아직 저장되지 않은 요소
+	private static Long idAt(long[] ids, int index) {
+		return ids != null && ids[index] != 0 ? ids[index] : null;
+	}
+}
@@ -0,0 +1,30 @@
+package com.example.SAFPE.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 평면도를 CompactPlanDataDto로 담은 응답용 Dto (나머지 필드는 ProjectDto와 같음)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactProjectDto {
+	private Long id;
+	private String title;
+	private String backgroundImageUrl;
+	private CompactPlanDataDto planData;
+	private Double scaleRatio;
+	private String scaleUnit;
+	private MetricsDto metrics;
+	private LocalDateTime createdAt;
+	private LocalDateTime updateAt;
+	private boolean isPublic;
+	private String shareId;
+	private Long version; // ETag 값
+}
@@ -0,0 +1,21 @@
+package com.example.SAFPE.dto;
+
+import lombok.Data;
+
+/**
+ * 평면도를 CompactPlanDataDto로 받는 수정 요청
+ */
+@Data
+public class CompactUpdateProjectRequest {
+	private String title;
+	private CompactPlanDataDto planData;
+	private ScaleDto scale;
+
+	public UpdateProjectRequest toRequest() {
+		UpdateProjectRequest request = new UpdateProjectRequest();
+		request.setTitle(title);
+		request.setPlanData(planData != null ? planData.toPlanData() : null);
+		request.setScale(scale);
+		return request;
+	}
+}
@@ -0,0 +1,26 @@
+package com.example.SAFPE.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.SAFPE.dto.collab.PlanElementType;
+import com.example.SAFPE.dto.collab.PlanOperationType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 변경 이력 목록의 한 항목 (작업 내용은 빼고 어떤 요소에 무슨 작업을 했는지만 담음)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanHistoryEntryDto {
+	private Long seq;
+	private PlanOperationType op;
+	private PlanElementType element;
+	private Long elementId;
+	private LocalDateTime createdAt;
+}
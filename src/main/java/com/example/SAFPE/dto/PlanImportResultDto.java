@@ -0,0 +1,22 @@
+package com.example.SAFPE.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 도면 파일 가져오기 결과 (평면도 전체 대신 저장한 요소 수만 반환)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanImportResultDto {
+	private Long projectId;
+	private String title;
+	private int walls;
+	private int doors;
+	private int windows;
+	private String scaleUnit;
+}
@@ -27,4 +27,5 @@ public class ProjectDto {
 	private LocalDateTime updateAt;
 	private boolean isPublic;
 	private String shareId;
+	private Long version; // ETag 값
 }
@@ -0,0 +1,37 @@
+package com.example.SAFPE.dto;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Data;
+
+/**
+ * 프로젝트 검색 조건 (쿼리 파라미터, 값이 없는 조건은 무시)
+ *
+ * 날짜 범위는 양쪽 날짜를 포함한다. 면적은 프로젝트마다 자기 단위(areaUnit)의 값으로 비교한다.
+ */
+@Data
+public class ProjectSearchRequest {
+	// 제목 단어 검색 (단어마다 앞부분 일치, 모든 단어를 포함)
+	private String q;
+	// 제목 앞부분 일치
+	private String titlePrefix;
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+	private LocalDate createdFrom;
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+	private LocalDate createdTo;
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+	private LocalDate updatedFrom;
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+	private LocalDate updatedTo;
+
+	private Boolean isPublic;
+	private Double minArea;
+	private Double maxArea;
+
+	// 키셋 페이징: 이전 페이지의 마지막 프로젝트 id
+	private Long lastId;
+	private Integer size;
+}
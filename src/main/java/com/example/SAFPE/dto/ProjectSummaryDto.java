@@ -0,0 +1,29 @@
+package com.example.SAFPE.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 프로젝트 요약 (평면도 요소 없이 프로젝트 행의 값만 담는다)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectSummaryDto {
+	private Long id;
+	private String title;
+	private String backgroundImageUrl;
+	private String thumbnailUrl; // 평면도 미리보기 (아직 만들어지지 않았으면 null)
+	private double estimatedArea;
+	private String areaUnit; // 스케일이 있으면 scaleUnit, 없으면 px
+	private LocalDateTime createdAt;
+	private LocalDateTime updateAt;
+	private boolean isPublic;
+	private String shareId;
+	private Long version; // ETag 값
+}
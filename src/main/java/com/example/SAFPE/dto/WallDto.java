@@ -4,6 +4,7 @@ import lombok.Data;
 
 @Data
 public class WallDto {
+	private Long id; // 평면도 요소 ID (새로 추가하는 요소는 null)
 	private PointDto start;
 	private PointDto end;
 }
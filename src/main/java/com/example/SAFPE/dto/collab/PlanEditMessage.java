@@ -0,0 +1,25 @@
+package com.example.SAFPE.dto.collab;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 편집 채널(WebSocket)로 주고받는 메시지
+ * 
+ * 클라이언트 → 서버 : { "type": "ops", "ops": [...] }
+ * 서버 → 클라이언트 : { "type": "batch", "version": 12, "ops": [...] } 또는 { "type": "error", "message": "..." }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanEditMessage {
+	private String type;
+	private List<PlanOperationDto> ops;
+	private Long version; // 배치를 반영한 뒤의 프로젝트 버전 (ETag와 같은 값)
+	private String message;
+}
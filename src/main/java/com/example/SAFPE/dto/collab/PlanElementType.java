@@ -0,0 +1,5 @@
+package com.example.SAFPE.dto.collab;
+
+public enum PlanElementType {
+	WALL, DOOR, WINDOW
+}
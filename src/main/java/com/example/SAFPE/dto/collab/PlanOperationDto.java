@@ -0,0 +1,24 @@
+package com.example.SAFPE.dto.collab;
+
+import com.example.SAFPE.dto.PointDto;
+
+import lombok.Data;
+
+/**
+ * 평면도 요소 하나에 대한 편집 작업
+ * 
+ * WALL은 start/end, DOOR와 WINDOW는 position/width를 사용한다. 아직 저장되지 않은 요소(ADD)는 클라이언트가 붙인
+ * clientRef로 구분하고, 저장된 뒤에는 서버가 알려준 id를 사용한다.
+ */
+@Data
+public class PlanOperationDto {
+	private PlanOperationType op;
+	private PlanElementType element;
+	private Long id; // 대상 요소 ID (UPDATE, REMOVE)
+	private String clientRef; // ADD할 때 클라이언트가 붙인 임시 ID
+	private PointDto start;
+	private PointDto end;
+	private PointDto position;
+	private Double width;
+	private Long seq; // 서버가 매긴 순서 번호
+}
@@ -0,0 +1,7 @@
+package com.example.SAFPE.dto.collab;
+
+public enum PlanOperationType {
+	ADD, UPDATE, REMOVE,
+	// 평면도 전체 교체 (PUT 저장, 이력 복원). 변경 이력에만 기록되며 클라이언트는 보낼 수 없다.
+	REPLACE
+}
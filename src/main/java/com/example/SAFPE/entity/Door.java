@@ -1,5 +1,8 @@
 package com.example.SAFPE.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -15,6 +18,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "door")
 @Getter
 @Setter
 @Builder
@@ -0,0 +1,66 @@
+package com.example.SAFPE.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.example.SAFPE.dto.collab.PlanElementType;
+import com.example.SAFPE.dto.collab.PlanOperationType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 평면도 변경 이력 (추가만 하고 수정/삭제하지 않는 작업 로그)
+ * 
+ * seq는 프로젝트별로 1부터 증가한다. payload에는 ADD/UPDATE/REMOVE면 PlanOperationDto를, REPLACE면 교체된
+ * 평면도 전체(PlanDataDto)를 JSON으로 저장한다.
+ */
+@Entity
+// 같은 seq를 동시에 쓰면 이 제약 조건으로 충돌을 알아낸다. (PlanHistoryService)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_plan_operation_project_seq", columnNames = { "project_id",
+		"seq" }))
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanOperation {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	// 이력을 쓸 때 프로젝트 엔티티를 읽을 필요가 없도록 ID만 저장
+	@Column(name = "project_id", nullable = false)
+	private Long projectId;
+
+	@Column(nullable = false)
+	private Long seq;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 10)
+	private PlanOperationType op;
+
+	@Enumerated(EnumType.STRING)
+	@Column(length = 10)
+	private PlanElementType element; // REPLACE면 null
+
+	private Long elementId; // REPLACE면 null
+
+	@Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+	private String payload;
+
+	@CreationTimestamp
+	private LocalDateTime createAt;
+}
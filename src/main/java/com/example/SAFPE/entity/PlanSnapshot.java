@@ -0,0 +1,49 @@
+package com.example.SAFPE.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 작업 로그를 seq 시점까지 반영한 평면도 전체 (PlanDataDto JSON)
+ * 
+ * 특정 시점의 평면도는 그 이전의 가장 최근 스냅샷에 남은 작업만 이어서 반영해 만든다.
+ */
+@Entity
+// 같은 seq를 동시에 쓰면 이 제약 조건으로 충돌을 알아낸다. (PlanHistoryService)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_plan_snapshot_project_seq", columnNames = { "project_id",
+		"seq" }))
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanSnapshot {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "project_id", nullable = false)
+	private Long projectId;
+
+	@Column(nullable = false)
+	private Long seq;
+
+	@Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+	private String planData;
+
+	@CreationTimestamp
+	private LocalDateTime createAt;
+}
@@ -4,6 +4,10 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,6 +21,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -24,6 +29,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+// 2차 캐시 (수정되면 커밋 시점에 캐시도 갱신)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project")
 @Getter
 @Setter
 @Builder
@@ -41,6 +48,10 @@ public class Project {
 	@Column(length = 255)
 	private String backgroundImageUrl;
 
+	// 평면도 미리보기 SVG (/uploads/...). 저장 후 PlanThumbnailService가 JDBC로 채우며, 프로젝트 버전은 올리지 않는다.
+	@Column(length = 255, updatable = false)
+	private String thumbnailUrl;
+
 	/*
 	 * @Lob // Large Object: 긴 텍스트 데이터를 저장하기 위함
 	 * 
@@ -52,14 +63,27 @@ public class Project {
 	 * cascade = CascadeType.ALL : project 테이블의 데이터가 삭제,수정되면 벽/문/창문도 함께 삭제,수정된다.
 	 * orphanRemoval = true : project에서 walls 리스트에서 특정 벽을 제거하면, DB에서도 해당 벽 레코드를
 	 * 삭제한다.(편리한 기능)
+	 * 
+	 * @BatchSize : 여러 프로젝트의 요소를 읽을 때 프로젝트마다 쿼리하지 않고 IN 절로 묶어서 조회 (목록 조회의 N+1 방지)
+	 * 
+	 * @Cache : 요소 ID 목록을 2차 캐시에 보관 (요소 자체는 Wall/Door/Window 캐시에 있음)
 	 */
 	@OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+	@BatchSize(size = 50)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project.walls")
+	@Builder.Default
 	private List<Wall> walls = new ArrayList<>();
 
 	@OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+	@BatchSize(size = 50)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project.doors")
+	@Builder.Default
 	private List<Door> doors = new ArrayList<>();
 
 	@OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+	@BatchSize(size = 50)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project.windows")
+	@Builder.Default
 	private List<Window> windows = new ArrayList<>();
 
 	@Column
@@ -68,17 +92,32 @@ public class Project {
 	@Column(length = 10)
 	private String scaleUnit;
 
+	// 평면도 면적 (검색용). 요소는 JDBC로도 저장되므로 PlanElementJdbcRepository.updateEstimatedArea가 SQL로 계산해서 채운다.
+	@Column(nullable = false, insertable = false, updatable = false)
+	@ColumnDefault("0")
+	private double estimatedArea;
+
 	@CreationTimestamp
 	private LocalDateTime createAt;
 
 	@UpdateTimestamp
 	private LocalDateTime updateAt;
 
+	// 낙관적 잠금용 버전. 수정될 때마다 1씩 증가하며 API에서는 ETag로 노출된다.
+	@Version
+	@Column(nullable = false)
+	private Long version;
+
+	// 마지막으로 기록된 변경 이력(PlanOperation)의 seq. 버전과 같은 UPDATE로 올라가므로 동시에 써도 겹치지 않는다.
+	@Column(nullable = false)
+	private long historySeq;
+
 	@ManyToOne(fetch = FetchType.LAZY) // 지연 로딩으로 성능 최적화
 	@JoinColumn(name = "user_id") // 외래키 컬럼명 지정
 	private User user;
 
 	@Column(nullable = false)
+	@Builder.Default
 	private boolean isPublic = false; // 기본값은 비공개
 
 	@Column(unique = true)
@@ -1,5 +1,8 @@
 package com.example.SAFPE.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.AttributeOverrides;
 import jakarta.persistence.Column;
@@ -18,6 +21,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "wall")
 @Getter
 @Setter
 @Builder
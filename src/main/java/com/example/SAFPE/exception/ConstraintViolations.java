@@ -0,0 +1,26 @@
+package com.example.SAFPE.exception;
+
+import java.util.Locale;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * 무결성 오류가 어떤 제약 조건을 위반했는지 확인
+ */
+public final class ConstraintViolations {
+
+	private ConstraintViolations() {
+	}
+
+	// MySQL은 "users.uk_users_username"처럼 테이블 이름을 붙여서 알려줄 수 있음
+	public static boolean violates(DataIntegrityViolationException e, String constraintName) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+				return violation.getConstraintName().toLowerCase(Locale.ROOT).endsWith(constraintName);
+			}
+		}
+		String message = e.getMostSpecificCause().getMessage();
+		return message != null && message.toLowerCase(Locale.ROOT).contains(constraintName);
+	}
+}
@@ -1,5 +1,8 @@
 package com.example.SAFPE.exception;
 
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -35,7 +38,43 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
 	}
 
-	// 3. 위에서 처리하지 못한 모든 예외 처리
+	// 3. 조건부 요청(If-Match)의 버전이 맞지 않는 경우
+	@ExceptionHandler(PreconditionFailedException.class)
+	public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex) {
+		ErrorResponse response = ErrorResponse.builder().status(HttpStatus.PRECONDITION_FAILED.value())
+				.error(HttpStatus.PRECONDITION_FAILED.getReasonPhrase()).message(ex.getMessage()).build();
+
+		return new ResponseEntity<>(response, HttpStatus.PRECONDITION_FAILED);
+	}
+
+	// 4. 동시에 수정되어 버전 충돌이 난 경우
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+			OptimisticLockingFailureException ex) {
+		ErrorResponse response = ErrorResponse.builder().status(HttpStatus.CONFLICT.value())
+				.error(HttpStatus.CONFLICT.getReasonPhrase())
+				.message("다른 사용자가 먼저 프로젝트를 수정했습니다. 다시 불러온 뒤 시도해 주세요.").build();
+
+		return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+	}
+
+	// 5. 처리 한도를 넘어선 요청에 대한 처리
+	@ExceptionHandler(TooManyRequestsException.class)
+	public ResponseEntity<ErrorResponse> handleTooManyRequestsException(TooManyRequestsException ex) {
+		ErrorResponse response = ErrorResponse.builder().status(HttpStatus.TOO_MANY_REQUESTS.value())
+				.error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase()).message(ex.getMessage()).build();
+
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds())).body(response);
+	}
+
+	// 비동기 처리 풀(Bulkheads)의 대기열이 가득 찬 경우
+	@ExceptionHandler(TaskRejectedException.class)
+	public ResponseEntity<ErrorResponse> handleTaskRejectedException(TaskRejectedException ex) {
+		return handleTooManyRequestsException(new TooManyRequestsException("요청이 많습니다. 잠시 후 다시 시도해 주세요.", 1));
+	}
+
+	// 6. 위에서 처리하지 못한 모든 예외 처리
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ErrorResponse> handleException(Exception ex) {
 		ErrorResponse response = ErrorResponse.builder().status(HttpStatus.INTERNAL_SERVER_ERROR.value())
@@ -0,0 +1,11 @@
+package com.example.SAFPE.exception;
+
+/**
+ * If-Match 조건이 맞지 않으면 HTTP 상태 코드 412(PRECONDITION_FAILED)를 응답하도록 지정
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+	public PreconditionFailedException(String message) {
+		super(message);
+	}
+}
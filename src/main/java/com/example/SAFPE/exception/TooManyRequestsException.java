@@ -0,0 +1,18 @@
+package com.example.SAFPE.exception;
+
+import lombok.Getter;
+
+/**
+ * 서버가 처리할 수 있는 양을 넘어선 요청을 거절할 때 사용. HTTP 상태 코드 429(TOO_MANY_REQUESTS)와
+ * Retry-After 헤더로 응답한다.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+	private final long retryAfterSeconds;
+
+	public TooManyRequestsException(String message, long retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+}
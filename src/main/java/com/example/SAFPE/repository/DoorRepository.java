@@ -1,9 +1,13 @@
 package com.example.SAFPE.repository;
 
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.example.SAFPE.entity.Door;
 
 public interface DoorRepository extends JpaRepository<Door, Long> {
 
+	// 해당 프로젝트에 속한 요소인지 함께 확인
+	Optional<Door> findByIdAndProjectId(Long id, Long projectId);
 }
@@ -0,0 +1,322 @@
+package com.example.SAFPE.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.SAFPE.entity.Project;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 평면도 요소 대량 INSERT (JDBC 배치), 스트리밍 조회, 프로젝트 단위 복사/삭제
+ * 
+ * 엔티티를 만들지 않고 좌표 배열에서 바로 INSERT하므로 요소 수가 많아도 영속성 컨텍스트에 쌓이지 않는다. MySQL은 연결 URL에
+ * rewriteBatchedStatements=true가 있어야 배치가 multi-row INSERT 하나로 전송된다.
+ * 
+ * 조회는 행을 하나씩 콜백으로 넘긴다. MySQL 드라이버는 fetch size가 Integer.MIN_VALUE일 때만 결과를 모두 메모리에 올리지 않고
+ * 스트리밍한다. (export.fetch-size)
+ * 
+ * 복사와 삭제는 요소 종류마다 INSERT ... SELECT / DELETE ... WHERE project_id = ? 문장 하나로 처리한다. 요소 수와 상관없이
+ * 문장 수가 같다.
+ */
+@Repository
+public class PlanElementJdbcRepository {
+
+	private static final String INSERT_WALL = "INSERT INTO wall (start_x, start_y, end_x, end_y, project_id) VALUES (?, ?, ?, ?, ?)";
+	private static final String INSERT_DOOR = "INSERT INTO door (x, y, width, project_id) VALUES (?, ?, ?, ?)";
+	// window는 MySQL 예약어이므로 백틱으로 감싼다.
+	private static final String INSERT_WINDOW = "INSERT INTO `window` (x, y, width, project_id) VALUES (?, ?, ?, ?)";
+
+	private static final String SELECT_WALLS = "SELECT start_x, start_y, end_x, end_y FROM wall WHERE project_id = ? ORDER BY id";
+	private static final String SELECT_DOORS = "SELECT x, y, width FROM door WHERE project_id = ? ORDER BY id";
+	private static final String SELECT_WINDOWS = "SELECT x, y, width FROM `window` WHERE project_id = ? ORDER BY id";
+
+	// id 키셋으로 limit개씩 (id는 마지막 열이므로 위와 같은 열 번호로 읽을 수 있음)
+	private static final String SELECT_WALLS_AFTER = "SELECT start_x, start_y, end_x, end_y, id FROM wall WHERE project_id = ? AND id > ? ORDER BY id LIMIT ?";
+	private static final String SELECT_DOORS_AFTER = "SELECT x, y, width, id FROM door WHERE project_id = ? AND id > ? ORDER BY id LIMIT ?";
+	private static final String SELECT_WINDOWS_AFTER = "SELECT x, y, width, id FROM `window` WHERE project_id = ? AND id > ? ORDER BY id LIMIT ?";
+
+	private static final String COPY_WALLS = "INSERT INTO wall (start_x, start_y, end_x, end_y, project_id) SELECT start_x, start_y, end_x, end_y, ? FROM wall WHERE project_id = ? ORDER BY id";
+	private static final String COPY_DOORS = "INSERT INTO door (x, y, width, project_id) SELECT x, y, width, ? FROM door WHERE project_id = ? ORDER BY id";
+	private static final String COPY_WINDOWS = "INSERT INTO `window` (x, y, width, project_id) SELECT x, y, width, ? FROM `window` WHERE project_id = ? ORDER BY id";
+
+	private static final String DELETE_WALLS = "DELETE FROM wall WHERE project_id = ?";
+	private static final String DELETE_DOORS = "DELETE FROM door WHERE project_id = ?";
+	private static final String DELETE_WINDOWS = "DELETE FROM `window` WHERE project_id = ?";
+
+	// 버전을 올려서 프로젝트 행을 잠근다. 이후 다른 트랜잭션은 이 프로젝트에 요소를 추가하지 못하고(외래 키 확인) 기다린다.
+	private static final String LOCK_PROJECT = "UPDATE project SET version = version + 1 WHERE id = ? AND version = ?";
+	private static final String DELETE_PROJECT = "DELETE FROM project WHERE id = ?";
+
+	// 문/창문은 위치를 중심으로 하는 가로선으로 본다.
+	private static final String SELECT_EXTENTS = "SELECT MIN(min_x), MIN(min_y), MAX(max_x), MAX(max_y) FROM ("
+			+ "SELECT LEAST(start_x, end_x) AS min_x, LEAST(start_y, end_y) AS min_y, GREATEST(start_x, end_x) AS max_x, GREATEST(start_y, end_y) AS max_y FROM wall WHERE project_id = ?"
+			+ " UNION ALL SELECT x - width / 2, y, x + width / 2, y FROM door WHERE project_id = ?"
+			+ " UNION ALL SELECT x - width / 2, y, x + width / 2, y FROM `window` WHERE project_id = ?) extents";
+
+	// 벽의 시작점을 id 순서로 이은 다각형의 면적 (PlanMetrics와 같은 계산, 스케일이 있으면 실제 단위로 환산)
+	private static final String UPDATE_ESTIMATED_AREA = "UPDATE project p LEFT JOIN ("
+			+ "SELECT ABS(SUM(x * next_y - next_x * y)) / 2 AS pixel_area FROM ("
+			+ "SELECT start_x AS x, start_y AS y, COALESCE(LEAD(start_x) OVER w, FIRST_VALUE(start_x) OVER w) AS next_x,"
+			+ " COALESCE(LEAD(start_y) OVER w, FIRST_VALUE(start_y) OVER w) AS next_y"
+			+ " FROM wall WHERE project_id = ? WINDOW w AS (ORDER BY id)) vertices) areas ON TRUE"
+			+ " SET p.estimated_area = COALESCE(ROUND(CASE WHEN p.scale_ratio > 0 AND p.scale_unit IS NOT NULL"
+			+ " THEN areas.pixel_area * p.scale_ratio * p.scale_ratio ELSE areas.pixel_area END, 1), 0) WHERE p.id = ?";
+
+	private static final String SELECT_PROJECT_VERSION = "SELECT version FROM project WHERE id = ?";
+	// 미리보기를 그린 시점의 버전일 때만 저장 (버전은 올리지 않음)
+	private static final String UPDATE_THUMBNAIL_URL = "UPDATE project SET thumbnail_url = ? WHERE id = ? AND version = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final EntityManagerFactory entityManagerFactory;
+	private final int fetchSize;
+
+	public PlanElementJdbcRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+			@Value("${export.fetch-size:" + Integer.MIN_VALUE + "}") int fetchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.entityManagerFactory = entityManagerFactory;
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * @param walls [startX, startY, endX, endY, ...]
+	 * @param count 벽 개수
+	 */
+	public void insertWalls(Long projectId, double[] walls, int count) {
+		batchInsert(INSERT_WALL, projectId, walls, 4, count);
+		evictCollectionCache(projectId, "walls");
+	}
+
+	/**
+	 * @param doors [x, y, width, ...]
+	 * @param count 문 개수
+	 */
+	public void insertDoors(Long projectId, double[] doors, int count) {
+		batchInsert(INSERT_DOOR, projectId, doors, 3, count);
+		evictCollectionCache(projectId, "doors");
+	}
+
+	/**
+	 * @param windows [x, y, width, ...]
+	 * @param count   창문 개수
+	 */
+	public void insertWindows(Long projectId, double[] windows, int count) {
+		batchInsert(INSERT_WINDOW, projectId, windows, 3, count);
+		evictCollectionCache(projectId, "windows");
+	}
+
+	/**
+	 * 프로젝트의 모든 요소를 다른 프로젝트로 복사 (요소 순서 유지, 새 ID 부여)
+	 * 
+	 * @return [벽, 문, 창문] 복사된 개수
+	 */
+	public int[] copyElements(Long sourceProjectId, Long targetProjectId) {
+		int walls = jdbcTemplate.update(COPY_WALLS, targetProjectId, sourceProjectId);
+		int doors = jdbcTemplate.update(COPY_DOORS, targetProjectId, sourceProjectId);
+		int windows = jdbcTemplate.update(COPY_WINDOWS, targetProjectId, sourceProjectId);
+		evictCollectionCache(targetProjectId, "walls");
+		evictCollectionCache(targetProjectId, "doors");
+		evictCollectionCache(targetProjectId, "windows");
+		return new int[] { walls, doors, windows };
+	}
+
+	/**
+	 * 프로젝트와 모든 요소 삭제 (변경 이력은 호출하는 쪽에서 지운다)
+	 * 
+	 * @param version 읽어 둔 프로젝트 버전
+	 * @return 그 사이 프로젝트가 수정되었거나 이미 삭제되었으면 false (아무것도 지우지 않음)
+	 */
+	public boolean deleteProject(Long projectId, long version) {
+		if (jdbcTemplate.update(LOCK_PROJECT, projectId, version) == 0) {
+			return false;
+		}
+		jdbcTemplate.update(DELETE_WALLS, projectId);
+		jdbcTemplate.update(DELETE_DOORS, projectId);
+		jdbcTemplate.update(DELETE_WINDOWS, projectId);
+		jdbcTemplate.update(DELETE_PROJECT, projectId);
+
+		evictCollectionCache(projectId, "walls");
+		evictCollectionCache(projectId, "doors");
+		evictCollectionCache(projectId, "windows");
+		evictEntityCache(projectId);
+		return true;
+	}
+
+	/**
+	 * 프로젝트의 면적(estimated_area)을 현재 벽과 스케일로 다시 계산한다. (검색용)
+	 * 
+	 * 벽이나 스케일을 바꾼 뒤 flush된 상태에서 호출한다. UPDATE 한 문장이며 벽은 커버링 인덱스에서 읽는다.
+	 */
+	public void updateEstimatedArea(Long projectId) {
+		jdbcTemplate.update(UPDATE_ESTIMATED_AREA, projectId, projectId);
+		evictEntityCache(projectId);
+	}
+
+	/**
+	 * @return 프로젝트 버전. 프로젝트가 없으면 null
+	 */
+	public Long findProjectVersion(Long projectId) {
+		return jdbcTemplate.query(SELECT_PROJECT_VERSION, rs -> rs.next() ? rs.getLong(1) : null, projectId);
+	}
+
+	/**
+	 * 미리보기 URL 저장
+	 * 
+	 * @param version 미리보기를 그린 평면도의 프로젝트 버전
+	 * @return 그 사이 프로젝트가 수정되었거나 삭제되었으면 false
+	 */
+	public boolean updateThumbnailUrl(Long projectId, long version, String thumbnailUrl) {
+		boolean updated = jdbcTemplate.update(UPDATE_THUMBNAIL_URL, thumbnailUrl, projectId, version) > 0;
+		if (updated) {
+			evictEntityCache(projectId);
+		}
+		return updated;
+	}
+
+	/**
+	 * 벽을 한 행씩 넘긴다. (start_x, start_y, end_x, end_y)
+	 */
+	public void forEachWall(Long projectId, RowCallbackHandler handler) {
+		stream(SELECT_WALLS, projectId, handler);
+	}
+
+	/**
+	 * 문을 한 행씩 넘긴다. (x, y, width)
+	 */
+	public void forEachDoor(Long projectId, RowCallbackHandler handler) {
+		stream(SELECT_DOORS, projectId, handler);
+	}
+
+	/**
+	 * 창문을 한 행씩 넘긴다. (x, y, width)
+	 */
+	public void forEachWindow(Long projectId, RowCallbackHandler handler) {
+		stream(SELECT_WINDOWS, projectId, handler);
+	}
+
+	/**
+	 * afterId 다음 벽을 limit개까지 넘긴다. (start_x, start_y, end_x, end_y, id)
+	 * 
+	 * @return 이어서 읽을 id. 마지막 묶음이면 null
+	 */
+	public Long forEachWallAfter(Long projectId, long afterId, int limit, RowCallbackHandler handler) {
+		return chunk(SELECT_WALLS_AFTER, 5, projectId, afterId, limit, handler);
+	}
+
+	/**
+	 * afterId 다음 문을 limit개까지 넘긴다. (x, y, width, id)
+	 * 
+	 * @return 이어서 읽을 id. 마지막 묶음이면 null
+	 */
+	public Long forEachDoorAfter(Long projectId, long afterId, int limit, RowCallbackHandler handler) {
+		return chunk(SELECT_DOORS_AFTER, 4, projectId, afterId, limit, handler);
+	}
+
+	/**
+	 * afterId 다음 창문을 limit개까지 넘긴다. (x, y, width, id)
+	 * 
+	 * @return 이어서 읽을 id. 마지막 묶음이면 null
+	 */
+	public Long forEachWindowAfter(Long projectId, long afterId, int limit, RowCallbackHandler handler) {
+		return chunk(SELECT_WINDOWS_AFTER, 4, projectId, afterId, limit, handler);
+	}
+
+	/**
+	 * 모든 요소를 감싸는 범위
+	 * 
+	 * @return [minX, minY, maxX, maxY]. 요소가 없으면 null
+	 */
+	public double[] findExtents(Long projectId) {
+		return jdbcTemplate.query(SELECT_EXTENTS, rs -> {
+			if (!rs.next() || rs.getObject(1) == null) {
+				return null;
+			}
+			return new double[] { rs.getDouble(1), rs.getDouble(2), rs.getDouble(3), rs.getDouble(4) };
+		}, projectId, projectId, projectId);
+	}
+
+	// JDBC로 쓴 요소는 Hibernate가 모르므로 프로젝트의 요소 컬렉션 2차 캐시를 직접 비운다.
+	// 커밋 전에 다른 트랜잭션이 예전 목록을 다시 캐시할 수 있으므로 트랜잭션이 끝난 뒤에 한 번 더 비운다.
+	private void evictCollectionCache(Long projectId, String collection) {
+		String role = Project.class.getName() + "." + collection;
+		Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+		cache.evictCollectionData(role, projectId);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					cache.evictCollectionData(role, projectId);
+				}
+			});
+		}
+	}
+
+	// 프로젝트 엔티티도 같은 방식으로 비운다. (삭제된 요소 엔티티는 어느 컬렉션에서도 참조되지 않으므로 만료될 때까지 둔다)
+	private void evictEntityCache(Long projectId) {
+		Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+		cache.evictEntityData(Project.class, projectId);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					cache.evictEntityData(Project.class, projectId);
+				}
+			});
+		}
+	}
+
+	private void stream(String sql, Long projectId, RowCallbackHandler handler) {
+		jdbcTemplate.query(con -> {
+			PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			ps.setFetchSize(fetchSize);
+			ps.setLong(1, projectId);
+			return ps;
+		}, handler);
+	}
+
+	private Long chunk(String sql, int idColumn, Long projectId, long afterId, int limit,
+			RowCallbackHandler handler) {
+		long[] last = { afterId, 0 }; // 마지막 id, 행 수
+		jdbcTemplate.query(sql, rs -> {
+			handler.processRow(rs);
+			last[0] = rs.getLong(idColumn);
+			last[1]++;
+		}, projectId, afterId, limit);
+		return last[1] == limit ? last[0] : null;
+	}
+
+	private void batchInsert(String sql, Long projectId, double[] values, int stride, int count) {
+		if (count == 0) {
+			return;
+		}
+
+		jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement ps, int i) throws SQLException {
+				int offset = i * stride;
+				for (int column = 0; column < stride; column++) {
+					ps.setDouble(column + 1, values[offset + column]);
+				}
+				ps.setLong(stride + 1, projectId);
+			}
+
+			@Override
+			public int getBatchSize() {
+				return count;
+			}
+		});
+	}
+}
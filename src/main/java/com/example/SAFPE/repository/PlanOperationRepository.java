@@ -0,0 +1,27 @@
+package com.example.SAFPE.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.SAFPE.entity.PlanOperation;
+
+public interface PlanOperationRepository extends JpaRepository<PlanOperation, Long> {
+
+	// 스냅샷 이후의 작업 (afterSeq < seq <= toSeq)
+	List<PlanOperation> findByProjectIdAndSeqGreaterThanAndSeqLessThanEqualOrderBySeqAsc(Long projectId,
+			Long afterSeq, Long toSeq);
+
+	// 이력 목록 (beforeSeq 이전부터 최신순, seq 기준 키셋 페이징)
+	List<PlanOperation> findByProjectIdAndSeqLessThanOrderBySeqDesc(Long projectId, Long beforeSeq,
+			Pageable pageable);
+
+	// 프로젝트의 작업 로그를 DELETE 한 문장으로 삭제
+	@Modifying
+	@Query("delete from PlanOperation o where o.projectId = :projectId")
+	int deleteByProjectIdInBulk(@Param("projectId") Long projectId);
+}
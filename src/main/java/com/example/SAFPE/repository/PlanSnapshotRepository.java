@@ -0,0 +1,23 @@
+package com.example.SAFPE.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.SAFPE.entity.PlanSnapshot;
+
+public interface PlanSnapshotRepository extends JpaRepository<PlanSnapshot, Long> {
+
+	// seq 시점 이전의 가장 최근 스냅샷
+	Optional<PlanSnapshot> findFirstByProjectIdAndSeqLessThanEqualOrderBySeqDesc(Long projectId, Long seq);
+
+	boolean existsByProjectId(Long projectId);
+
+	// 프로젝트의 스냅샷을 DELETE 한 문장으로 삭제
+	@Modifying
+	@Query("delete from PlanSnapshot s where s.projectId = :projectId")
+	int deleteByProjectIdInBulk(@Param("projectId") Long projectId);
+}
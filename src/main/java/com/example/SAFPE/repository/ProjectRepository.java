@@ -2,16 +2,27 @@ package com.example.SAFPE.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.example.SAFPE.entity.Project;
 import com.example.SAFPE.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * JpaRepository를 상속받아 기본적인 CRUD 기능 자동 구현
+ * 
+ * 검색 조건은 ProjectSpecs의 Specification으로 조합한다.
  */
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project> {
 
 	// 필요 시 커스텀 쿼리 메소드 추가 (예: findByUserId)
 	List<Project> findAllByOrderByIdDesc(); // 최신순으로 정렬
@@ -21,5 +32,25 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 	// 상세 정보 조회
 	Optional<Project> findByUserAndId(User user, Long id);
 
+	// user_id 컬럼으로 바로 필터링 (User 엔티티를 먼저 조회할 필요 없음)
+	List<Project> findByUserIdOrderByIdDesc(Long userId);
+
+	// id 기준 키셋 페이징 (lastId보다 작은 프로젝트를 최신순으로)
+	List<Project> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long lastId, Pageable pageable);
+
+	// 버전만 조회 (조건부 요청 처리용. 평면도 요소는 읽지 않음)
+	@Query("select p.version from Project p where p.user.id = :userId and p.id = :id")
+	Optional<Long> findVersionByUserIdAndId(@Param("userId") Long userId, @Param("id") Long id);
+
 	Optional<Project> findByShareIdAndIsPublicTrue(String shareId);
+
+	// 배경 이미지 URL만 하나씩 읽는다. (MySQL은 fetch size가 Integer.MIN_VALUE일 때 결과를 스트리밍, 트랜잭션 안에서 사용)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+	@Query("select p.backgroundImageUrl from Project p where p.backgroundImageUrl is not null")
+	Stream<String> streamBackgroundImageUrls();
+
+	// 미리보기 URL만 하나씩 읽는다. (streamBackgroundImageUrls와 같은 방식)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+	@Query("select p.thumbnailUrl from Project p where p.thumbnailUrl is not null")
+	Stream<String> streamThumbnailUrls();
 }
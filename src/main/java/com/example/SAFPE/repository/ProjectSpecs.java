@@ -0,0 +1,94 @@
+package com.example.SAFPE.repository;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.SAFPE.entity.Project;
+
+/**
+ * 프로젝트 검색 조건 (ProjectRepository.findBy와 함께 사용)
+ *
+ * 모든 검색은 ownedBy(user_id = ?)와 함께 쓰며, 조건마다 (user_id, 조건 컬럼) 인덱스가 있다. (V4__project_search.sql)
+ */
+public final class ProjectSpecs {
+
+	private ProjectSpecs() {
+	}
+
+	public static Specification<Project> ownedBy(Long userId) {
+		return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+	}
+
+	/**
+	 * 제목 단어 검색 (FULLTEXT 인덱스, 단어마다 앞부분 일치하고 모든 단어를 포함해야 함)
+	 *
+	 * @return 검색할 단어가 없으면 null (조건 없음)
+	 */
+	public static Specification<Project> titleMatches(String words) {
+		String against = toBooleanQuery(words);
+		if (against.isEmpty()) {
+			return null;
+		}
+		return (root, query, cb) -> cb.greaterThan(
+				cb.function("match_against", Double.class, root.get("title"), cb.literal(against)), 0.0);
+	}
+
+	// 제목 앞부분 일치 (title LIKE 'prefix%', 인덱스 범위 검색)
+	public static Specification<Project> titleStartsWith(String prefix) {
+		String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+		return (root, query, cb) -> cb.like(root.get("title"), pattern, '\\');
+	}
+
+	// 생성일 범위 (양쪽 날짜 포함, 한쪽은 null 가능)
+	public static Specification<Project> createdBetween(LocalDate from, LocalDate to) {
+		return between("createAt", from, to);
+	}
+
+	// 수정일 범위 (양쪽 날짜 포함, 한쪽은 null 가능)
+	public static Specification<Project> updatedBetween(LocalDate from, LocalDate to) {
+		return between("updateAt", from, to);
+	}
+
+	public static Specification<Project> isPublic(boolean isPublic) {
+		return (root, query, cb) -> cb.equal(root.get("isPublic"), isPublic);
+	}
+
+	// 면적 범위 (양쪽 값 포함, 한쪽은 null 가능)
+	public static Specification<Project> areaBetween(Double min, Double max) {
+		return (root, query, cb) -> {
+			if (min != null && max != null) {
+				return cb.between(root.get("estimatedArea"), min, max);
+			}
+			return min != null ? cb.greaterThanOrEqualTo(root.get("estimatedArea"), min)
+					: cb.lessThanOrEqualTo(root.get("estimatedArea"), max);
+		};
+	}
+
+	// id 기준 키셋 페이징 (lastId보다 작은 프로젝트)
+	public static Specification<Project> idLessThan(Long lastId) {
+		return (root, query, cb) -> cb.lessThan(root.get("id"), lastId);
+	}
+
+	private static Specification<Project> between(String attribute, LocalDate from, LocalDate to) {
+		return (root, query, cb) -> {
+			if (from != null && to != null) {
+				return cb.and(cb.greaterThanOrEqualTo(root.get(attribute), from.atStartOfDay()),
+						cb.lessThan(root.get(attribute), to.plusDays(1).atStartOfDay()));
+			}
+			return from != null ? cb.greaterThanOrEqualTo(root.get(attribute), from.atStartOfDay())
+					: cb.lessThan(root.get(attribute), to.plusDays(1).atStartOfDay());
+		};
+	}
+
+	// 검색어를 BOOLEAN MODE 식으로 바꾼다. 연산자 문자는 지우고 단어마다 +단어* (필수, 앞부분 일치)
+	static String toBooleanQuery(String words) {
+		if (words == null) {
+			return "";
+		}
+		return Arrays.stream(words.replaceAll("[+\\-<>()~*\"@]", " ").trim().split("\\s+"))
+				.filter(word -> !word.isEmpty()).map(word -> "+" + word + "*").collect(Collectors.joining(" "));
+	}
+}
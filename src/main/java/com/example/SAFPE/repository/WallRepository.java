@@ -1,9 +1,13 @@
 package com.example.SAFPE.repository;
 
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.example.SAFPE.entity.Wall;
 
 public interface WallRepository extends JpaRepository<Wall, Long> {
 
+	// 해당 프로젝트에 속한 요소인지 함께 확인
+	Optional<Wall> findByIdAndProjectId(Long id, Long projectId);
 }
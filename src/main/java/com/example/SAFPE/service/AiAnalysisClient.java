@@ -0,0 +1,111 @@
+package com.example.SAFPE.service;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.SAFPE.dto.ai.AiAnalysisResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Python AI 서버(/analyze)와 통신하는 논블로킹 클라이언트
+ * 
+ * 같은 이미지에 대한 분석 요청이 동시에 여러 번 들어오면 (이미지 내용의 해시 기준) 전처리와 업스트림 호출은 한 번만 하고 결과를
+ * 모든 요청자에게 나눠준다. 이미지는 AnalysisImagePreprocessor로 줄여서 보내고 결과 좌표는 원본 기준으로 되돌린다. AI 서버로 동시에 나가는 요청 수는 커넥션 풀 크기로 제한하고, 초과분은 대기열에서 기다린다.
+ */
+@Component
+public class AiAnalysisClient {
+
+	private final WebClient webClient;
+	private final ObjectMapper objectMapper;
+	private final AnalysisImagePreprocessor imagePreprocessor;
+	private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+	private final Duration timeout;
+
+	// 진행 중인 분석 요청 (key: 이미지 내용의 SHA-256)
+	private final ConcurrentMap<String, Mono<AiAnalysisResponse>> inFlightRequests = new ConcurrentHashMap<>();
+
+	public AiAnalysisClient(WebClient.Builder webClientBuilder, ObjectMapper objectMapper,
+			AnalysisImagePreprocessor imagePreprocessor,
+			@Value("${ai.server.url}") String aiServerUrl,
+			@Value("${ai.server.max-concurrent-requests:4}") int maxConcurrentRequests,
+			@Value("${ai.server.max-pending-requests:200}") int maxPendingRequests,
+			@Value("${ai.server.timeout-ms:60000}") long timeoutMs) {
+		this.timeout = Duration.ofMillis(timeoutMs);
+
+		// HTTP/1.1에서는 커넥션 하나에 요청 하나이므로, 커넥션 수 = AI 서버로 동시에 나가는 요청 수
+		ConnectionProvider connectionProvider = ConnectionProvider.builder("ai-server")
+				.maxConnections(maxConcurrentRequests).pendingAcquireMaxCount(maxPendingRequests)
+				.pendingAcquireTimeout(timeout).build();
+
+		this.webClient = webClientBuilder.baseUrl(aiServerUrl)
+				.clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider))).build();
+		this.objectMapper = objectMapper;
+		this.imagePreprocessor = imagePreprocessor;
+	}
+
+	/**
+	 * 이미지 분석 요청
+	 * 
+	 * @param content  이미지 파일 내용
+	 * @param filename
+	 * @return 분석 결과 (구독 시점에 요청이 시작된다)
+	 */
+	public Mono<AiAnalysisResponse> analyze(byte[] content, String filename) {
+		String key = digest(content);
+
+		// 같은 이미지를 분석 중이면 진행 중인 요청에 합류하고, 없으면 새로 요청한다.
+		// 전처리(디코딩, 축소)는 CPU 작업이므로 boundedElastic 스레드에서 실행
+		// cache() : 업스트림은 한 번만 구독하고 결과를 모든 구독자에게 전달
+		return inFlightRequests.computeIfAbsent(key,
+				k -> Mono.fromCallable(() -> imagePreprocessor.prepare(content, filename))
+						.subscribeOn(Schedulers.boundedElastic())
+						.flatMap(prepared -> requestAnalysis(prepared.getContent(), prepared.getFilename())
+								.map(prepared::restore))
+						.doFinally(signal -> inFlightRequests.remove(k)).cache());
+	}
+
+	private Mono<AiAnalysisResponse> requestAnalysis(byte[] content, String filename) {
+		MultipartBodyBuilder bodyBuilder = new MultipartBodyBuilder();
+		bodyBuilder.part("file", new ByteArrayResource(content)).filename(filename);
+
+		// AI 서버가 CBOR을 지원하면 CBOR로, 아니면 JSON으로 받는다. (문자열로 바꾸지 않고 바이트 그대로 읽음)
+		return webClient.post().uri("/analyze").accept(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON)
+				.body(BodyInserters.fromMultipartData(bodyBuilder.build())).retrieve().toEntity(byte[].class)
+				.flatMap(response -> Mono.fromCallable(() -> readResponse(response))).timeout(timeout);
+	}
+
+	private AiAnalysisResponse readResponse(ResponseEntity<byte[]> response) throws IOException {
+		MediaType contentType = response.getHeaders().getContentType();
+		ObjectMapper mapper = MediaType.APPLICATION_CBOR.isCompatibleWith(contentType) ? cborMapper : objectMapper;
+		return mapper.readValue(response.getBody(), AiAnalysisResponse.class);
+	}
+
+	private String digest(byte[] content) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package com.example.SAFPE.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.SAFPE.dto.PointDto;
+import com.example.SAFPE.dto.ai.AiAnalysisResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * AI 서버로 보내기 전에 업로드 이미지를 분석용으로 줄인다.
+ * 
+ * 1. 이미지를 한 번만 디코딩한다. (목표 크기보다 훨씬 크면 디코딩할 때부터 픽셀을 건너뛰어 읽음)
+ * 2. EXIF 방향을 적용하고 ai.preprocess.max-dimension 크기로 줄이면서 흑백으로 바꾼다.
+ * 3. 분석 결과의 좌표는 원본(방향 적용) 이미지 기준으로 되돌린다. (PreparedImage.restore)
+ * 
+ * 디코딩할 수 없는 형식은 원본을 그대로 보낸다.
+ */
+@Component
+public class AnalysisImagePreprocessor {
+
+	private static final float JPEG_QUALITY = 0.9f;
+
+	private final boolean enabled;
+	private final int maxDimension;
+	private final String format;
+
+	public AnalysisImagePreprocessor(@Value("${ai.preprocess.enabled:true}") boolean enabled,
+			@Value("${ai.preprocess.max-dimension:1600}") int maxDimension,
+			@Value("${ai.preprocess.format:png}") String format) {
+		this.enabled = enabled;
+		this.maxDimension = maxDimension;
+		this.format = "jpg".equalsIgnoreCase(format) || "jpeg".equalsIgnoreCase(format) ? "jpg" : "png";
+	}
+
+	public PreparedImage prepare(byte[] content, String filename) {
+		if (!enabled) {
+			return PreparedImage.original(content, filename);
+		}
+
+		try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+			Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+			if (!readers.hasNext()) {
+				return PreparedImage.original(content, filename);
+			}
+
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(input, true, true);
+				return prepare(reader, content, filename);
+			} finally {
+				reader.dispose();
+			}
+		} catch (IOException | RuntimeException e) {
+			// 디코딩할 수 없는 이미지 (CMYK JPEG 등)는 AI 서버가 판단하도록 그대로 보냄
+			System.err.println("Image preprocessing skipped: " + e.getMessage());
+			return PreparedImage.original(content, filename);
+		}
+	}
+
+	private PreparedImage prepare(ImageReader reader, byte[] content, String filename) throws IOException {
+		// 헤더만 읽어서 크기 확인
+		int width = reader.getWidth(0);
+		int height = reader.getHeight(0);
+		int orientation = "jpeg".equalsIgnoreCase(reader.getFormatName()) ? ExifOrientation.read(content)
+				: ExifOrientation.NORMAL;
+		boolean swap = ExifOrientation.swapsDimensions(orientation);
+		int orientedWidth = swap ? height : width;
+		int orientedHeight = swap ? width : height;
+
+		double ratio = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+		int targetWidth = Math.max(1, (int) Math.round(orientedWidth * ratio));
+		int targetHeight = Math.max(1, (int) Math.round(orientedHeight * ratio));
+
+		// 목표 크기의 2배 이상 남는 만큼은 디코딩 단계에서 건너뛰고, 나머지는 보간으로 줄인다.
+		int subsampling = Math.max(1, (int) (1 / ratio / 2));
+		ImageReadParam param = reader.getDefaultReadParam();
+		param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+		BufferedImage source = reader.read(0, param);
+
+		BufferedImage gray = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_BYTE_GRAY);
+		Graphics2D g2d = gray.createGraphics();
+		g2d.setColor(Color.WHITE); // 투명한 부분은 흰색으로
+		g2d.fillRect(0, 0, targetWidth, targetHeight);
+		g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		// 방향 적용 → 목표 크기로 축소 (변환은 나중에 지정한 것부터 적용됨)
+		g2d.scale((double) targetWidth / (swap ? source.getHeight() : source.getWidth()),
+				(double) targetHeight / (swap ? source.getWidth() : source.getHeight()));
+		g2d.transform(ExifOrientation.transform(orientation, source.getWidth(), source.getHeight()));
+		g2d.drawImage(source, 0, 0, null);
+		g2d.dispose();
+
+		byte[] encoded = encode(gray);
+		if (orientation == ExifOrientation.NORMAL && ratio == 1.0 && encoded.length >= content.length) {
+			return PreparedImage.original(content, filename); // 줄일 것이 없으면 원본이 더 작음
+		}
+
+		String baseName = filename != null && filename.contains(".") ? filename.substring(0, filename.lastIndexOf('.'))
+				: (filename != null ? filename : "image");
+		return new PreparedImage(encoded, baseName + "." + format, (double) orientedWidth / targetWidth,
+				(double) orientedHeight / targetHeight, orientedWidth, orientedHeight);
+	}
+
+	private byte[] encode(BufferedImage image) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		if ("png".equals(format)) {
+			ImageIO.write(image, "png", out);
+			return out.toByteArray();
+		}
+
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+		try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			param.setCompressionQuality(JPEG_QUALITY);
+			writer.setOutput(output);
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * AI 서버로 보낼 이미지와, 분석 결과 좌표를 원본 기준으로 되돌리기 위한 배율
+	 */
+	@Getter
+	@AllArgsConstructor
+	public static class PreparedImage {
+		private final byte[] content;
+		private final String filename;
+		private final double scaleX; // 원본 너비 / 보낸 이미지 너비
+		private final double scaleY;
+		private final Integer originalWidth; // 방향 적용 후 원본 크기 (원본을 그대로 보냈으면 null)
+		private final Integer originalHeight;
+
+		static PreparedImage original(byte[] content, String filename) {
+			return new PreparedImage(content, filename, 1.0, 1.0, null, null);
+		}
+
+		/**
+		 * 분석 결과의 좌표와 크기를 원본 이미지 기준으로 바꾼다.
+		 */
+		public AiAnalysisResponse restore(AiAnalysisResponse response) {
+			if (originalWidth == null) {
+				return response;
+			}
+
+			response.setWidth(originalWidth);
+			response.setHeight(originalHeight);
+			if (response.getDetectedLines() != null) {
+				response.getDetectedLines().forEach(line -> {
+					line.setStart(scale(line.getStart()));
+					line.setEnd(scale(line.getEnd()));
+				});
+			}
+			return response;
+		}
+
+		private PointDto scale(PointDto point) {
+			return point == null ? null : new PointDto(point.getX() * scaleX, point.getY() * scaleY);
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package com.example.SAFPE.service;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -8,10 +9,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.example.SAFPE.config.jwt.JwtTokenProvider;
+import com.example.SAFPE.config.jwt.UserPrincipal;
 import com.example.SAFPE.dto.AuthRequest;
 import com.example.SAFPE.dto.AuthResponse;
 import com.example.SAFPE.dto.RegisterRequest;
 import com.example.SAFPE.entity.User;
+import com.example.SAFPE.exception.ConstraintViolations;
 import com.example.SAFPE.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -24,22 +27,29 @@ public class AuthService {
 	private final JwtTokenProvider jwtTokenProvider;
 	// Spring Boot 2.7.x 이상부터는 AuthenticationManager Bean이 자동으로 등록되지 않으므로 개발자가 직접 의존성 주입해야 함. 
 	private final AuthenticationManager authenticationManager;
+
+	// V1__baseline.sql의 username 유니크 제약
+	private static final String USERNAME_UNIQUE_CONSTRAINT = "uk_users_username";
 	
 	// 회원가입
 	public void register(RegisterRequest request) {
-		// 사용자 이름 중복 확인
-		if (userRepository.findByUsername(request.getUsername()).isPresent()) {
-			throw new IllegalArgumentException("Username is already taken");
-		}
-		
 		// 사용자 생성과 비밀번호 암호화
 		User user = User.builder().username(request.getUsername())
 				.password(passwordEncoder.encode(request.getPassword())).build();
 		
 		// 사용자 정보 저장
-		userRepository.save(user);
+		// 중복 확인은 username 유니크 인덱스에 맡긴다. (미리 조회하는 쿼리 없이 INSERT 한 번으로 처리)
+		try {
+			userRepository.saveAndFlush(user);
+		} catch (DataIntegrityViolationException e) {
+			// username 유니크 제약 위반만 중복 가입으로 보고, 나머지 무결성 오류는 그대로 던진다.
+			if (ConstraintViolations.violates(e, USERNAME_UNIQUE_CONSTRAINT)) {
+				throw new IllegalArgumentException("Username is already taken");
+			}
+			throw e;
+		}
 	}
-	
+
 	// 로그인
 	public AuthResponse login(AuthRequest request) {
 		// Spring Security를 사용해서 사용자 인증
@@ -48,8 +58,9 @@ public class AuthService {
 		// 인증 정보를 SecurityContext에 저장
 		SecurityContextHolder.getContext().setAuthentication(authentication);
 		
-		// JWT 토큰 생성
-		String token = jwtTokenProvider.createToken(request.getUsername());
+		// JWT 토큰 생성 (이후 요청에서 DB 조회 없이 사용자를 식별할 수 있도록 사용자 ID 포함)
+		UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+		String token = jwtTokenProvider.createToken(principal.getId(), principal.getUsername());
 		
 		// 토큰을 포함한 응답 반환
 		return new AuthResponse(token);
@@ -1,12 +1,11 @@
 package com.example.SAFPE.service;
 
-import java.util.ArrayList;
-
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.example.SAFPE.config.jwt.UserPrincipal;
 import com.example.SAFPE.entity.User;
 import com.example.SAFPE.repository.UserRepository;
 
@@ -22,7 +21,6 @@ public class CustomUserDetailsService implements UserDetailsService {
 		User user = userRepository.findByUsername(username)
 				.orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-		return new org.springframework.security.core.userdetails.User(user.getUsername(), user.getPassword(),
-				new ArrayList<>());
+		return new UserPrincipal(user.getId(), user.getUsername(), user.getPassword());
 	}
 }
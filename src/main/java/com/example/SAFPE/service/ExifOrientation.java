@@ -0,0 +1,108 @@
+package com.example.SAFPE.service;
+
+import java.awt.geom.AffineTransform;
+
+/**
+ * JPEG의 EXIF Orientation 태그(0x0112) 읽기
+ * 
+ * 휴대폰 사진은 픽셀을 센서 방향 그대로 저장하고 회전 정보만 EXIF에 남긴다. 브라우저는 이 값대로 돌려서 보여주므로 분석도 같은
+ * 방향으로 해야 좌표가 맞는다. 이미지 전체를 읽지 않고 APP1 세그먼트의 IFD0만 확인한다.
+ */
+final class ExifOrientation {
+
+	static final int NORMAL = 1;
+
+	private ExifOrientation() {
+	}
+
+	/**
+	 * @return 1~8 (없거나 읽을 수 없으면 1)
+	 */
+	static int read(byte[] jpeg) {
+		if (jpeg.length < 4 || (jpeg[0] & 0xFF) != 0xFF || (jpeg[1] & 0xFF) != 0xD8) {
+			return NORMAL;
+		}
+
+		int pos = 2;
+		while (pos + 4 <= jpeg.length && (jpeg[pos] & 0xFF) == 0xFF) {
+			int marker = jpeg[pos + 1] & 0xFF;
+			if (marker == 0xDA || marker == 0xD9) { // 이미지 데이터 시작 또는 끝
+				break;
+			}
+			int length = readShort(jpeg, pos + 2, false);
+			if (marker == 0xE1 && isExifHeader(jpeg, pos + 4)) {
+				return readOrientation(jpeg, pos + 10, Math.min(jpeg.length, pos + 2 + length));
+			}
+			pos += 2 + length;
+		}
+		return NORMAL;
+	}
+
+	/**
+	 * 저장된 픽셀 좌표를 회전이 적용된 좌표로 바꾸는 변환
+	 * 
+	 * @param orientation
+	 * @param width       저장된 이미지 너비
+	 * @param height      저장된 이미지 높이
+	 */
+	static AffineTransform transform(int orientation, double width, double height) {
+		// AffineTransform(m00, m10, m01, m11, m02, m12) : x' = m00*x + m01*y + m02, y' = m10*x + m11*y + m12
+		return switch (orientation) {
+		case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0); // 좌우 반전
+		case 3 -> new AffineTransform(-1, 0, 0, -1, width, height); // 180도
+		case 4 -> new AffineTransform(1, 0, 0, -1, 0, height); // 상하 반전
+		case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0); // 대각 반전
+		case 6 -> new AffineTransform(0, 1, -1, 0, height, 0); // 시계 방향 90도
+		case 7 -> new AffineTransform(0, -1, -1, 0, height, width); // 반대 대각 반전
+		case 8 -> new AffineTransform(0, -1, 1, 0, 0, width); // 반시계 방향 90도
+		default -> new AffineTransform();
+		};
+	}
+
+	// 90도 회전이 들어간 방향이면 너비와 높이가 바뀐다.
+	static boolean swapsDimensions(int orientation) {
+		return orientation >= 5 && orientation <= 8;
+	}
+
+	private static boolean isExifHeader(byte[] data, int offset) {
+		return offset + 6 <= data.length && data[offset] == 'E' && data[offset + 1] == 'x' && data[offset + 2] == 'i'
+				&& data[offset + 3] == 'f' && data[offset + 4] == 0 && data[offset + 5] == 0;
+	}
+
+	// TIFF 헤더(tiff)부터 IFD0의 엔트리를 훑는다.
+	private static int readOrientation(byte[] data, int tiff, int end) {
+		if (tiff + 8 > end) {
+			return NORMAL;
+		}
+		boolean littleEndian = data[tiff] == 'I' && data[tiff + 1] == 'I';
+		int ifd = tiff + readInt(data, tiff + 4, littleEndian);
+		if (ifd < tiff || ifd + 2 > end) {
+			return NORMAL;
+		}
+
+		int entries = readShort(data, ifd, littleEndian);
+		for (int i = 0; i < entries; i++) {
+			int entry = ifd + 2 + i * 12;
+			if (entry + 12 > end) {
+				break;
+			}
+			if (readShort(data, entry, littleEndian) == 0x0112) {
+				int orientation = readShort(data, entry + 8, littleEndian);
+				return orientation >= 1 && orientation <= 8 ? orientation : NORMAL;
+			}
+		}
+		return NORMAL;
+	}
+
+	private static int readShort(byte[] data, int offset, boolean littleEndian) {
+		int b0 = data[offset] & 0xFF;
+		int b1 = data[offset + 1] & 0xFF;
+		return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+	}
+
+	private static int readInt(byte[] data, int offset, boolean littleEndian) {
+		int high = readShort(data, littleEndian ? offset + 2 : offset, littleEndian);
+		int low = readShort(data, littleEndian ? offset : offset + 2, littleEndian);
+		return (high << 16) | low;
+	}
+}
@@ -1,43 +1,70 @@
 package com.example.SAFPE.service;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.example.SAFPE.config.FileStorageConfig;
+import com.example.SAFPE.service.storage.BlobStorage;
+import com.example.SAFPE.service.storage.StoredBlob;
 
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 업로드 파일 저장과 조회
+ * 
+ * 실제 저장 위치는 BlobStorage 구현(로컬 디스크, S3)이 정한다. 반환하는 파일 이름은 /uploads/{파일 이름}으로 조회한다.
+ */
 @Service
+@RequiredArgsConstructor
 public class FileStorageService {
-	private final Path fileStorageLocation;
 
-	public FileStorageService(FileStorageConfig fileStorageConfig) {
-		fileStorageLocation = Paths.get(fileStorageConfig.getUploadDir()).toAbsolutePath().normalize();
+	private final BlobStorage blobStorage;
+
+	public String storeFile(MultipartFile file) throws IOException {
+		String fileName = newFileName(file.getOriginalFilename());
 
-		try {
-			Files.createDirectories(fileStorageLocation);
-		} catch (Exception ex) {
-			throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
+		// 파일 내용을 메모리에 올리지 않고 저장소로 바로 전송
+		try (InputStream in = file.getInputStream()) {
+			blobStorage.write(fileName, in, file.getSize(), contentTypeOf(fileName, file.getContentType()));
 		}
+		return fileName;
 	}
 
-	public String storeFile(MultipartFile file) throws IOException {
-		// 파일 이름의 비정상적인 문자열을 정리
-		String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
-		// 동일한 이름의 파일이 업로드되는 것을 방지하기 위해 UUID 추가
-		String fileName = UUID.randomUUID().toString() + "_" + originalFileName;
+	// 이미 메모리에 읽어 둔 파일 내용 저장 (일괄 생성에서 AI 분석과 같은 바이트를 사용)
+	public String storeFile(byte[] content, String originalFilename) throws IOException {
+		String fileName = newFileName(originalFilename);
+		blobStorage.write(fileName, new ByteArrayInputStream(content), content.length, contentTypeOf(fileName, null));
+		return fileName;
+	}
 
-		// 대상 경로 설정
-		Path targetLocation = fileStorageLocation.resolve(fileName);
-		// 파일을 대상 경로에 복사 (같은 이름이 있으면 덮어쓰기)
-		Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+	public StoredBlob loadFile(String fileName) throws IOException {
+		return blobStorage.open(fileName);
+	}
 
-		return fileName;
+	// 저장소에서 직접 받을 수 있으면 그 URL (서명된 URL 등)
+	public Optional<URI> getDirectUrl(String fileName) {
+		return blobStorage.directUrl(fileName);
+	}
+
+	private String newFileName(String originalFilename) {
+		// 파일 이름의 비정상적인 문자열을 정리하고 경로는 버림
+		String originalFileName = StringUtils.getFilename(StringUtils.cleanPath(originalFilename));
+		// 동일한 이름의 파일이 업로드되는 것을 방지하기 위해 UUID 추가
+		return UUID.randomUUID().toString() + "_" + originalFileName;
+	}
+
+	private static String contentTypeOf(String fileName, String contentType) {
+		if (StringUtils.hasText(contentType)) {
+			return contentType;
+		}
+		return MediaTypeFactory.getMediaType(fileName).map(Object::toString).orElse(null);
 	}
 }
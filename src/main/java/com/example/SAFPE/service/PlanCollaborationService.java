@@ -0,0 +1,354 @@
+package com.example.SAFPE.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import com.example.SAFPE.dto.collab.PlanEditMessage;
+import com.example.SAFPE.dto.collab.PlanElementType;
+import com.example.SAFPE.dto.collab.PlanOperationDto;
+import com.example.SAFPE.dto.collab.PlanOperationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 프로젝트별 실시간 공동 편집 채널
+ * 
+ * 세션에서 받은 편집 작업에 도착 순서대로 번호(seq)를 매기고, 짧은 시간(collab.flush-interval-ms) 동안 모아서 같은
+ * 요소에 대한 작업은 하나로 합친 뒤 한 트랜잭션으로 저장한다. 저장된 작업은 다른 세션에 한 번에 전달한다. 따라서 네트워크
+ * 전송량과 DB 쓰기는 평면도 크기가 아니라 편집량에 비례한다.
+ * 
+ * 채널 상태는 메모리에만 있으므로, 같은 프로젝트의 세션은 같은 서버 인스턴스로 연결되어야 한다.
+ */
+@Service
+public class PlanCollaborationService {
+
+	private static final int SEND_TIME_LIMIT_MS = 5000;
+	private static final int SEND_BUFFER_SIZE_LIMIT = 512 * 1024;
+	private static final int MAX_RESOLVED_REFS = 1000;
+
+	private final PlanOperationService planOperationService;
+	private final ObjectMapper objectMapper;
+	private final long flushIntervalMs;
+	private final ScheduledExecutorService flushExecutor;
+
+	private final Map<Long, ProjectChannel> channels = new ConcurrentHashMap<>();
+
+	public PlanCollaborationService(PlanOperationService planOperationService, ObjectMapper objectMapper,
+			@Value("${collab.flush-interval-ms:50}") long flushIntervalMs,
+			@Value("${collab.flush-threads:2}") int flushThreads) {
+		this.planOperationService = planOperationService;
+		this.objectMapper = objectMapper;
+		this.flushIntervalMs = flushIntervalMs;
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.flushExecutor = Executors.newScheduledThreadPool(flushThreads, runnable -> {
+			Thread thread = new Thread(runnable, "plan-collab-flush-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public void join(Long projectId, WebSocketSession session) {
+		// 세션 하나에 여러 스레드가 동시에 보내지 않도록 감싸서 보관
+		WebSocketSession concurrentSession = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS,
+				SEND_BUFFER_SIZE_LIMIT);
+		channels.compute(projectId, (id, channel) -> {
+			ProjectChannel joined = channel != null ? channel : new ProjectChannel();
+			joined.sessions.put(session.getId(), concurrentSession);
+			return joined;
+		});
+	}
+
+	public void leave(Long projectId, WebSocketSession session) {
+		ProjectChannel channel = channels.get(projectId);
+		if (channel != null) {
+			channel.sessions.remove(session.getId());
+			removeIfIdle(projectId, channel);
+		}
+	}
+
+	/**
+	 * 세션에서 받은 편집 작업을 대기열에 넣는다. 저장과 전달은 모아서 처리된다.
+	 * 
+	 * @param projectId
+	 * @param session    작업을 보낸 세션
+	 * @param operations
+	 */
+	public void submit(Long projectId, WebSocketSession session, List<PlanOperationDto> operations) {
+		ProjectChannel channel = channels.get(projectId);
+		if (channel == null || operations == null || operations.isEmpty()) {
+			return;
+		}
+
+		List<PlanOperationDto> accepted = new ArrayList<>();
+		for (PlanOperationDto operation : operations) {
+			if (isValid(operation)) {
+				if (operation.getOp() == PlanOperationType.ADD) {
+					operation.setId(null); // 요소 ID는 서버가 정함
+				}
+				accepted.add(operation);
+			} else {
+				sendError(channel, session.getId(), "Invalid operation: " + operation);
+			}
+		}
+
+		boolean scheduleFlush;
+		synchronized (channel) {
+			for (PlanOperationDto operation : accepted) {
+				operation.setSeq(++channel.lastSeq);
+				channel.pending.add(new PendingOperation(session.getId(), operation));
+			}
+			scheduleFlush = !accepted.isEmpty() && !channel.flushScheduled;
+			if (scheduleFlush) {
+				channel.flushScheduled = true;
+			}
+		}
+
+		if (scheduleFlush) {
+			flushExecutor.schedule(() -> flush(projectId, channel), flushIntervalMs, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * 처리할 수 없는 메시지를 보낸 세션에 오류를 알린다.
+	 */
+	public void reject(Long projectId, WebSocketSession session, String message) {
+		ProjectChannel channel = channels.get(projectId);
+		if (channel != null) {
+			sendError(channel, session.getId(), message);
+		}
+	}
+
+	// 모인 작업을 합쳐서 저장하고 전달
+	private void flush(Long projectId, ProjectChannel channel) {
+		// 배치는 하나씩 순서대로 저장 (flushLock을 먼저 잡고 대기열을 비워야 순서가 뒤바뀌지 않음)
+		synchronized (channel.flushLock) {
+			List<PendingOperation> batch;
+			synchronized (channel) {
+				batch = channel.pending;
+				channel.pending = new ArrayList<>();
+				channel.flushScheduled = false;
+			}
+
+			List<PendingOperation> coalesced = coalesce(channel, batch);
+			if (!coalesced.isEmpty()) {
+				try {
+					PlanOperationService.AppliedOperations applied = planOperationService.apply(projectId,
+							coalesced.stream().map(PendingOperation::getOperation).toList());
+					broadcast(channel, coalesced, applied);
+				} catch (Exception e) {
+					System.err.println("Failed to save plan operations: " + e.getMessage());
+					// 저장되지 않은 작업이 있으므로 클라이언트는 평면도를 다시 불러와야 함
+					for (String sessionId : channel.sessions.keySet()) {
+						sendError(channel, sessionId, "Failed to save operations. Please reload the plan.");
+					}
+				}
+			}
+		}
+		removeIfIdle(projectId, channel);
+	}
+
+	/**
+	 * 같은 요소에 대한 작업을 하나로 합친다.
+	 * 
+	 * ADD 후 UPDATE → 최종 값으로 ADD, ADD 후 REMOVE → 둘 다 없앰, UPDATE 후 UPDATE → 마지막 UPDATE,
+	 * UPDATE 후 REMOVE → REMOVE, REMOVE 뒤의 작업 → 무시
+	 */
+	private List<PendingOperation> coalesce(ProjectChannel channel, List<PendingOperation> batch) {
+		Map<String, PendingOperation> byElement = new LinkedHashMap<>();
+
+		for (PendingOperation pending : batch) {
+			PlanOperationDto operation = pending.getOperation();
+
+			// 이전 배치에서 저장된 ADD를 clientRef로 가리키면 서버가 정한 id로 바꿈
+			if (operation.getId() == null && operation.getOp() != PlanOperationType.ADD) {
+				operation.setId(channel.resolvedRefs.get(refKey(operation)));
+			}
+
+			String key = elementKey(operation);
+			PendingOperation existing = byElement.get(key);
+			if (existing == null) {
+				if (operation.getOp() != PlanOperationType.ADD && operation.getId() == null) {
+					continue; // 대상 요소를 찾을 수 없음
+				}
+				byElement.put(key, pending);
+				continue;
+			}
+
+			// 여러 세션의 작업이 합쳐지면 모든 세션에 전달
+			String origin = Objects.equals(existing.getOrigin(), pending.getOrigin()) ? pending.getOrigin() : null;
+			PlanOperationDto merged = existing.getOperation();
+			switch (merged.getOp()) {
+			case ADD -> {
+				if (operation.getOp() == PlanOperationType.REMOVE) {
+					byElement.remove(key);
+				} else {
+					merged.setStart(operation.getStart());
+					merged.setEnd(operation.getEnd());
+					merged.setPosition(operation.getPosition());
+					merged.setWidth(operation.getWidth());
+					merged.setSeq(operation.getSeq());
+					byElement.put(key, new PendingOperation(origin, merged));
+				}
+			}
+			case UPDATE -> byElement.put(key, new PendingOperation(origin, operation));
+			case REMOVE -> {
+				// 이미 삭제된 요소에 대한 작업은 무시
+			}
+			}
+		}
+
+		List<PendingOperation> coalesced = new ArrayList<>(byElement.values());
+		coalesced.sort(Comparator.comparing(pending -> pending.getOperation().getSeq()));
+		return coalesced;
+	}
+
+	/**
+	 * 저장된 작업을 전달한다. 다른 세션에는 작업 내용을, 작업을 보낸 세션에는 새 버전과 ADD 결과(서버가 정한 id)만 보낸다.
+	 */
+	private void broadcast(ProjectChannel channel, List<PendingOperation> coalesced,
+			PlanOperationService.AppliedOperations applied) {
+		Set<PlanOperationDto> appliedOperations = Collections.newSetFromMap(new IdentityHashMap<>());
+		appliedOperations.addAll(applied.getOperations());
+
+		List<PendingOperation> saved = new ArrayList<>();
+		for (PendingOperation pending : coalesced) {
+			if (appliedOperations.contains(pending.getOperation())) {
+				saved.add(pending);
+				PlanOperationDto operation = pending.getOperation();
+				if (operation.getOp() == PlanOperationType.ADD && operation.getClientRef() != null) {
+					channel.resolvedRefs.put(refKey(operation), operation.getId());
+				}
+			}
+		}
+
+		for (WebSocketSession session : channel.sessions.values()) {
+			List<PlanOperationDto> operations = saved.stream()
+					.filter(pending -> !session.getId().equals(pending.getOrigin())
+							|| pending.getOperation().getOp() == PlanOperationType.ADD)
+					.map(PendingOperation::getOperation).toList();
+			send(session, PlanEditMessage.builder().type("batch").version(applied.getVersion()).ops(operations)
+					.build());
+		}
+	}
+
+	private boolean isValid(PlanOperationDto operation) {
+		if (operation == null || operation.getOp() == null || operation.getElement() == null
+				|| operation.getOp() == PlanOperationType.REPLACE) {
+			return false;
+		}
+		if (operation.getOp() != PlanOperationType.ADD && operation.getId() == null
+				&& operation.getClientRef() == null) {
+			return false;
+		}
+		if (operation.getOp() == PlanOperationType.REMOVE) {
+			return true;
+		}
+		if (operation.getElement() == PlanElementType.WALL) {
+			return operation.getStart() != null && operation.getEnd() != null;
+		}
+		return operation.getPosition() != null && operation.getWidth() != null;
+	}
+
+	private String elementKey(PlanOperationDto operation) {
+		if (operation.getId() != null) {
+			return operation.getElement() + ":" + operation.getId();
+		}
+		if (operation.getClientRef() != null) {
+			return refKey(operation);
+		}
+		return operation.getElement() + ":seq:" + operation.getSeq(); // clientRef 없는 ADD는 합치지 않음
+	}
+
+	private String refKey(PlanOperationDto operation) {
+		return operation.getElement() + ":ref:" + operation.getClientRef();
+	}
+
+	private void sendError(ProjectChannel channel, String sessionId, String message) {
+		WebSocketSession session = channel.sessions.get(sessionId);
+		if (session != null) {
+			send(session, PlanEditMessage.builder().type("error").message(message).build());
+		}
+	}
+
+	private void send(WebSocketSession session, PlanEditMessage message) {
+		try {
+			session.sendMessage(new TextMessage(objectMapper.writeValueAsString(message)));
+		} catch (Exception e) {
+			// 느린 세션은 ConcurrentWebSocketSessionDecorator가 버퍼 한도를 넘으면 연결을 끊는다.
+			System.err.println("Failed to send plan edit message: " + e.getMessage());
+		}
+	}
+
+	private void removeIfIdle(Long projectId, ProjectChannel channel) {
+		channels.computeIfPresent(projectId,
+				(id, current) -> current == channel && current.sessions.isEmpty() && !current.hasPending() ? null
+						: current);
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		// 이미 예약된 flush는 실행하고 종료
+		flushExecutor.shutdown();
+		flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	private static class ProjectChannel {
+		private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+		private final Object flushLock = new Object();
+
+		// 아래 필드는 synchronized (this) 안에서만 접근
+		private List<PendingOperation> pending = new ArrayList<>();
+		private long lastSeq = 0;
+		private boolean flushScheduled = false;
+
+		// clientRef → 저장된 요소 ID (flushLock 안에서만 접근)
+		private final Map<String, Long> resolvedRefs = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+				return size() > MAX_RESOLVED_REFS;
+			}
+		};
+
+		private synchronized boolean hasPending() {
+			return !pending.isEmpty() || flushScheduled;
+		}
+	}
+
+	private static class PendingOperation {
+		private final String origin; // 작업을 보낸 세션 ID (여러 세션의 작업이 합쳐졌으면 null)
+		private final PlanOperationDto operation;
+
+		PendingOperation(String origin, PlanOperationDto operation) {
+			this.origin = origin;
+			this.operation = operation;
+		}
+
+		String getOrigin() {
+			return origin;
+		}
+
+		PlanOperationDto getOperation() {
+			return operation;
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package com.example.SAFPE.service;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.SAFPE.dto.PlanDataDto;
+import com.example.SAFPE.dto.PlanHistoryEntryDto;
+import com.example.SAFPE.dto.collab.PlanOperationDto;
+import com.example.SAFPE.dto.collab.PlanOperationType;
+import com.example.SAFPE.entity.PlanOperation;
+import com.example.SAFPE.entity.PlanSnapshot;
+import com.example.SAFPE.entity.Project;
+import com.example.SAFPE.exception.ConstraintViolations;
+import com.example.SAFPE.exception.ResourceNotFoundException;
+import com.example.SAFPE.repository.PlanOperationRepository;
+import com.example.SAFPE.repository.PlanSnapshotRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 평면도 변경 이력 (작업 로그 + 주기적 스냅샷)
+ * 
+ * 저장할 때는 작업 한 건씩 추가(INSERT)만 하고, seq가 history.snapshot-interval의 배수가 될 때마다 그 시점의
+ * 평면도 전체를 스냅샷으로 남긴다. 특정 시점의 평면도는 가장 가까운 이전 스냅샷에 최대 interval개의 작업만 다시 반영해 만든다.
+ * 평면도 전체를 저장하는 요청도 바뀐 요소만 작업으로 남기므로, 평면도 전체 복사본은 스냅샷에만 있다. (예전에 기록된 REPLACE는
+ * 읽을 때만 처리)
+ * 
+ * 호출하는 쪽의 트랜잭션에 참여하며, 프로젝트(historySeq)는 호출하는 쪽이 저장한다. 같은 프로젝트에 동시에 이력을 쓰면
+ * (project_id, seq) 유니크 제약에 걸리므로 버전 충돌(409)로 알린다.
+ */
+@Service
+@Transactional
+public class PlanHistoryService {
+
+	// V1__baseline.sql의 (project_id, seq) 유니크 제약
+	private static final String OPERATION_SEQ_CONSTRAINT = "uk_plan_operation_project_seq";
+	private static final String SNAPSHOT_SEQ_CONSTRAINT = "uk_plan_snapshot_project_seq";
+
+	private final PlanOperationRepository planOperationRepository;
+	private final PlanSnapshotRepository planSnapshotRepository;
+	private final ObjectMapper objectMapper;
+	private final int snapshotInterval;
+
+	public PlanHistoryService(PlanOperationRepository planOperationRepository,
+			PlanSnapshotRepository planSnapshotRepository, ObjectMapper objectMapper,
+			@Value("${history.snapshot-interval:50}") int snapshotInterval) {
+		this.planOperationRepository = planOperationRepository;
+		this.planSnapshotRepository = planSnapshotRepository;
+		this.objectMapper = objectMapper;
+		this.snapshotInterval = Math.max(1, snapshotInterval);
+	}
+
+	/**
+	 * 새 프로젝트의 처음 평면도를 seq 0 스냅샷으로 남긴다. (평면도 요소에 ID가 부여된 뒤 호출)
+	 */
+	public void recordBaseline(Project project) {
+		saveSnapshot(project.getId(), 0L, PlanState.of(project).toPlanData());
+	}
+
+	/**
+	 * 이력 기능 이전에 만들어진 프로젝트는 첫 변경 직전의 평면도를 seq 0 스냅샷으로 남긴다. (평면도 요소를 바꾸기 전에 호출)
+	 */
+	public void ensureBaseline(Project project) {
+		if (project.getHistorySeq() == 0 && !planSnapshotRepository.existsByProjectId(project.getId())) {
+			recordBaseline(project);
+		}
+	}
+
+	// 다음 이력 seq (프로젝트를 저장(flush)하기 전에 호출해야 historySeq가 버전과 같은 UPDATE로 반영된다.)
+	private long nextSeq(Project project) {
+		project.setHistorySeq(project.getHistorySeq() + 1);
+		return project.getHistorySeq();
+	}
+
+	/**
+	 * 요소 단위 작업을 기록한다. (ADD는 id가 채워진 뒤, 프로젝트를 저장하기 전에 호출)
+	 */
+	public void recordOperations(Project project, List<PlanOperationDto> operations) {
+		Long projectId = project.getId();
+		for (PlanOperationDto operation : operations) {
+			long seq = nextSeq(project);
+			append(projectId, seq, operation, () -> getPlanAt(projectId, seq));
+		}
+	}
+
+	/**
+	 * 평면도를 before 상태에서 지금 프로젝트의 요소로 바꾼 내용을 요소 단위 작업으로 기록한다.
+	 * 
+	 * 새 요소에 ID가 부여된 뒤, 프로젝트를 저장하기 전에 호출한다. 바뀐 요소가 없으면 아무것도 기록하지 않는다.
+	 * 
+	 * @param project
+	 * @param before  요소를 바꾸기 전에 PlanState.of(project)로 만든 상태 (스냅샷을 만들면서 바뀜)
+	 */
+	void recordChanges(Project project, PlanState before) {
+		Long projectId = project.getId();
+		// 중간 스냅샷은 DB를 다시 읽지 않고 before에 작업을 차례로 반영해서 만든다.
+		for (PlanOperationDto operation : before.diff(PlanState.of(project))) {
+			before.apply(operation);
+			append(projectId, nextSeq(project), operation, before::toPlanData);
+		}
+	}
+
+	/**
+	 * 프로젝트의 작업 로그와 스냅샷을 모두 삭제한다. (프로젝트 삭제용)
+	 */
+	public void deleteHistory(Long projectId) {
+		planOperationRepository.deleteByProjectIdInBulk(projectId);
+		planSnapshotRepository.deleteByProjectIdInBulk(projectId);
+	}
+
+	/**
+	 * seq 시점의 평면도 (seq까지의 작업을 반영한 상태)
+	 */
+	@Transactional(readOnly = true)
+	public PlanDataDto getPlanAt(Long projectId, long seq) {
+		PlanSnapshot snapshot = planSnapshotRepository
+				.findFirstByProjectIdAndSeqLessThanEqualOrderBySeqDesc(projectId, seq)
+				.orElseThrow(() -> new ResourceNotFoundException("No history for project: " + projectId));
+
+		PlanState state = PlanState.of(read(snapshot.getPlanData(), PlanDataDto.class));
+		List<PlanOperation> tail = planOperationRepository
+				.findByProjectIdAndSeqGreaterThanAndSeqLessThanEqualOrderBySeqAsc(projectId, snapshot.getSeq(), seq);
+		for (PlanOperation operation : tail) {
+			if (operation.getOp() == PlanOperationType.REPLACE) {
+				state.replace(read(operation.getPayload(), PlanDataDto.class));
+			} else {
+				state.apply(read(operation.getPayload(), PlanOperationDto.class));
+			}
+		}
+		return state.toPlanData();
+	}
+
+	/**
+	 * beforeSeq 이전의 이력을 최신순으로 size개 조회
+	 */
+	@Transactional(readOnly = true)
+	public List<PlanHistoryEntryDto> getHistory(Long projectId, long beforeSeq, int size) {
+		return planOperationRepository
+				.findByProjectIdAndSeqLessThanOrderBySeqDesc(projectId, beforeSeq, Pageable.ofSize(size)).stream()
+				.map(operation -> PlanHistoryEntryDto.builder().seq(operation.getSeq()).op(operation.getOp())
+						.element(operation.getElement()).elementId(operation.getElementId())
+						.createdAt(operation.getCreateAt()).build())
+				.collect(Collectors.toList());
+	}
+
+	// snapshot : seq까지 반영한 평면도 (스냅샷을 남길 차례일 때만 호출)
+	private void append(Long projectId, long seq, PlanOperationDto operation, Supplier<PlanDataDto> snapshot) {
+		try {
+			planOperationRepository.save(PlanOperation.builder().projectId(projectId).seq(seq).op(operation.getOp())
+					.element(operation.getElement()).elementId(operation.getId()).payload(write(operation)).build());
+		} catch (DataIntegrityViolationException e) {
+			throw concurrentAppend(e, OPERATION_SEQ_CONSTRAINT, projectId, seq);
+		}
+
+		if (seq % snapshotInterval == 0) {
+			saveSnapshot(projectId, seq, snapshot.get());
+		}
+	}
+
+	private void saveSnapshot(Long projectId, long seq, PlanDataDto planData) {
+		try {
+			planSnapshotRepository
+					.save(PlanSnapshot.builder().projectId(projectId).seq(seq).planData(write(planData)).build());
+		} catch (DataIntegrityViolationException e) {
+			throw concurrentAppend(e, SNAPSHOT_SEQ_CONSTRAINT, projectId, seq);
+		}
+	}
+
+	// 다른 트랜잭션이 같은 seq를 먼저 썼으면 버전 충돌로 바꾼다. (나머지 무결성 오류는 그대로)
+	private static RuntimeException concurrentAppend(DataIntegrityViolationException e, String constraintName,
+			Long projectId, long seq) {
+		if (ConstraintViolations.violates(e, constraintName)) {
+			return new OptimisticLockingFailureException(
+					"Plan history of project " + projectId + " was modified concurrently at seq " + seq, e);
+		}
+		return e;
+	}
+
+	private String write(Object value) {
+		try {
+			return objectMapper.writeValueAsString(value);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to serialize plan history", e);
+		}
+	}
+
+	private <T> T read(String json, Class<T> type) {
+		try {
+			return objectMapper.readValue(json, type);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to read plan history", e);
+		}
+	}
+}
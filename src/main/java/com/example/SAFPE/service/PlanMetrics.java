@@ -0,0 +1,62 @@
+package com.example.SAFPE.service;
+
+import com.example.SAFPE.dto.MetricsDto;
+
+/**
+ * 벽을 하나씩 받으면서 총 벽 길이와 면적을 누적 계산
+ * 
+ * 면적은 벽의 시작점들을 순서대로 이은 다각형으로 보고 Shoelace Formula로 계산한다. 벽 목록을 한 번만 훑으면 되므로 평면도를
+ * 쓰는 도중에 함께 계산할 수 있다.
+ */
+class PlanMetrics {
+
+	private double totalPixelLength = 0;
+	private double doubledArea = 0; // Shoelace 합 (절댓값/2 하기 전)
+	private int vertexCount = 0;
+	private double firstX;
+	private double firstY;
+	private double previousX;
+	private double previousY;
+
+	void addWall(double startX, double startY, double endX, double endY) {
+		// 1. 총 벽 길이
+		totalPixelLength += Math.sqrt(Math.pow(endX - startX, 2) + Math.pow(endY - startY, 2));
+
+		// 2. 면적 (이전 꼭짓점 → 현재 꼭짓점)
+		if (vertexCount == 0) {
+			firstX = startX;
+			firstY = startY;
+		} else {
+			doubledArea += (previousX * startY) - (startX * previousY);
+		}
+		previousX = startX;
+		previousY = startY;
+		vertexCount++;
+	}
+
+	MetricsDto toDto(Double scaleRatio, String scaleUnit) {
+		if (vertexCount == 0) {
+			return MetricsDto.builder().totalWallLength(0).estimatedArea(0).unit("pixel").build();
+		}
+
+		double pixelArea = 0;
+		if (vertexCount > 2) { // 최소 3개의 꼭짓점이 있어야 면적 계산 가능하니까
+			// 마지막 꼭짓점은 첫 번째와 연결
+			pixelArea = Math.abs(doubledArea + (previousX * firstY) - (firstX * previousY)) / 2.0;
+		}
+
+		// 스케일 적용
+		double finalLength = totalPixelLength;
+		double finalArea = pixelArea;
+		String finalUnit = "px";
+
+		if (scaleRatio != null && scaleRatio > 0 && scaleUnit != null) {
+			finalLength = totalPixelLength * scaleRatio;
+			finalArea = pixelArea * Math.pow(scaleRatio, 2);
+			finalUnit = scaleUnit;
+		}
+
+		return MetricsDto.builder().totalWallLength(Math.round(finalLength * 100) / 100.0) // 소수점 두 자리까지
+				.estimatedArea(Math.round(finalArea * 10) / 10.0).unit(finalUnit).build();
+	}
+}
@@ -0,0 +1,163 @@
+package com.example.SAFPE.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.SAFPE.dto.PointDto;
+import com.example.SAFPE.dto.collab.PlanElementType;
+import com.example.SAFPE.dto.collab.PlanOperationDto;
+import com.example.SAFPE.dto.collab.PlanOperationType;
+import com.example.SAFPE.entity.Door;
+import com.example.SAFPE.entity.Point;
+import com.example.SAFPE.entity.Project;
+import com.example.SAFPE.entity.Wall;
+import com.example.SAFPE.entity.Window;
+import com.example.SAFPE.exception.ResourceNotFoundException;
+import com.example.SAFPE.repository.DoorRepository;
+import com.example.SAFPE.repository.PlanElementJdbcRepository;
+import com.example.SAFPE.repository.ProjectRepository;
+import com.example.SAFPE.repository.WallRepository;
+import com.example.SAFPE.repository.WindowRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 평면도 요소 단위 편집 작업을 DB에 반영
+ * 
+ * 전체 평면도를 지우고 다시 만드는 updateProject와 달리, 작업 대상 요소만 INSERT/UPDATE/DELETE 한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class PlanOperationService {
+
+	private final ProjectRepository projectRepository;
+	private final WallRepository wallRepository;
+	private final DoorRepository doorRepository;
+	private final WindowRepository windowRepository;
+	private final PublicProjectCache publicProjectCache;
+	private final PlanHistoryService planHistoryService;
+	private final PlanElementJdbcRepository planElementJdbcRepository;
+	private final PlanThumbnailService planThumbnailService;
+
+	/**
+	 * 편집 작업 배치를 하나의 트랜잭션으로 반영한다.
+	 * 
+	 * @param projectId
+	 * @param operations 순서대로 반영할 작업
+	 * @return 반영 후 프로젝트 버전과 실제로 반영된 작업 (ADD는 id가 채워짐, 대상 요소가 없는 작업은 빠짐)
+	 */
+	public AppliedOperations apply(Long projectId, List<PlanOperationDto> operations) {
+		Project project = projectRepository.findById(projectId)
+				.orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+		planHistoryService.ensureBaseline(project);
+
+		List<PlanOperationDto> applied = new ArrayList<>();
+		for (PlanOperationDto operation : operations) {
+			boolean done = switch (operation.getElement()) {
+			case WALL -> applyWall(project, operation);
+			case DOOR -> applyDoor(project, operation);
+			case WINDOW -> applyWindow(project, operation);
+			};
+			if (done) {
+				applied.add(operation);
+			}
+		}
+
+		if (!applied.isEmpty()) {
+			// 요소만 바뀌어도 버전이 올라가도록 프로젝트도 갱신 (REST의 ETag와 일치시키기 위함)
+			project.setUpdateAt(LocalDateTime.now());
+			planHistoryService.recordOperations(project, applied);
+			projectRepository.saveAndFlush(project);
+			// 면적은 벽으로만 계산하므로 벽이 바뀐 경우에만 다시 계산
+			if (applied.stream().anyMatch(operation -> operation.getElement() == PlanElementType.WALL)) {
+				planElementJdbcRepository.updateEstimatedArea(project.getId());
+			}
+			publicProjectCache.evictAfterCommit(project.getShareId());
+			// 연속 편집은 대기 중인 작업 하나로 합쳐진다.
+			planThumbnailService.refreshAfterCommit(project.getId());
+		}
+		return new AppliedOperations(project.getVersion(), applied);
+	}
+
+	private boolean applyWall(Project project, PlanOperationDto operation) {
+		if (operation.getOp() == PlanOperationType.ADD) {
+			Wall wall = wallRepository.save(Wall.builder().startPoint(toPoint(operation.getStart()))
+					.endPoint(toPoint(operation.getEnd())).project(project).build());
+			operation.setId(wall.getId());
+			return true;
+		}
+
+		Optional<Wall> wall = wallRepository.findByIdAndProjectId(operation.getId(), project.getId());
+		if (wall.isEmpty()) {
+			return false;
+		}
+		if (operation.getOp() == PlanOperationType.REMOVE) {
+			wallRepository.delete(wall.get());
+		} else {
+			wall.get().setStartPoint(toPoint(operation.getStart()));
+			wall.get().setEndPoint(toPoint(operation.getEnd()));
+		}
+		return true;
+	}
+
+	private boolean applyDoor(Project project, PlanOperationDto operation) {
+		if (operation.getOp() == PlanOperationType.ADD) {
+			Door door = doorRepository.save(Door.builder().position(toPoint(operation.getPosition()))
+					.width(operation.getWidth()).project(project).build());
+			operation.setId(door.getId());
+			return true;
+		}
+
+		Optional<Door> door = doorRepository.findByIdAndProjectId(operation.getId(), project.getId());
+		if (door.isEmpty()) {
+			return false;
+		}
+		if (operation.getOp() == PlanOperationType.REMOVE) {
+			doorRepository.delete(door.get());
+		} else {
+			door.get().setPosition(toPoint(operation.getPosition()));
+			door.get().setWidth(operation.getWidth());
+		}
+		return true;
+	}
+
+	private boolean applyWindow(Project project, PlanOperationDto operation) {
+		if (operation.getOp() == PlanOperationType.ADD) {
+			Window window = windowRepository.save(Window.builder().position(toPoint(operation.getPosition()))
+					.width(operation.getWidth()).project(project).build());
+			operation.setId(window.getId());
+			return true;
+		}
+
+		Optional<Window> window = windowRepository.findByIdAndProjectId(operation.getId(), project.getId());
+		if (window.isEmpty()) {
+			return false;
+		}
+		if (operation.getOp() == PlanOperationType.REMOVE) {
+			windowRepository.delete(window.get());
+		} else {
+			window.get().setPosition(toPoint(operation.getPosition()));
+			window.get().setWidth(operation.getWidth());
+		}
+		return true;
+	}
+
+	private Point toPoint(PointDto pointDto) {
+		return new Point(pointDto.getX(), pointDto.getY());
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class AppliedOperations {
+		private final Long version;
+		private final List<PlanOperationDto> operations;
+	}
+}
@@ -0,0 +1,190 @@
+package com.example.SAFPE.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.example.SAFPE.dto.DoorDto;
+import com.example.SAFPE.dto.PlanDataDto;
+import com.example.SAFPE.dto.PointDto;
+import com.example.SAFPE.dto.WallDto;
+import com.example.SAFPE.dto.WindowDto;
+import com.example.SAFPE.dto.collab.PlanElementType;
+import com.example.SAFPE.dto.collab.PlanOperationDto;
+import com.example.SAFPE.dto.collab.PlanOperationType;
+import com.example.SAFPE.entity.Point;
+import com.example.SAFPE.entity.Project;
+
+/**
+ * 변경 이력을 다시 반영하기 위한 메모리상의 평면도 (요소 ID → 요소)
+ *
+ * DB를 건드리지 않으므로 과거 시점의 평면도를 만들 때 사용한다.
+ */
+class PlanState {
+
+	private final Map<Long, WallDto> walls = new LinkedHashMap<>();
+	private final Map<Long, DoorDto> doors = new LinkedHashMap<>();
+	private final Map<Long, WindowDto> windows = new LinkedHashMap<>();
+
+	static PlanState of(PlanDataDto planData) {
+		PlanState state = new PlanState();
+		state.replace(planData);
+		return state;
+	}
+
+	// 현재 DB에 저장된 프로젝트의 평면도 요소로 만든다. (ID가 부여된 상태여야 함)
+	static PlanState of(Project project) {
+		PlanState state = new PlanState();
+		project.getWalls().forEach(wall -> {
+			WallDto dto = new WallDto();
+			dto.setId(wall.getId());
+			dto.setStart(toPointDto(wall.getStartPoint()));
+			dto.setEnd(toPointDto(wall.getEndPoint()));
+			state.walls.put(dto.getId(), dto);
+		});
+		project.getDoors().forEach(door -> {
+			DoorDto dto = new DoorDto();
+			dto.setId(door.getId());
+			dto.setPosition(toPointDto(door.getPosition()));
+			dto.setWidth(door.getWidth());
+			state.doors.put(dto.getId(), dto);
+		});
+		project.getWindows().forEach(window -> {
+			WindowDto dto = new WindowDto();
+			dto.setId(window.getId());
+			dto.setPosition(toPointDto(window.getPosition()));
+			dto.setWidth(window.getWidth());
+			state.windows.put(dto.getId(), dto);
+		});
+		return state;
+	}
+
+	void replace(PlanDataDto planData) {
+		walls.clear();
+		doors.clear();
+		windows.clear();
+		if (planData.getWalls() != null) {
+			planData.getWalls().forEach(wall -> walls.put(wall.getId(), wall));
+		}
+		if (planData.getDoors() != null) {
+			planData.getDoors().forEach(door -> doors.put(door.getId(), door));
+		}
+		if (planData.getWindows() != null) {
+			planData.getWindows().forEach(window -> windows.put(window.getId(), window));
+		}
+	}
+
+	// 요소 하나에 대한 작업 반영 (ADD와 UPDATE는 같은 방식으로 덮어씀)
+	void apply(PlanOperationDto operation) {
+		Long id = operation.getId();
+		boolean remove = operation.getOp() == PlanOperationType.REMOVE;
+		switch (operation.getElement()) {
+		case WALL -> {
+			if (remove) {
+				walls.remove(id);
+			} else {
+				WallDto wall = new WallDto();
+				wall.setId(id);
+				wall.setStart(operation.getStart());
+				wall.setEnd(operation.getEnd());
+				walls.put(id, wall);
+			}
+		}
+		case DOOR -> {
+			if (remove) {
+				doors.remove(id);
+			} else {
+				DoorDto door = new DoorDto();
+				door.setId(id);
+				door.setPosition(operation.getPosition());
+				door.setWidth(operation.getWidth());
+				doors.put(id, door);
+			}
+		}
+		case WINDOW -> {
+			if (remove) {
+				windows.remove(id);
+			} else {
+				WindowDto window = new WindowDto();
+				window.setId(id);
+				window.setPosition(operation.getPosition());
+				window.setWidth(operation.getWidth());
+				windows.put(id, window);
+			}
+		}
+		}
+	}
+
+	/**
+	 * 이 상태를 target으로 만드는 요소 단위 작업 (요소 종류별로 REMOVE, UPDATE, ADD 순서, 바뀌지 않은 요소는 빠짐)
+	 *
+	 * 두 상태의 요소는 모두 ID가 있어야 한다. target에만 있는 ID는 ADD가 된다.
+	 */
+	List<PlanOperationDto> diff(PlanState target) {
+		List<PlanOperationDto> operations = new ArrayList<>();
+		diff(PlanElementType.WALL, walls, target.walls, wall -> {
+			PlanOperationDto operation = new PlanOperationDto();
+			operation.setStart(wall.getStart());
+			operation.setEnd(wall.getEnd());
+			return operation;
+		}, operations);
+		diff(PlanElementType.DOOR, doors, target.doors, door -> {
+			PlanOperationDto operation = new PlanOperationDto();
+			operation.setPosition(door.getPosition());
+			operation.setWidth(door.getWidth());
+			return operation;
+		}, operations);
+		diff(PlanElementType.WINDOW, windows, target.windows, window -> {
+			PlanOperationDto operation = new PlanOperationDto();
+			operation.setPosition(window.getPosition());
+			operation.setWidth(window.getWidth());
+			return operation;
+		}, operations);
+		return operations;
+	}
+
+	private static <T> void diff(PlanElementType element, Map<Long, T> from, Map<Long, T> to,
+			Function<T, PlanOperationDto> toOperation, List<PlanOperationDto> operations) {
+		for (Long id : from.keySet()) {
+			if (!to.containsKey(id)) {
+				operations.add(operation(PlanOperationType.REMOVE, element, id, new PlanOperationDto()));
+			}
+		}
+		for (Map.Entry<Long, T> entry : to.entrySet()) {
+			T current = from.get(entry.getKey());
+			if (current != null && !Objects.equals(current, entry.getValue())) {
+				operations.add(operation(PlanOperationType.UPDATE, element, entry.getKey(),
+						toOperation.apply(entry.getValue())));
+			}
+		}
+		for (Map.Entry<Long, T> entry : to.entrySet()) {
+			if (!from.containsKey(entry.getKey())) {
+				operations.add(operation(PlanOperationType.ADD, element, entry.getKey(),
+						toOperation.apply(entry.getValue())));
+			}
+		}
+	}
+
+	private static PlanOperationDto operation(PlanOperationType op, PlanElementType element, Long id,
+			PlanOperationDto operation) {
+		operation.setOp(op);
+		operation.setElement(element);
+		operation.setId(id);
+		return operation;
+	}
+
+	PlanDataDto toPlanData() {
+		PlanDataDto planData = new PlanDataDto();
+		planData.setWalls(new ArrayList<>(walls.values()));
+		planData.setDoors(new ArrayList<>(doors.values()));
+		planData.setWindows(new ArrayList<>(windows.values()));
+		return planData;
+	}
+
+	private static PointDto toPointDto(Point point) {
+		return new PointDto(point.getX(), point.getY());
+	}
+}
@@ -0,0 +1,118 @@
+package com.example.SAFPE.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 평면도 요소를 하나씩 받아 작은 SVG 미리보기를 만든다.
+ *
+ * 좌표를 미리보기 픽셀 격자(size x size)에 맞춰 정수로 반올림하고, 한 픽셀보다 짧아진 선과 같은 칸에 겹치는 선은 버린다. 요소가
+ * 아무리 많아도 결과 크기는 격자 크기에 비례하며, 선 개수는 maxSegments에서 멈춘다. 문/창문은 위치를 중심으로 하는 가로선으로
+ * 그린다. (PlanElementJdbcRepository.findExtents와 같은 기준)
+ */
+class PlanThumbnailRenderer {
+
+	private static final int PADDING = 4;
+
+	private final int size;
+	private final int maxSegments;
+	private final double scale;
+	private final double offsetX;
+	private final double offsetY;
+
+	private final StringBuilder walls = new StringBuilder();
+	private final StringBuilder doors = new StringBuilder();
+	private final StringBuilder windows = new StringBuilder();
+	private final Set<Long> drawn = new HashSet<>();
+	private int segments;
+
+	/**
+	 * @param extents     [minX, minY, maxX, maxY] (요소가 없으면 null)
+	 * @param size        미리보기 한 변의 픽셀 수
+	 * @param maxSegments 그릴 선의 최대 개수
+	 */
+	PlanThumbnailRenderer(double[] extents, int size, int maxSegments) {
+		this.size = size;
+		this.maxSegments = maxSegments;
+
+		if (extents == null) {
+			this.scale = 1;
+			this.offsetX = 0;
+			this.offsetY = 0;
+			return;
+		}
+		// 가로세로 비율을 유지하고 가운데에 놓는다.
+		double width = extents[2] - extents[0];
+		double height = extents[3] - extents[1];
+		double drawable = size - 2.0 * PADDING;
+		this.scale = drawable / Math.max(Math.max(width, height), 1e-9);
+		this.offsetX = PADDING + (drawable - width * scale) / 2 - extents[0] * scale;
+		this.offsetY = PADDING + (drawable - height * scale) / 2 - extents[1] * scale;
+	}
+
+	void addWall(double startX, double startY, double endX, double endY) {
+		line(walls, startX, startY, endX, endY);
+	}
+
+	void addDoor(double x, double y, double width) {
+		line(doors, x - width / 2, y, x + width / 2, y);
+	}
+
+	void addWindow(double x, double y, double width) {
+		line(windows, x - width / 2, y, x + width / 2, y);
+	}
+
+	byte[] toSvg() {
+		StringBuilder svg = new StringBuilder(256 + walls.length() + doors.length() + windows.length());
+		svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(size).append("\" height=\"")
+				.append(size).append("\" viewBox=\"0 0 ").append(size).append(' ').append(size).append("\">");
+		svg.append("<rect width=\"100%\" height=\"100%\" fill=\"#ffffff\"/>");
+		path(svg, walls, "#222222", 2);
+		path(svg, windows, "#2980b9", 2);
+		path(svg, doors, "#c0392b", 2);
+		svg.append("</svg>");
+		return svg.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private void line(StringBuilder path, double x1, double y1, double x2, double y2) {
+		if (segments >= maxSegments) {
+			return;
+		}
+		int ax = toPixel(x1, offsetX);
+		int ay = toPixel(y1, offsetY);
+		int bx = toPixel(x2, offsetX);
+		int by = toPixel(y2, offsetY);
+		if (ax == bx && ay == by) {
+			return; // 한 픽셀보다 짧은 선
+		}
+
+		// 방향과 상관없이 같은 선은 한 번만 (끝점 순서를 정렬해서 비교)
+		boolean swap = ax > bx || (ax == bx && ay > by);
+		long key = swap ? pack(bx, by, ax, ay) : pack(ax, ay, bx, by);
+		if (!drawn.add(key)) {
+			return;
+		}
+
+		segments++;
+		path.append('M').append(ax).append(' ').append(ay).append('L').append(bx).append(' ').append(by);
+	}
+
+	private int toPixel(double value, double offset) {
+		return (int) Math.round(value * scale + offset);
+	}
+
+	// 좌표는 0 ~ size 범위이므로 16비트씩 하나의 long에 담는다.
+	private static long pack(int x1, int y1, int x2, int y2) {
+		return ((long) (x1 & 0xFFFF) << 48) | ((long) (y1 & 0xFFFF) << 32) | ((long) (x2 & 0xFFFF) << 16)
+				| (y2 & 0xFFFF);
+	}
+
+	private static void path(StringBuilder svg, StringBuilder data, String color, int strokeWidth) {
+		if (data.isEmpty()) {
+			return;
+		}
+		svg.append("<path d=\"").append(data).append("\" fill=\"none\" stroke=\"").append(color)
+				.append("\" stroke-width=\"").append(strokeWidth).append("\" stroke-linecap=\"round\"/>");
+	}
+}
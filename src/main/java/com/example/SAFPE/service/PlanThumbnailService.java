@@ -0,0 +1,143 @@
+package com.example.SAFPE.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.SAFPE.config.Bulkhead;
+import com.example.SAFPE.config.Bulkheads;
+import com.example.SAFPE.exception.TooManyRequestsException;
+import com.example.SAFPE.repository.PlanElementJdbcRepository;
+
+/**
+ * 목록 화면용 평면도 미리보기(SVG) 생성
+ *
+ * 평면도를 저장한 트랜잭션이 커밋된 뒤 thumbnail 풀에서 만든다. (내보내기의 render 풀과 나누어 쓰지 않음) 요소는 엔티티로
+ * 읽지 않고 JDBC로 스트리밍하며, 만든 파일은 업로드 저장소에 새 이름으로 올리므로 /uploads/에서 오래 캐시해도 된다. 예전 미리보기
+ * 파일은 참조가 없어지면 UploadGarbageCollector가 정리한다.
+ *
+ * 같은 프로젝트가 짧은 시간에 여러 번 저장되면 아직 시작하지 않은 작업 하나만 남긴다. (작업은 시작할 때의 최신 평면도를 그림)
+ */
+@Service
+public class PlanThumbnailService {
+
+	private static final String UPLOAD_URL_PREFIX = "/uploads/";
+
+	private final PlanElementJdbcRepository planElementJdbcRepository;
+	private final FileStorageService fileStorageService;
+	private final Bulkheads bulkheads;
+
+	private final boolean enabled;
+	private final int size;
+	private final int maxSegments;
+
+	// 대기 중인(아직 그리기 시작하지 않은) 프로젝트
+	private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+	public PlanThumbnailService(PlanElementJdbcRepository planElementJdbcRepository,
+			FileStorageService fileStorageService, Bulkheads bulkheads,
+			@Value("${thumbnail.enabled:true}") boolean enabled, @Value("${thumbnail.size:256}") int size,
+			@Value("${thumbnail.max-segments:20000}") int maxSegments) {
+		this.planElementJdbcRepository = planElementJdbcRepository;
+		this.fileStorageService = fileStorageService;
+		this.bulkheads = bulkheads;
+		this.enabled = enabled;
+		this.size = size;
+		this.maxSegments = maxSegments;
+	}
+
+	/**
+	 * 현재 트랜잭션이 커밋된 뒤 미리보기를 다시 만든다. (트랜잭션 밖이면 바로 예약)
+	 */
+	public void refreshAfterCommit(Long projectId) {
+		if (!enabled) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			schedule(projectId);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				schedule(projectId);
+			}
+		});
+	}
+
+	/**
+	 * 미리보기가 없는 프로젝트(기능 추가 전에 만든 프로젝트 등)의 생성을 예약한다. (목록 조회 때)
+	 * 
+	 * 한 번에 대기열의 절반까지만 채운다. 나머지 자리는 평면도를 저장할 때의 갱신이 쓰고, 남은 프로젝트는 다음 목록 조회 때
+	 * 예약한다.
+	 * 
+	 * @param projectIds
+	 */
+	public void backfill(List<Long> projectIds) {
+		if (!enabled || projectIds.isEmpty()) {
+			return;
+		}
+		Bulkhead pool = bulkheads.thumbnail();
+		int budget = pool.getQueueCapacity() / 2 - pool.getQueueDepth();
+		for (Long projectId : projectIds) {
+			if (budget <= 0) {
+				return;
+			}
+			if (!pending.contains(projectId)) {
+				refreshAfterCommit(projectId);
+				budget--;
+			}
+		}
+	}
+
+	private void schedule(Long projectId) {
+		if (!pending.add(projectId)) {
+			return; // 이미 대기 중인 작업이 최신 평면도를 그린다.
+		}
+		try {
+			bulkheads.thumbnail().submit(() -> {
+				pending.remove(projectId);
+				return render(projectId);
+			}).exceptionally(e -> {
+				System.err.println("Failed to render thumbnail of project " + projectId + ": " + e.getMessage());
+				return null;
+			});
+		} catch (TooManyRequestsException e) {
+			// 미리보기가 몰려 있으면 미루고, 다음 저장이나 목록 조회 때 다시 예약한다. (bulkhead.rejected 메트릭으로 확인)
+			pending.remove(projectId);
+		}
+	}
+
+	/**
+	 * 지금 평면도로 미리보기를 만들어 저장한다.
+	 *
+	 * @return 저장한 미리보기 URL. 그리는 동안 프로젝트가 수정되었거나 삭제되었으면 null (수정한 쪽에서 다시 예약함)
+	 * @throws IOException
+	 */
+	public String render(Long projectId) throws IOException {
+		Long version = planElementJdbcRepository.findProjectVersion(projectId);
+		if (version == null) {
+			return null;
+		}
+
+		PlanThumbnailRenderer renderer = new PlanThumbnailRenderer(planElementJdbcRepository.findExtents(projectId),
+				size, maxSegments);
+		planElementJdbcRepository.forEachWall(projectId,
+				rs -> renderer.addWall(rs.getDouble(1), rs.getDouble(2), rs.getDouble(3), rs.getDouble(4)));
+		planElementJdbcRepository.forEachDoor(projectId,
+				rs -> renderer.addDoor(rs.getDouble(1), rs.getDouble(2), rs.getDouble(3)));
+		planElementJdbcRepository.forEachWindow(projectId,
+				rs -> renderer.addWindow(rs.getDouble(1), rs.getDouble(2), rs.getDouble(3)));
+
+		String fileName = fileStorageService.storeFile(renderer.toSvg(), "plan-" + projectId + ".svg");
+		String thumbnailUrl = UPLOAD_URL_PREFIX + fileName;
+		// 저장하지 못한 파일은 어떤 프로젝트도 참조하지 않으므로 유예 기간 뒤 GC가 지운다.
+		return planElementJdbcRepository.updateThumbnailUrl(projectId, version, thumbnailUrl) ? thumbnailUrl : null;
+	}
+}
@@ -0,0 +1,198 @@
+package com.example.SAFPE.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.SAFPE.config.Bulkhead;
+import com.example.SAFPE.config.Bulkheads;
+import com.example.SAFPE.dto.BatchProjectResultDto;
+import com.example.SAFPE.dto.ai.AiAnalysisResponse;
+
+/**
+ * 여러 이미지 파일로 프로젝트를 한 번에 생성 (일괄 생성)
+ *
+ * 파일마다 읽기 → (디스크 저장 ∥ AI 분석) 순서로 진행하고, 끝난 파일은 모아서 한 트랜잭션으로 저장한다. 디스크 작업은
+ * storage 풀에서, AI 분석은 논블로킹 클라이언트에서, DB 저장은 요청 스레드에서 실행하므로 세 단계가 서로 다른 파일을 동시에
+ * 처리한다.
+ *
+ * 동시에 처리 중인 파일 수는 batch.max-in-flight로 제한한다. (메모리에 올라가는 이미지 수도 이 값을 넘지 않음)
+ */
+@Service
+public class ProjectBatchService {
+
+	private final ProjectService projectService;
+	private final FileStorageService fileStorageService;
+	private final AiAnalysisClient aiAnalysisClient;
+
+	private final Bulkhead storage;
+	private final int maxFiles;
+	private final int maxInFlight;
+	private final int persistBatchSize;
+	private final long persistWaitMs;
+
+	public ProjectBatchService(ProjectService projectService, FileStorageService fileStorageService,
+			AiAnalysisClient aiAnalysisClient, Bulkheads bulkheads,
+			@Value("${batch.max-files:100}") int maxFiles, @Value("${batch.max-in-flight:16}") int maxInFlight,
+			@Value("${batch.persist-size:20}") int persistBatchSize,
+			@Value("${batch.persist-wait-ms:200}") long persistWaitMs) {
+		this.projectService = projectService;
+		this.fileStorageService = fileStorageService;
+		this.aiAnalysisClient = aiAnalysisClient;
+		this.storage = bulkheads.storage();
+		this.maxFiles = maxFiles;
+		this.maxInFlight = Math.max(1, maxInFlight);
+		this.persistBatchSize = Math.max(1, persistBatchSize);
+		this.persistWaitMs = persistWaitMs;
+	}
+
+	/**
+	 * @param files
+	 * @param titles 파일과 같은 순서의 제목 (없거나 비어 있으면 확장자를 뺀 파일 이름)
+	 * @return 파일별 결과 (요청한 파일 순서)
+	 */
+	public List<BatchProjectResultDto> createProjects(List<MultipartFile> files, List<String> titles) {
+		if (files == null || files.isEmpty()) {
+			throw new IllegalArgumentException("No files to create projects from");
+		}
+		if (files.size() > maxFiles) {
+			throw new IllegalArgumentException("Too many files in one batch (max " + maxFiles + ")");
+		}
+
+		BatchProjectResultDto[] results = new BatchProjectResultDto[files.size()];
+		BlockingQueue<IngestedFile> completed = new LinkedBlockingQueue<>();
+		List<IngestedFile> pending = new ArrayList<>(persistBatchSize);
+		int submitted = 0;
+		int received = 0;
+
+		try {
+			while (received < files.size()) {
+				// 처리 중인 파일이 한도보다 적으면 다음 파일을 넣는다.
+				if (submitted < files.size() && submitted - received < maxInFlight) {
+					int index = submitted++;
+					ingest(index, files.get(index), titleOf(files.get(index), titles, index))
+							.thenAccept(completed::add);
+					continue;
+				}
+
+				// 모아 둔 파일이 있으면 오래 기다리지 않고 저장해서 DB가 쉬지 않게 한다.
+				IngestedFile ingested = pending.isEmpty() ? completed.take()
+						: completed.poll(persistWaitMs, TimeUnit.MILLISECONDS);
+				if (ingested == null) {
+					persist(pending, results);
+					continue;
+				}
+
+				received++;
+				if (ingested.error != null) {
+					results[ingested.index] = ingested.failed(ingested.error);
+				} else {
+					pending.add(ingested);
+					if (pending.size() >= persistBatchSize) {
+						persist(pending, results);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Batch project creation was interrupted", e);
+		}
+
+		persist(pending, results);
+		return List.of(results);
+	}
+
+	// 파일 하나 처리: 읽기 → (디스크 저장 ∥ AI 분석). 실패해도 예외 대신 error를 담아 완료한다.
+	private CompletableFuture<IngestedFile> ingest(int index, MultipartFile file, String title) {
+		String filename = file.getOriginalFilename();
+
+		// 다른 요청과 풀을 같이 쓰므로 대기열이 가득 차면 이 스레드가 직접 실행한다. (자연스럽게 속도가 조절됨)
+		return storage.submitOrRun(() -> file.getBytes()).thenCompose(content -> {
+			CompletableFuture<String> stored = storage
+					.submitOrRun(() -> fileStorageService.storeFile(content, filename));
+			// AI 분석에 실패하면 단건 생성과 같이 빈 평면도로 진행
+			CompletableFuture<AiAnalysisResponse> analyzed = aiAnalysisClient.analyze(content, filename).toFuture()
+					.exceptionally(e -> {
+						System.err.println("Failed to analyze " + filename + ": " + e.getMessage());
+						return null;
+					});
+			return stored.thenCombine(analyzed,
+					(fileName, analysis) -> new IngestedFile(index, filename, title, "/uploads/" + fileName, analysis,
+							null));
+		}).exceptionally(e -> new IngestedFile(index, filename, title, null, null, messageOf(e)));
+	}
+
+	// 모아 둔 파일들을 한 트랜잭션으로 저장 (실패하면 이번 묶음의 파일만 실패로 표시)
+	private void persist(List<IngestedFile> pending, BatchProjectResultDto[] results) {
+		if (pending.isEmpty()) {
+			return;
+		}
+
+		List<ProjectService.AnalyzedUpload> uploads = pending.stream()
+				.map(ingested -> new ProjectService.AnalyzedUpload(ingested.title, ingested.imageUrl, ingested.analysis))
+				.toList();
+		try {
+			List<Long> projectIds = projectService.createAnalyzedProjects(uploads);
+			for (int i = 0; i < pending.size(); i++) {
+				IngestedFile ingested = pending.get(i);
+				results[ingested.index] = BatchProjectResultDto.builder().index(ingested.index)
+						.filename(ingested.filename).projectId(projectIds.get(i)).title(ingested.title)
+						.walls(uploads.get(i).getWallCoordinates().length / 4).analyzed(ingested.analysis != null)
+						.build();
+			}
+		} catch (RuntimeException e) {
+			pending.forEach(ingested -> results[ingested.index] = ingested.failed(messageOf(e)));
+		}
+		pending.clear();
+	}
+
+	private static String titleOf(MultipartFile file, List<String> titles, int index) {
+		if (titles != null && index < titles.size() && StringUtils.hasText(titles.get(index))) {
+			return titles.get(index);
+		}
+		String filename = file.getOriginalFilename();
+		if (!StringUtils.hasText(filename)) {
+			return "Untitled " + (index + 1);
+		}
+		String stripped = StringUtils.stripFilenameExtension(StringUtils.getFilename(StringUtils.cleanPath(filename)));
+		return StringUtils.hasText(stripped) ? stripped : filename;
+	}
+
+	private static String messageOf(Throwable e) {
+		Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+		return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+	}
+
+	// 저장과 분석을 마친 파일 (error가 있으면 실패)
+	private static class IngestedFile {
+		private final int index;
+		private final String filename;
+		private final String title;
+		private final String imageUrl;
+		private final AiAnalysisResponse analysis;
+		private final String error;
+
+		IngestedFile(int index, String filename, String title, String imageUrl, AiAnalysisResponse analysis,
+				String error) {
+			this.index = index;
+			this.filename = filename;
+			this.title = title;
+			this.imageUrl = imageUrl;
+			this.analysis = analysis;
+			this.error = error;
+		}
+
+		BatchProjectResultDto failed(String error) {
+			return BatchProjectResultDto.builder().index(index).filename(filename).title(title).error(error).build();
+		}
+	}
+}
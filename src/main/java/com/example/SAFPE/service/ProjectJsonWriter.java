@@ -0,0 +1,123 @@
+package com.example.SAFPE.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.example.SAFPE.dto.MetricsDto;
+import com.example.SAFPE.entity.Door;
+import com.example.SAFPE.entity.Point;
+import com.example.SAFPE.entity.Project;
+import com.example.SAFPE.entity.Wall;
+import com.example.SAFPE.entity.Window;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Project 엔티티를 ProjectDto와 같은 모양의 JSON으로 바로 쓴다.
+ * 
+ * WallDto, PointDto 같은 중간 객체를 만들지 않고 평면도 요소를 한 번 훑으면서 쓰고, 그 사이에 메트릭스도 함께 계산한다.
+ * (필드 순서와 이름은 ProjectDto 직렬화 결과와 같음)
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectJsonWriter {
+
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * 프로젝트를 읽은 뒤 본문을 쓰기 직전에 호출된다. (ETag 등 헤더는 여기서 설정)
+	 */
+	@FunctionalInterface
+	public interface Target {
+		OutputStream open(Long version) throws IOException;
+	}
+
+	// 날짜 등은 스프링의 ObjectMapper 설정 그대로 직렬화되도록 ObjectMapper로 생성
+	public JsonGenerator createGenerator(OutputStream out) throws IOException {
+		JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // 응답 스트림은 서블릿 컨테이너가 닫음
+		return generator;
+	}
+
+	public void write(JsonGenerator generator, Project project) throws IOException {
+		generator.writeStartObject();
+		generator.writeObjectField("id", project.getId());
+		generator.writeStringField("title", project.getTitle());
+		generator.writeStringField("backgroundImageUrl", project.getBackgroundImageUrl());
+
+		generator.writeFieldName("planData");
+		PlanMetrics planMetrics = writePlanData(generator, project);
+
+		generator.writeObjectField("scaleRatio", project.getScaleRatio());
+		generator.writeStringField("scaleUnit", project.getScaleUnit());
+
+		MetricsDto metrics = planMetrics.toDto(project.getScaleRatio(), project.getScaleUnit());
+		generator.writeObjectFieldStart("metrics");
+		generator.writeNumberField("totalWallLength", metrics.getTotalWallLength());
+		generator.writeNumberField("estimatedArea", metrics.getEstimatedArea());
+		generator.writeStringField("unit", metrics.getUnit());
+		generator.writeEndObject();
+
+		generator.writeObjectField("createdAt", project.getCreateAt());
+		generator.writeObjectField("updateAt", project.getUpdateAt());
+		generator.writeBooleanField("public", project.isPublic()); // ProjectDto.isPublic()과 같은 이름
+		generator.writeStringField("shareId", project.getShareId());
+		generator.writeObjectField("version", project.getVersion());
+		generator.writeEndObject();
+	}
+
+	private PlanMetrics writePlanData(JsonGenerator generator, Project project) throws IOException {
+		PlanMetrics planMetrics = new PlanMetrics();
+		generator.writeStartObject();
+
+		generator.writeArrayFieldStart("walls");
+		for (Wall wall : project.getWalls()) {
+			Point start = wall.getStartPoint();
+			Point end = wall.getEndPoint();
+			planMetrics.addWall(start.getX(), start.getY(), end.getX(), end.getY());
+
+			generator.writeStartObject();
+			generator.writeObjectField("id", wall.getId());
+			writePoint(generator, "start", start);
+			writePoint(generator, "end", end);
+			generator.writeEndObject();
+		}
+		generator.writeEndArray();
+
+		generator.writeArrayFieldStart("doors");
+		for (Door door : project.getDoors()) {
+			writeOpening(generator, door.getId(), door.getPosition(), door.getWidth());
+		}
+		generator.writeEndArray();
+
+		generator.writeArrayFieldStart("windows");
+		for (Window window : project.getWindows()) {
+			writeOpening(generator, window.getId(), window.getPosition(), window.getWidth());
+		}
+		generator.writeEndArray();
+
+		generator.writeEndObject();
+		return planMetrics;
+	}
+
+	// 문, 창문 (id, position, width)
+	private void writeOpening(JsonGenerator generator, Long id, Point position, double width) throws IOException {
+		generator.writeStartObject();
+		generator.writeObjectField("id", id);
+		writePoint(generator, "position", position);
+		generator.writeNumberField("width", width);
+		generator.writeEndObject();
+	}
+
+	private void writePoint(JsonGenerator generator, String fieldName, Point point) throws IOException {
+		generator.writeObjectFieldStart(fieldName);
+		generator.writeNumberField("x", point.getX());
+		generator.writeNumberField("y", point.getY());
+		generator.writeEndObject();
+	}
+}
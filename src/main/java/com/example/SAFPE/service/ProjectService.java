@@ -8,9 +8,23 @@ import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
 import javax.imageio.ImageIO;
@@ -19,26 +33,33 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.SAFPE.config.jwt.UserPrincipal;
+import com.example.SAFPE.dto.CompactPlanDataDto;
+import com.example.SAFPE.dto.CompactProjectDto;
 import com.example.SAFPE.dto.CreateProjectRequest;
 import com.example.SAFPE.dto.DoorDto;
 import com.example.SAFPE.dto.MetricsDto;
 import com.example.SAFPE.dto.PlanDataDto;
+import com.example.SAFPE.dto.PlanHistoryEntryDto;
+import com.example.SAFPE.dto.PlanImportResultDto;
 import com.example.SAFPE.dto.PointDto;
 import com.example.SAFPE.dto.ProjectDto;
+import com.example.SAFPE.dto.ProjectSearchRequest;
+import com.example.SAFPE.dto.ProjectSummaryDto;
 import com.example.SAFPE.dto.ScaleDto;
 import com.example.SAFPE.dto.UpdateProjectRequest;
 import com.example.SAFPE.dto.WallDto;
@@ -50,11 +71,20 @@ import com.example.SAFPE.entity.Project;
 import com.example.SAFPE.entity.User;
 import com.example.SAFPE.entity.Wall;
 import com.example.SAFPE.entity.Window;
+import com.example.SAFPE.exception.PreconditionFailedException;
 import com.example.SAFPE.exception.ResourceNotFoundException;
+import com.example.SAFPE.repository.PlanElementJdbcRepository;
 import com.example.SAFPE.repository.ProjectRepository;
+import com.example.SAFPE.repository.ProjectSpecs;
 import com.example.SAFPE.repository.UserRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
+import com.example.SAFPE.service.exporter.DxfPlanWriter;
+import com.example.SAFPE.service.importer.PlanImportFormat;
+import com.example.SAFPE.service.importer.PlanImporter;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -70,19 +100,91 @@ public class ProjectService {
 	private final FileStorageService fileStorageService;
 	private final UserRepository userRepository;
 
-	// Python 서버와 통신하기 위한 RestTemplate
-	private final RestTemplate restTemplate = new RestTemplate();
+	// Python 서버와 통신하기 위한 클라이언트
+	private final AiAnalysisClient aiAnalysisClient;
+
+	private final PublicProjectCache publicProjectCache;
+
+	private final PlanHistoryService planHistoryService;
+
+	private final ProjectJsonWriter projectJsonWriter;
+
+	private final PlanImporter planImporter;
+
+	private final PlanElementJdbcRepository planElementJdbcRepository;
+
+	private final PlanThumbnailService planThumbnailService;
+
+	private final EntityManager entityManager;
+
+	private final PlatformTransactionManager transactionManager;
 
-	@Value("${ai.server.url}") // application.yml에서 AI 서버 주소 주입
-	private String aiServerUrl;
+	// 목록을 스트리밍할 때 한 번에 읽는 프로젝트 수
+	private static final int LIST_PAGE_SIZE = 50;
+	// DXF로 내보낼 때 한 트랜잭션에서 읽는 요소 수
+	private static final int EXPORT_CHUNK_SIZE = 5000;
 
-	private final ObjectMapper objectMapper;
+	// 검색 결과 한 페이지의 기본/최대 프로젝트 수
+	private static final int SEARCH_PAGE_SIZE = 20;
+	private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+	// project.title 컬럼 길이
+	private static final int MAX_TITLE_LENGTH = 100;
+
+	// 현재 로그인된 사용자의 ID를 가져오는 Helper 메소드 (토큰에 담긴 정보만 사용하므로 DB 조회 없음)
+	private Long getCurrentUserId() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+			throw new ResourceNotFoundException("User not found");
+		}
+		return principal.getId();
+	}
+
+	/**
+	 * 현재 사용자의 프로젝트를 가져온다. (다른 사용자의 프로젝트는 없는 것으로 처리)
+	 * 
+	 * 사용자 ID 조건으로 쿼리하면 2차 캐시를 거치지 않으므로 ID로 읽고 소유자를 확인한다. 캐시에 있으면 SELECT 쿼리가 발생하지 않는다.
+	 */
+	private Project findOwnedProject(Long id) {
+		Long userId = getCurrentUserId();
+		return projectRepository.findById(id).filter(project -> project.getUser().getId().equals(userId))
+				.orElseThrow(() -> new ResourceNotFoundException("project not found with id: " + id));
+	}
 
 	// 현재 로그인된 사용자를 가져오는 Helper 메소드
+	// 연관관계 설정에만 쓰이므로 프록시 참조만 반환한다. (SELECT 쿼리 발생하지 않음)
 	private User getCurrentUser() {
-		String username = SecurityContextHolder.getContext().getAuthentication().getName();
-		return userRepository.findByUsername(username)
-				.orElseThrow(() -> new ResourceNotFoundException("User not found"));
+		return userRepository.getReferenceById(getCurrentUserId());
+	}
+
+	/**
+	 * AI 서버로 이미지 분석 요청
+	 * 
+	 * 분석을 기다리는 동안 DB 커넥션을 잡지 않도록 트랜잭션 없이 요청만 시작하고 바로 반환한다. 결과는
+	 * createProjectWithImage / uploadBackgroundImage로 넘겨서 짧은 트랜잭션으로 저장한다.
+	 * 
+	 * @param file
+	 * @return 분석 결과 (실패하면 null로 완료되고 빈 평면도로 진행)
+	 * @throws IOException
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public CompletableFuture<AiAnalysisResponse> analyzeImage(MultipartFile file) throws IOException {
+		return aiAnalysisClient.analyze(file.getBytes(), file.getOriginalFilename()).toFuture().exceptionally(e -> {
+			System.err.println("Failed to connect to AI server: " + e.getMessage());
+			return null;
+		});
+	}
+
+	/**
+	 * 업로드한 이미지를 저장소에 저장 (트랜잭션 밖에서 호출)
+	 * 
+	 * @param file
+	 * @return 웹에서 접근 가능한 경로
+	 * @throws IOException
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public String storeImage(MultipartFile file) throws IOException {
+		return "/uploads/" + fileStorageService.storeFile(file);
 	}
 
 	// Project 엔티티를 ProjectDto로 변환
@@ -92,6 +194,7 @@ public class ProjectService {
 		if (project.getWalls() != null && !project.getWalls().isEmpty()) {
 			wallDtos = project.getWalls().stream().map(wall -> {
 				WallDto dto = new WallDto();
+				dto.setId(wall.getId());
 				dto.setStart(new PointDto(wall.getStartPoint().getX(), wall.getStartPoint().getY()));
 				dto.setEnd(new PointDto(wall.getEndPoint().getX(), wall.getEndPoint().getY()));
 				return dto;
@@ -102,6 +205,7 @@ public class ProjectService {
 		if (project.getDoors() != null && !project.getDoors().isEmpty()) {
 			doorDtos = project.getDoors().stream().map(door -> {
 				DoorDto dto = new DoorDto();
+				dto.setId(door.getId());
 				dto.setPosition(new PointDto(door.getPosition().getX(), door.getPosition().getY()));
 				dto.setWidth(door.getWidth());
 				return dto;
@@ -112,6 +216,7 @@ public class ProjectService {
 		if (project.getWindows() != null && !project.getWindows().isEmpty()) {
 			windowDtos = project.getWindows().stream().map(window -> {
 				WindowDto dto = new WindowDto();
+				dto.setId(window.getId());
 				dto.setPosition(new PointDto(window.getPosition().getX(), window.getPosition().getY()));
 				dto.setWidth(window.getWidth());
 				return dto;
@@ -130,71 +235,262 @@ public class ProjectService {
 				.backgroundImageUrl(project.getBackgroundImageUrl()).planData(planDataDto)
 				.scaleRatio(project.getScaleRatio()).scaleUnit(project.getScaleUnit()).metrics(metrics)
 				.createdAt(project.getCreateAt()).updateAt(project.getUpdateAt()).isPublic(project.isPublic())
-				.shareId(project.getShareId()).build();
+				.shareId(project.getShareId()).version(project.getVersion()).build();
 	}
 
 	// 길이와 면적 계산 로직
 	private MetricsDto calculateMetrics(PlanDataDto planData, Double scaleRatio, String scaleUnit) {
-		if (planData == null || planData.getWalls() == null || planData.getWalls().isEmpty()) {
-			return MetricsDto.builder().totalWallLength(0).estimatedArea(0).unit("pixel").build();
+		PlanMetrics planMetrics = new PlanMetrics();
+		if (planData != null && planData.getWalls() != null) {
+			for (WallDto wall : planData.getWalls()) {
+				planMetrics.addWall(wall.getStart().getX(), wall.getStart().getY(), wall.getEnd().getX(),
+						wall.getEnd().getY());
+			}
+		}
+		return planMetrics.toDto(scaleRatio, scaleUnit);
+	}
+
+	// 엔티티에서 바로 평평한 배열을 채운다. (요소마다 WallDto/PointDto를 만들지 않음)
+	private CompactProjectDto convertToCompactDto(Project project) {
+		PlanMetrics planMetrics = new PlanMetrics();
+		List<Wall> walls = project.getWalls();
+		double[] wallValues = new double[walls.size() * CompactPlanDataDto.WALL_STRIDE];
+		for (int i = 0; i < walls.size(); i++) {
+			Wall wall = walls.get(i);
+			int offset = i * CompactPlanDataDto.WALL_STRIDE;
+			wallValues[offset] = wall.getStartPoint().getX();
+			wallValues[offset + 1] = wall.getStartPoint().getY();
+			wallValues[offset + 2] = wall.getEndPoint().getX();
+			wallValues[offset + 3] = wall.getEndPoint().getY();
+			planMetrics.addWall(wallValues[offset], wallValues[offset + 1], wallValues[offset + 2],
+					wallValues[offset + 3]);
+		}
+
+		CompactPlanDataDto planData = new CompactPlanDataDto();
+		planData.setWalls(wallValues);
+		planData.setWallIds(compactIds(walls, Wall::getId));
+		planData.setDoors(compactOpenings(project.getDoors(), Door::getPosition, Door::getWidth));
+		planData.setDoorIds(compactIds(project.getDoors(), Door::getId));
+		planData.setWindows(compactOpenings(project.getWindows(), Window::getPosition, Window::getWidth));
+		planData.setWindowIds(compactIds(project.getWindows(), Window::getId));
+
+		return CompactProjectDto.builder().id(project.getId()).title(project.getTitle())
+				.backgroundImageUrl(project.getBackgroundImageUrl()).planData(planData)
+				.scaleRatio(project.getScaleRatio()).scaleUnit(project.getScaleUnit())
+				.metrics(planMetrics.toDto(project.getScaleRatio(), project.getScaleUnit()))
+				.createdAt(project.getCreateAt()).updateAt(project.getUpdateAt()).isPublic(project.isPublic())
+				.shareId(project.getShareId()).version(project.getVersion()).build();
+	}
+
+	// 문/창문 : [x, y, width, ...]
+	private static <E> double[] compactOpenings(List<E> openings, Function<E, Point> position,
+			ToDoubleFunction<E> width) {
+		double[] values = new double[openings.size() * CompactPlanDataDto.OPENING_STRIDE];
+		for (int i = 0; i < openings.size(); i++) {
+			E opening = openings.get(i);
+			int offset = i * CompactPlanDataDto.OPENING_STRIDE;
+			values[offset] = position.apply(opening).getX();
+			values[offset + 1] = position.apply(opening).getY();
+			values[offset + 2] = width.applyAsDouble(opening);
 		}
+		return values;
+	}
 
-		// 1. 총 벽 길이 계산
-		double totalPixelLength = 0;
-		for (WallDto wall : planData.getWalls()) {
-			double length = Math.sqrt(Math.pow(wall.getEnd().getX() - wall.getStart().getX(), 2)
-					+ Math.pow(wall.getEnd().getY() - wall.getStart().getY(), 2));
-			totalPixelLength += length;
+	// 아직 저장되지 않은 요소의 ID는 0
+	private static <E> long[] compactIds(List<E> elements, Function<E, Long> getId) {
+		long[] ids = new long[elements.size()];
+		for (int i = 0; i < elements.size(); i++) {
+			Long id = getId.apply(elements.get(i));
+			ids[i] = id != null ? id : 0;
 		}
+		return ids;
+	}
+
+	// 프로젝트 목록 조회
+	public List<ProjectDto> getAllProjects() {
+		return projectRepository.findByUserIdOrderByIdDesc(getCurrentUserId()).stream().map(this::convertToDto)
+				.collect(Collectors.toList());
+	}
+
+	// 프로젝트 목록 조회 (평면도 좌표를 평평한 배열로)
+	public List<CompactProjectDto> getAllProjectsCompact() {
+		return projectRepository.findByUserIdOrderByIdDesc(getCurrentUserId()).stream()
+				.map(this::convertToCompactDto).toList();
+	}
 
-		// 2. 면적 계산 (Shoelace Formula 사용)
-		// 벽의 시작점들을 다각형의 꼭짓점으로 간주
-		double pixelArea = 0;
-		List<PointDto> vertices = planData.getWalls().stream().map(WallDto::getStart).collect(Collectors.toList());
-		int n = vertices.size();
+	/**
+	 * 프로젝트 목록 (최신순, 요약과 미리보기 URL만 반환)
+	 * 
+	 * 평면도 요소를 읽지 않는다. 아직 미리보기가 없는 프로젝트(기능 추가 전에 만든 프로젝트 등)는 여기서 몇 개씩 생성을 예약한다.
+	 * 
+	 * @return
+	 */
+	public List<ProjectSummaryDto> getProjectSummaries() {
+		List<ProjectSummaryDto> summaries = projectRepository.findByUserIdOrderByIdDesc(getCurrentUserId()).stream()
+				.map(this::convertToSummary).toList();
+		planThumbnailService.backfill(summaries.stream().filter(summary -> summary.getThumbnailUrl() == null)
+				.map(ProjectSummaryDto::getId).toList());
+		return summaries;
+	}
+
+	/**
+	 * 프로젝트 목록을 JSON 배열로 바로 쓴다.
+	 * 
+	 * 프로젝트를 LIST_PAGE_SIZE개씩 id 키셋으로 읽는다. 한 페이지를 짧은 읽기 트랜잭션 안에서 메모리 버퍼에 쓰고, 트랜잭션을 끝낸
+	 * 뒤에 클라이언트로 보내므로 느린 클라이언트가 DB 커넥션을 잡고 있지 않는다. 메모리에는 한 페이지만 남는다.
+	 * 
+	 * @param out
+	 * @throws IOException
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void writeAllProjects(OutputStream out) throws IOException {
+		Long userId = getCurrentUserId();
+		TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+
+		ByteArrayOutputStream pageBuffer = new ByteArrayOutputStream();
+		try (JsonGenerator generator = projectJsonWriter.createGenerator(pageBuffer)) {
+			generator.writeStartArray();
+
+			Long lastId = Long.MAX_VALUE;
+			while (lastId != null) {
+				Long afterId = lastId;
+				try {
+					lastId = readOnlyTransaction.execute(status -> writePage(generator, userId, afterId));
+				} catch (UncheckedIOException e) {
+					throw e.getCause();
+				}
+				generator.flush();
+				pageBuffer.writeTo(out); // 페이지 단위로 클라이언트에 전송
+				out.flush();
+				pageBuffer.reset();
+			}
+
+			generator.writeEndArray();
+		}
+		pageBuffer.writeTo(out);
+	}
 
-		if (n > 2) { // 최소 3개의 꼭짓점이 있어야 면적 계산 가능하니까
-			for (int i = 0; i < n; i++) {
-				PointDto current = vertices.get(i);
-				PointDto next = vertices.get((i + 1) % n); // 마지막 꼭짓점은 첫 번째와연결
-				pixelArea += (current.getX() * next.getY()) - (next.getX() * current.getY());
+	// afterId 다음 페이지를 쓰고, 이어서 읽을 id를 반환한다. (마지막 페이지면 null)
+	private Long writePage(JsonGenerator generator, Long userId, Long afterId) {
+		List<Project> page = projectRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId, afterId,
+				PageRequest.of(0, LIST_PAGE_SIZE));
+		try {
+			for (Project project : page) {
+				projectJsonWriter.write(generator, project);
 			}
-			pixelArea = Math.abs(pixelArea) / 2.0;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		entityManager.clear();
+		return page.size() == LIST_PAGE_SIZE ? page.get(page.size() - 1).getId() : null;
+	}
+
+	/**
+	 * 현재 사용자의 프로젝트 검색 (최신순, 요약만 반환)
+	 * 
+	 * 다음 페이지는 마지막으로 받은 프로젝트의 id를 lastId로 넘겨 조회한다. OFFSET 없이 id 조건으로 이어 읽으므로 뒤 페이지도 앞
+	 * 페이지와 같은 속도로 조회된다.
+	 * 
+	 * @param request
+	 * @return
+	 */
+	public List<ProjectSummaryDto> searchProjects(ProjectSearchRequest request) {
+		int size = request.getSize() != null ? request.getSize() : SEARCH_PAGE_SIZE;
+		if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+			throw new IllegalArgumentException("size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+		}
+		checkRange("created", request.getCreatedFrom(), request.getCreatedTo());
+		checkRange("updated", request.getUpdatedFrom(), request.getUpdatedTo());
+		checkRange("area", request.getMinArea(), request.getMaxArea());
+
+		Specification<Project> spec = ProjectSpecs.ownedBy(getCurrentUserId());
+		Specification<Project> titleMatches = ProjectSpecs.titleMatches(request.getQ());
+		if (titleMatches != null) {
+			spec = spec.and(titleMatches);
+		}
+		if (StringUtils.hasText(request.getTitlePrefix())) {
+			spec = spec.and(ProjectSpecs.titleStartsWith(request.getTitlePrefix()));
+		}
+		if (request.getCreatedFrom() != null || request.getCreatedTo() != null) {
+			spec = spec.and(ProjectSpecs.createdBetween(request.getCreatedFrom(), request.getCreatedTo()));
+		}
+		if (request.getUpdatedFrom() != null || request.getUpdatedTo() != null) {
+			spec = spec.and(ProjectSpecs.updatedBetween(request.getUpdatedFrom(), request.getUpdatedTo()));
+		}
+		if (request.getIsPublic() != null) {
+			spec = spec.and(ProjectSpecs.isPublic(request.getIsPublic()));
+		}
+		if (request.getMinArea() != null || request.getMaxArea() != null) {
+			spec = spec.and(ProjectSpecs.areaBetween(request.getMinArea(), request.getMaxArea()));
+		}
+		if (request.getLastId() != null) {
+			spec = spec.and(ProjectSpecs.idLessThan(request.getLastId()));
 		}
 
-		// 스케일 적용
-		double finalLength = totalPixelLength;
-		double finalArea = pixelArea;
-		String finalUnit = "px";
+		// count 쿼리 없이 size개만 읽는다.
+		List<Project> projects = projectRepository.findBy(spec,
+				query -> query.sortBy(Sort.by(Sort.Direction.DESC, "id")).limit(size).all());
+		return projects.stream().map(this::convertToSummary).toList();
+	}
 
-		if (scaleRatio != null && scaleRatio > 0 && scaleUnit != null) {
-			finalLength = totalPixelLength * scaleRatio;
-			finalArea = pixelArea * Math.pow(scaleRatio, 2);
-			finalUnit = scaleUnit;
+	private static <T extends Comparable<T>> void checkRange(String name, T from, T to) {
+		if (from != null && to != null && from.compareTo(to) > 0) {
+			throw new IllegalArgumentException("Invalid " + name + " range: " + from + " > " + to);
 		}
+	}
 
-		return MetricsDto.builder().totalWallLength(Math.round(finalLength * 100) / 100.0) // 소수점 두 자리까지
-				.estimatedArea(Math.round(finalArea * 10) / 10.0).unit(finalUnit).build();
+	private ProjectSummaryDto convertToSummary(Project project) {
+		boolean scaled = project.getScaleRatio() != null && project.getScaleRatio() > 0
+				&& project.getScaleUnit() != null;
+		return ProjectSummaryDto.builder().id(project.getId()).title(project.getTitle())
+				.backgroundImageUrl(project.getBackgroundImageUrl()).thumbnailUrl(project.getThumbnailUrl())
+				.estimatedArea(project.getEstimatedArea())
+				.areaUnit(scaled ? project.getScaleUnit() : "px").createdAt(project.getCreateAt())
+				.updateAt(project.getUpdateAt()).isPublic(project.isPublic()).shareId(project.getShareId())
+				.version(project.getVersion()).build();
 	}
 
-	// 프로젝트 목록 조회
-	public List<ProjectDto> getAllProjects() {
-		User currentUser = getCurrentUser();
+	/**
+	 * 프로젝트 상세를 JSON으로 바로 쓴다. (ProjectDto를 만들지 않음)
+	 * 
+	 * @param id
+	 * @param target 읽어온 프로젝트의 버전을 받아 본문을 쓸 스트림을 반환
+	 * @throws IOException
+	 */
+	public void writeProject(Long id, ProjectJsonWriter.Target target) throws IOException {
+		Project project = findOwnedProject(id);
 
-		return projectRepository.findByUserOrderByIdDesc(currentUser).stream().map(this::convertToDto)
-				.collect(Collectors.toList());
+		try (JsonGenerator generator = projectJsonWriter.createGenerator(target.open(project.getVersion()))) {
+			projectJsonWriter.write(generator, project);
+		}
 	}
 
 	// 프로젝트 상세 조회
 	public ProjectDto getProjectById(Long id) {
-		User currentUser = getCurrentUser();
-
-		Project project = projectRepository.findByUserAndId(currentUser, id)
-				.orElseThrow(() -> new ResourceNotFoundException("project not found with id: " + id));
+		Project project = findOwnedProject(id);
 
 		return convertToDto(project);
 	}
 
+	// 프로젝트 상세 조회 (평면도 좌표를 평평한 배열로)
+	public CompactProjectDto getProjectByIdCompact(Long id) {
+		Project project = findOwnedProject(id);
+
+		return convertToCompactDto(project);
+	}
+
+	/**
+	 * 프로젝트의 현재 버전만 조회 (조건부 GET 처리용. 평면도 요소는 읽지 않음)
+	 * 
+	 * @param id
+	 * @return
+	 */
+	public Long getProjectVersion(Long id) {
+		return projectRepository.findVersionByUserIdAndId(getCurrentUserId(), id)
+				.orElseThrow(() -> new ResourceNotFoundException("project not found with id: " + id));
+	}
+
 	// 새 프로젝트 생성
 	@Deprecated
 	@Transactional
@@ -214,51 +510,16 @@ public class ProjectService {
 	/**
 	 * 새 프로젝트 생성과 동시에 이미지 업로드
 	 * 
+	 * 이미지 분석(analyzeImage)과 저장(storeImage)은 트랜잭션 밖에서 먼저 끝내고, 여기서는 결과만 저장한다.
+	 * 
 	 * @param title
-	 * @param file
+	 * @param fileDownloadUrl storeImage로 저장한 이미지 경로
+	 * @param aiResponse      AI 분석 결과 (실패했으면 null)
 	 * @return
-	 * @throws IOException
 	 * @createAt 2025.10.28
 	 */
 	@Transactional
-	public ProjectDto createProjectWithImage(String title, MultipartFile file) throws IOException {
-		// -- AI 서버로 이미지 분석 요청
-		AiAnalysisResponse aiResponse = null;
-
-		// AI 서버로 이미지 분석 요청 보내기
-		try {
-			// 1. 요청 헤더 설정
-			HttpHeaders headers = new HttpHeaders();
-			headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-			// 2. 요청 바디 구성
-			MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-			body.add("file", new ByteArrayResource(file.getBytes()) {
-				@Override
-				public String getFilename() {
-					return file.getOriginalFilename();
-				}
-			});
-
-			// 3. HTTP 요청 엔티티 생성
-			HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-
-			// 4. RestTemplate을 사용해서 Python 서버에 POST 요청
-			ResponseEntity<String> response = restTemplate.postForEntity(aiServerUrl + "/analyze", requestEntity,
-					String.class);
-
-			// 5. 응답 출력
-			aiResponse = objectMapper.readValue(response.getBody(), AiAnalysisResponse.class);
-
-		} catch (Exception e) {
-			System.err.println("Failed to connect to AI server: " + e.getMessage());
-		}
-
-		// 파일 저장
-		String fileName = fileStorageService.storeFile(file);
-		// 웹에서 접근 가능한 경로로 만들어 저장
-		String fileDownloadUrl = "/uploads/" + fileName;
-
+	public ProjectDto createProjectWithImage(String title, String fileDownloadUrl, AiAnalysisResponse aiResponse) {
 		// 새 프로젝트 생성
 		User currentUser = this.getCurrentUser();
 		Project project = Project.builder().title(title).user(currentUser).backgroundImageUrl(fileDownloadUrl).build();
@@ -274,17 +535,198 @@ public class ProjectService {
 			});
 		}
 
-		Project savedProject = projectRepository.save(project);
+		Project savedProject = projectRepository.saveAndFlush(project);
+		planElementJdbcRepository.updateEstimatedArea(savedProject.getId());
+		planThumbnailService.refreshAfterCommit(savedProject.getId());
+		// 처음 평면도(AI 분석 결과)를 이력의 시작점으로 남김
+		planHistoryService.recordBaseline(savedProject);
 		return convertToDto(savedProject);
 	}
 
-	// 프로젝트 정보와 평면도 데이터 업데이트
+	/**
+	 * 이미지 저장과 AI 분석을 마친 파일들로 프로젝트를 한 트랜잭션에서 생성 (일괄 생성)
+	 * 
+	 * 벽은 엔티티를 만들지 않고 프로젝트마다 JDBC 배치로 INSERT한다. 변경 이력의 시작점은 첫 수정 직전에 남긴다.
+	 * (ensureBaseline)
+	 * 
+	 * @param uploads
+	 * @return 생성한 프로젝트 ID (uploads와 같은 순서)
+	 */
 	@Transactional
-	public ProjectDto updateProject(Long id, UpdateProjectRequest request) {
+	public List<Long> createAnalyzedProjects(List<AnalyzedUpload> uploads) {
 		User currentUser = getCurrentUser();
+		List<Long> projectIds = new ArrayList<>(uploads.size());
 
-		Project project = projectRepository.findByUserAndId(currentUser, id)
-				.orElseThrow(() -> new ResourceNotFoundException("Project not found with id" + id));
+		for (AnalyzedUpload upload : uploads) {
+			Project project = projectRepository.save(Project.builder().title(upload.getTitle()).user(currentUser)
+					.backgroundImageUrl(upload.getImageUrl()).build());
+
+			double[] walls = upload.getWallCoordinates();
+			if (walls.length > 0) {
+				planElementJdbcRepository.insertWalls(project.getId(), walls, walls.length / 4);
+				planElementJdbcRepository.updateEstimatedArea(project.getId());
+			}
+			planThumbnailService.refreshAfterCommit(project.getId());
+			projectIds.add(project.getId());
+		}
+		return projectIds;
+	}
+
+	/**
+	 * 저장된 이미지와 AI 분석 결과 (분석에 실패했으면 analysis는 null)
+	 */
+	@Getter
+	@AllArgsConstructor
+	public static class AnalyzedUpload {
+		private final String title;
+		private final String imageUrl;
+		private final AiAnalysisResponse analysis;
+
+		// 분석된 벽을 [startX, startY, endX, endY, ...]로 펼침
+		public double[] getWallCoordinates() {
+			if (analysis == null || analysis.getDetectedLines() == null) {
+				return new double[0];
+			}
+			List<WallDto> lines = analysis.getDetectedLines().stream()
+					.filter(line -> line.getStart() != null && line.getEnd() != null).toList();
+			double[] coordinates = new double[lines.size() * 4];
+			int i = 0;
+			for (WallDto line : lines) {
+				coordinates[i++] = line.getStart().getX();
+				coordinates[i++] = line.getStart().getY();
+				coordinates[i++] = line.getEnd().getX();
+				coordinates[i++] = line.getEnd().getY();
+			}
+			return coordinates;
+		}
+	}
+
+	/**
+	 * 도면 파일(DXF, GeoJSON)로 새 프로젝트 생성
+	 * 
+	 * 요소는 파일을 읽는 대로 JDBC 배치로 저장하므로 응답에는 평면도 대신 저장한 요소 수만 담는다. 변경 이력의 시작점은 첫 수정
+	 * 직전에 남긴다. (ensureBaseline)
+	 * 
+	 * @param title
+	 * @param file
+	 * @param format dxf, geojson (없으면 파일 확장자로 판단)
+	 * @return
+	 * @throws IOException
+	 */
+	@Transactional
+	public PlanImportResultDto importProject(String title, MultipartFile file, String format) throws IOException {
+		PlanImportFormat importFormat = PlanImportFormat.of(format, file.getOriginalFilename());
+
+		// 요소를 INSERT하려면 프로젝트 ID가 먼저 필요
+		Project project = projectRepository.save(Project.builder().title(title).user(getCurrentUser()).build());
+
+		PlanImporter.ImportResult result;
+		try (InputStream in = file.getInputStream()) {
+			result = planImporter.importInto(project.getId(), in, importFormat);
+		}
+
+		// 도면 단위를 알면 도면 좌표 1 = 실제 길이 1(단위)로 스케일 설정
+		if (result.getUnit() != null) {
+			project.setScaleRatio(1.0);
+			project.setScaleUnit(result.getUnit());
+			projectRepository.saveAndFlush(project);
+		}
+		planElementJdbcRepository.updateEstimatedArea(project.getId());
+		planThumbnailService.refreshAfterCommit(project.getId());
+
+		return PlanImportResultDto.builder().projectId(project.getId()).title(project.getTitle())
+				.walls(result.getWalls()).doors(result.getDoors()).windows(result.getWindows())
+				.scaleUnit(project.getScaleUnit()).build();
+	}
+
+	/**
+	 * 프로젝트 복제 (배경 이미지와 스케일, 평면도 요소를 복사한 새 비공개 프로젝트)
+	 * 
+	 * 요소는 엔티티로 읽지 않고 종류마다 INSERT ... SELECT 한 문장으로 복사한다. 배경 이미지 파일은 복사하지 않고 같은 파일을
+	 * 참조한다. 변경 이력은 복사하지 않으며, 첫 변경 때 그 시점의 평면도가 기준 스냅샷으로 남는다. (ensureBaseline)
+	 * 
+	 * @param id
+	 * @param title 새 프로젝트 제목 (없으면 원본 제목 + " (copy)")
+	 * @return
+	 */
+	@Transactional
+	public PlanImportResultDto duplicateProject(Long id, String title) {
+		Project source = findOwnedProject(id);
+
+		String copyTitle = title != null && !title.isBlank() ? title : source.getTitle() + " (copy)";
+		// 컬럼 길이는 문자(코드 포인트) 수 기준이고, 서로게이트 쌍(이모지 등) 중간에서 자르면 깨진 문자가 남는다.
+		if (copyTitle.codePointCount(0, copyTitle.length()) > MAX_TITLE_LENGTH) {
+			copyTitle = copyTitle.substring(0, copyTitle.offsetByCodePoints(0, MAX_TITLE_LENGTH));
+		}
+
+		// 요소를 INSERT하려면 프로젝트 ID가 먼저 필요
+		Project copy = projectRepository.save(Project.builder().title(copyTitle)
+				.backgroundImageUrl(source.getBackgroundImageUrl()).scaleRatio(source.getScaleRatio())
+				.scaleUnit(source.getScaleUnit()).thumbnailUrl(source.getThumbnailUrl()).user(source.getUser())
+				.build());
+		int[] copied = planElementJdbcRepository.copyElements(source.getId(), copy.getId());
+		planElementJdbcRepository.updateEstimatedArea(copy.getId());
+
+		return PlanImportResultDto.builder().projectId(copy.getId()).title(copy.getTitle()).walls(copied[0])
+				.doors(copied[1]).windows(copied[2]).scaleUnit(copy.getScaleUnit()).build();
+	}
+
+	/**
+	 * 프로젝트 삭제 (평면도 요소와 변경 이력 포함)
+	 * 
+	 * 연관관계의 cascade를 쓰면 요소를 모두 읽어 한 행씩 지우므로, 테이블마다 DELETE ... WHERE project_id = ? 한 문장으로
+	 * 지운다. 배경 이미지 파일은 참조가 없어지면 UploadGarbageCollector가 정리한다.
+	 * 
+	 * @param id
+	 * @param expectedVersion If-Match로 받은 버전 (null이면 버전 확인 안 함)
+	 */
+	@Transactional
+	public void deleteProject(Long id, Long expectedVersion) {
+		Project project = findOwnedProject(id);
+
+		if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+			throw new PreconditionFailedException(
+					"Project has been modified (current version: " + project.getVersion() + ")");
+		}
+
+		// JDBC로 지우므로 영속성 컨텍스트에서 떼어 내서 flush 대상에서 뺀다.
+		entityManager.detach(project);
+		if (!planElementJdbcRepository.deleteProject(project.getId(), project.getVersion())) {
+			throw new ObjectOptimisticLockingFailureException(Project.class, id);
+		}
+		planHistoryService.deleteHistory(project.getId());
+		publicProjectCache.evictAfterCommit(project.getShareId());
+	}
+
+	/**
+	 * 프로젝트 정보와 평면도 데이터 업데이트
+	 * 
+	 * planData가 없는 요청(제목만 바꾸는 경우 등)은 평면도 요소를 그대로 둔다.
+	 * 
+	 * @param id
+	 * @param request
+	 * @param expectedVersion If-Match로 받은 버전 (null이면 버전 확인 안 함)
+	 * @return
+	 */
+	@Transactional
+	public ProjectDto updateProject(Long id, UpdateProjectRequest request, Long expectedVersion) {
+		return convertToDto(update(id, request, expectedVersion));
+	}
+
+	// updateProject와 같고 응답만 평평한 배열 형식
+	@Transactional
+	public CompactProjectDto updateProjectCompact(Long id, UpdateProjectRequest request, Long expectedVersion) {
+		return convertToCompactDto(update(id, request, expectedVersion));
+	}
+
+	private Project update(Long id, UpdateProjectRequest request, Long expectedVersion) {
+		Project project = findOwnedProject(id);
+
+		// 평면도 요소를 읽거나 지우기 전에 버전부터 확인 (다른 사람이 먼저 수정했으면 바로 거절)
+		if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+			throw new PreconditionFailedException(
+					"Project has been modified (current version: " + project.getVersion() + ")");
+		}
 
 		// 1. 프로젝트 메타데이터 업데이트
 		project.setTitle(request.getTitle());
@@ -296,96 +738,186 @@ public class ProjectService {
 			project.setScaleUnit(scale.getUnit());
 		}
 
-		// 2. 기존 평면도 요소들 모두 삭제
-		project.getWalls().clear();
-		project.getDoors().clear();
-		project.getWindows().clear();
+		// 2. 기존 평면도 요소를 요청받은 평면도로 교체하고 바뀐 요소만 이력에 남김
+		boolean planChanged = request.getPlanData() != null;
+		if (planChanged) {
+			planHistoryService.ensureBaseline(project);
+			PlanState before = PlanState.of(project);
+			replacePlanElements(project, request.getPlanData());
+			planHistoryService.recordChanges(project, before);
+		}
 
-		// 3. 요청받은 DTO 데이터로 새로운 엔티티 객체들을 생성하여 추가
-		PlanDataDto planData = request.getPlanData();
-		if (planData.getWalls() != null) {
-			planData.getWalls().forEach(wallDto -> {
-				Wall wall = Wall.builder().startPoint(new Point(wallDto.getStart().getX(), wallDto.getStart().getY()))
-						.endPoint(new Point(wallDto.getEnd().getX(), wallDto.getEnd().getY())).project(project).build();
-				project.getWalls().add(wall);
-			});
+		// 평면도 요소만 바뀐 경우에도 수정 시각과 버전이 올라가도록 직접 갱신
+		project.setUpdateAt(LocalDateTime.now());
+
+		// 응답에 증가된 버전을 담기 위해 바로 flush
+		Project savedProject = projectRepository.saveAndFlush(project);
+		planElementJdbcRepository.updateEstimatedArea(savedProject.getId());
+		publicProjectCache.evictAfterCommit(savedProject.getShareId());
+		if (planChanged) {
+			planThumbnailService.refreshAfterCommit(savedProject.getId());
 		}
-		if (planData.getDoors() != null) {
-			planData.getDoors().forEach(doorDto -> {
-				Door door = Door.builder()
-						.position(new Point(doorDto.getPosition().getX(), doorDto.getPosition().getY()))
-						.width(doorDto.getWidth()).project(project).build();
-				project.getDoors().add(door);
-			});
+		return savedProject;
+	}
+
+	/**
+	 * 프로젝트의 평면도 요소를 planData와 같게 만든다.
+	 * 
+	 * planData에 있는 ID의 요소는 그대로 두고 값만 바꾸며, 없어진 요소는 지우고 ID가 없거나 이 프로젝트에 없는 요소는 새로 만든다.
+	 * 새 요소는 바로 INSERT해서 ID를 받아 두므로, 호출한 뒤 PlanState.of(project)로 바뀐 내용을 비교할 수 있다.
+	 */
+	private void replacePlanElements(Project project, PlanDataDto planData) {
+		replaceElements(project.getWalls(), planData.getWalls(), Wall::getId, WallDto::getId, (wall, wallDto) -> {
+			wall.setStartPoint(new Point(wallDto.getStart().getX(), wallDto.getStart().getY()));
+			wall.setEndPoint(new Point(wallDto.getEnd().getX(), wallDto.getEnd().getY()));
+		}, wallDto -> newWall(project, wallDto));
+		replaceElements(project.getDoors(), planData.getDoors(), Door::getId, DoorDto::getId, (door, doorDto) -> {
+			door.setPosition(new Point(doorDto.getPosition().getX(), doorDto.getPosition().getY()));
+			door.setWidth(doorDto.getWidth());
+		}, doorDto -> {
+			Door door = Door.builder().position(new Point(doorDto.getPosition().getX(), doorDto.getPosition().getY()))
+					.width(doorDto.getWidth()).project(project).build();
+			entityManager.persist(door);
+			return door;
+		});
+		replaceElements(project.getWindows(), planData.getWindows(), Window::getId, WindowDto::getId,
+				(window, windowDto) -> {
+					window.setPosition(new Point(windowDto.getPosition().getX(), windowDto.getPosition().getY()));
+					window.setWidth(windowDto.getWidth());
+				}, windowDto -> {
+					Window window = Window.builder()
+							.position(new Point(windowDto.getPosition().getX(), windowDto.getPosition().getY()))
+							.width(windowDto.getWidth()).project(project).build();
+					entityManager.persist(window);
+					return window;
+				});
+	}
+
+	// 요소 종류 하나에 대해 ID가 같은 요소는 update, 요청에 없는 요소는 삭제(orphanRemoval), 짝이 없는 요청은 create
+	private static <E, D> void replaceElements(List<E> elements, List<D> requested, Function<E, Long> elementId,
+			Function<D, Long> requestedId, BiConsumer<E, D> update, Function<D, E> create) {
+		List<D> requestedElements = requested != null ? requested : List.of();
+		Map<Long, D> requestedById = new HashMap<>();
+		requestedElements.stream().filter(dto -> requestedId.apply(dto) != null)
+				.forEach(dto -> requestedById.putIfAbsent(requestedId.apply(dto), dto));
+
+		elements.removeIf(element -> !requestedById.containsKey(elementId.apply(element)));
+		Set<D> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (E element : elements) {
+			D dto = requestedById.get(elementId.apply(element));
+			update.accept(element, dto);
+			matched.add(dto);
 		}
-		if (planData.getWindows() != null) {
-			planData.getWindows().forEach(windowDto -> {
-				Window window = Window.builder()
-						.position(new Point(windowDto.getPosition().getX(), windowDto.getPosition().getY()))
-						.width(windowDto.getWidth()).project(project).build();
-				project.getWindows().add(window);
-			});
+		for (D dto : requestedElements) {
+			if (!matched.contains(dto)) {
+				elements.add(create.apply(dto));
+			}
 		}
+	}
 
-		Project savedProject = projectRepository.save(project);
-		return convertToDto(savedProject);
+	// 새 벽을 바로 INSERT해서 ID를 받는다. (이력에 ADD로 남기기 위함)
+	private Wall newWall(Project project, WallDto wallDto) {
+		Wall wall = Wall.builder().startPoint(new Point(wallDto.getStart().getX(), wallDto.getStart().getY()))
+				.endPoint(new Point(wallDto.getEnd().getX(), wallDto.getEnd().getY())).project(project).build();
+		entityManager.persist(wall);
+		return wall;
 	}
 
-	// 배경 이미지 업로드
-	@Transactional
-	public ProjectDto uploadBackgroundImage(Long id, MultipartFile file) throws IOException {
-		Project project = projectRepository.findById(id)
-				.orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
+	/**
+	 * 프로젝트의 변경 이력 조회 (최신순)
+	 * 
+	 * @param id
+	 * @param beforeSeq 이 seq 이전의 이력만 조회 (null이면 최신부터)
+	 * @param size
+	 * @return
+	 */
+	public List<PlanHistoryEntryDto> getProjectHistory(Long id, Long beforeSeq, int size) {
+		getProjectVersion(id); // 권한 확인
+		if (size < 1 || size > 100) {
+			throw new IllegalArgumentException("size must be between 1 and 100");
+		}
+		return planHistoryService.getHistory(id, beforeSeq != null ? beforeSeq : Long.MAX_VALUE, size);
+	}
 
-		// -- AI 서버로 이미지 분석 요청
-		AiAnalysisResponse aiResponse = null;
+	/**
+	 * 변경 이력의 seq 시점 평면도 조회
+	 * 
+	 * @param id
+	 * @param seq
+	 * @return
+	 */
+	public PlanDataDto getPlanAt(Long id, long seq) {
+		Project project = findOwnedProject(id);
+		return getPlanAt(project, seq);
+	}
 
-		// AI 서버로 이미지 분석 요청 보내기
-		try {
-			// 1. 요청 헤더 설정
-			HttpHeaders headers = new HttpHeaders();
-			headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-			// 2. 요청 바디 구성
-			MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-			body.add("file", new ByteArrayResource(file.getBytes()) {
-				@Override
-				public String getFilename() {
-					return file.getOriginalFilename();
-				}
-			});
+	private PlanDataDto getPlanAt(Project project, long seq) {
+		if (seq < 0 || seq > project.getHistorySeq()) {
+			throw new IllegalArgumentException("No history at seq: " + seq);
+		}
+		// 현재 시점은 이력을 다시 반영할 필요 없음 (이력 기능 이전의 프로젝트도 여기서 처리됨)
+		if (seq == project.getHistorySeq()) {
+			return PlanState.of(project).toPlanData();
+		}
+		return planHistoryService.getPlanAt(project.getId(), seq);
+	}
 
-			// 3. HTTP 요청 엔티티 생성
-			HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
+	/**
+	 * 평면도를 변경 이력의 seq 시점으로 되돌린다. (실행 취소/다시 실행)
+	 * 
+	 * 복원도 새 이력(REPLACE)으로 추가되므로 복원 자체를 다시 되돌릴 수 있다.
+	 * 
+	 * @param id
+	 * @param seq
+	 * @param expectedVersion If-Match로 받은 버전 (null이면 버전 확인 안 함)
+	 * @return
+	 */
+	@Transactional
+	public ProjectDto restoreProject(Long id, long seq, Long expectedVersion) {
+		Project project = findOwnedProject(id);
 
-			// 4. RestTemplate을 사용해서 Python 서버에 POST 요청
-			ResponseEntity<String> response = restTemplate.postForEntity(aiServerUrl + "/analyze", requestEntity,
-					String.class);
+		if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+			throw new PreconditionFailedException(
+					"Project has been modified (current version: " + project.getVersion() + ")");
+		}
 
-			// 5. 응답 출력
-			aiResponse = objectMapper.readValue(response.getBody(), AiAnalysisResponse.class);
+		PlanDataDto planData = getPlanAt(project, seq);
+		planHistoryService.ensureBaseline(project);
+		PlanState before = PlanState.of(project);
+		replacePlanElements(project, planData);
+		planHistoryService.recordChanges(project, before);
 
-		} catch (Exception e) {
-			System.err.println("Failed to connect to AI server: " + e.getMessage());
-		}
+		project.setUpdateAt(LocalDateTime.now());
 
-		// 파일 저장
-		String fileName = fileStorageService.storeFile(file);
-		// 웹에서 접근 가능한 경로로 만들어 저장
-		String fileDownloadUrl = "/uploads/" + fileName;
+		Project savedProject = projectRepository.saveAndFlush(project);
+		planElementJdbcRepository.updateEstimatedArea(savedProject.getId());
+		publicProjectCache.evictAfterCommit(savedProject.getShareId());
+		planThumbnailService.refreshAfterCommit(savedProject.getId());
+		return convertToDto(savedProject);
+	}
+
+	// 배경 이미지 교체 (이미지 분석과 저장은 createProjectWithImage와 같이 트랜잭션 밖에서 먼저 끝냄)
+	@Transactional
+	public ProjectDto uploadBackgroundImage(Long id, String fileDownloadUrl, AiAnalysisResponse aiResponse) {
+		Project project = findOwnedProject(id);
 
 		project.setBackgroundImageUrl(fileDownloadUrl);
 
 		// AI 분석 결과를 초기 평면도 데이터로 설정
-		if (aiResponse != null && aiResponse.getDetectedLines() != null) {
-			aiResponse.getDetectedLines().forEach(wallDto -> {
-				Wall wall = Wall.builder().startPoint(new Point(wallDto.getStart().getX(), wallDto.getStart().getY()))
-						.endPoint(new Point(wallDto.getEnd().getX(), wallDto.getEnd().getY())).project(project).build();
-				project.getWalls().add(wall);
-			});
+		boolean planChanged = aiResponse != null && aiResponse.getDetectedLines() != null;
+		if (planChanged) {
+			planHistoryService.ensureBaseline(project);
+			PlanState before = PlanState.of(project);
+			aiResponse.getDetectedLines().forEach(wallDto -> project.getWalls().add(newWall(project, wallDto)));
+			planHistoryService.recordChanges(project, before);
 		}
 
-		Project savedProject = projectRepository.save(project);
+		Project savedProject = projectRepository.saveAndFlush(project);
+		if (planChanged) {
+			planElementJdbcRepository.updateEstimatedArea(savedProject.getId());
+			planThumbnailService.refreshAfterCommit(savedProject.getId());
+		}
+		publicProjectCache.evictAfterCommit(savedProject.getShareId());
 		return convertToDto(savedProject);
 	}
 
@@ -410,6 +942,70 @@ public class ProjectService {
 		}
 	}
 
+	/**
+	 * 프로젝트를 DXF로 내보낸다.
+	 * 
+	 * 요소를 엔티티로 읽지 않고 종류마다 EXPORT_CHUNK_SIZE개씩 id 키셋으로 읽는다. writeAllProjects와 같이 한 묶음을 짧은 읽기
+	 * 트랜잭션 안에서 메모리 버퍼에 쓰고 트랜잭션을 끝낸 뒤 클라이언트로 보내므로, 느린 클라이언트가 DB 커넥션이나 서버 커서를 잡고 있지
+	 * 않는다. 메모리에는 한 묶음만 남는다. 스케일이 설정되어 있으면 scaleRatio를 곱해 실제 단위(scaleUnit)로 쓴다.
+	 * 
+	 * @param projectId
+	 * @param out
+	 * @throws IOException
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void exportDxf(Long projectId, OutputStream out) throws IOException {
+		TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+
+		ByteArrayOutputStream chunkBuffer = new ByteArrayOutputStream();
+		try {
+			DxfPlanWriter writer = readOnlyTransaction.execute(status -> {
+				Project project = findOwnedProject(projectId);
+				boolean scaled = project.getScaleRatio() != null && project.getScaleRatio() > 0
+						&& project.getScaleUnit() != null;
+				DxfPlanWriter dxf = new DxfPlanWriter(chunkBuffer, scaled ? project.getScaleRatio() : 1.0);
+				dxf.begin(scaled ? project.getScaleUnit() : null, planElementJdbcRepository.findExtents(projectId));
+				return dxf;
+			});
+			sendChunk(writer, chunkBuffer, out);
+
+			writeChunks(readOnlyTransaction, writer, chunkBuffer, out,
+					afterId -> planElementJdbcRepository.forEachWallAfter(projectId, afterId, EXPORT_CHUNK_SIZE,
+							rs -> writer.wall(rs.getDouble(1), rs.getDouble(2), rs.getDouble(3), rs.getDouble(4))));
+			writeChunks(readOnlyTransaction, writer, chunkBuffer, out,
+					afterId -> planElementJdbcRepository.forEachDoorAfter(projectId, afterId, EXPORT_CHUNK_SIZE,
+							rs -> writer.door(rs.getDouble(1), rs.getDouble(2), rs.getDouble(3))));
+			writeChunks(readOnlyTransaction, writer, chunkBuffer, out,
+					afterId -> planElementJdbcRepository.forEachWindowAfter(projectId, afterId, EXPORT_CHUNK_SIZE,
+							rs -> writer.window(rs.getDouble(1), rs.getDouble(2), rs.getDouble(3))));
+
+			writer.end();
+			chunkBuffer.writeTo(out);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	// 묶음마다 읽기 트랜잭션을 끝낸 뒤 전송한다. readChunk는 afterId 다음 묶음을 쓰고 이어서 읽을 id를 반환한다.
+	private void writeChunks(TransactionTemplate readOnlyTransaction, DxfPlanWriter writer,
+			ByteArrayOutputStream chunkBuffer, OutputStream out, LongFunction<Long> readChunk) throws IOException {
+		Long lastId = 0L;
+		while (lastId != null) {
+			long afterId = lastId;
+			lastId = readOnlyTransaction.execute(status -> readChunk.apply(afterId));
+			sendChunk(writer, chunkBuffer, out);
+		}
+	}
+
+	private static void sendChunk(DxfPlanWriter writer, ByteArrayOutputStream chunkBuffer, OutputStream out)
+			throws IOException {
+		writer.flush();
+		chunkBuffer.writeTo(out);
+		out.flush(); // 클라이언트 연결 끊김 등은 여기서 IOException
+		chunkBuffer.reset();
+	}
+
 	// 평면도 데이터로 PNG 이미지를 생성한다.
 	private byte[] createImageFromPlan(PlanDataDto planData, String title) throws IOException {
 		int width = 1200; // 이미지 가로 크기
@@ -546,8 +1142,7 @@ public class ProjectService {
 				.orElseThrow(() -> new ResourceNotFoundException("Project not found"));
 
 		// ---중요: 자신의 프로젝트가 맞는지 권한 확인 로직
-		User currentUser = getCurrentUser();
-		if (!project.getUser().getId().equals(currentUser.getId())) {
+		if (!project.getUser().getId().equals(getCurrentUserId())) {
 			throw new IllegalStateException("You do not have permission to modify this project.");
 		}
 
@@ -560,21 +1155,30 @@ public class ProjectService {
 		// 비공개로 전환해도 sharedId는 유지할 수 있다. (나중에 다시 공개할 때 같은 링크 사용 가능)
 		// 만약 비공개 시 링크를 만료시키려면 project.setShareId(null);로 설정
 
-		Project savedProject = projectRepository.save(project);
+		Project savedProject = projectRepository.saveAndFlush(project);
+		publicProjectCache.evictAfterCommit(savedProject.getShareId());
 		return convertToDto(savedProject);
 	}
 
 	/**
-	 * 공유 ID로 공개 프로젝트 조회 (인증 불필요)
+	 * 공유 ID로 공개 프로젝트를 조회해 직렬화된 JSON으로 반환 (인증 불필요)
 	 * 
-	 * @author Jangsungd
 	 * @param shareId
 	 * @return
-	 * @create_At 2025.08.24
+	 * @throws IOException
 	 */
-	public ProjectDto getPublicProjectByShareId(String shareId) {
-		Project project = projectRepository.findByShareIdAndIsPublicTrue(shareId)
+	public byte[] getPublicProjectJson(String shareId) throws IOException {
+		Project project = findPublicProject(shareId);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (JsonGenerator generator = projectJsonWriter.createGenerator(out)) {
+			projectJsonWriter.write(generator, project);
+		}
+		return out.toByteArray();
+	}
+
+	private Project findPublicProject(String shareId) {
+		return projectRepository.findByShareIdAndIsPublicTrue(shareId)
 				.orElseThrow(() -> new ResourceNotFoundException("Public project not found or access denied"));
-		return convertToDto(project);
 	}
 }
@@ -0,0 +1,82 @@
+package com.example.SAFPE.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 공유 링크로 조회하는 공개 프로젝트의 직렬화된 JSON을 보관하는 크기 제한 LRU 캐시
+ * 
+ * 프로젝트가 바뀌면 트랜잭션 커밋 직후 해당 shareId만 제거한다. 캐시를 채우는 도중에 수정이 커밋되면 오래된 데이터가 들어가지
+ * 않도록, 조회 시작 시점의 세대(generation) 값이 그대로일 때만 저장한다.
+ */
+@Component
+public class PublicProjectCache {
+
+	private final Map<String, CachedProject> entries;
+	private long generation = 0;
+
+	public PublicProjectCache(@Value("${share.cache-size:1000}") int maxSize) {
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedProject> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	public synchronized CachedProject get(String shareId) {
+		return entries.get(shareId);
+	}
+
+	public synchronized long currentGeneration() {
+		return generation;
+	}
+
+	/**
+	 * generation 이후로 무효화가 없었을 때만 저장한다.
+	 */
+	public synchronized void putIfCurrent(String shareId, CachedProject cachedProject, long generation) {
+		if (this.generation == generation) {
+			entries.put(shareId, cachedProject);
+		}
+	}
+
+	public synchronized void evict(String shareId) {
+		entries.remove(shareId);
+		generation++;
+	}
+
+	/**
+	 * 현재 트랜잭션이 커밋된 뒤에 제거한다. (트랜잭션 밖이면 바로 제거)
+	 */
+	public void evictAfterCommit(String shareId) {
+		if (shareId == null) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			evict(shareId);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				evict(shareId);
+			}
+		});
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class CachedProject {
+		private final byte[] body; // ProjectDto JSON
+		private final String eTag;
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.SAFPE.service;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.stereotype.Service;
+
+import com.example.SAFPE.config.datasource.ReplicaRoutingDataSource;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 공유 링크 조회
+ * 
+ * 캐시에 있으면 트랜잭션도 시작하지 않고 바로 반환하므로, 이 클래스에는 @Transactional을 붙이지 않는다. 캐시에 없을 때만
+ * ProjectService를 통해 DB에서 조회한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ShareService {
+
+	private final ProjectService projectService;
+	private final PublicProjectCache publicProjectCache;
+
+	/**
+	 * 공유 ID로 공개 프로젝트를 직렬화된 JSON과 ETag로 조회
+	 * 
+	 * @param shareId
+	 * @return
+	 */
+	public PublicProjectCache.CachedProject getPublicProjectJson(String shareId) {
+		PublicProjectCache.CachedProject cached = publicProjectCache.get(shareId);
+		if (cached != null) {
+			return cached;
+		}
+
+		long generation = publicProjectCache.currentGeneration();
+		try {
+			// 수정 후 캐시가 비워지면 바로 다시 채워지므로, 아직 복제되지 않은 이전 내용을 캐시에 넣지 않도록 주 DB에서 읽는다.
+			byte[] body = ReplicaRoutingDataSource.readFromPrimary(() -> projectService.getPublicProjectJson(shareId));
+			PublicProjectCache.CachedProject loaded = new PublicProjectCache.CachedProject(body, createETag(body));
+			publicProjectCache.putIfCurrent(shareId, loaded, generation);
+			return loaded;
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to serialize shared project", e);
+		}
+	}
+
+	// 본문 내용으로 만든 strong ETag
+	private String createETag(byte[] body) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+			return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
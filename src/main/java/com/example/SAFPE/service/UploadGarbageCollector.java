@@ -0,0 +1,163 @@
+package com.example.SAFPE.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.SAFPE.repository.ProjectRepository;
+import com.example.SAFPE.service.storage.BlobEntry;
+import com.example.SAFPE.service.storage.BlobStorage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 어떤 프로젝트도 참조하지 않는 업로드 파일 정리 (mark and sweep)
+ *
+ * 1. mark : 프로젝트의 배경 이미지와 미리보기 URL을 DB에서 스트리밍으로 읽어 참조 중인 파일 이름을 모은다.
+ * 2. sweep : 저장소 목록을 하나씩 읽으면서 참조되지 않고 유예 기간(gc.grace-period-hours)보다 오래된 파일을 삭제한다.
+ *
+ * 저장은 됐지만 아직 커밋되지 않은 프로젝트의 파일은 유예 기간 덕분에 지워지지 않는다. 삭제는 초당 gc.max-deletes-per-second
+ * 개로 제한해서 요청 처리 중인 디스크 I/O와 겹치지 않게 한다. 여러 서버에서 동시에 실행되어도 같은 파일을 지울 뿐이라 문제없다.
+ */
+@Component
+public class UploadGarbageCollector {
+
+	private static final String UPLOAD_URL_PREFIX = "/uploads/";
+
+	private final ProjectRepository projectRepository;
+	private final BlobStorage blobStorage;
+	private final TransactionTemplate readOnlyTransaction;
+
+	private final Counter deletedFiles;
+	private final Counter reclaimedBytes;
+	private final AtomicBoolean running = new AtomicBoolean();
+
+	private final boolean enabled;
+	private final Duration gracePeriod;
+	private final long deleteIntervalNanos;
+	private final int maxDeletesPerRun;
+
+	public UploadGarbageCollector(ProjectRepository projectRepository, BlobStorage blobStorage,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${gc.enabled:true}") boolean enabled, @Value("${gc.grace-period-hours:24}") long gracePeriodHours,
+			@Value("${gc.max-deletes-per-second:20}") int maxDeletesPerSecond,
+			@Value("${gc.max-deletes-per-run:10000}") int maxDeletesPerRun) {
+		this.projectRepository = projectRepository;
+		this.blobStorage = blobStorage;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+
+		this.deletedFiles = Counter.builder("uploads.gc.deleted").description("Orphaned upload files deleted")
+				.baseUnit("files").register(meterRegistry);
+		this.reclaimedBytes = Counter.builder("uploads.gc.reclaimed")
+				.description("Bytes freed by deleting orphaned uploads").baseUnit("bytes").register(meterRegistry);
+
+		this.enabled = enabled;
+		this.gracePeriod = Duration.ofHours(gracePeriodHours);
+		this.deleteIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, maxDeletesPerSecond);
+		this.maxDeletesPerRun = maxDeletesPerRun;
+	}
+
+	@Scheduled(cron = "${gc.cron:0 30 4 * * *}")
+	public void scheduledSweep() {
+		if (!enabled) {
+			return;
+		}
+		try {
+			sweep(); // 결과는 uploads.gc.deleted, uploads.gc.reclaimed 메트릭으로 확인
+		} catch (Exception e) {
+			System.err.println("Upload GC failed: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * 정리 한 번 실행 (이미 실행 중이면 아무것도 하지 않음)
+	 */
+	public SweepResult sweep() throws IOException {
+		if (!running.compareAndSet(false, true)) {
+			return new SweepResult(0, 0, 0);
+		}
+		try {
+			// 기준 시각을 mark보다 먼저 정해야, mark 이후에 올라온 파일이 참조 목록에 없어도 지워지지 않는다.
+			Instant cutoff = Instant.now().minus(gracePeriod);
+			Set<String> referenced = collectReferencedFileNames();
+			return sweep(referenced, cutoff);
+		} finally {
+			running.set(false);
+		}
+	}
+
+	private Set<String> collectReferencedFileNames() {
+		return readOnlyTransaction.execute(status -> {
+			Set<String> fileNames = new HashSet<>();
+			try (Stream<String> urls = projectRepository.streamBackgroundImageUrls()) {
+				addFileNames(urls, fileNames);
+			}
+			try (Stream<String> urls = projectRepository.streamThumbnailUrls()) {
+				addFileNames(urls, fileNames);
+			}
+			return fileNames;
+		});
+	}
+
+	private static void addFileNames(Stream<String> urls, Set<String> fileNames) {
+		urls.filter(url -> url.startsWith(UPLOAD_URL_PREFIX))
+				.forEach(url -> fileNames.add(url.substring(UPLOAD_URL_PREFIX.length())));
+	}
+
+	private SweepResult sweep(Set<String> referenced, Instant cutoff) throws IOException {
+		long scanned = 0;
+		long deleted = 0;
+		long bytes = 0;
+		long nextDeleteAt = System.nanoTime();
+
+		try (Stream<BlobEntry> entries = blobStorage.list()) {
+			Iterator<BlobEntry> iterator = entries.iterator();
+			while (iterator.hasNext() && deleted < maxDeletesPerRun) {
+				BlobEntry entry = iterator.next();
+				scanned++;
+				if (entry.getLastModified().isAfter(cutoff) || referenced.contains(entry.getKey())) {
+					continue;
+				}
+
+				// 삭제 간격을 일정하게 유지 (초당 gc.max-deletes-per-second개, parkNanos는 일찍 깰 수 있으므로 반복)
+				long waitNanos;
+				while ((waitNanos = nextDeleteAt - System.nanoTime()) > 0) {
+					LockSupport.parkNanos(waitNanos);
+				}
+				nextDeleteAt = Math.max(nextDeleteAt, System.nanoTime()) + deleteIntervalNanos;
+
+				blobStorage.delete(entry.getKey());
+				deleted++;
+				bytes += entry.getSize();
+				deletedFiles.increment();
+				reclaimedBytes.increment(entry.getSize());
+			}
+		}
+		return new SweepResult(scanned, deleted, bytes);
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class SweepResult {
+		private final long scanned;
+		private final long deleted;
+		private final long reclaimedBytes;
+	}
+}
@@ -0,0 +1,162 @@
+package com.example.SAFPE.service.exporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 평면도를 DXF(R12, ASCII)로 쓴다.
+ * 
+ * 요소를 받는 즉시 LINE 엔티티로 출력하므로 요소 수와 상관없이 메모리는 일정하다. 벽은 WALLS, 문은 DOORS, 창문은 WINDOWS
+ * 레이어에 쓰고 문/창문은 위치를 중심으로 하는 폭만큼의 가로선으로 쓴다.
+ * 
+ * 좌표는 scale을 곱해 실제 단위로 바꾸고 y축을 뒤집는다. (평면도 캔버스는 y가 아래로, DXF는 위로 증가)
+ */
+public class DxfPlanWriter {
+
+	public static final String LAYER_WALLS = "WALLS";
+	public static final String LAYER_DOORS = "DOORS";
+	public static final String LAYER_WINDOWS = "WINDOWS";
+
+	private final Writer writer;
+	private final double scale;
+
+	/**
+	 * @param out
+	 * @param scale 평면도 좌표 1당 실제 길이
+	 */
+	public DxfPlanWriter(OutputStream out, double scale) {
+		this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+		this.scale = scale;
+	}
+
+	/**
+	 * HEADER, TABLES(레이어)를 쓰고 ENTITIES 섹션을 시작한다.
+	 * 
+	 * @param unit    실제 단위 (mm, cm, m, in, ft). 모르면 null
+	 * @param extents 평면도 좌표 기준 범위 [minX, minY, maxX, maxY]. 요소가 없으면 null
+	 */
+	public void begin(String unit, double[] extents) {
+		group(0, "SECTION");
+		group(2, "HEADER");
+		group(9, "$ACADVER");
+		group(1, "AC1009");
+		group(9, "$INSUNITS");
+		group(70, String.valueOf(toInsUnits(unit)));
+		if (extents != null) {
+			group(9, "$EXTMIN");
+			point(10, extents[0] * scale, -extents[3] * scale);
+			group(9, "$EXTMAX");
+			point(10, extents[2] * scale, -extents[1] * scale);
+		}
+		group(0, "ENDSEC");
+
+		group(0, "SECTION");
+		group(2, "TABLES");
+		group(0, "TABLE");
+		group(2, "LAYER");
+		group(70, "3");
+		layer(LAYER_WALLS, 7); // 흰색/검은색
+		layer(LAYER_DOORS, 30); // 주황색
+		layer(LAYER_WINDOWS, 4); // 하늘색
+		group(0, "ENDTAB");
+		group(0, "ENDSEC");
+
+		group(0, "SECTION");
+		group(2, "ENTITIES");
+	}
+
+	public void wall(double startX, double startY, double endX, double endY) {
+		line(LAYER_WALLS, startX, startY, endX, endY);
+	}
+
+	public void door(double x, double y, double width) {
+		line(LAYER_DOORS, x - width / 2, y, x + width / 2, y);
+	}
+
+	public void window(double x, double y, double width) {
+		line(LAYER_WINDOWS, x - width / 2, y, x + width / 2, y);
+	}
+
+	/**
+	 * 지금까지 쓴 내용을 out으로 내보낸다.
+	 */
+	public void flush() {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * ENTITIES 섹션을 닫고 남은 내용을 내보낸다.
+	 */
+	public void end() {
+		group(0, "ENDSEC");
+		group(0, "EOF");
+		flush();
+	}
+
+	private void line(String layer, double startX, double startY, double endX, double endY) {
+		group(0, "LINE");
+		group(8, layer);
+		point(10, startX * scale, -startY * scale);
+		point(11, endX * scale, -endY * scale);
+	}
+
+	private void layer(String name, int color) {
+		group(0, "LAYER");
+		group(2, name);
+		group(70, "0");
+		group(62, String.valueOf(color));
+		group(6, "CONTINUOUS");
+	}
+
+	// x는 code, y는 code + 10
+	private void point(int code, double x, double y) {
+		group(code, format(x));
+		group(code + 10, format(y));
+	}
+
+	private void group(int code, String value) {
+		try {
+			writer.write(Integer.toString(code));
+			writer.write('\n');
+			writer.write(value);
+			writer.write('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// 지수 표기(1.0E-4)를 쓰지 않는다. (Double.toString은 1e-3 ~ 1e7 범위에서만 일반 표기)
+	private static String format(double value) {
+		double abs = Math.abs(value);
+		if (value == 0 || (abs >= 1e-3 && abs < 1e7)) {
+			return Double.toString(value == 0 ? 0.0 : value);
+		}
+		return BigDecimal.valueOf(value).toPlainString();
+	}
+
+	// 단위 → $INSUNITS 코드 (0: 단위 없음)
+	private static int toInsUnits(String unit) {
+		if (unit == null) {
+			return 0;
+		}
+		return switch (unit.trim().toLowerCase(Locale.ROOT)) {
+		case "in", "inch" -> 1;
+		case "ft", "feet" -> 2;
+		case "mm" -> 4;
+		case "cm" -> 5;
+		case "m" -> 6;
+		default -> 0;
+		};
+	}
+}
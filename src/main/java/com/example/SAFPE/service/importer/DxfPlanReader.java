@@ -0,0 +1,199 @@
+package com.example.SAFPE.service.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ASCII DXF의 ENTITIES 섹션에서 LINE, LWPOLYLINE을 읽어 평면도 요소로 넘긴다.
+ * 
+ * 그룹 코드와 값을 두 줄씩 읽으면서 바로 처리하므로 메모리에는 엔티티 하나 분량만 남는다. 레이어 이름으로 벽/문/창문을 구분한다.
+ * 
+ * HEADER에 $EXTMIN, $EXTMAX가 있으면 도면의 왼쪽 위가 원점이 되도록 옮기고 y축을 뒤집는다. (DXF는 y가 위로, 평면도
+ * 캔버스는 아래로 증가)
+ */
+public class DxfPlanReader {
+
+	// 엔티티 하나의 그룹 값 (LINE, LWPOLYLINE)
+	private class Entity {
+		private final String type;
+		private final PlanElementSink sink;
+		private String layer;
+		private boolean closed = false;
+		private double startX, startY, endX, endY; // LINE
+		private double vertexX; // LWPOLYLINE: y(20)가 나오기 전까지의 x(10)
+		private PolylineBuilder polyline;
+
+		Entity(String type, PlanElementSink sink) {
+			this.type = type;
+			this.sink = sink;
+		}
+
+		void accept(int code, String value) {
+			if (code == 8) {
+				layer = value;
+				return;
+			}
+
+			if ("LINE".equals(type)) {
+				switch (code) {
+				case 10 -> startX = parseDouble(value);
+				case 20 -> startY = parseDouble(value);
+				case 11 -> endX = parseDouble(value);
+				case 21 -> endY = parseDouble(value);
+				default -> {
+				}
+				}
+				return;
+			}
+
+			switch (code) {
+			case 70 -> closed = (parseInt(value) & 1) != 0;
+			case 10 -> vertexX = parseDouble(value);
+			case 20 -> {
+				if (polyline == null) {
+					polyline = new PolylineBuilder(PlanElementSink.elementTypeOf(layer), sink);
+				}
+				polyline.add(toX(vertexX), toY(parseDouble(value)));
+			}
+			default -> {
+			}
+			}
+		}
+
+		void finish() {
+			if ("LINE".equals(type)) {
+				PolylineBuilder line = new PolylineBuilder(PlanElementSink.elementTypeOf(layer), sink);
+				line.add(toX(startX), toY(startY));
+				line.add(toX(endX), toY(endY));
+				line.finish(false);
+			} else if (polyline != null) {
+				polyline.finish(closed);
+			}
+		}
+	}
+
+	private BufferedReader reader;
+	private int lineNumber = 0;
+
+	// 도면 범위 중 원점 이동에 필요한 값 ($EXTMIN의 x, $EXTMAX의 y)
+	private Double extMinX;
+	private Double extMaxY;
+	private boolean flip = false;
+	private String unit;
+
+	/**
+	 * @param in
+	 * @param sink
+	 * @return $INSUNITS의 단위 (mm, cm, m, in, ft). 없거나 알 수 없으면 null
+	 * @throws IOException
+	 */
+	public String read(InputStream in, PlanElementSink sink) throws IOException {
+		reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+		String section = null;
+		boolean expectSectionName = false;
+		String headerVariable = null;
+		Entity entity = null;
+
+		String codeLine;
+		while ((codeLine = nextLine()) != null) {
+			if (lineNumber == 1 && codeLine.startsWith("AutoCAD Binary DXF")) {
+				throw new IllegalArgumentException("Binary DXF is not supported. Please save as ASCII DXF.");
+			}
+			String value = nextLine();
+			if (value == null) {
+				throw new IllegalArgumentException("Unexpected end of DXF file at line " + lineNumber);
+			}
+			int code = parseInt(codeLine);
+			value = value.trim();
+
+			if (code == 0) {
+				if (entity != null) {
+					entity.finish();
+					entity = null;
+				}
+				if ("EOF".equals(value)) {
+					break;
+				} else if ("SECTION".equals(value)) {
+					expectSectionName = true;
+				} else if ("ENDSEC".equals(value)) {
+					if ("HEADER".equals(section) && extMinX != null && extMaxY != null) {
+						flip = true;
+					}
+					section = null;
+				} else if ("ENTITIES".equals(section) && ("LINE".equals(value) || "LWPOLYLINE".equals(value))) {
+					entity = new Entity(value, sink);
+				}
+				continue;
+			}
+
+			if (expectSectionName && code == 2) {
+				section = value;
+				expectSectionName = false;
+			} else if ("HEADER".equals(section)) {
+				if (code == 9) {
+					headerVariable = value;
+				} else if ("$EXTMIN".equals(headerVariable) && code == 10) {
+					extMinX = parseDouble(value);
+				} else if ("$EXTMAX".equals(headerVariable) && code == 20) {
+					extMaxY = parseDouble(value);
+				} else if ("$INSUNITS".equals(headerVariable) && code == 70) {
+					unit = toUnit(parseInt(value));
+				}
+			} else if (entity != null) {
+				entity.accept(code, value);
+			}
+		}
+		if (entity != null) {
+			entity.finish();
+		}
+		return unit;
+	}
+
+	private double toX(double x) {
+		return flip ? x - extMinX : x;
+	}
+
+	private double toY(double y) {
+		return flip ? extMaxY - y : y;
+	}
+
+	private String nextLine() throws IOException {
+		String line = reader.readLine();
+		if (line != null) {
+			lineNumber++;
+		}
+		return line;
+	}
+
+	private int parseInt(String value) {
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid DXF value at line " + lineNumber + ": " + value);
+		}
+	}
+
+	private double parseDouble(String value) {
+		try {
+			return Double.parseDouble(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid DXF value at line " + lineNumber + ": " + value);
+		}
+	}
+
+	// $INSUNITS 코드 → 단위
+	private static String toUnit(int insUnits) {
+		return switch (insUnits) {
+		case 1 -> "in";
+		case 2 -> "ft";
+		case 4 -> "mm";
+		case 5 -> "cm";
+		case 6 -> "m";
+		default -> null;
+		};
+	}
+}
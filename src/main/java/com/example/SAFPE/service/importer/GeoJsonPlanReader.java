@@ -0,0 +1,103 @@
+package com.example.SAFPE.service.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.example.SAFPE.dto.collab.PlanElementType;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * GeoJSON의 LineString, MultiLineString, Polygon, MultiPolygon을 읽어 평면도 요소로 넘긴다.
+ * 
+ * FeatureCollection의 features 배열은 스트리밍 파서로 Feature 하나씩만 트리로 읽는다. Feature의 properties에
+ * element, kind, type, layer 중 하나가 있으면 그 값으로 벽/문/창문을 구분한다. 좌표는 그대로 사용한다.
+ */
+public class GeoJsonPlanReader {
+
+	private static final String[] KIND_PROPERTIES = { "element", "kind", "type", "layer" };
+
+	private final ObjectMapper objectMapper;
+
+	public GeoJsonPlanReader(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	public void read(InputStream in, PlanElementSink sink) throws IOException {
+		try (JsonParser parser = objectMapper.createParser(in)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IllegalArgumentException("GeoJSON must be a JSON object");
+			}
+
+			// features 외의 최상위 필드 (Feature나 Geometry 하나만 있는 파일)
+			ObjectNode top = objectMapper.createObjectNode();
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				parser.nextToken();
+				if ("features".equals(field)) {
+					readFeatures(parser, sink);
+				} else {
+					top.set(field, parser.readValueAsTree());
+				}
+			}
+
+			String type = top.path("type").asText();
+			if ("Feature".equals(type)) {
+				readFeature(top, sink);
+			} else if (!"FeatureCollection".equals(type)) {
+				readGeometry(top, PlanElementType.WALL, sink);
+			}
+		}
+	}
+
+	private void readFeatures(JsonParser parser, PlanElementSink sink) throws IOException {
+		if (parser.currentToken() != JsonToken.START_ARRAY) {
+			throw new IllegalArgumentException("GeoJSON features must be an array");
+		}
+		while (parser.nextToken() == JsonToken.START_OBJECT) {
+			readFeature(parser.readValueAsTree(), sink);
+		}
+	}
+
+	private void readFeature(JsonNode feature, PlanElementSink sink) {
+		JsonNode properties = feature.path("properties");
+		String kind = null;
+		for (String property : KIND_PROPERTIES) {
+			if (properties.hasNonNull(property)) {
+				kind = properties.get(property).asText();
+				break;
+			}
+		}
+		readGeometry(feature.path("geometry"), PlanElementSink.elementTypeOf(kind), sink);
+	}
+
+	private void readGeometry(JsonNode geometry, PlanElementType elementType, PlanElementSink sink) {
+		JsonNode coordinates = geometry.path("coordinates");
+		switch (geometry.path("type").asText()) {
+		case "LineString" -> readLine(coordinates, elementType, false, sink);
+		case "MultiLineString" -> coordinates.forEach(line -> readLine(line, elementType, false, sink));
+		case "Polygon" -> coordinates.forEach(ring -> readLine(ring, elementType, true, sink));
+		case "MultiPolygon" -> coordinates
+				.forEach(polygon -> polygon.forEach(ring -> readLine(ring, elementType, true, sink)));
+		case "GeometryCollection" -> geometry.path("geometries")
+				.forEach(child -> readGeometry(child, elementType, sink));
+		default -> {
+			// Point 등 선이 아닌 도형은 무시
+		}
+		}
+	}
+
+	private void readLine(JsonNode positions, PlanElementType elementType, boolean closed, PlanElementSink sink) {
+		PolylineBuilder polyline = new PolylineBuilder(elementType, sink);
+		for (JsonNode position : positions) {
+			if (!position.isArray() || position.size() < 2) {
+				throw new IllegalArgumentException("Invalid GeoJSON position: " + position);
+			}
+			polyline.add(position.get(0).asDouble(), position.get(1).asDouble());
+		}
+		polyline.finish(closed);
+	}
+}
@@ -0,0 +1,34 @@
+package com.example.SAFPE.service.importer;
+
+import java.util.Locale;
+
+import com.example.SAFPE.dto.collab.PlanElementType;
+
+/**
+ * 파일에서 읽은 평면도 요소를 받는 쪽 (파서는 요소를 모아두지 않고 읽는 즉시 넘긴다)
+ */
+public interface PlanElementSink {
+
+	void wall(double startX, double startY, double endX, double endY);
+
+	void door(double x, double y, double width);
+
+	void window(double x, double y, double width);
+
+	/**
+	 * 레이어 이름이나 속성 값으로 요소 종류를 정한다. (창문, 문이 아니면 벽)
+	 */
+	static PlanElementType elementTypeOf(String name) {
+		if (name == null) {
+			return PlanElementType.WALL;
+		}
+		String lower = name.toLowerCase(Locale.ROOT);
+		if (lower.contains("window") || lower.contains("창")) {
+			return PlanElementType.WINDOW;
+		}
+		if (lower.contains("door") || lower.contains("문")) {
+			return PlanElementType.DOOR;
+		}
+		return PlanElementType.WALL;
+	}
+}
@@ -0,0 +1,20 @@
+package com.example.SAFPE.service.importer;
+
+import java.util.Locale;
+
+public enum PlanImportFormat {
+	DXF, GEOJSON;
+
+	/**
+	 * format 파라미터가 있으면 그 값으로, 없으면 파일 확장자로 정한다.
+	 */
+	public static PlanImportFormat of(String format, String filename) {
+		String name = format != null && !format.isBlank() ? format
+				: filename != null && filename.contains(".") ? filename.substring(filename.lastIndexOf('.') + 1) : "";
+		return switch (name.toLowerCase(Locale.ROOT)) {
+		case "dxf" -> DXF;
+		case "geojson", "json" -> GEOJSON;
+		default -> throw new IllegalArgumentException("Unsupported import format: " + name);
+		};
+	}
+}
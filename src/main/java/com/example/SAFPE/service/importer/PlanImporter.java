@@ -0,0 +1,139 @@
+package com.example.SAFPE.service.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.SAFPE.repository.PlanElementJdbcRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * DXF, GeoJSON 파일의 평면도 요소를 프로젝트에 저장
+ * 
+ * 파서가 넘겨주는 요소를 종류별 좌표 배열에 모았다가 import.batch-size개가 차면 JDBC 배치로 INSERT한다. 파일 크기와 상관없이
+ * 메모리에는 배치 하나 분량만 남는다. 호출하는 쪽의 트랜잭션 안에서 실행된다.
+ */
+@Component
+public class PlanImporter {
+
+	private final PlanElementJdbcRepository planElementJdbcRepository;
+	private final ObjectMapper objectMapper;
+	private final int batchSize;
+	private final int maxElements;
+
+	public PlanImporter(PlanElementJdbcRepository planElementJdbcRepository, ObjectMapper objectMapper,
+			@Value("${import.batch-size:1000}") int batchSize,
+			@Value("${import.max-elements:500000}") int maxElements) {
+		this.planElementJdbcRepository = planElementJdbcRepository;
+		this.objectMapper = objectMapper;
+		this.batchSize = Math.max(1, batchSize);
+		this.maxElements = maxElements;
+	}
+
+	/**
+	 * @param projectId 요소를 추가할 프로젝트 (이미 저장되어 있어야 함)
+	 * @param in
+	 * @param format
+	 * @return 저장한 요소 수와 도면 단위
+	 * @throws IOException
+	 */
+	public ImportResult importInto(Long projectId, InputStream in, PlanImportFormat format) throws IOException {
+		BatchingSink sink = new BatchingSink(projectId);
+		String unit = null;
+		try {
+			switch (format) {
+			case DXF -> unit = new DxfPlanReader().read(in, sink);
+			case GEOJSON -> new GeoJsonPlanReader(objectMapper).read(in, sink);
+			}
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Invalid GeoJSON: " + e.getOriginalMessage());
+		}
+		sink.flush();
+		return new ImportResult(sink.wallTotal, sink.doorTotal, sink.windowTotal, unit);
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class ImportResult {
+		private final int walls;
+		private final int doors;
+		private final int windows;
+		private final String unit; // 도면 단위 (DXF $INSUNITS). 모르면 null
+	}
+
+	// 요소를 종류별 배열에 모았다가 배치 크기마다 INSERT
+	private class BatchingSink implements PlanElementSink {
+		private final Long projectId;
+		private final double[] walls = new double[batchSize * 4];
+		private final double[] doors = new double[batchSize * 3];
+		private final double[] windows = new double[batchSize * 3];
+		private int wallCount, doorCount, windowCount;
+		private int wallTotal, doorTotal, windowTotal;
+
+		BatchingSink(Long projectId) {
+			this.projectId = projectId;
+		}
+
+		@Override
+		public void wall(double startX, double startY, double endX, double endY) {
+			checkLimit();
+			int offset = wallCount * 4;
+			walls[offset] = startX;
+			walls[offset + 1] = startY;
+			walls[offset + 2] = endX;
+			walls[offset + 3] = endY;
+			wallTotal++;
+			if (++wallCount == batchSize) {
+				planElementJdbcRepository.insertWalls(projectId, walls, wallCount);
+				wallCount = 0;
+			}
+		}
+
+		@Override
+		public void door(double x, double y, double width) {
+			checkLimit();
+			int offset = doorCount * 3;
+			doors[offset] = x;
+			doors[offset + 1] = y;
+			doors[offset + 2] = width;
+			doorTotal++;
+			if (++doorCount == batchSize) {
+				planElementJdbcRepository.insertDoors(projectId, doors, doorCount);
+				doorCount = 0;
+			}
+		}
+
+		@Override
+		public void window(double x, double y, double width) {
+			checkLimit();
+			int offset = windowCount * 3;
+			windows[offset] = x;
+			windows[offset + 1] = y;
+			windows[offset + 2] = width;
+			windowTotal++;
+			if (++windowCount == batchSize) {
+				planElementJdbcRepository.insertWindows(projectId, windows, windowCount);
+				windowCount = 0;
+			}
+		}
+
+		void flush() {
+			planElementJdbcRepository.insertWalls(projectId, walls, wallCount);
+			planElementJdbcRepository.insertDoors(projectId, doors, doorCount);
+			planElementJdbcRepository.insertWindows(projectId, windows, windowCount);
+			wallCount = doorCount = windowCount = 0;
+		}
+
+		private void checkLimit() {
+			if (wallTotal + doorTotal + windowTotal >= maxElements) {
+				throw new IllegalArgumentException("Too many elements (max " + maxElements + ")");
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.example.SAFPE.service.importer;
+
+import com.example.SAFPE.dto.collab.PlanElementType;
+
+/**
+ * 점을 하나씩 받아 평면도 요소로 바꾼다.
+ * 
+ * 벽은 이웃한 두 점마다 벽 하나로 바로 넘기고, 문과 창문은 선 전체를 하나로 본다. (두 점이면 중점과 길이, 그 이상이면 외곽
+ * 사각형의 중심과 긴 변) 점 목록을 저장하지 않으므로 꼭짓점이 아무리 많아도 메모리는 일정하다.
+ */
+class PolylineBuilder {
+
+	private final PlanElementType type;
+	private final PlanElementSink sink;
+
+	private int count = 0;
+	private double firstX;
+	private double firstY;
+	private double lastX;
+	private double lastY;
+	private double minX = Double.POSITIVE_INFINITY;
+	private double minY = Double.POSITIVE_INFINITY;
+	private double maxX = Double.NEGATIVE_INFINITY;
+	private double maxY = Double.NEGATIVE_INFINITY;
+
+	PolylineBuilder(PlanElementType type, PlanElementSink sink) {
+		this.type = type;
+		this.sink = sink;
+	}
+
+	void add(double x, double y) {
+		if (count == 0) {
+			firstX = x;
+			firstY = y;
+		} else if (type == PlanElementType.WALL && (x != lastX || y != lastY)) {
+			sink.wall(lastX, lastY, x, y);
+		}
+		lastX = x;
+		lastY = y;
+		minX = Math.min(minX, x);
+		minY = Math.min(minY, y);
+		maxX = Math.max(maxX, x);
+		maxY = Math.max(maxY, y);
+		count++;
+	}
+
+	/**
+	 * @param closed 마지막 점과 첫 점을 이을지 여부
+	 */
+	void finish(boolean closed) {
+		if (count < 2) {
+			return;
+		}
+
+		if (type == PlanElementType.WALL) {
+			if (closed && count > 2 && (lastX != firstX || lastY != firstY)) {
+				sink.wall(lastX, lastY, firstX, firstY);
+			}
+			return;
+		}
+
+		double x;
+		double y;
+		double width;
+		if (count == 2) {
+			x = (firstX + lastX) / 2;
+			y = (firstY + lastY) / 2;
+			width = Math.hypot(lastX - firstX, lastY - firstY);
+		} else {
+			x = (minX + maxX) / 2;
+			y = (minY + maxY) / 2;
+			width = Math.max(maxX - minX, maxY - minY);
+		}
+
+		if (type == PlanElementType.DOOR) {
+			sink.door(x, y, width);
+		} else {
+			sink.window(x, y, width);
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.example.SAFPE.service.storage;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 저장소 목록의 파일 하나
+ */
+@Getter
+@AllArgsConstructor
+public class BlobEntry {
+	private final String key;
+	private final long size;
+	private final Instant lastModified;
+}
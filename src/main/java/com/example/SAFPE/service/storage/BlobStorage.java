@@ -0,0 +1,56 @@
+package com.example.SAFPE.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.example.SAFPE.exception.ResourceNotFoundException;
+
+/**
+ * 업로드 파일 저장소 (storage.type으로 선택: local, s3)
+ * 
+ * 키는 FileStorageService가 만든 파일 이름이며 '/'를 포함하지 않는다. 읽기와 쓰기는 모두 스트림으로 처리하므로 파일 전체를
+ * 메모리에 올리지 않는다.
+ */
+public interface BlobStorage {
+
+	/**
+	 * @param key
+	 * @param content     호출한 쪽에서 닫는다.
+	 * @param size        바이트 수
+	 * @param contentType 모르면 null
+	 * @throws IOException
+	 */
+	void write(String key, InputStream content, long size, String contentType) throws IOException;
+
+	/**
+	 * @param key
+	 * @return 파일 내용 (스트림은 호출한 쪽에서 닫는다)
+	 * @throws ResourceNotFoundException 파일이 없는 경우
+	 * @throws IOException
+	 */
+	StoredBlob open(String key) throws IOException;
+
+	boolean exists(String key) throws IOException;
+
+	void delete(String key) throws IOException;
+
+	/**
+	 * 저장된 파일 목록 (필요한 만큼만 읽어 오므로 전체 목록을 메모리에 올리지 않는다)
+	 * 
+	 * @return 다 쓰면 닫아야 한다.
+	 * @throws IOException
+	 */
+	Stream<BlobEntry> list() throws IOException;
+
+	/**
+	 * 클라이언트가 저장소에서 직접 받아갈 수 있는 URL (서명된 URL 등)
+	 * 
+	 * 비어 있으면 애플리케이션이 open()으로 읽어서 응답한다.
+	 */
+	default Optional<URI> directUrl(String key) {
+		return Optional.empty();
+	}
+}
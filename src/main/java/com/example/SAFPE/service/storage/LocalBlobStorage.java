@@ -0,0 +1,140 @@
+package com.example.SAFPE.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.example.SAFPE.config.FileStorageConfig;
+import com.example.SAFPE.exception.ResourceNotFoundException;
+
+/**
+ * 로컬 디스크 저장소 (file.upload-dir)
+ * 
+ * 한 디렉터리에 파일이 계속 쌓이면 디렉터리 조회가 느려지므로, 키의 SHA-256 앞 두 바이트로 하위 디렉터리를 나눈다.
+ * (예: ab/cd/{key}) 나누기 전에 저장된 파일은 최상위 디렉터리에서 찾는다.
+ * 
+ * 여러 서버가 파일을 같이 보려면 공유 디스크에 두거나 s3 저장소를 사용해야 한다.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStorage implements BlobStorage {
+
+	private static final String TEMP_PREFIX = ".upload-";
+
+	private final Path root;
+
+	public LocalBlobStorage(FileStorageConfig fileStorageConfig) {
+		this.root = Paths.get(fileStorageConfig.getUploadDir()).toAbsolutePath().normalize();
+
+		try {
+			Files.createDirectories(root);
+		} catch (Exception ex) {
+			throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
+		}
+	}
+
+	@Override
+	public void write(String key, InputStream content, long size, String contentType) throws IOException {
+		Path target = shardedPath(key);
+		Files.createDirectories(target.getParent());
+
+		// 임시 파일에 다 쓴 뒤 이름을 바꿔서, 쓰는 도중의 파일을 다른 요청이 읽지 않게 한다.
+		Path temp = Files.createTempFile(target.getParent(), TEMP_PREFIX, ".tmp");
+		try {
+			Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	@Override
+	public StoredBlob open(String key) throws IOException {
+		Path path = existingPath(key);
+		if (path == null) {
+			throw new ResourceNotFoundException("File not found: " + key);
+		}
+		return new StoredBlob(Files.newInputStream(path), Files.size(path), Files.probeContentType(path));
+	}
+
+	@Override
+	public boolean exists(String key) {
+		return existingPath(key) != null;
+	}
+
+	@Override
+	public void delete(String key) throws IOException {
+		Files.deleteIfExists(shardedPath(key));
+		Files.deleteIfExists(legacyPath(key));
+	}
+
+	@Override
+	public Stream<BlobEntry> list() throws IOException {
+		// Files.walk는 디렉터리를 내려가면서 하나씩 읽는다. 쓰는 중인 임시 파일은 제외
+		return Files.walk(root).filter(Files::isRegularFile)
+				.filter(path -> !path.getFileName().toString().startsWith(TEMP_PREFIX)).map(this::toEntry)
+				.filter(Objects::nonNull);
+	}
+
+	private BlobEntry toEntry(Path path) {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+			return new BlobEntry(path.getFileName().toString(), attributes.size(),
+					attributes.lastModifiedTime().toInstant());
+		} catch (NoSuchFileException e) {
+			return null; // 목록을 읽는 사이에 삭제됨
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private Path existingPath(String key) {
+		Path sharded = shardedPath(key);
+		if (Files.isRegularFile(sharded)) {
+			return sharded;
+		}
+		Path legacy = legacyPath(key);
+		return Files.isRegularFile(legacy) ? legacy : null;
+	}
+
+	Path shardedPath(String key) {
+		String hash = HexFormat.of().formatHex(sha256(validate(key)), 0, 2);
+		return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(key);
+	}
+
+	private Path legacyPath(String key) {
+		return root.resolve(validate(key));
+	}
+
+	// 키가 저장소 디렉터리 밖을 가리키지 못하게 한다.
+	private static String validate(String key) {
+		if (key == null || key.isEmpty() || key.contains("/") || key.contains("\\") || key.equals(".")
+				|| key.equals("..")) {
+			throw new IllegalArgumentException("Invalid file name: " + key);
+		}
+		return key;
+	}
+
+	private static byte[] sha256(String key) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
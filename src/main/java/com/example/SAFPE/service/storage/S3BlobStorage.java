@@ -0,0 +1,137 @@
+package com.example.SAFPE.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.example.SAFPE.exception.ResourceNotFoundException;
+
+import jakarta.annotation.PreDestroy;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+/**
+ * S3 호환 오브젝트 저장소 (AWS S3, MinIO 등)
+ * 
+ * 모든 서버가 같은 버킷을 보므로 서버를 여러 대로 늘려도 업로드 파일을 같이 쓸 수 있다. 파일은 서버를 거치지 않고 서명된 URL로
+ * 클라이언트가 직접 받아간다. (storage.s3.presign-ttl-seconds 동안 유효)
+ * 
+ * 로컬에서는 storage.s3.endpoint를 MinIO 주소로, storage.s3.path-style-access를 true로 설정해서 테스트한다.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+public class S3BlobStorage implements BlobStorage {
+
+	private final S3Client s3Client;
+	private final S3Presigner presigner;
+	private final String bucket;
+	private final Duration presignTtl;
+
+	public S3BlobStorage(@Value("${storage.s3.bucket}") String bucket,
+			@Value("${storage.s3.region:us-east-1}") String region,
+			@Value("${storage.s3.endpoint:}") String endpoint,
+			@Value("${storage.s3.access-key:}") String accessKey,
+			@Value("${storage.s3.secret-key:}") String secretKey,
+			@Value("${storage.s3.path-style-access:false}") boolean pathStyleAccess,
+			@Value("${storage.s3.presign-ttl-seconds:600}") long presignTtlSeconds) {
+		// 키를 지정하지 않으면 환경 변수, 인스턴스 역할 등 SDK 기본 방식으로 인증
+		AwsCredentialsProvider credentials = StringUtils.hasText(accessKey)
+				? StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey))
+				: DefaultCredentialsProvider.create();
+		S3Configuration s3Configuration = S3Configuration.builder().pathStyleAccessEnabled(pathStyleAccess).build();
+
+		var clientBuilder = S3Client.builder().region(Region.of(region)).credentialsProvider(credentials)
+				.serviceConfiguration(s3Configuration);
+		var presignerBuilder = S3Presigner.builder().region(Region.of(region)).credentialsProvider(credentials)
+				.serviceConfiguration(s3Configuration);
+		if (StringUtils.hasText(endpoint)) {
+			clientBuilder.endpointOverride(URI.create(endpoint));
+			presignerBuilder.endpointOverride(URI.create(endpoint));
+		}
+
+		this.s3Client = clientBuilder.build();
+		this.presigner = presignerBuilder.build();
+		this.bucket = bucket;
+		this.presignTtl = Duration.ofSeconds(presignTtlSeconds);
+	}
+
+	@PreDestroy
+	public void close() {
+		presigner.close();
+		s3Client.close();
+	}
+
+	@Override
+	public void write(String key, InputStream content, long size, String contentType) throws IOException {
+		// 크기를 알려주면 SDK가 내용을 메모리에 모으지 않고 그대로 전송한다.
+		s3Client.putObject(request -> request.bucket(bucket).key(key).contentLength(size).contentType(contentType),
+				RequestBody.fromInputStream(content, size));
+	}
+
+	@Override
+	public StoredBlob open(String key) throws IOException {
+		try {
+			ResponseInputStream<GetObjectResponse> object = s3Client
+					.getObject(request -> request.bucket(bucket).key(key));
+			GetObjectResponse response = object.response();
+			return new StoredBlob(object, response.contentLength() != null ? response.contentLength() : -1,
+					response.contentType());
+		} catch (NoSuchKeyException e) {
+			throw new ResourceNotFoundException("File not found: " + key);
+		}
+	}
+
+	@Override
+	public boolean exists(String key) {
+		try {
+			s3Client.headObject(request -> request.bucket(bucket).key(key));
+			return true;
+		} catch (NoSuchKeyException e) {
+			return false;
+		}
+	}
+
+	@Override
+	public void delete(String key) {
+		s3Client.deleteObject(request -> request.bucket(bucket).key(key));
+	}
+
+	@Override
+	public Stream<BlobEntry> list() {
+		// 다음 페이지(최대 1000개)는 스트림을 읽다가 필요할 때 요청한다.
+		return s3Client.listObjectsV2Paginator(request -> request.bucket(bucket)).contents().stream()
+				.map(object -> new BlobEntry(object.key(), object.size(), object.lastModified()));
+	}
+
+	@Override
+	public Optional<URI> directUrl(String key) {
+		GetObjectRequest getObjectRequest = GetObjectRequest.builder().bucket(bucket).key(key).build();
+		try {
+			return Optional.of(presigner
+					.presignGetObject(request -> request.signatureDuration(presignTtl).getObjectRequest(getObjectRequest))
+					.url().toURI());
+		} catch (URISyntaxException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.example.SAFPE.service.storage;
+
+import java.io.InputStream;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 저장소에서 연 파일
+ */
+@Getter
+@AllArgsConstructor
+public class StoredBlob {
+	private final InputStream content;
+	private final long size; // 모르면 -1
+	private final String contentType; // 모르면 null
+}
@@ -0,0 +1,84 @@
+-- 프로젝트 버전(ETag, If-Match), 변경 이력(plan_operation, plan_snapshot), 사용자 이름 중복 방지
+--
+-- Flyway를 도입하기 전에 ddl-auto로 이 컬럼과 테이블이 이미 만들어진 DB도 있으므로, 없을 때만 추가하고
+-- Hibernate가 만든 이름(UK...)의 유니크 키는 AuthService, PlanHistoryService가 확인하는 이름으로 바꾼다.
+-- MySQL에는 ADD COLUMN IF NOT EXISTS가 없어서 information_schema를 보고 실행할 문장을 고른다.
+
+-- 1. 프로젝트 버전, 마지막 이력 seq
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'project' AND column_name = 'version') = 0,
+    'ALTER TABLE project ADD COLUMN version BIGINT NOT NULL DEFAULT 0',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'project' AND column_name = 'history_seq') = 0,
+    'ALTER TABLE project ADD COLUMN history_seq BIGINT NOT NULL DEFAULT 0',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2. 변경 이력
+CREATE TABLE IF NOT EXISTS plan_operation (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    project_id BIGINT NOT NULL,
+    seq BIGINT NOT NULL,
+    op ENUM('ADD', 'UPDATE', 'REMOVE', 'REPLACE') NOT NULL,
+    element ENUM('WALL', 'DOOR', 'WINDOW'),
+    element_id BIGINT,
+    payload MEDIUMTEXT NOT NULL,
+    create_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_plan_operation_project_seq UNIQUE (project_id, seq)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS plan_snapshot (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    project_id BIGINT NOT NULL,
+    seq BIGINT NOT NULL,
+    plan_data MEDIUMTEXT NOT NULL,
+    create_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_plan_snapshot_project_seq UNIQUE (project_id, seq)
+) ENGINE=InnoDB;
+
+-- 3. 유니크 키 이름 맞추기
+-- 같은 컬럼의 유니크 키가 다른 이름으로 있으면 이름만 바꾸고, 없으면 새로 만든다.
+-- (users.username은 기존 스키마에서 NULL을 허용하고 유니크 키가 없었음)
+ALTER TABLE users MODIFY username VARCHAR(255) NOT NULL;
+
+SET @existing = (SELECT index_name FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'users' AND non_unique = 0 AND index_name <> 'PRIMARY'
+    GROUP BY index_name HAVING GROUP_CONCAT(column_name ORDER BY seq_in_index) = 'username' LIMIT 1);
+SET @ddl = CASE
+    WHEN @existing IS NULL THEN 'ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username)'
+    WHEN @existing = 'uk_users_username' THEN 'DO 0'
+    ELSE CONCAT('ALTER TABLE users RENAME INDEX `', @existing, '` TO uk_users_username') END;
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @existing = (SELECT index_name FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'plan_operation' AND non_unique = 0 AND index_name <> 'PRIMARY'
+    GROUP BY index_name HAVING GROUP_CONCAT(column_name ORDER BY seq_in_index) = 'project_id,seq' LIMIT 1);
+SET @ddl = CASE
+    WHEN @existing IS NULL THEN 'ALTER TABLE plan_operation ADD CONSTRAINT uk_plan_operation_project_seq UNIQUE (project_id, seq)'
+    WHEN @existing = 'uk_plan_operation_project_seq' THEN 'DO 0'
+    ELSE CONCAT('ALTER TABLE plan_operation RENAME INDEX `', @existing, '` TO uk_plan_operation_project_seq') END;
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @existing = (SELECT index_name FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'plan_snapshot' AND non_unique = 0 AND index_name <> 'PRIMARY'
+    GROUP BY index_name HAVING GROUP_CONCAT(column_name ORDER BY seq_in_index) = 'project_id,seq' LIMIT 1);
+SET @ddl = CASE
+    WHEN @existing IS NULL THEN 'ALTER TABLE plan_snapshot ADD CONSTRAINT uk_plan_snapshot_project_seq UNIQUE (project_id, seq)'
+    WHEN @existing = 'uk_plan_snapshot_project_seq' THEN 'DO 0'
+    ELSE CONCAT('ALTER TABLE plan_snapshot RENAME INDEX `', @existing, '` TO uk_plan_snapshot_project_seq') END;
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,58 @@
+-- Flyway를 도입하기 전 엔티티로 자동 생성되던 스키마 (Hibernate ddl-auto 결과와 같음)
+-- 이미 운영 중인 DB는 이 버전으로 baseline 처리되고 V1_1부터 적용된다. (FlywayConfig)
+-- 그 뒤에 추가된 컬럼, 테이블, 제약 조건은 여기에 넣지 않고 다음 버전에 추가한다.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255),
+    password VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_password UNIQUE (password)
+) ENGINE=InnoDB;
+
+CREATE TABLE project (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(100) NOT NULL,
+    background_image_url VARCHAR(255),
+    scale_ratio DOUBLE,
+    scale_unit VARCHAR(10),
+    create_at DATETIME(6),
+    update_at DATETIME(6),
+    user_id BIGINT,
+    is_public BIT NOT NULL,
+    share_id VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_project_share_id UNIQUE (share_id),
+    CONSTRAINT fk_project_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE wall (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    start_x DOUBLE NOT NULL,
+    start_y DOUBLE NOT NULL,
+    end_x DOUBLE NOT NULL,
+    end_y DOUBLE NOT NULL,
+    project_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_wall_project FOREIGN KEY (project_id) REFERENCES project (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE door (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    x DOUBLE NOT NULL,
+    y DOUBLE NOT NULL,
+    width DOUBLE NOT NULL,
+    project_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_door_project FOREIGN KEY (project_id) REFERENCES project (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE `window` (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    x DOUBLE NOT NULL,
+    y DOUBLE NOT NULL,
+    width DOUBLE NOT NULL,
+    project_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_window_project FOREIGN KEY (project_id) REFERENCES project (id)
+) ENGINE=InnoDB;
@@ -0,0 +1,12 @@
+-- 자주 쓰는 조회를 위한 인덱스
+-- (외래키 때문에 자동으로 만들어진 인덱스는 아래 인덱스가 대신하므로 MySQL이 알아서 삭제한다)
+
+-- 사용자별 프로젝트 목록 (user_id = ? ORDER BY id DESC, id 키셋 페이징)
+-- version까지 포함해서 조건부 요청(ETag)의 버전 조회는 테이블을 읽지 않는다.
+CREATE INDEX idx_project_user_id_version ON project (user_id, id, version);
+
+-- 평면도 요소: 프로젝트의 요소를 id 순서로 인덱스에서 바로 읽는다. (커버링 인덱스)
+-- 요소가 여러 프로젝트에 섞여 저장되어 있어도 한 프로젝트의 요소는 인덱스에서 연속으로 놓인다.
+CREATE INDEX idx_wall_project_covering ON wall (project_id, id, start_x, start_y, end_x, end_y);
+CREATE INDEX idx_door_project_covering ON door (project_id, id, x, y, width);
+CREATE INDEX idx_window_project_covering ON `window` (project_id, id, x, y, width);
@@ -0,0 +1,9 @@
+-- 복제본 지연 확인용 하트비트 (ReplicaLagMonitor)
+-- 주 DB에 현재 시각(epoch ms)을 쓰고 복제본에 복제된 값과 비교한다.
+CREATE TABLE replication_heartbeat (
+    id INT NOT NULL,
+    beat_at BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, 0);
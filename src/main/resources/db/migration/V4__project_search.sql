@@ -0,0 +1,31 @@
+-- 프로젝트 검색 (ProjectSearchSpecs)
+
+-- 평면도 면적을 프로젝트 행에 저장해서 면적 범위로 검색한다. (평면도를 저장할 때마다 PlanElementJdbcRepository가 다시 계산)
+-- 단위는 PlanMetrics와 같다. (스케일이 있으면 scale_unit의 제곱, 없으면 픽셀)
+ALTER TABLE project ADD COLUMN estimated_area DOUBLE NOT NULL DEFAULT 0;
+
+-- 기존 프로젝트의 면적 계산 (벽의 시작점을 id 순서로 이은 다각형, Shoelace Formula)
+UPDATE project p
+JOIN (
+    SELECT project_id, ABS(SUM(x * next_y - next_x * y)) / 2 AS pixel_area
+    FROM (
+        SELECT project_id, start_x AS x, start_y AS y,
+            COALESCE(LEAD(start_x) OVER w, FIRST_VALUE(start_x) OVER w) AS next_x,
+            COALESCE(LEAD(start_y) OVER w, FIRST_VALUE(start_y) OVER w) AS next_y
+        FROM wall
+        WINDOW w AS (PARTITION BY project_id ORDER BY id)
+    ) vertices
+    GROUP BY project_id
+) areas ON areas.project_id = p.id
+SET p.estimated_area = ROUND(CASE WHEN p.scale_ratio > 0 AND p.scale_unit IS NOT NULL
+    THEN areas.pixel_area * p.scale_ratio * p.scale_ratio ELSE areas.pixel_area END, 1);
+
+-- 검색 조건마다 user_id = ? 다음에 오는 인덱스 (InnoDB 보조 인덱스 끝에는 id가 붙어 있어서 키셋 페이징 조건도 인덱스에서 거른다)
+CREATE INDEX idx_project_user_title ON project (user_id, title);
+CREATE INDEX idx_project_user_create_at ON project (user_id, create_at);
+CREATE INDEX idx_project_user_update_at ON project (user_id, update_at);
+CREATE INDEX idx_project_user_public ON project (user_id, is_public);
+CREATE INDEX idx_project_user_area ON project (user_id, estimated_area);
+
+-- 제목 단어 검색 (MATCH ... AGAINST). 한글 제목을 두 글자 단위로 찾으려면 MySQL에서는 WITH PARSER ngram으로 다시 만든다.
+CREATE FULLTEXT INDEX ft_project_title ON project (title);
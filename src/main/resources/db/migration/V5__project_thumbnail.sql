@@ -0,0 +1,3 @@
+-- 목록 화면용 평면도 미리보기 (PlanThumbnailService가 평면도를 저장한 뒤 SVG로 만들어 업로드 저장소에 올린다)
+-- 배경 이미지와 같이 /uploads/{파일 이름} 형식이며, 아직 만들지 않은 프로젝트는 NULL
+ALTER TABLE project ADD COLUMN thumbnail_url VARCHAR(255);
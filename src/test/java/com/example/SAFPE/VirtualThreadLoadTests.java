@@ -0,0 +1,253 @@
+package com.example.SAFPE;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpServer;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * AI 서버 응답이 느릴 때 플랫폼 스레드와 가상 스레드로 띄운 앱의 처리량/p99 지연 시간을 비교하는 부하 테스트
+ *
+ * 같은 내장 MariaDB와 느린 AI 서버(/analyze 응답 전 AI_DELAY_MS 대기)를 두고 앱을 두 번 띄운다. 한 번은 고정 크기
+ * Tomcat 스레드 풀로, 한 번은 spring.threads.virtual.enabled=true로 띄워서 이미지 업로드(AI 분석)와 가벼운 목록 조회를
+ * 섞어 보낸다. 결과는 장비에 따라 달라서 출력만 하고, 확인하는 것은 모든 요청이 성공했는지 뿐이다. (./gradlew loadTest)
+ */
+@Tag("load")
+class VirtualThreadLoadTests {
+
+	private static final int UPLOADS = 200;
+	private static final int LIST_EVERY = 2; // 업로드 2건마다 목록 조회 1건
+	private static final int PLATFORM_THREADS = 20;
+	private static final long AI_DELAY_MS = 500;
+
+	private static DB db;
+	private static String databaseUrl;
+	private static HttpServer slowAiServer;
+	private static ExecutorService aiServerExecutor;
+	private static Path uploadDir;
+
+	private final RestTemplate restTemplate = new RestTemplate();
+
+	@BeforeAll
+	static void startDependencies() throws Exception {
+		DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+		config.setPort(0); // 비어 있는 포트 사용
+		db = DB.newEmbeddedDB(config.build());
+		db.start();
+		db.createDB("safpe");
+		databaseUrl = config.getURL("safpe");
+
+		aiServerExecutor = Executors.newVirtualThreadPerTaskExecutor();
+		slowAiServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+		slowAiServer.setExecutor(aiServerExecutor);
+		slowAiServer.createContext("/analyze", exchange -> {
+			try (InputStream in = exchange.getRequestBody()) {
+				in.readAllBytes();
+			}
+			try {
+				Thread.sleep(AI_DELAY_MS); // GPU 추론 시간
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = "{\"detectedLines\":[]}".getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		slowAiServer.start();
+
+		uploadDir = Files.createTempDirectory("safpe-load");
+	}
+
+	@AfterAll
+	static void stopDependencies() throws Exception {
+		if (slowAiServer != null) {
+			slowAiServer.stop(0);
+			aiServerExecutor.shutdownNow();
+		}
+		if (db != null) {
+			db.stop();
+		}
+	}
+
+	@Test
+	void comparesPlatformAndVirtualThreadsWhileAiCallsAreSlow() throws Exception {
+		LoadResult platform = runAgainstApp(false);
+		LoadResult virtual = runAgainstApp(true);
+
+		System.out.printf("platform threads (%d): %.1f req/s, upload p99=%dms, list p99=%dms%n", PLATFORM_THREADS,
+				platform.throughput(), platform.uploads.percentileMs(99), platform.lists.percentileMs(99));
+		System.out.printf("virtual threads      : %.1f req/s, upload p99=%dms, list p99=%dms%n",
+				virtual.throughput(), virtual.uploads.percentileMs(99), virtual.lists.percentileMs(99));
+
+		assertThat(platform.failures).isZero();
+		assertThat(virtual.failures).isZero();
+	}
+
+	private LoadResult runAgainstApp(boolean virtualThreads) throws Exception {
+		Map<String, Object> properties = Map.ofEntries(Map.entry("server.port", 0),
+				Map.entry("spring.threads.virtual.enabled", virtualThreads),
+				Map.entry("server.tomcat.threads.max", PLATFORM_THREADS),
+				Map.entry("spring.datasource.url", databaseUrl), Map.entry("spring.datasource.username", "root"),
+				Map.entry("spring.datasource.password", ""),
+				Map.entry("jwt.secret", "c2FmcGUtdGVzdC1zZWNyZXQta2V5LWZvci1obWFjLXNoYTI1Ng"),
+				Map.entry("jwt.expiration", 3600000),
+				Map.entry("ai.server.url", "http://127.0.0.1:" + slowAiServer.getAddress().getPort()),
+				// AI 서버 동시 요청 수와 대기열이 먼저 막히지 않게 한다. (요청 스레드 차이만 보기 위함)
+				Map.entry("ai.server.max-concurrent-requests", UPLOADS),
+				Map.entry("bulkhead.ai.queue-capacity", UPLOADS), Map.entry("ratelimit.enabled", false),
+				Map.entry("file.upload-dir", uploadDir.toString()), Map.entry("gc.enabled", false),
+				Map.entry("thumbnail.enabled", false));
+
+		try (ConfigurableApplicationContext app = new SpringApplicationBuilder(SafpeApplication.class)
+				.properties(properties).run()) {
+			String baseUrl = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+			return runLoad(baseUrl, login(baseUrl, virtualThreads ? "virtual" : "platform"));
+		}
+	}
+
+	private LoadResult runLoad(String baseUrl, String token) throws Exception {
+		Latencies uploads = new Latencies();
+		Latencies lists = new Latencies();
+		AtomicInteger failures = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+
+		long startedAt = System.nanoTime();
+		// 클라이언트 쪽이 병목이 되지 않도록 요청마다 가상 스레드
+		try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < UPLOADS; i++) {
+				futures.add(clients.submit(() -> timed(uploads, failures, () -> upload(baseUrl, token))));
+				if (i % LIST_EVERY == 0) {
+					futures.add(clients.submit(() -> timed(lists, failures, () -> list(baseUrl, token))));
+				}
+			}
+			for (Future<?> future : futures) {
+				future.get(5, TimeUnit.MINUTES);
+			}
+		}
+		return new LoadResult(uploads, lists, failures.get(), System.nanoTime() - startedAt);
+	}
+
+	private static void timed(Latencies latencies, AtomicInteger failures, Runnable request) {
+		long submittedAt = System.nanoTime();
+		try {
+			request.run();
+			latencies.add(System.nanoTime() - submittedAt);
+		} catch (RestClientException e) {
+			failures.incrementAndGet();
+		}
+	}
+
+	private String login(String baseUrl, String username) {
+		Map<String, String> credentials = Map.of("username", username, "password", "password");
+		restTemplate.postForEntity(baseUrl + "/api/auth/register", credentials, String.class);
+		return (String) restTemplate.postForObject(baseUrl + "/api/auth/login", credentials, Map.class).get("token");
+	}
+
+	// 이미지마다 내용이 달라서 같은 이미지 분석 합치기(coalescing)에 걸리지 않는다.
+	private void upload(String baseUrl, String token) {
+		byte[] image = new byte[64 * 1024];
+		ThreadLocalRandom.current().nextBytes(image);
+
+		HttpHeaders headers = authorized(token);
+		headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+		MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+		body.add("title", "load");
+		body.add("file", new ByteArrayResource(image) {
+			@Override
+			public String getFilename() {
+				return "plan.png";
+			}
+		});
+		restTemplate.postForEntity(baseUrl + "/api/projects", new HttpEntity<>(body, headers), String.class);
+	}
+
+	private void list(String baseUrl, String token) {
+		restTemplate.exchange(baseUrl + "/api/projects", HttpMethod.GET, new HttpEntity<>(authorized(token)),
+				String.class);
+	}
+
+	private static HttpHeaders authorized(String token) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(token);
+		return headers;
+	}
+
+	private static class Latencies {
+		private final List<Long> nanos = Collections.synchronizedList(new ArrayList<>());
+
+		void add(long latency) {
+			nanos.add(latency);
+		}
+
+		int size() {
+			return nanos.size();
+		}
+
+		long percentileMs(int percentile) {
+			List<Long> sorted = new ArrayList<>(nanos);
+			if (sorted.isEmpty()) {
+				return 0;
+			}
+			Collections.sort(sorted);
+			int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+			return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(0, index)));
+		}
+	}
+
+	private static class LoadResult {
+		private final Latencies uploads;
+		private final Latencies lists;
+		private final int failures;
+		private final long elapsedNanos;
+
+		LoadResult(Latencies uploads, Latencies lists, int failures, long elapsedNanos) {
+			this.uploads = uploads;
+			this.lists = lists;
+			this.failures = failures;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		double throughput() {
+			return (uploads.size() + lists.size()) / (elapsedNanos / 1_000_000_000.0);
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.example.SAFPE;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import jakarta.servlet.Filter;
+
+/**
+ * spring.threads.virtual.enabled=true로 앱을 띄웠을 때 요청이 가상 스레드에서 처리되는지 확인
+ *
+ * 내장 MariaDB에 마이그레이션을 적용해서 앱 전체를 띄우고, 요청을 처리한 스레드를 필터에서 기록한다. 공유 링크 조회는 인증 없이
+ * 컨트롤러, 서비스, DB 조회까지 거친다. (없는 링크이므로 404)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.threads.virtual.enabled=true", "jwt.secret=c2FmcGUtdGVzdC1zZWNyZXQta2V5LWZvci1obWFjLXNoYTI1Ng",
+		"jwt.expiration=3600000", "ai.server.url=http://127.0.0.1:9", "gc.enabled=false", "thumbnail.enabled=false" })
+@Import(VirtualThreadRequestTests.RequestThreadRecorder.class)
+class VirtualThreadRequestTests {
+
+	private static final List<Thread> requestThreads = new CopyOnWriteArrayList<>();
+	private static DB db;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws Exception {
+		DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+		config.setPort(0); // 비어 있는 포트 사용
+		db = DB.newEmbeddedDB(config.build());
+		db.start();
+		db.createDB("safpe");
+
+		registry.add("spring.datasource.url", () -> config.getURL("safpe"));
+		registry.add("spring.datasource.username", () -> "root");
+		registry.add("spring.datasource.password", () -> "");
+	}
+
+	@AfterAll
+	static void stopDatabase() throws Exception {
+		if (db != null) {
+			db.stop();
+		}
+	}
+
+	@Test
+	void requestsAreHandledOnVirtualThreads() {
+		requestThreads.clear();
+
+		ResponseEntity<String> response = restTemplate.getForEntity("/api/share/{shareId}", String.class, "missing");
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+		assertThat(requestThreads).isNotEmpty().allSatisfy(thread -> assertThat(thread.isVirtual()).isTrue());
+	}
+
+	@TestConfiguration
+	static class RequestThreadRecorder {
+
+		@Bean
+		FilterRegistrationBean<Filter> requestThreadFilter() {
+			FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+				requestThreads.add(Thread.currentThread());
+				chain.doFilter(request, response);
+			});
+			registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+			return registration;
+		}
+	}
+}
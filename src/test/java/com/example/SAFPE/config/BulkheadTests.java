@@ -0,0 +1,71 @@
+package com.example.SAFPE.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.SAFPE.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 작업 종류별 풀의 대기열 제한, 인증 정보 전달, 메트릭 확인
+ */
+class BulkheadTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final Bulkhead bulkhead = new Bulkhead("render", 1, 2, meterRegistry);
+
+	@AfterEach
+	void tearDown() {
+		bulkhead.shutdown();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void rejectsWhenQueueIsFull() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		CompletableFuture<Integer> running = bulkhead.submit(() -> {
+			started.countDown();
+			release.await();
+			return 1;
+		});
+		started.await(5, TimeUnit.SECONDS);
+		List<CompletableFuture<Integer>> queued = List.of(bulkhead.submit(() -> 2), bulkhead.submit(() -> 3));
+
+		assertThat(meterRegistry.get("bulkhead.queue.size").tag("name", "render").gauge().value()).isEqualTo(2);
+		assertThat(meterRegistry.get("bulkhead.active").tag("name", "render").gauge().value()).isEqualTo(1);
+		assertThatThrownBy(() -> bulkhead.submit(() -> 4)).isInstanceOf(TooManyRequestsException.class);
+		assertThat(meterRegistry.get("bulkhead.rejected").tag("name", "render").counter().count()).isEqualTo(1);
+
+		release.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+		assertThat(queued.get(1).get(5, TimeUnit.SECONDS)).isEqualTo(3);
+		assertThat(meterRegistry.get("bulkhead.wait").tag("name", "render").timer().count()).isEqualTo(3);
+	}
+
+	@Test
+	void propagatesSecurityContextToWorker() throws Exception {
+		SecurityContextHolder.getContext()
+				.setAuthentication(new UsernamePasswordAuthenticationToken("user", null, List.of()));
+
+		String name = bulkhead.submit(() -> SecurityContextHolder.getContext().getAuthentication().getName())
+				.get(5, TimeUnit.SECONDS);
+		assertThat(name).isEqualTo("user");
+
+		// 작업이 끝나면 작업 스레드의 인증 정보는 지워진다.
+		SecurityContextHolder.clearContext();
+		assertThat(bulkhead.submit(() -> SecurityContextHolder.getContext().getAuthentication()).get(5,
+				TimeUnit.SECONDS)).isNull();
+	}
+}
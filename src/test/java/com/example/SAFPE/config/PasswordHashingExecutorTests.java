@@ -0,0 +1,85 @@
+package com.example.SAFPE.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.example.SAFPE.dto.ErrorResponse;
+import com.example.SAFPE.exception.GlobalExceptionHandler;
+import com.example.SAFPE.exception.TooManyRequestsException;
+
+/**
+ * 해싱 풀의 대기열 제한과 429 응답 확인
+ *
+ * 해싱 작업 대신 래치에서 멈추는 작업으로 풀과 대기열을 채운다. (시간 측정 없음)
+ */
+class PasswordHashingExecutorTests {
+
+	// 스레드 1개, 대기열 1개
+	private final PasswordHashingExecutor hashingExecutor = new PasswordHashingExecutor(1, 1, 30_000);
+	// 해싱을 요청하는 요청 스레드 역할
+	private final ExecutorService callers = Executors.newFixedThreadPool(2);
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		callers.shutdownNow();
+		hashingExecutor.shutdown();
+	}
+
+	@Test
+	void rejectsWithRetryAfterWhenQueueIsFull() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		Future<String> first = callers.submit(() -> hashingExecutor.execute(() -> {
+			running.countDown();
+			release.await();
+			return "first";
+		}));
+		assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+
+		Future<String> queued = callers.submit(() -> hashingExecutor.execute(() -> "queued"));
+		awaitQueueDepth(1);
+
+		// 스레드와 대기열이 모두 찼으므로 기다리지 않고 거절
+		assertThatThrownBy(() -> hashingExecutor.execute(() -> "rejected"))
+				.isInstanceOfSatisfying(TooManyRequestsException.class, e -> {
+					ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler()
+							.handleTooManyRequestsException(e);
+					assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+					assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+				});
+
+		// 풀이 비면 대기하던 작업까지 처리
+		release.countDown();
+		assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("first");
+		assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo("queued");
+		assertThat(hashingExecutor.execute(() -> "after")).isEqualTo("after");
+	}
+
+	@Test
+	void propagatesTaskExceptions() {
+		assertThatThrownBy(() -> hashingExecutor.execute(() -> {
+			throw new IllegalArgumentException("bad hash");
+		})).isInstanceOf(IllegalArgumentException.class).hasMessage("bad hash");
+	}
+
+	private void awaitQueueDepth(int depth) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (hashingExecutor.getQueueDepth() < depth) {
+			assertThat(System.nanoTime()).as("queue depth %d reached", depth).isLessThan(deadline);
+			Thread.sleep(1);
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.example.SAFPE.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.SAFPE.dto.PointDto;
+import com.example.SAFPE.exception.TooManyRequestsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 로그인이 몰릴 때 다른 API의 응답 시간을 비교하는 부하 테스트
+ * 
+ * 요청 스레드 풀(Tomcat 흉내)에 로그인 요청과 가벼운 JSON 요청을 섞어서 넣고, 가벼운 요청의 지연 시간을 측정한다.
+ * 
+ * 지연 시간은 장비에 따라 달라서 출력만 하고, 확인하는 것은 대기열을 넘친 로그인이 거절되는지 뿐이다. (./gradlew loadTest)
+ */
+@Tag("load")
+class PasswordHashingLoadTests {
+
+	private static final int REQUEST_THREADS = 16;
+	private static final int LOGIN_REQUESTS = 200;
+	private static final int CHEAP_REQUEST_EVERY = 4; // 로그인 4건마다 가벼운 요청 1건
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void otherEndpointsStayResponsiveDuringLoginBurst() throws Exception {
+		BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(10);
+		String encodedPassword = bcrypt.encode("password");
+
+		// 1. 기존 방식: 요청 스레드에서 바로 해싱
+		BurstResult direct = runBurst(bcrypt, encodedPassword);
+
+		// 2. 해싱 전용 풀 + 대기열 제한
+		PasswordHashingExecutor hashingExecutor = new PasswordHashingExecutor(2, 8, 5000);
+		try {
+			BurstResult pooled = runBurst(new PooledPasswordEncoder(bcrypt, hashingExecutor), encodedPassword);
+
+			System.out.printf("direct hashing : cheap p50=%dms p99=%dms, logins ok=%d rejected=%d%n",
+					direct.percentileMs(50), direct.percentileMs(99), direct.accepted, direct.rejected);
+			System.out.printf("pooled hashing : cheap p50=%dms p99=%dms, logins ok=%d rejected=%d%n",
+					pooled.percentileMs(50), pooled.percentileMs(99), pooled.accepted, pooled.rejected);
+
+			assertThat(direct.rejected).isZero();
+			assertThat(pooled.rejected).isPositive(); // 대기열을 넘친 로그인은 바로 429
+			assertThat(pooled.accepted).isPositive();
+		} finally {
+			hashingExecutor.shutdown();
+		}
+	}
+
+	private BurstResult runBurst(PasswordEncoder encoder, String encodedPassword) throws Exception {
+		ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+		AtomicInteger accepted = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		List<Long> cheapLatencies = Collections.synchronizedList(new ArrayList<>());
+		List<Future<?>> futures = new ArrayList<>();
+
+		try {
+			for (int i = 0; i < LOGIN_REQUESTS; i++) {
+				futures.add(requestThreads.submit(() -> {
+					try {
+						encoder.matches("password", encodedPassword);
+						accepted.incrementAndGet();
+					} catch (TooManyRequestsException e) {
+						rejected.incrementAndGet();
+					}
+				}));
+
+				if (i % CHEAP_REQUEST_EVERY == 0) {
+					long submittedAt = System.nanoTime();
+					futures.add(requestThreads.submit(() -> {
+						objectMapper.writeValueAsBytes(new PointDto(1.0, 2.0));
+						cheapLatencies.add(System.nanoTime() - submittedAt);
+						return null;
+					}));
+				}
+			}
+
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			requestThreads.shutdownNow();
+		}
+		return new BurstResult(cheapLatencies, accepted.get(), rejected.get());
+	}
+
+	private static class BurstResult {
+		private final List<Long> latencies;
+		private final int accepted;
+		private final int rejected;
+
+		BurstResult(List<Long> latencies, int accepted, int rejected) {
+			this.latencies = new ArrayList<>(latencies);
+			Collections.sort(this.latencies);
+			this.accepted = accepted;
+			this.rejected = rejected;
+		}
+
+		long percentileMs(int percentile) {
+			int index = (int) Math.ceil(percentile / 100.0 * latencies.size()) - 1;
+			return TimeUnit.NANOSECONDS.toMillis(latencies.get(Math.max(0, index)));
+		}
+	}
+}
@@ -0,0 +1,218 @@
+package com.example.SAFPE.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.SAFPE.config.jwt.UserPrincipal;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * 내장 H2 두 개(주 DB, 복제본)로 읽기/쓰기 라우팅 확인
+ *
+ * 두 DB의 marker 테이블에 서로 다른 이름을 넣어 두고, 트랜잭션 안에서 읽은 이름으로 어느 DB에 연결됐는지 판단한다.
+ */
+class ReplicaRoutingDataSourceTests {
+
+	private final MutableClock clock = new MutableClock();
+
+	private DataSource primary;
+	private DataSource replica;
+	private ReplicaLagMonitor lagMonitor;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readOnly;
+	private TransactionTemplate readWrite;
+
+	@BeforeEach
+	void setUp() {
+		primary = database("primary");
+		replica = database("replica");
+
+		lagMonitor = new ReplicaLagMonitor(primary, Map.of("replica-0", replica), 3000);
+		ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), clock);
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(List.of("replica-0"), lagMonitor, tracker);
+		routing.setTargetDataSources(Map.of(ReplicaRoutingDataSource.PRIMARY, primary, "replica-0", replica));
+		routing.setDefaultTargetDataSource(primary);
+		routing.afterPropertiesSet();
+
+		DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		readWrite = new TransactionTemplate(transactionManager);
+
+		replicateHeartbeat(System.currentTimeMillis());
+		lagMonitor.check();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		new JdbcTemplate(primary).execute("SHUTDOWN");
+		new JdbcTemplate(replica).execute("SHUTDOWN");
+	}
+
+	@Test
+	void readOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+		assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replica");
+		assertThat(readWrite.execute(status -> currentDatabase())).isEqualTo("primary");
+	}
+
+	@Test
+	void laggingReplicaFallsBackToPrimary() {
+		replicateHeartbeat(System.currentTimeMillis() - 10_000);
+		lagMonitor.check();
+		assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("primary");
+
+		// 복제본이 따라잡으면 다시 복제본에서 읽는다.
+		replicateHeartbeat(System.currentTimeMillis());
+		lagMonitor.check();
+		assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replica");
+	}
+
+	@Test
+	void unreachableReplicaFallsBackToPrimary() {
+		new JdbcTemplate(replica).execute("DROP TABLE replication_heartbeat");
+		lagMonitor.check();
+		assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("primary");
+	}
+
+	@Test
+	void userReadsOwnWritesFromPrimaryForStickyWindow() {
+		signIn(1L);
+		readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET name = name"));
+		assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("primary");
+
+		// 다른 사용자는 그대로 복제본에서 읽는다.
+		signIn(2L);
+		assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replica");
+
+		signIn(1L);
+		clock.advance(Duration.ofSeconds(6));
+		assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replica");
+	}
+
+	@Test
+	void readFromPrimaryBypassesReplica() {
+		assertThat(ReplicaRoutingDataSource.readFromPrimary(() -> readOnly.execute(status -> currentDatabase())))
+				.isEqualTo("primary");
+		// 범위를 벗어나면 다시 복제본에서 읽는다.
+		assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replica");
+	}
+
+	@Test
+	void replicaReadsDoNotPutIntoSecondLevelCache() {
+		Session session = mock(Session.class);
+		EntityManager entityManager = mock(EntityManager.class);
+		when(entityManager.unwrap(Session.class)).thenReturn(session);
+		when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+		when(session.isOpen()).thenReturn(true);
+
+		// JPA 트랜잭션처럼 세션이 스레드에 연결되어 있을 때
+		Object key = new Object();
+		TransactionSynchronizationManager.bindResource(key, new EntityManagerHolder(entityManager));
+		try {
+			readOnly.execute(status -> currentDatabase());
+			readWrite.execute(status -> currentDatabase());
+		} finally {
+			TransactionSynchronizationManager.unbindResource(key);
+		}
+
+		// 복제본에서 읽는 동안만 캐시에 넣지 않고, 끝나면 원래대로 (주 DB 트랜잭션은 그대로)
+		InOrder inOrder = inOrder(session);
+		inOrder.verify(session).setCacheMode(CacheMode.GET);
+		inOrder.verify(session).setCacheMode(CacheMode.NORMAL);
+		verify(session, times(2)).setCacheMode(any());
+	}
+
+	@Test
+	void rolledBackWriteDoesNotPinReads() {
+		signIn(1L);
+		readWrite.executeWithoutResult(status -> {
+			jdbcTemplate.update("UPDATE marker SET name = name");
+			status.setRollbackOnly();
+		});
+		assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replica");
+	}
+
+	private String currentDatabase() {
+		return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+	}
+
+	// 복제가 이루어진 것처럼 복제본의 하트비트를 직접 쓴다.
+	private void replicateHeartbeat(long beatAt) {
+		new JdbcTemplate(replica).update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", beatAt);
+	}
+
+	private static void signIn(Long userId) {
+		UserPrincipal principal = new UserPrincipal(userId, "user" + userId, null);
+		SecurityContextHolder.getContext()
+				.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	private static DataSource database(String name) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(20) NOT NULL)");
+		jdbcTemplate.update("INSERT INTO marker (name) VALUES (?)", name);
+		jdbcTemplate.execute("CREATE TABLE replication_heartbeat (id INT NOT NULL PRIMARY KEY, beat_at BIGINT NOT NULL)");
+		jdbcTemplate.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, 0)");
+		return dataSource;
+	}
+
+	private static class MutableClock extends Clock {
+		private Instant now = Instant.now();
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.example.SAFPE.config.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 검증한 토큰 캐시의 만료 처리 확인 (시간은 직접 움직인다)
+ */
+class VerifiedTokenCacheTests {
+
+	private final AtomicLong now = new AtomicLong(1_000_000L);
+	private final VerifiedTokenCache cache = new VerifiedTokenCache(100, now::get);
+
+	@Test
+	void servesTokenUntilItExpires() {
+		cache.put("token", new VerifiedToken(1L, "user", now.get() + 1000));
+
+		now.addAndGet(999);
+		assertThat(cache.get("token")).isNotNull();
+
+		// 만료 시각이 지나면 서명을 다시 검증하도록 캐시에서 꺼내지 않는다.
+		now.addAndGet(1);
+		assertThat(cache.get("token")).isNull();
+		now.addAndGet(-1);
+		assertThat(cache.get("token")).as("removed once expired").isNull();
+	}
+
+	@Test
+	void alreadyExpiredTokenIsNeverServed() {
+		cache.put("token", new VerifiedToken(1L, "user", now.get() - 1));
+
+		assertThat(cache.get("token")).isNull();
+	}
+
+	@Test
+	void tokensAreKeyedByTheirOwnContent() {
+		cache.put("token-a", new VerifiedToken(1L, "a", now.get() + 1000));
+
+		assertThat(cache.get("token-a").getUsername()).isEqualTo("a");
+		assertThat(cache.get("token-b")).isNull();
+	}
+}
@@ -0,0 +1,82 @@
+package com.example.SAFPE.config.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+
+import com.example.SAFPE.config.jwt.UserPrincipal;
+import com.example.SAFPE.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 요청 파라미터로 비용 이름을 정하고, 설정에 없는 값은 기본 이름의 비용을 쓰는지 확인
+ */
+class RateLimitInterceptorTests {
+
+	private final RateLimitProperties properties = new RateLimitProperties();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private RateLimitInterceptor interceptor;
+	private HandlerMethod handler;
+
+	@BeforeEach
+	void setUp() throws NoSuchMethodException {
+		properties.setCapacity(10);
+		properties.setRefillPerSecond(0.001);
+		interceptor = new RateLimitInterceptor(new UserRateLimiter(properties, meterRegistry), properties);
+		handler = new HandlerMethod(new ExportController(), ExportController.class.getMethod("export"));
+
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new UserPrincipal(1L, "user", "password"), null, List.of()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void appendsConfiguredParameterValue() {
+		RateLimited rateLimited = handler.getMethodAnnotation(RateLimited.class);
+
+		assertThat(interceptor.costName(rateLimited, request("PDF"))).isEqualTo("export.pdf");
+		assertThat(interceptor.costName(rateLimited, request(" "))).isEqualTo("export");
+		assertThat(interceptor.costName(rateLimited, new MockHttpServletRequest())).isEqualTo("export");
+	}
+
+	@Test
+	void unknownParameterValueCostsBaseName() {
+		// export = 5: 두 번이면 토큰이 모두 없어진다. (기본 비용 1이었다면 열 번까지 통과)
+		interceptor.preHandle(request("xyz"), new MockHttpServletResponse(), handler);
+		interceptor.preHandle(request("svg"), new MockHttpServletResponse(), handler);
+
+		assertThatThrownBy(() -> interceptor.preHandle(request("abc"), new MockHttpServletResponse(), handler))
+				.isInstanceOf(TooManyRequestsException.class);
+		// 거절 메트릭은 요청 값마다 태그를 만들지 않는다.
+		assertThat(meterRegistry.get("ratelimit.rejected").tag("cost", "export").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.find("ratelimit.rejected").tag("cost", "export.abc").counter()).isNull();
+	}
+
+	private static MockHttpServletRequest request(String format) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects/1/export");
+		request.setParameter("format", format);
+		return request;
+	}
+
+	static class ExportController {
+
+		@RateLimited(value = "export", param = "format")
+		public void export() {
+		}
+	}
+}
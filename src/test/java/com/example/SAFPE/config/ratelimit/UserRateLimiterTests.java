@@ -0,0 +1,118 @@
+package com.example.SAFPE.config.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.SAFPE.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 사용자별 토큰 버킷의 비용 차감, 다시 채우기, 동시 요청 확인 (시간은 직접 움직인다)
+ */
+class UserRateLimiterTests {
+
+	private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+	private SimpleMeterRegistry meterRegistry;
+	private UserRateLimiter rateLimiter;
+
+	@BeforeEach
+	void setUp() {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.setCapacity(20);
+		properties.setRefillPerSecond(2.0);
+		properties.getCosts().put("export.pdf", 8);
+		meterRegistry = new SimpleMeterRegistry();
+		rateLimiter = new UserRateLimiter(properties, meterRegistry, now::get);
+	}
+
+	@Test
+	void rejectsWhenBucketIsEmptyWithRetryAfter() {
+		rateLimiter.acquire(1L, "export.pdf");
+		rateLimiter.acquire(1L, "export.pdf");
+
+		// 4개 남음, 8개가 되려면 2초 필요
+		assertThatThrownBy(() -> rateLimiter.acquire(1L, "export.pdf")).isInstanceOf(TooManyRequestsException.class)
+				.satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isEqualTo(2));
+		assertThat(meterRegistry.get("ratelimit.rejected").tag("cost", "export.pdf").counter().count()).isEqualTo(1);
+
+		// 싼 요청은 남은 토큰으로 처리
+		rateLimiter.acquire(1L, "search");
+	}
+
+	@Test
+	void refillsOverTime() {
+		rateLimiter.acquire(1L, "export.pdf");
+		rateLimiter.acquire(1L, "export.pdf");
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+		rateLimiter.acquire(1L, "export.pdf");
+	}
+
+	@Test
+	void bucketsArePerUser() {
+		rateLimiter.acquire(1L, "export.pdf");
+		rateLimiter.acquire(1L, "export.pdf");
+
+		rateLimiter.acquire(2L, "export.pdf");
+		rateLimiter.acquire(2L, "export.pdf");
+	}
+
+	@Test
+	void idleBucketsAreEvictedOnlyWhenFull() {
+		rateLimiter.acquire(1L, "export.pdf");
+		rateLimiter.evictIdleBuckets();
+		assertThat(rateLimiter.bucketCount()).isEqualTo(1);
+
+		now.addAndGet(TimeUnit.MINUTES.toNanos(15));
+		rateLimiter.evictIdleBuckets();
+		assertThat(rateLimiter.bucketCount()).isZero();
+	}
+
+	@Test
+	void concurrentRequestsNeverTakeMoreThanCapacity() throws Exception {
+		int threads = 8;
+		int attemptsPerThread = 50;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					int acquired = 0;
+					for (int i = 0; i < attemptsPerThread; i++) {
+						try {
+							rateLimiter.acquire(1L, "search");
+							acquired++;
+						} catch (TooManyRequestsException e) {
+							// 토큰 부족
+						}
+					}
+					return acquired;
+				}));
+			}
+			start.countDown();
+
+			int total = 0;
+			for (Future<Integer> result : results) {
+				total += result.get(10, TimeUnit.SECONDS);
+			}
+			assertThat(total).isEqualTo(20); // 시간이 흐르지 않으므로 정확히 capacity개
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.SAFPE.config.websocket;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.example.SAFPE.service.PlanCollaborationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 연결 중에 토큰이 만료되면 다음 메시지에서 세션을 닫는지 확인
+ */
+class PlanEditWebSocketHandlerTests {
+
+	private static final TextMessage OPS = new TextMessage("{\"type\":\"ops\",\"ops\":[]}");
+
+	private final PlanCollaborationService planCollaborationService = mock(PlanCollaborationService.class);
+	private final PlanEditWebSocketHandler handler = new PlanEditWebSocketHandler(planCollaborationService,
+			new ObjectMapper());
+
+	@Test
+	void acceptsMessagesWhileTokenIsValid() throws Exception {
+		WebSocketSession session = session(System.currentTimeMillis() + 60_000);
+
+		handler.handleTextMessage(session, OPS);
+
+		verify(planCollaborationService).submit(eq(1L), eq(session), anyList());
+		verify(session, never()).close(any());
+	}
+
+	@Test
+	void closesSessionOnceTokenHasExpired() throws Exception {
+		WebSocketSession session = session(System.currentTimeMillis() - 1);
+
+		handler.handleTextMessage(session, OPS);
+
+		verify(session).close(PlanEditWebSocketHandler.TOKEN_EXPIRED);
+		verify(planCollaborationService, never()).submit(any(), any(), anyList());
+	}
+
+	private static WebSocketSession session(long tokenExpiresAt) {
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put(PlanEditHandshakeInterceptor.PROJECT_ID_ATTRIBUTE, 1L);
+		attributes.put(PlanEditHandshakeInterceptor.TOKEN_EXPIRES_AT_ATTRIBUTE, tokenExpiresAt);
+		WebSocketSession session = mock(WebSocketSession.class);
+		when(session.getAttributes()).thenReturn(attributes);
+		return session;
+	}
+}
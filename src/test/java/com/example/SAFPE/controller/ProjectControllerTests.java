@@ -0,0 +1,178 @@
+package com.example.SAFPE.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.SAFPE.config.Bulkheads;
+import com.example.SAFPE.dto.CompactPlanDataDto;
+import com.example.SAFPE.dto.CompactProjectDto;
+import com.example.SAFPE.dto.CompactUpdateProjectRequest;
+import com.example.SAFPE.dto.PlanDataDto;
+import com.example.SAFPE.dto.PointDto;
+import com.example.SAFPE.dto.ProjectDto;
+import com.example.SAFPE.dto.UpdateProjectRequest;
+import com.example.SAFPE.dto.WallDto;
+import com.example.SAFPE.exception.GlobalExceptionHandler;
+import com.example.SAFPE.exception.ResourceNotFoundException;
+import com.example.SAFPE.service.ProjectBatchService;
+import com.example.SAFPE.service.ProjectService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * 형식(JSON, 압축 JSON, CBOR)마다 본문이 그대로 오가고, ETag가 형식별로 다르며 Vary: Accept가 붙는지 확인
+ */
+class ProjectControllerTests {
+
+	private static final MediaType COMPACT = MediaType.parseMediaType(CompactPlanDataDto.MEDIA_TYPE);
+
+	private final ObjectMapper json = new ObjectMapper();
+	private final ObjectMapper cbor = new CBORMapper();
+
+	private final ProjectService projectService = mock(ProjectService.class);
+	private final MockMvc mockMvc = MockMvcBuilders
+			.standaloneSetup(new ProjectController(projectService, mock(ProjectBatchService.class),
+					mock(Bulkheads.class)))
+			.setControllerAdvice(new GlobalExceptionHandler()).build();
+
+	@Test
+	void jsonRoundTrip() throws Exception {
+		ProjectDto project = ProjectDto.builder().id(1L).title("plan").planData(planData()).version(4L).build();
+		when(projectService.updateProject(eq(1L), any(UpdateProjectRequest.class), eq(3L))).thenReturn(project);
+
+		UpdateProjectRequest request = new UpdateProjectRequest();
+		request.setTitle("plan");
+		request.setPlanData(planData());
+		MvcResult result = mockMvc.perform(put("/api/projects/1").contentType(MediaType.APPLICATION_JSON)
+				.accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_MATCH, "\"3-json\"")
+				.content(json.writeValueAsBytes(request))).andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"4-json\"")).andReturn();
+
+		ArgumentCaptor<UpdateProjectRequest> sent = ArgumentCaptor.forClass(UpdateProjectRequest.class);
+		verify(projectService).updateProject(eq(1L), sent.capture(), eq(3L));
+		assertThat(sent.getValue()).isEqualTo(request);
+		assertThat(json.readValue(result.getResponse().getContentAsByteArray(), ProjectDto.class)).isEqualTo(project);
+	}
+
+	@Test
+	void compactRoundTrip() throws Exception {
+		roundTrip(COMPACT, json, "compact");
+	}
+
+	@Test
+	void cborRoundTrip() throws Exception {
+		roundTrip(MediaType.APPLICATION_CBOR, cbor, "cbor");
+	}
+
+	@Test
+	void getEtagDependsOnAcceptedRepresentation() throws Exception {
+		CompactProjectDto project = compactProject(3L);
+		when(projectService.getProjectVersion(1L)).thenReturn(3L);
+		when(projectService.getProjectByIdCompact(1L)).thenReturn(project);
+
+		MvcResult result = mockMvc.perform(get("/api/projects/1").accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk()).andExpect(header().string(HttpHeaders.ETAG, "\"3-cbor\""))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT)).andReturn();
+		assertThat(result.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR_VALUE);
+		assertThat(cbor.readValue(result.getResponse().getContentAsByteArray(), CompactProjectDto.class))
+				.isEqualTo(project);
+
+		// 다른 형식의 ETag로는 304가 되지 않는다.
+		mockMvc.perform(get("/api/projects/1").accept(MediaType.APPLICATION_CBOR)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"3-compact\"")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/projects/1").accept(COMPACT).header(HttpHeaders.IF_NONE_MATCH, "\"3-compact\""))
+				.andExpect(status().isNotModified()).andExpect(header().string(HttpHeaders.ETAG, "\"3-compact\""))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+	}
+
+	@Test
+	void jsonNotModifiedKeepsVary() throws Exception {
+		when(projectService.getProjectVersion(1L)).thenReturn(3L);
+
+		mockMvc.perform(get("/api/projects/1").accept(MediaType.APPLICATION_JSON)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"3-json\"")).andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"3-json\""))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+		verify(projectService, never()).writeProject(any(), any());
+	}
+
+	@Test
+	void invalidIfMatchIsPreconditionFailed() throws Exception {
+		mockMvc.perform(put("/api/projects/1").contentType(MediaType.APPLICATION_JSON)
+				.header(HttpHeaders.IF_MATCH, "\"json-3\"").content("{}")).andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	void backgroundImageOfOtherUsersProjectIsNotAnalyzed() throws Exception {
+		when(projectService.getProjectVersion(2L))
+				.thenThrow(new ResourceNotFoundException("project not found with id: 2"));
+
+		mockMvc.perform(multipart("/api/projects/2/background-image")
+				.file(new MockMultipartFile("file", "plan.png", "image/png", new byte[] { 1, 2, 3 })))
+				.andExpect(status().isNotFound());
+		verify(projectService, never()).analyzeImage(any());
+		verify(projectService, never()).storeImage(any());
+	}
+
+	private void roundTrip(MediaType mediaType, ObjectMapper mapper, String representation) throws Exception {
+		CompactProjectDto project = compactProject(4L);
+		when(projectService.updateProjectCompact(eq(1L), any(UpdateProjectRequest.class), eq(3L)))
+				.thenReturn(project);
+
+		CompactUpdateProjectRequest request = new CompactUpdateProjectRequest();
+		request.setTitle("plan");
+		request.setPlanData(CompactPlanDataDto.from(planData()));
+		MvcResult result = mockMvc
+				.perform(put("/api/projects/1").contentType(mediaType).accept(mediaType)
+						.header(HttpHeaders.IF_MATCH, "W/\"3-" + representation + "\"")
+						.content(mapper.writeValueAsBytes(request)))
+				.andExpect(status().isOk()).andExpect(header().string(HttpHeaders.ETAG, "\"4-" + representation + "\""))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT)).andReturn();
+
+		ArgumentCaptor<UpdateProjectRequest> sent = ArgumentCaptor.forClass(UpdateProjectRequest.class);
+		verify(projectService).updateProjectCompact(eq(1L), sent.capture(), eq(3L));
+		assertThat(sent.getValue().getPlanData()).isEqualTo(planData());
+		assertThat(MediaType.parseMediaType(result.getResponse().getContentType()).isCompatibleWith(mediaType))
+				.isTrue();
+		assertThat(mapper.readValue(result.getResponse().getContentAsByteArray(), CompactProjectDto.class))
+				.isEqualTo(project);
+	}
+
+	private static CompactProjectDto compactProject(Long version) {
+		return CompactProjectDto.builder().id(1L).title("plan").planData(CompactPlanDataDto.from(planData()))
+				.version(version).build();
+	}
+
+	private static PlanDataDto planData() {
+		WallDto wall = new WallDto();
+		wall.setId(7L);
+		wall.setStart(new PointDto(0, 0));
+		wall.setEnd(new PointDto(120.5, 0));
+		PlanDataDto planData = new PlanDataDto();
+		planData.setWalls(List.of(wall));
+		planData.setDoors(List.of());
+		planData.setWindows(List.of());
+		return planData;
+	}
+}
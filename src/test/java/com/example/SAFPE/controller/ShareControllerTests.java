@@ -0,0 +1,62 @@
+package com.example.SAFPE.controller;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.SAFPE.exception.GlobalExceptionHandler;
+import com.example.SAFPE.exception.ResourceNotFoundException;
+import com.example.SAFPE.service.ProjectService;
+import com.example.SAFPE.service.PublicProjectCache;
+import com.example.SAFPE.service.ShareService;
+
+/**
+ * 공유 링크 응답의 ETag와 If-None-Match 재검증(304) 확인
+ */
+class ShareControllerTests {
+
+	private static final byte[] BODY = "{\"title\":\"plan\"}".getBytes(StandardCharsets.UTF_8);
+
+	private final ProjectService projectService = mock(ProjectService.class);
+	private final MockMvc mockMvc = MockMvcBuilders
+			.standaloneSetup(new ShareController(new ShareService(projectService, new PublicProjectCache(10))))
+			.setControllerAdvice(new GlobalExceptionHandler()).build();
+
+	@Test
+	void matchingIfNoneMatchIsNotModified() throws Exception {
+		when(projectService.getPublicProjectJson("share")).thenReturn(BODY);
+
+		String eTag = mockMvc.perform(get("/api/share/share")).andExpect(status().isOk())
+				.andExpect(content().bytes(BODY)).andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/share/share").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified()).andExpect(header().string(HttpHeaders.ETAG, eTag))
+				.andExpect(content().bytes(new byte[0]));
+		mockMvc.perform(get("/api/share/share").header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+				.andExpect(status().isOk()).andExpect(content().bytes(BODY));
+
+		// 두 번째 요청부터는 캐시에서 응답
+		verify(projectService, times(1)).getPublicProjectJson("share");
+	}
+
+	@Test
+	void missingShareIsNotFound() throws Exception {
+		when(projectService.getPublicProjectJson("missing"))
+				.thenThrow(new ResourceNotFoundException("Public project not found or access denied"));
+
+		mockMvc.perform(get("/api/share/missing")).andExpect(status().isNotFound());
+	}
+}
@@ -0,0 +1,184 @@
+package com.example.SAFPE.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.example.SAFPE.entity.Project;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 마이그레이션을 적용한 내장 MariaDB에서 프로젝트 단위 SQL(복사, 삭제, 면적 계산) 확인
+ */
+class PlanElementJdbcRepositoryTests {
+
+	private static DB db;
+	private static JdbcTemplate jdbcTemplate;
+	private static PlanElementJdbcRepository repository;
+	private static Cache cache;
+
+	@BeforeAll
+	static void startDatabase() throws Exception {
+		DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+		config.setPort(0); // 비어 있는 포트 사용
+		db = DB.newEmbeddedDB(config.build());
+		db.start();
+		db.createDB("safpe");
+
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(config.getURL("safpe"), "root", "");
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		jdbcTemplate = new JdbcTemplate(dataSource);
+
+		// 2차 캐시는 비우는 호출만 확인한다.
+		cache = mock(Cache.class);
+		SessionFactory sessionFactory = mock(SessionFactory.class);
+		when(sessionFactory.getCache()).thenReturn(cache);
+		EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+		when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+		repository = new PlanElementJdbcRepository(jdbcTemplate, entityManagerFactory, 100);
+
+		jdbcTemplate.update("INSERT INTO users (id, username, password) VALUES (1, 'user', 'hash')");
+	}
+
+	@AfterAll
+	static void stopDatabase() throws Exception {
+		if (db != null) {
+			db.stop();
+		}
+	}
+
+	@BeforeEach
+	void clearProjects() {
+		jdbcTemplate.update("DELETE FROM wall");
+		jdbcTemplate.update("DELETE FROM door");
+		jdbcTemplate.update("DELETE FROM `window`");
+		jdbcTemplate.update("DELETE FROM project");
+		clearInvocations(cache);
+	}
+
+	@Test
+	void estimatedAreaFollowsWallOrderAndScale() {
+		insertProject(1L);
+		// 10 x 20 직사각형
+		repository.insertWalls(1L, new double[] { 0, 0, 10, 0, 10, 0, 10, 20, 10, 20, 0, 20, 0, 20, 0, 0 }, 4);
+
+		repository.updateEstimatedArea(1L);
+		assertThat(estimatedArea(1L)).isEqualTo(200.0);
+
+		// 1px = 0.5m
+		jdbcTemplate.update("UPDATE project SET scale_ratio = 0.5, scale_unit = 'm' WHERE id = 1");
+		repository.updateEstimatedArea(1L);
+		assertThat(estimatedArea(1L)).isEqualTo(50.0);
+	}
+
+	@Test
+	void estimatedAreaIsZeroWithoutPolygon() {
+		insertProject(1L);
+		repository.updateEstimatedArea(1L);
+		assertThat(estimatedArea(1L)).isZero();
+
+		repository.insertWalls(1L, new double[] { 0, 0, 10, 0, 10, 0, 10, 20 }, 2);
+		repository.updateEstimatedArea(1L);
+		assertThat(estimatedArea(1L)).isZero();
+	}
+
+	@Test
+	void copyElementsKeepsOrderAndOnlyTouchesSource() {
+		insertProject(1L);
+		insertProject(2L);
+		insertProject(3L);
+		repository.insertWalls(1L, new double[] { 0, 0, 1, 1, 2, 2, 3, 3 }, 2);
+		repository.insertDoors(1L, new double[] { 5, 5, 0.9 }, 1);
+		repository.insertWindows(1L, new double[] { 6, 6, 1.2, 7, 7, 1.5 }, 2);
+		repository.insertWalls(2L, new double[] { 9, 9, 9, 9 }, 1);
+
+		assertThat(repository.copyElements(1L, 3L)).containsExactly(2, 1, 2);
+		assertThat(jdbcTemplate.queryForList("SELECT start_x FROM wall WHERE project_id = 3 ORDER BY id", Double.class))
+				.containsExactly(0.0, 2.0);
+		assertThat(jdbcTemplate.queryForList("SELECT width FROM `window` WHERE project_id = 3 ORDER BY id",
+				Double.class)).containsExactly(1.2, 1.5);
+		assertThat(count("wall", 1L)).isEqualTo(2);
+	}
+
+	@Test
+	void deleteProjectRemovesElementsOnlyAtExpectedVersion() {
+		insertProject(1L);
+		insertProject(2L);
+		repository.insertWalls(1L, new double[] { 0, 0, 1, 1 }, 1);
+		repository.insertDoors(1L, new double[] { 5, 5, 0.9 }, 1);
+		repository.insertWalls(2L, new double[] { 9, 9, 9, 9 }, 1);
+
+		// 그 사이 수정된 경우 (버전 불일치) 아무것도 지우지 않음
+		assertThat(repository.deleteProject(1L, 7L)).isFalse();
+		assertThat(count("wall", 1L)).isEqualTo(1);
+		verify(cache, never()).evictEntityData(any(Class.class), any());
+
+		assertThat(repository.deleteProject(1L, 0L)).isTrue();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM project WHERE id = 1", Integer.class)).isZero();
+		assertThat(count("wall", 1L)).isZero();
+		assertThat(count("door", 1L)).isZero();
+		assertThat(count("wall", 2L)).isEqualTo(1);
+		// 지운 프로젝트와 요소 컬렉션이 2차 캐시에 남지 않는다.
+		verify(cache).evictEntityData(Project.class, 1L);
+		for (String collection : new String[] { "walls", "doors", "windows" }) {
+			verify(cache).evictCollectionData(Project.class.getName() + "." + collection, 1L);
+		}
+	}
+
+	@Test
+	void readsElementsInKeysetChunks() {
+		insertProject(1L);
+		insertProject(2L);
+		repository.insertWalls(1L, new double[] { 0, 0, 1, 0, 1, 0, 2, 0, 2, 0, 3, 0, 3, 0, 4, 0, 4, 0, 5, 0 }, 5);
+		repository.insertWalls(2L, new double[] { 9, 9, 9, 9 }, 1);
+
+		List<Double> startXs = new ArrayList<>();
+		List<Integer> chunkSizes = new ArrayList<>();
+		Long lastId = 0L;
+		while (lastId != null) {
+			int before = startXs.size();
+			lastId = repository.forEachWallAfter(1L, lastId, 2, rs -> startXs.add(rs.getDouble(1)));
+			chunkSizes.add(startXs.size() - before);
+		}
+
+		assertThat(chunkSizes).containsExactly(2, 2, 1);
+		assertThat(startXs).containsExactly(0.0, 1.0, 2.0, 3.0, 4.0);
+		// 요소가 없으면 첫 묶음이 마지막
+		assertThat(repository.forEachDoorAfter(1L, 0L, 2, rs -> {
+		})).isNull();
+	}
+
+	private static void insertProject(Long id) {
+		jdbcTemplate.update("INSERT INTO project (id, title, version, history_seq, user_id, is_public)"
+				+ " VALUES (?, ?, 0, 0, 1, 0)", id, "plan" + id);
+	}
+
+	private static double estimatedArea(Long projectId) {
+		return jdbcTemplate.queryForObject("SELECT estimated_area FROM project WHERE id = ?", Double.class, projectId);
+	}
+
+	private static int count(String table, Long projectId) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE project_id = ?", Integer.class,
+				projectId);
+	}
+}
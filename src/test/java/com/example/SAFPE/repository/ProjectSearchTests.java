@@ -0,0 +1,216 @@
+package com.example.SAFPE.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.SAFPE.config.jwt.UserPrincipal;
+import com.example.SAFPE.dto.ProjectSearchRequest;
+import com.example.SAFPE.dto.ProjectSummaryDto;
+import com.example.SAFPE.service.AiAnalysisClient;
+import com.example.SAFPE.service.FileStorageService;
+import com.example.SAFPE.service.PlanHistoryService;
+import com.example.SAFPE.service.PlanThumbnailService;
+import com.example.SAFPE.service.ProjectJsonWriter;
+import com.example.SAFPE.service.ProjectService;
+import com.example.SAFPE.service.PublicProjectCache;
+import com.example.SAFPE.service.importer.PlanImporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import jakarta.persistence.EntityManager;
+
+/**
+ * 마이그레이션을 적용한 내장 MariaDB에서 ProjectService.searchProjects 조건별 결과 확인
+ *
+ * FULLTEXT 인덱스는 커밋된 행만 검색하므로 테스트 트랜잭션 없이 데이터를 커밋해 두고 조회한다. 잘못된 범위와 크기는
+ * IllegalArgumentException(GlobalExceptionHandler에서 400)으로 거절한다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProjectSearchTests {
+
+	private static final long OWNER = 1L;
+	private static final long OTHER = 2L;
+
+	private static DB db;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private ProjectService projectService;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws Exception {
+		DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+		config.setPort(0); // 비어 있는 포트 사용
+		db = DB.newEmbeddedDB(config.build());
+		db.start();
+		db.createDB("safpe");
+
+		registry.add("spring.datasource.url", () -> config.getURL("safpe"));
+		registry.add("spring.datasource.username", () -> "root");
+		registry.add("spring.datasource.password", () -> "");
+	}
+
+	@AfterAll
+	static void stopDatabase() throws Exception {
+		if (db != null) {
+			db.stop();
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		projectService = new ProjectService(projectRepository, mock(FileStorageService.class),
+				mock(UserRepository.class), mock(AiAnalysisClient.class), mock(PublicProjectCache.class),
+				mock(PlanHistoryService.class), new ProjectJsonWriter(new ObjectMapper()), mock(PlanImporter.class),
+				mock(PlanElementJdbcRepository.class), mock(PlanThumbnailService.class), entityManager,
+				transactionManager);
+
+		jdbcTemplate.update(
+				"INSERT INTO users (id, username, password) VALUES (?, 'owner', 'hash1'), (?, 'other', 'hash2')", OWNER,
+				OTHER);
+		insertProject(1, OWNER, "Kitchen remodel", LocalDateTime.of(2024, 3, 1, 0, 0), 30);
+		insertProject(2, OWNER, "Office 50%_plan", LocalDateTime.of(2024, 3, 5, 23, 59, 59), 50);
+		insertProject(3, OWNER, "Office 50x plan", LocalDateTime.of(2024, 3, 6, 0, 0), 80);
+		insertProject(4, OWNER, "Kitchen office", LocalDateTime.of(2024, 3, 10, 12, 0), 120);
+		insertProject(5, OTHER, "Kitchen office", LocalDateTime.of(2024, 3, 10, 12, 0), 120);
+
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new UserPrincipal(OWNER, "owner", null), null, List.of()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		jdbcTemplate.update("DELETE FROM project");
+		jdbcTemplate.update("DELETE FROM users");
+	}
+
+	@Test
+	void booleanQueryStripsOperators() {
+		assertThat(ProjectSpecs.toBooleanQuery(" kitchen  +office ")).isEqualTo("+kitchen* +office*");
+		assertThat(ProjectSpecs.toBooleanQuery("-(office)~ \"plan\" <a> @2 b*"))
+				.isEqualTo("+office* +plan* +a* +2* +b*");
+		assertThat(ProjectSpecs.toBooleanQuery(" +-*\"() ")).isEmpty();
+		assertThat(ProjectSpecs.toBooleanQuery(null)).isEmpty();
+	}
+
+	@Test
+	void wordSearchRequiresEveryWordAsPrefix() {
+		// '-office'를 제외 조건으로 해석하지 않고 필수 단어로 찾는다.
+		assertThat(search(request -> request.setQ("kitch -office"))).containsExactly(4L);
+		assertThat(search(request -> request.setQ("offi"))).containsExactly(4L, 3L, 2L);
+	}
+
+	@Test
+	void emptyWordSearchHasNoCondition() {
+		assertThat(search(request -> request.setQ(" "))).containsExactly(4L, 3L, 2L, 1L);
+		assertThat(search(request -> request.setQ("+-*"))).containsExactly(4L, 3L, 2L, 1L);
+	}
+
+	@Test
+	void titlePrefixEscapesWildcards() {
+		// 이스케이프하지 않으면 '%'와 '_'가 와일드카드가 되어 "Office 50x plan"도 일치한다.
+		assertThat(search(request -> request.setTitlePrefix("Office 50%_"))).containsExactly(2L);
+		assertThat(search(request -> request.setTitlePrefix("Office 50"))).containsExactly(3L, 2L);
+	}
+
+	@Test
+	void dateRangeIncludesBothDays() {
+		assertThat(search(request -> {
+			request.setCreatedFrom(LocalDate.of(2024, 3, 5));
+			request.setCreatedTo(LocalDate.of(2024, 3, 5));
+		})).containsExactly(2L);
+		assertThat(search(request -> request.setCreatedTo(LocalDate.of(2024, 3, 5)))).containsExactly(2L, 1L);
+		assertThat(search(request -> request.setCreatedFrom(LocalDate.of(2024, 3, 6)))).containsExactly(4L, 3L);
+		assertThat(search(request -> {
+			request.setCreatedFrom(LocalDate.of(2024, 3, 1));
+			request.setCreatedTo(LocalDate.of(2024, 3, 10));
+		})).containsExactly(4L, 3L, 2L, 1L);
+	}
+
+	@Test
+	void areaRangeIncludesBothEnds() {
+		assertThat(search(request -> {
+			request.setMinArea(50.0);
+			request.setMaxArea(80.0);
+		})).containsExactly(3L, 2L);
+	}
+
+	@Test
+	void lastIdContinuesFromPreviousPage() {
+		assertThat(search(request -> request.setSize(2))).containsExactly(4L, 3L);
+		assertThat(search(request -> {
+			request.setSize(2);
+			request.setLastId(3L);
+		})).containsExactly(2L, 1L);
+		assertThat(search(request -> {
+			request.setSize(2);
+			request.setLastId(1L);
+		})).isEmpty();
+	}
+
+	@Test
+	void invalidRangesAndSizesAreRejected() {
+		assertThatThrownBy(() -> search(request -> {
+			request.setCreatedFrom(LocalDate.of(2024, 3, 10));
+			request.setCreatedTo(LocalDate.of(2024, 3, 1));
+		})).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("created");
+		assertThatThrownBy(() -> search(request -> {
+			request.setUpdatedFrom(LocalDate.of(2024, 3, 10));
+			request.setUpdatedTo(LocalDate.of(2024, 3, 1));
+		})).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("updated");
+		assertThatThrownBy(() -> search(request -> {
+			request.setMinArea(80.0);
+			request.setMaxArea(50.0);
+		})).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("area");
+		assertThatThrownBy(() -> search(request -> request.setSize(0))).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> search(request -> request.setSize(101)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(search(request -> request.setSize(100))).hasSize(4);
+	}
+
+	private List<Long> search(Consumer<ProjectSearchRequest> condition) {
+		ProjectSearchRequest request = new ProjectSearchRequest();
+		condition.accept(request);
+		return projectService.searchProjects(request).stream().map(ProjectSummaryDto::getId).toList();
+	}
+
+	private void insertProject(long id, long userId, String title, LocalDateTime createdAt, double area) {
+		jdbcTemplate.update(
+				"INSERT INTO project (id, title, version, history_seq, user_id, is_public, share_id, create_at,"
+						+ " update_at, estimated_area) VALUES (?, ?, 0, 0, ?, false, ?, ?, ?, ?)",
+				id, title, userId, "share" + id, createdAt, createdAt, area);
+	}
+}
@@ -0,0 +1,189 @@
+package com.example.SAFPE.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * 마이그레이션을 적용한 내장 MariaDB에서 주요 조회의 실행 계획(EXPLAIN) 확인
+ *
+ * 쿼리는 리포지토리 메소드가 만드는 SQL과 같은 모양이다. 테이블 전체 스캔(type=ALL)이나 정렬(filesort)이 나오면 실패한다.
+ */
+class QueryPlanTests {
+
+	private static final int USERS = 5;
+	private static final int PROJECTS_PER_USER = 40;
+	private static final int ELEMENTS_PER_PROJECT = 30;
+
+	private static DB db;
+	private static JdbcTemplate jdbcTemplate;
+
+	@BeforeAll
+	static void startDatabase() throws Exception {
+		DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+		config.setPort(0); // 비어 있는 포트 사용
+		db = DB.newEmbeddedDB(config.build());
+		db.start();
+		db.createDB("safpe");
+
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(config.getURL("safpe"), "root", "");
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		insertSampleData();
+	}
+
+	@AfterAll
+	static void stopDatabase() throws Exception {
+		if (db != null) {
+			db.stop();
+		}
+	}
+
+	// 옵티마이저가 작은 테이블이라고 전체 스캔을 고르지 않도록 여러 사용자와 프로젝트의 데이터를 넣는다.
+	private static void insertSampleData() {
+		for (int u = 1; u <= USERS; u++) {
+			jdbcTemplate.update("INSERT INTO users (id, username, password) VALUES (?, ?, ?)", u, "user" + u,
+					"hash" + u);
+		}
+
+		List<Object[]> projects = new ArrayList<>();
+		List<Object[]> walls = new ArrayList<>();
+		List<Object[]> openings = new ArrayList<>();
+		List<Object[]> operations = new ArrayList<>();
+		List<Object[]> snapshots = new ArrayList<>();
+		long projectId = 0;
+		for (int u = 1; u <= USERS; u++) {
+			for (int p = 0; p < PROJECTS_PER_USER; p++) {
+				projectId++;
+				projects.add(new Object[] { projectId, "plan" + projectId, 0, 0, u, false, "share" + projectId });
+				for (int e = 0; e < ELEMENTS_PER_PROJECT; e++) {
+					walls.add(new Object[] { e, e, e + 1, e + 1, projectId });
+					openings.add(new Object[] { e, e, 0.9, projectId });
+					operations.add(new Object[] { projectId, e + 1L, "ADD", "WALL", "{}" });
+				}
+				snapshots.add(new Object[] { projectId, 0L, "{}" });
+			}
+		}
+
+		jdbcTemplate.batchUpdate("INSERT INTO project (id, title, version, history_seq, user_id, is_public, share_id)"
+				+ " VALUES (?, ?, ?, ?, ?, ?, ?)", projects);
+		jdbcTemplate.batchUpdate("INSERT INTO wall (start_x, start_y, end_x, end_y, project_id) VALUES (?, ?, ?, ?, ?)",
+				walls);
+		jdbcTemplate.batchUpdate("INSERT INTO door (x, y, width, project_id) VALUES (?, ?, ?, ?)", openings);
+		jdbcTemplate.batchUpdate("INSERT INTO `window` (x, y, width, project_id) VALUES (?, ?, ?, ?)", openings);
+		jdbcTemplate.batchUpdate(
+				"INSERT INTO plan_operation (project_id, seq, op, element, payload) VALUES (?, ?, ?, ?, ?)",
+				operations);
+		jdbcTemplate.batchUpdate("INSERT INTO plan_snapshot (project_id, seq, plan_data) VALUES (?, ?, ?)",
+				snapshots);
+
+		jdbcTemplate.execute("ANALYZE TABLE users, project, wall, door, `window`, plan_operation, plan_snapshot");
+	}
+
+	@Test
+	void projectListUsesUserIndexInIdOrder() {
+		// findByUserIdOrderByIdDesc, findByUserIdAndIdLessThanOrderByIdDesc
+		assertIndexed("SELECT * FROM project p WHERE p.user_id = ? ORDER BY p.id DESC", 2L);
+		assertIndexed("SELECT * FROM project p WHERE p.user_id = ? AND p.id < ? ORDER BY p.id DESC LIMIT ?", 2L,
+				60L, 50);
+	}
+
+	@Test
+	void versionLookupReadsOnlyTheIndex() {
+		// findVersionByUserIdAndId
+		assertCovered("SELECT p.version FROM project p WHERE p.user_id = ? AND p.id = ?", 2L, 45L);
+	}
+
+	@Test
+	void sharedProjectLookupUsesShareId() {
+		// findByShareIdAndIsPublicTrue
+		assertIndexed("SELECT * FROM project p WHERE p.share_id = ? AND p.is_public = 1", "share45");
+	}
+
+	@Test
+	void planElementsAreReadFromCoveringIndexes() {
+		// 목록/상세 조회의 @BatchSize 로딩 (project_id IN (...))
+		assertCovered("SELECT w.id, w.start_x, w.start_y, w.end_x, w.end_y, w.project_id FROM wall w"
+				+ " WHERE w.project_id IN (?, ?, ?)", 1L, 2L, 3L);
+		assertCovered("SELECT d.id, d.x, d.y, d.width, d.project_id FROM door d WHERE d.project_id IN (?, ?, ?)", 1L,
+				2L, 3L);
+		assertCovered("SELECT w.id, w.x, w.y, w.width, w.project_id FROM `window` w WHERE w.project_id IN (?, ?, ?)",
+				1L, 2L, 3L);
+
+		// DXF 내보내기 (PlanElementJdbcRepository)
+		assertCovered("SELECT start_x, start_y, end_x, end_y FROM wall WHERE project_id = ? ORDER BY id", 7L);
+		assertCovered("SELECT x, y, width FROM door WHERE project_id = ? ORDER BY id", 7L);
+		assertCovered("SELECT x, y, width FROM `window` WHERE project_id = ? ORDER BY id", 7L);
+	}
+
+	@Test
+	void historyQueriesUseProjectSeqIndex() {
+		// PlanOperationRepository, PlanSnapshotRepository
+		assertIndexed("SELECT * FROM plan_operation o WHERE o.project_id = ? AND o.seq > ? AND o.seq <= ?"
+				+ " ORDER BY o.seq ASC", 7L, 5L, 20L);
+		assertIndexed("SELECT * FROM plan_operation o WHERE o.project_id = ? AND o.seq < ?"
+				+ " ORDER BY o.seq DESC LIMIT ?", 7L, 20L, 10);
+		assertIndexed("SELECT * FROM plan_snapshot s WHERE s.project_id = ? AND s.seq <= ?"
+				+ " ORDER BY s.seq DESC LIMIT 1", 7L, 20L);
+	}
+
+	@Test
+	void projectSearchUsesIndexes() {
+		// ProjectSpecs 조건 (user_id 조건과 함께 조건 컬럼 인덱스나 (user_id, id) 인덱스를 사용, 정렬 방식은 옵티마이저가 고름)
+		assertNoFullScan("SELECT * FROM project p WHERE p.user_id = ? AND MATCH (p.title) AGAINST (? IN BOOLEAN MODE) > 0"
+				+ " ORDER BY p.id DESC LIMIT ?", 2L, "+plan4*", 20);
+		assertNoFullScan("SELECT * FROM project p WHERE p.user_id = ? AND p.title LIKE ? ESCAPE '\\\\'"
+				+ " ORDER BY p.id DESC LIMIT ?", 2L, "plan4%", 20);
+		assertNoFullScan("SELECT * FROM project p WHERE p.user_id = ? AND p.create_at >= ? AND p.create_at < ?"
+				+ " AND p.id < ? ORDER BY p.id DESC LIMIT ?", 2L, "2025-01-01", "2025-02-01", 60L, 20);
+		assertNoFullScan("SELECT * FROM project p WHERE p.user_id = ? AND p.estimated_area BETWEEN ? AND ?"
+				+ " ORDER BY p.id DESC LIMIT ?", 2L, 10.0, 50.0, 20);
+
+		// 공개 여부는 (user_id, is_public, id) 순서로 읽으므로 정렬도 인덱스로 처리
+		assertIndexed("SELECT * FROM project p WHERE p.user_id = ? AND p.is_public = 1 AND p.id < ?"
+				+ " ORDER BY p.id DESC LIMIT ?", 2L, 60L, 20);
+	}
+
+	private static List<Map<String, Object>> explain(String sql, Object... args) {
+		List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, args);
+		assertThat(plan).isNotEmpty();
+		return plan;
+	}
+
+	private static void assertIndexed(String sql, Object... args) {
+		for (Map<String, Object> row : explain(sql, args)) {
+			assertThat(row.get("type")).as("access type of %s", sql).isNotEqualTo("ALL");
+			assertThat(row.get("key")).as("index used by %s", sql).isNotNull();
+			assertThat(String.valueOf(row.get("Extra"))).as("extra of %s", sql).doesNotContain("filesort");
+		}
+	}
+
+	private static void assertNoFullScan(String sql, Object... args) {
+		for (Map<String, Object> row : explain(sql, args)) {
+			assertThat(row.get("type")).as("access type of %s", sql).isNotEqualTo("ALL");
+			assertThat(row.get("key")).as("index used by %s", sql).isNotNull();
+		}
+	}
+
+	// 인덱스만 읽고 테이블 행에는 가지 않아야 함 (Extra: Using index)
+	private static void assertCovered(String sql, Object... args) {
+		assertIndexed(sql, args);
+		for (Map<String, Object> row : explain(sql, args)) {
+			// "Using index condition"은 테이블 행을 읽으므로 제외
+			assertThat(String.valueOf(row.get("Extra")).split(";\\s*")).as("extra of %s", sql)
+					.contains("Using index");
+		}
+	}
+}
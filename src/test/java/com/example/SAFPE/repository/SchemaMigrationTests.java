@@ -0,0 +1,106 @@
+package com.example.SAFPE.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * 빈 DB와 ddl-auto로 만들어진 기존 DB 모두 마이그레이션 뒤에 같은 컬럼과 유니크 키 이름을 갖는지 확인
+ *
+ * 중복 가입(AuthService)과 이력 seq 충돌(PlanHistoryService)은 유니크 키 이름으로 구분하므로 이름이 다르면 안 된다.
+ */
+class SchemaMigrationTests {
+
+	private static DB db;
+	private static DBConfigurationBuilder config;
+
+	@BeforeAll
+	static void startDatabase() throws Exception {
+		config = DBConfigurationBuilder.newBuilder();
+		config.setPort(0); // 비어 있는 포트 사용
+		db = DB.newEmbeddedDB(config.build());
+		db.start();
+	}
+
+	@AfterAll
+	static void stopDatabase() throws Exception {
+		if (db != null) {
+			db.stop();
+		}
+	}
+
+	@Test
+	void emptyDatabaseGetsNamedConstraints() throws Exception {
+		JdbcTemplate jdbcTemplate = migrate("fresh", null);
+
+		assertNamedConstraints(jdbcTemplate);
+	}
+
+	@Test
+	void hibernateCreatedDatabaseIsUpgradedFromBaseline() throws Exception {
+		// Flyway 도입 전 ddl-auto가 만든 스키마: 이력 테이블과 version 컬럼이 이미 있고 유니크 키 이름은 해시값
+		JdbcTemplate jdbcTemplate = migrate("legacy", legacy -> {
+			legacy.execute(connection -> {
+				ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline.sql"));
+				return null;
+			});
+			legacy.execute("ALTER TABLE users ADD CONSTRAINT UKr43af9ap4edm43mmtq01oddj6 UNIQUE (username)");
+			legacy.execute("ALTER TABLE project ADD COLUMN version BIGINT NOT NULL");
+			legacy.execute("CREATE TABLE plan_operation (id BIGINT NOT NULL AUTO_INCREMENT, project_id BIGINT NOT NULL,"
+					+ " seq BIGINT NOT NULL, op ENUM('ADD', 'UPDATE', 'REMOVE', 'REPLACE') NOT NULL,"
+					+ " element ENUM('WALL', 'DOOR', 'WINDOW'), element_id BIGINT, payload MEDIUMTEXT NOT NULL,"
+					+ " create_at DATETIME(6), PRIMARY KEY (id),"
+					+ " CONSTRAINT UKl6tt0pn6bqtwvyy5chmc1xgr UNIQUE (project_id, seq))");
+			legacy.update("INSERT INTO users (id, username, password) VALUES (1, 'user', 'hash')");
+			legacy.update("INSERT INTO project (id, title, version, user_id, is_public) VALUES (1, 'plan', 7, 1, 0)");
+		});
+
+		assertNamedConstraints(jdbcTemplate);
+		// 이미 있던 데이터는 그대로 두고, 없던 컬럼만 기본값으로 추가된다.
+		assertThat(jdbcTemplate.queryForObject("SELECT version FROM project WHERE id = 1", Long.class)).isEqualTo(7);
+		assertThat(jdbcTemplate.queryForObject("SELECT history_seq FROM project WHERE id = 1", Long.class))
+				.isZero();
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE()"
+						+ " AND table_name = 'plan_operation' AND index_name LIKE 'UK%' AND index_name <> ?",
+				Integer.class, "uk_plan_operation_project_seq")).isZero();
+	}
+
+	private JdbcTemplate migrate(String schema, Consumer<JdbcTemplate> existing) throws Exception {
+		db.createDB(schema);
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(config.getURL(schema), "root", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		if (existing != null) {
+			existing.accept(jdbcTemplate);
+		}
+		// FlywayConfig와 같은 설정
+		Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+		return jdbcTemplate;
+	}
+
+	private static void assertNamedConstraints(JdbcTemplate jdbcTemplate) {
+		List<String> names = jdbcTemplate.queryForList(
+				"SELECT DISTINCT index_name FROM information_schema.statistics WHERE table_schema = DATABASE()"
+						+ " AND non_unique = 0 AND index_name LIKE 'uk\\_%'",
+				String.class);
+		assertThat(names).contains("uk_users_username", "uk_plan_operation_project_seq",
+				"uk_plan_snapshot_project_seq");
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT is_nullable FROM information_schema.columns WHERE table_schema = DATABASE()"
+						+ " AND table_name = 'users' AND column_name = 'username'",
+				String.class)).isEqualTo("NO");
+	}
+}
@@ -0,0 +1,237 @@
+package com.example.SAFPE.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.SAFPE.config.HibernateCacheConfig;
+import com.example.SAFPE.config.jwt.UserPrincipal;
+import com.example.SAFPE.entity.Door;
+import com.example.SAFPE.entity.Point;
+import com.example.SAFPE.entity.Project;
+import com.example.SAFPE.entity.User;
+import com.example.SAFPE.entity.Wall;
+import com.example.SAFPE.entity.Window;
+import com.example.SAFPE.exception.ResourceNotFoundException;
+import com.example.SAFPE.service.AiAnalysisClient;
+import com.example.SAFPE.service.FileStorageService;
+import com.example.SAFPE.service.PlanHistoryService;
+import com.example.SAFPE.service.PlanThumbnailService;
+import com.example.SAFPE.service.ProjectJsonWriter;
+import com.example.SAFPE.service.ProjectService;
+import com.example.SAFPE.service.PublicProjectCache;
+import com.example.SAFPE.service.importer.PlanImporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 프로젝트 상세 조회의 2차 캐시 적중과 수정 후 캐시 무효화 확인
+ *
+ * 조회는 ProjectService의 상세 조회, 공유 조회를 그대로 호출한다. 캐시는 커밋할 때 갱신되므로 테스트 트랜잭션 없이 단계마다
+ * TransactionTemplate으로 커밋한다.
+ */
+@DataJpaTest(properties = { "spring.flyway.enabled=false",
+		"spring.jpa.properties.hibernate.auto_quote_keyword=true" })
+@Import(HibernateCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTests {
+
+	private static final int ELEMENTS = 200;
+	private static final int LOADS = 50;
+	private static final String SHARE_ID = "cache-share";
+
+	@Autowired
+	private ProjectRepository projectRepository;
+	@Autowired
+	private WallRepository wallRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transaction;
+	private Statistics statistics;
+	private ProjectService projectService;
+	private Long projectId;
+
+	@BeforeEach
+	void setUp() {
+		transaction = new TransactionTemplate(transactionManager);
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		projectService = new ProjectService(projectRepository, mock(FileStorageService.class), userRepository,
+				mock(AiAnalysisClient.class), mock(PublicProjectCache.class), mock(PlanHistoryService.class),
+				new ProjectJsonWriter(new ObjectMapper().findAndRegisterModules()), mock(PlanImporter.class),
+				mock(PlanElementJdbcRepository.class), mock(PlanThumbnailService.class), entityManager,
+				transactionManager);
+
+		User user = transaction
+				.execute(status -> userRepository.save(User.builder().username("cache-user").password("hash").build()));
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new UserPrincipal(user.getId(), user.getUsername(), null), null, List.of()));
+
+		projectId = transaction.execute(status -> {
+			Project project = Project.builder().title("cached plan").user(user).isPublic(true).shareId(SHARE_ID)
+					.build();
+			for (int i = 0; i < ELEMENTS; i++) {
+				project.getWalls().add(Wall.builder().startPoint(new Point(i, 0)).endPoint(new Point(i, 10))
+						.project(project).build());
+				project.getDoors().add(Door.builder().position(new Point(i, 5)).width(0.9).project(project).build());
+				project.getWindows()
+						.add(Window.builder().position(new Point(i, 8)).width(1.2).project(project).build());
+			}
+			return projectRepository.save(project).getId();
+		});
+		evictAll();
+		statistics.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		transaction.executeWithoutResult(status -> {
+			projectRepository.deleteAll();
+			userRepository.deleteAll();
+		});
+		evictAll();
+	}
+
+	@Test
+	void repeatedDetailLoadsAreServedFromCache() {
+		loadDetail(); // 첫 조회에서 캐시에 올라감
+		long statementsAfterFirstLoad = statistics.getPrepareStatementCount();
+		long missesAfterFirstLoad = statistics.getSecondLevelCacheMissCount();
+		assertThat(statementsAfterFirstLoad).isGreaterThan(0);
+		assertThat(missesAfterFirstLoad).isGreaterThan(0);
+		assertThat(statistics.getSecondLevelCachePutCount()).isGreaterThanOrEqualTo(1 + 3 + ELEMENTS * 3);
+
+		for (int i = 0; i < LOADS; i++) {
+			loadDetail();
+		}
+
+		// 프로젝트, 요소 컬렉션, 요소가 모두 캐시에서 나온다.
+		assertThat(statistics.getPrepareStatementCount()).as("statements after the first load")
+				.isEqualTo(statementsAfterFirstLoad);
+		assertThat(statistics.getSecondLevelCacheMissCount()).as("misses after the first load")
+				.isEqualTo(missesAfterFirstLoad);
+		assertThat(region("project").getHitCount()).isGreaterThanOrEqualTo(LOADS);
+		assertThat(region("project.walls").getHitCount()).isEqualTo(LOADS);
+		assertThat(region("project.doors").getHitCount()).isEqualTo(LOADS);
+		assertThat(region("project.windows").getHitCount()).isEqualTo(LOADS);
+		assertThat(region("wall").getHitCount()).isGreaterThanOrEqualTo((long) LOADS * ELEMENTS);
+	}
+
+	@Test
+	void sharedProjectReadsElementsFromCache() {
+		loadShared();
+		long statementsAfterFirstLoad = statistics.getPrepareStatementCount();
+		long missesAfterFirstLoad = statistics.getSecondLevelCacheMissCount();
+
+		for (int i = 0; i < LOADS; i++) {
+			loadShared();
+		}
+
+		// 공유 ID 조건의 쿼리는 캐시를 거치지 않으므로 조회마다 프로젝트 한 행만 읽고, 요소는 캐시에서 나온다.
+		assertThat(statistics.getPrepareStatementCount() - statementsAfterFirstLoad).isEqualTo(LOADS);
+		assertThat(statistics.getSecondLevelCacheMissCount()).isEqualTo(missesAfterFirstLoad);
+		assertThat(region("project.walls").getHitCount()).isEqualTo(LOADS);
+		assertThat(region("window").getHitCount()).isGreaterThanOrEqualTo((long) LOADS * ELEMENTS);
+	}
+
+	@Test
+	void cachedProjectIsStillCheckedForOwner() {
+		loadDetail();
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new UserPrincipal(-1L, "someone", null), null, List.of()));
+
+		// 캐시에서 읽은 프로젝트도 소유자를 확인한다.
+		assertThatThrownBy(this::loadDetail).isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	@Test
+	void replacingElementsInvalidatesCollectionCache() {
+		loadDetail();
+
+		// updateProject의 replacePlanElements와 같이 컬렉션을 비우고 새 요소로 채움 (orphanRemoval로 기존 행 삭제)
+		transaction.executeWithoutResult(status -> {
+			Project project = projectRepository.findById(projectId).orElseThrow();
+			project.getWalls().clear();
+			project.getWalls().add(Wall.builder().startPoint(new Point(-1, -1)).endPoint(new Point(1, 1))
+					.project(project).build());
+			project.getDoors().clear();
+			projectRepository.saveAndFlush(project);
+		});
+
+		transaction.executeWithoutResult(status -> {
+			Project project = projectRepository.findById(projectId).orElseThrow();
+			assertThat(project.getWalls()).singleElement()
+					.satisfies(wall -> assertThat(wall.getStartPoint().getX()).isEqualTo(-1));
+			assertThat(project.getDoors()).isEmpty();
+			assertThat(project.getWindows()).hasSize(ELEMENTS);
+		});
+	}
+
+	@Test
+	void deletingElementThroughItsRepositoryInvalidatesCollectionCache() {
+		loadDetail();
+
+		Long wallId = transaction
+				.execute(status -> projectRepository.findById(projectId).orElseThrow().getWalls().get(0).getId());
+
+		// 실시간 편집(PlanOperationService)처럼 프로젝트 컬렉션을 거치지 않고 벽만 삭제
+		transaction.executeWithoutResult(
+				status -> wallRepository.delete(wallRepository.findByIdAndProjectId(wallId, projectId).orElseThrow()));
+
+		transaction.executeWithoutResult(status -> assertThat(
+				projectRepository.findById(projectId).orElseThrow().getWalls()).hasSize(ELEMENTS - 1));
+	}
+
+	// 상세 조회 (프로젝트와 모든 요소를 DTO로 변환)
+	private void loadDetail() {
+		transaction.executeWithoutResult(status -> projectService.getProjectById(projectId));
+	}
+
+	// 공유 링크 조회 (프로젝트와 모든 요소를 JSON으로 직렬화)
+	private void loadShared() {
+		transaction.executeWithoutResult(status -> {
+			try {
+				projectService.getPublicProjectJson(SHARE_ID);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	private CacheRegionStatistics region(String name) {
+		return statistics.getDomainDataRegionStatistics(name);
+	}
+
+	private void evictAll() {
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+	}
+}
@@ -0,0 +1,131 @@
+package com.example.SAFPE.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.SAFPE.dto.ai.AiAnalysisResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 로컬 AI 서버 흉내(/analyze)로 같은 이미지 요청 합치기와 동시 요청 수 제한 확인
+ *
+ * 서버는 테스트가 release를 열 때까지 응답하지 않으므로, 요청이 진행 중인 상태를 시간에 기대지 않고 만든다.
+ */
+class AiAnalysisClientTests {
+
+	private static final int MAX_CONCURRENT_REQUESTS = 2;
+	private static final String RESPONSE = "{\"detectedLines\":[{\"start\":{\"x\":1,\"y\":2},\"end\":{\"x\":3,\"y\":4}}]}";
+
+	private HttpServer server;
+	private ExecutorService serverExecutor;
+	private AiAnalysisClient client;
+
+	private final AtomicInteger calls = new AtomicInteger();
+	private final AtomicInteger active = new AtomicInteger();
+	private final AtomicInteger maxActive = new AtomicInteger();
+	private final CountDownLatch release = new CountDownLatch(1);
+	private volatile CountDownLatch arrived = new CountDownLatch(1);
+
+	@BeforeEach
+	void startServer() throws IOException {
+		serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 64);
+		server.setExecutor(serverExecutor);
+		server.createContext("/analyze", exchange -> {
+			try (InputStream in = exchange.getRequestBody()) {
+				in.readAllBytes();
+			}
+			calls.incrementAndGet();
+			maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+			arrived.countDown();
+			try {
+				release.await(30, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			active.decrementAndGet();
+
+			byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+
+		// 전처리 없이 원본을 그대로 보낸다.
+		client = new AiAnalysisClient(WebClient.builder(), new ObjectMapper(),
+				new AnalysisImagePreprocessor(false, 1600, "png"),
+				"http://127.0.0.1:" + server.getAddress().getPort(), MAX_CONCURRENT_REQUESTS, 100, 30_000);
+	}
+
+	@AfterEach
+	void stopServer() {
+		release.countDown();
+		server.stop(0);
+		serverExecutor.shutdownNow();
+	}
+
+	@Test
+	void identicalInFlightUploadsShareOneUpstreamCall() throws Exception {
+		byte[] image = "same image".getBytes(StandardCharsets.UTF_8);
+		List<CompletableFuture<AiAnalysisResponse>> results = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			results.add(client.analyze(image, "plan-" + i + ".png").toFuture());
+		}
+		assertThat(arrived.await(10, TimeUnit.SECONDS)).isTrue();
+
+		release.countDown();
+		for (CompletableFuture<AiAnalysisResponse> result : results) {
+			assertThat(result.get(10, TimeUnit.SECONDS).getDetectedLines()).hasSize(1);
+		}
+		assertThat(calls.get()).isEqualTo(1);
+
+		// 끝난 요청은 합치지 않고 새로 보낸다.
+		client.analyze(image, "plan.png").toFuture().get(10, TimeUnit.SECONDS);
+		assertThat(calls.get()).isEqualTo(2);
+	}
+
+	@Test
+	void concurrentUpstreamCallsAreLimited() throws Exception {
+		arrived = new CountDownLatch(MAX_CONCURRENT_REQUESTS);
+		List<CompletableFuture<AiAnalysisResponse>> results = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			results.add(client.analyze(("image " + i).getBytes(StandardCharsets.UTF_8), "plan.png").toFuture());
+		}
+
+		// 한도만큼만 서버에 도착하고 나머지는 커넥션을 기다린다.
+		assertThat(arrived.await(10, TimeUnit.SECONDS)).isTrue();
+		Thread.sleep(200);
+		assertThat(calls.get()).isEqualTo(MAX_CONCURRENT_REQUESTS);
+
+		release.countDown();
+		for (CompletableFuture<AiAnalysisResponse> result : results) {
+			result.get(10, TimeUnit.SECONDS);
+		}
+		assertThat(calls.get()).isEqualTo(5);
+		assertThat(maxActive.get()).isEqualTo(MAX_CONCURRENT_REQUESTS);
+	}
+}
@@ -0,0 +1,114 @@
+package com.example.SAFPE.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.example.SAFPE.dto.PointDto;
+import com.example.SAFPE.dto.WallDto;
+import com.example.SAFPE.dto.ai.AiAnalysisResponse;
+import com.example.SAFPE.service.AnalysisImagePreprocessor.PreparedImage;
+
+/**
+ * EXIF 방향을 적용해서 줄인 이미지를 보내고, 분석 결과 좌표를 방향 적용된 원본 크기로 되돌리는지 확인
+ */
+class AnalysisImagePreprocessorTests {
+
+	private final AnalysisImagePreprocessor preprocessor = new AnalysisImagePreprocessor(true, 20, "png");
+
+	/**
+	 * 저장된 40 x 20 사진의 왼쪽 위에 검은 사각형을 두고, 방향을 적용한 뒤 그 사각형이 놓이는 모서리를 확인한다.
+	 */
+	@ParameterizedTest
+	@CsvSource({ "1, false, false", "2, true, false", "3, true, true", "4, false, true", "5, false, false",
+			"6, true, false", "7, true, true", "8, false, true" })
+	void appliesOrientationAndRestoresCoordinates(int orientation, boolean right, boolean bottom) throws IOException {
+		PreparedImage prepared = preprocessor.prepare(jpegWithOrientation(orientation), "plan.jpg");
+
+		boolean swap = ExifOrientation.swapsDimensions(orientation);
+		BufferedImage sent = ImageIO.read(new ByteArrayInputStream(prepared.getContent()));
+		assertThat(prepared.getFilename()).isEqualTo("plan.png");
+		assertThat(sent.getWidth()).isEqualTo(swap ? 10 : 20);
+		assertThat(sent.getHeight()).isEqualTo(swap ? 20 : 10);
+
+		int width = sent.getWidth();
+		int height = sent.getHeight();
+		int cornerX = right ? width - 3 : 2;
+		int cornerY = bottom ? height - 3 : 2;
+		assertThat(sent.getRaster().getSample(cornerX, cornerY, 0)).isLessThan(64);
+		assertThat(sent.getRaster().getSample(width - 1 - cornerX, height - 1 - cornerY, 0)).isGreaterThan(192);
+
+		// 보낸 이미지 기준 좌표 → 방향 적용된 원본(2배) 기준 좌표
+		AiAnalysisResponse response = new AiAnalysisResponse();
+		response.setWidth(width);
+		response.setHeight(height);
+		response.setDetectedLines(List.of(wall(1, 2, width, height)));
+		prepared.restore(response);
+
+		assertThat(response.getWidth()).isEqualTo(swap ? 20 : 40);
+		assertThat(response.getHeight()).isEqualTo(swap ? 40 : 20);
+		assertThat(response.getDetectedLines().get(0).getStart()).isEqualTo(new PointDto(2, 4));
+		assertThat(response.getDetectedLines().get(0).getEnd()).isEqualTo(new PointDto(response.getWidth(),
+				response.getHeight()));
+	}
+
+	@Test
+	void sendsUndecodableContentAsIs() {
+		byte[] content = "not an image".getBytes(StandardCharsets.UTF_8);
+		PreparedImage prepared = preprocessor.prepare(content, "plan.heic");
+
+		assertThat(prepared.getContent()).isSameAs(content);
+		assertThat(prepared.getFilename()).isEqualTo("plan.heic");
+
+		AiAnalysisResponse response = new AiAnalysisResponse();
+		response.setWidth(7);
+		response.setDetectedLines(List.of(wall(1, 2, 3, 4)));
+		prepared.restore(response);
+		assertThat(response.getWidth()).isEqualTo(7);
+		assertThat(response.getDetectedLines().get(0).getEnd()).isEqualTo(new PointDto(3, 4));
+	}
+
+	// 40 x 20 JPEG (왼쪽 위 10 x 10만 검은색) + JFIF 뒤에 EXIF 세그먼트
+	private static byte[] jpegWithOrientation(int orientation) throws IOException {
+		BufferedImage image = new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2d = image.createGraphics();
+		g2d.setColor(Color.WHITE);
+		g2d.fillRect(0, 0, 40, 20);
+		g2d.setColor(Color.BLACK);
+		g2d.fillRect(0, 0, 10, 10);
+		g2d.dispose();
+
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+		ImageIO.write(image, "jpg", encoded);
+		byte[] jpeg = encoded.toByteArray();
+
+		// SOI(2) + APP0(마커 2 + 길이)
+		int insertAt = 4 + (((jpeg[4] & 0xFF) << 8) | (jpeg[5] & 0xFF));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(jpeg, 0, insertAt);
+		out.write(ExifOrientationTests.exifSegment(orientation, ByteOrder.LITTLE_ENDIAN));
+		out.write(jpeg, insertAt, jpeg.length - insertAt);
+		return out.toByteArray();
+	}
+
+	private static WallDto wall(double startX, double startY, double endX, double endY) {
+		WallDto wall = new WallDto();
+		wall.setStart(new PointDto(startX, startY));
+		wall.setEnd(new PointDto(endX, endY));
+		return wall;
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.SAFPE.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.SAFPE.config.jwt.JwtTokenProvider;
+import com.example.SAFPE.dto.RegisterRequest;
+import com.example.SAFPE.entity.User;
+import com.example.SAFPE.repository.UserRepository;
+
+/**
+ * 회원가입 중 무결성 오류를 위반한 제약 조건에 따라 구분하는지 확인
+ */
+class AuthServiceTests {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final AuthService authService = new AuthService(userRepository, mock(PasswordEncoder.class),
+			mock(JwtTokenProvider.class), mock(AuthenticationManager.class));
+
+	@Test
+	void duplicateUsernameIsBadRequest() {
+		failSaveWith("users.uk_users_username");
+
+		assertThatThrownBy(() -> authService.register(request())).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Username is already taken");
+	}
+
+	@Test
+	void otherIntegrityViolationsAreRethrown() {
+		failSaveWith("uk_users_password");
+
+		assertThatThrownBy(() -> authService.register(request()))
+				.isInstanceOf(DataIntegrityViolationException.class);
+	}
+
+	private void failSaveWith(String constraintName) {
+		SQLIntegrityConstraintViolationException sqlException = new SQLIntegrityConstraintViolationException(
+				"Duplicate entry", "23000", 1062);
+		when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+				"could not execute statement",
+				new ConstraintViolationException("could not execute statement", sqlException, constraintName)));
+	}
+
+	private static RegisterRequest request() {
+		RegisterRequest request = new RegisterRequest();
+		request.setUsername("user");
+		request.setPassword("password");
+		return request;
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.SAFPE.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * 방향 값 1~8을 읽고, 저장된 픽셀을 브라우저가 보여주는 방향으로 옮기는지 확인
+ */
+class ExifOrientationTests {
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 2, 3, 4, 5, 6, 7, 8 })
+	void readsOrientationInBothByteOrders(int orientation) {
+		for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+			byte[] jpeg = ByteBuffer.allocate(52).put(new byte[] { (byte) 0xFF, (byte) 0xD8 })
+					.put(exifSegment(orientation, order)).put(new byte[] { (byte) 0xFF, (byte) 0xD9 }).array();
+
+			assertThat(ExifOrientation.read(jpeg)).as(order.toString()).isEqualTo(orientation);
+		}
+	}
+
+	@Test
+	void fallsBackToNormal() {
+		assertThat(ExifOrientation.read(new byte[] { (byte) 0x89, 'P', 'N', 'G' })).isEqualTo(ExifOrientation.NORMAL);
+		// APP1 없이 이미지 데이터 시작
+		assertThat(ExifOrientation.read(new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xDA, 0, 2 }))
+				.isEqualTo(ExifOrientation.NORMAL);
+		// 범위를 벗어난 값
+		byte[] jpeg = ByteBuffer.allocate(50).put(new byte[] { (byte) 0xFF, (byte) 0xD8 })
+				.put(exifSegment(9, ByteOrder.BIG_ENDIAN)).array();
+		assertThat(ExifOrientation.read(jpeg)).isEqualTo(ExifOrientation.NORMAL);
+		// 잘린 세그먼트
+		assertThat(ExifOrientation.read(Arrays.copyOf(jpeg, 20))).isEqualTo(ExifOrientation.NORMAL);
+	}
+
+	/**
+	 * 저장된 4 x 2 이미지의 왼쪽 위(0, 0)와 오른쪽 위(4, 0)가 화면에서 놓이는 위치
+	 */
+	@ParameterizedTest
+	@CsvSource({ "1, 0, 0, 4, 0", "2, 4, 0, 0, 0", "3, 4, 2, 0, 2", "4, 0, 2, 4, 2", "5, 0, 0, 0, 4",
+			"6, 2, 0, 2, 4", "7, 2, 4, 2, 0", "8, 0, 4, 0, 0" })
+	void transformsStoredCornersToDisplayedCorners(int orientation, double topLeftX, double topLeftY,
+			double topRightX, double topRightY) {
+		AffineTransform transform = ExifOrientation.transform(orientation, 4, 2);
+
+		assertThat(transform.transform(new Point2D.Double(0, 0), null))
+				.isEqualTo(new Point2D.Double(topLeftX, topLeftY));
+		assertThat(transform.transform(new Point2D.Double(4, 0), null))
+				.isEqualTo(new Point2D.Double(topRightX, topRightY));
+
+		// 이미지 전체가 방향 적용 후 크기 안에 정확히 들어간다.
+		boolean swap = ExifOrientation.swapsDimensions(orientation);
+		assertThat(transform.createTransformedShape(new Rectangle2D.Double(0, 0, 4, 2)).getBounds2D())
+				.isEqualTo(new Rectangle2D.Double(0, 0, swap ? 2 : 4, swap ? 4 : 2));
+	}
+
+	/**
+	 * IFD0에 Make, Orientation 태그가 있는 APP1 세그먼트 (48바이트)
+	 */
+	static byte[] exifSegment(int orientation, ByteOrder order) {
+		ByteBuffer app1 = ByteBuffer.allocate(48);
+		app1.put((byte) 0xFF).put((byte) 0xE1).putShort((short) 46); // 길이는 길이 필드 포함
+		app1.put(new byte[] { 'E', 'x', 'i', 'f', 0, 0 });
+
+		app1.order(order);
+		app1.put(order == ByteOrder.LITTLE_ENDIAN ? new byte[] { 'I', 'I' } : new byte[] { 'M', 'M' });
+		app1.putShort((short) 42).putInt(8); // IFD0는 TIFF 헤더 바로 뒤
+		app1.putShort((short) 2);
+		app1.putShort((short) 0x010F).putShort((short) 2).putInt(1).putInt(0); // Make (건너뛰어야 함)
+		app1.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+		app1.putInt(0); // 다음 IFD 없음
+		return app1.array();
+	}
+}
@@ -0,0 +1,86 @@
+package com.example.SAFPE.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.example.SAFPE.entity.PlanOperation;
+import com.example.SAFPE.entity.PlanSnapshot;
+import com.example.SAFPE.repository.PlanOperationRepository;
+import com.example.SAFPE.repository.PlanSnapshotRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 작업 로그와 스냅샷을 메모리 목록에 보관하는 PlanHistoryService (DB 없이 이력 반영을 확인하기 위함)
+ *
+ * 같은 (projectId, seq)를 두 번 저장하면 DB의 유니크 제약처럼 DataIntegrityViolationException을 던진다.
+ */
+class InMemoryPlanHistory {
+
+	final List<PlanOperation> operations = new ArrayList<>();
+	final List<PlanSnapshot> snapshots = new ArrayList<>();
+	final PlanHistoryService service;
+
+	InMemoryPlanHistory(int snapshotInterval) {
+		PlanOperationRepository planOperationRepository = mock(PlanOperationRepository.class);
+		PlanSnapshotRepository planSnapshotRepository = mock(PlanSnapshotRepository.class);
+
+		when(planOperationRepository.save(any(PlanOperation.class))).thenAnswer(invocation -> {
+			PlanOperation operation = invocation.getArgument(0);
+			if (operations.stream().anyMatch(saved -> saved.getProjectId().equals(operation.getProjectId())
+					&& saved.getSeq().equals(operation.getSeq()))) {
+				throw duplicate("plan_operation.uk_plan_operation_project_seq");
+			}
+			operations.add(operation);
+			return operation;
+		});
+		when(planOperationRepository.findByProjectIdAndSeqGreaterThanAndSeqLessThanEqualOrderBySeqAsc(anyLong(),
+				anyLong(), anyLong())).thenAnswer(invocation -> {
+					Long projectId = invocation.getArgument(0);
+					long afterSeq = invocation.getArgument(1);
+					long toSeq = invocation.getArgument(2);
+					return operations.stream()
+							.filter(operation -> operation.getProjectId().equals(projectId)
+									&& operation.getSeq() > afterSeq && operation.getSeq() <= toSeq)
+							.sorted(Comparator.comparing(PlanOperation::getSeq)).toList();
+				});
+
+		when(planSnapshotRepository.save(any(PlanSnapshot.class))).thenAnswer(invocation -> {
+			PlanSnapshot snapshot = invocation.getArgument(0);
+			if (snapshots.stream().anyMatch(saved -> saved.getProjectId().equals(snapshot.getProjectId())
+					&& saved.getSeq().equals(snapshot.getSeq()))) {
+				throw duplicate("plan_snapshot.uk_plan_snapshot_project_seq");
+			}
+			snapshots.add(snapshot);
+			return snapshot;
+		});
+		when(planSnapshotRepository.findFirstByProjectIdAndSeqLessThanEqualOrderBySeqDesc(anyLong(), anyLong()))
+				.thenAnswer(invocation -> {
+					Long projectId = invocation.getArgument(0);
+					long seq = invocation.getArgument(1);
+					return snapshots.stream()
+							.filter(snapshot -> snapshot.getProjectId().equals(projectId) && snapshot.getSeq() <= seq)
+							.max(Comparator.comparing(PlanSnapshot::getSeq));
+				});
+		when(planSnapshotRepository.existsByProjectId(anyLong())).thenAnswer(invocation -> snapshots.stream()
+				.anyMatch(snapshot -> snapshot.getProjectId().equals(invocation.getArgument(0))));
+
+		this.service = new PlanHistoryService(planOperationRepository, planSnapshotRepository, new ObjectMapper(),
+				snapshotInterval);
+	}
+
+	private static DataIntegrityViolationException duplicate(String constraintName) {
+		return new DataIntegrityViolationException("could not execute statement",
+				new ConstraintViolationException("could not execute statement",
+						new SQLIntegrityConstraintViolationException("Duplicate entry", "23000", 1062), constraintName));
+	}
+}
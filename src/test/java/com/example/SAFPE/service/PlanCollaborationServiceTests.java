@@ -0,0 +1,168 @@
+package com.example.SAFPE.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.example.SAFPE.dto.PointDto;
+import com.example.SAFPE.dto.collab.PlanEditMessage;
+import com.example.SAFPE.dto.collab.PlanElementType;
+import com.example.SAFPE.dto.collab.PlanOperationDto;
+import com.example.SAFPE.dto.collab.PlanOperationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 편집 작업의 순서 번호, 같은 요소 작업 합치기, 다른 세션으로의 전달 확인
+ */
+class PlanCollaborationServiceTests {
+
+	private static final Long PROJECT_ID = 1L;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final PlanOperationService planOperationService = mock(PlanOperationService.class);
+	private final PlanCollaborationService service = new PlanCollaborationService(planOperationService, objectMapper,
+			50, 1);
+
+	private final WebSocketSession alice = session("alice");
+	private final WebSocketSession bob = session("bob");
+
+	@AfterEach
+	void shutdown() throws InterruptedException {
+		service.shutdown();
+	}
+
+	@Test
+	void numbersOperationsInArrivalOrderAcrossSessions() {
+		appliesEverything(7L);
+		service.join(PROJECT_ID, alice);
+		service.join(PROJECT_ID, bob);
+
+		service.submit(PROJECT_ID, alice, List.of(moveWall(1L, 10), moveWall(2L, 10)));
+		service.submit(PROJECT_ID, bob, List.of(moveWall(3L, 10)));
+
+		List<PlanOperationDto> applied = appliedOperations();
+		assertThat(applied).extracting(PlanOperationDto::getId).containsExactly(1L, 2L, 3L);
+		assertThat(applied).extracting(PlanOperationDto::getSeq).containsExactly(1L, 2L, 3L);
+	}
+
+	@Test
+	void coalescesOperationsOnSameElementWithinWindow() {
+		appliesEverything(7L);
+		service.join(PROJECT_ID, alice);
+
+		service.submit(PROJECT_ID, alice, List.of(moveWall(1L, 10), moveWall(2L, 10)));
+		service.submit(PROJECT_ID, alice, List.of(moveWall(1L, 20), moveWall(1L, 30)));
+
+		// 벽 1은 마지막 값 하나만, 순서는 마지막 작업의 번호 기준
+		List<PlanOperationDto> applied = appliedOperations();
+		assertThat(applied).extracting(PlanOperationDto::getId).containsExactly(2L, 1L);
+		assertThat(applied.get(1).getStart().getX()).isEqualTo(30);
+		assertThat(applied.get(1).getSeq()).isEqualTo(4L);
+	}
+
+	@Test
+	void addFollowedByRemoveIsNeverSaved() {
+		service.join(PROJECT_ID, alice);
+
+		PlanOperationDto remove = operation(PlanOperationType.REMOVE, null);
+		remove.setClientRef("w1");
+		service.submit(PROJECT_ID, alice, List.of(addWall("w1"), remove));
+
+		verify(planOperationService, after(300).never()).apply(any(), anyList());
+	}
+
+	@Test
+	void broadcastsOperationsToOtherSessionsOnly() throws Exception {
+		appliesEverything(7L);
+		service.join(PROJECT_ID, alice);
+		service.join(PROJECT_ID, bob);
+
+		service.submit(PROJECT_ID, alice, List.of(moveWall(1L, 10)));
+
+		PlanEditMessage toBob = received(bob);
+		assertThat(toBob.getType()).isEqualTo("batch");
+		assertThat(toBob.getVersion()).isEqualTo(7L);
+		assertThat(toBob.getOps()).extracting(PlanOperationDto::getId).containsExactly(1L);
+
+		// 보낸 세션에는 새 버전만 알린다.
+		PlanEditMessage toAlice = received(alice);
+		assertThat(toAlice.getVersion()).isEqualTo(7L);
+		assertThat(toAlice.getOps()).isEmpty();
+	}
+
+	@Test
+	void invalidOperationIsReportedOnlyToSender() throws Exception {
+		service.join(PROJECT_ID, alice);
+		service.join(PROJECT_ID, bob);
+
+		service.submit(PROJECT_ID, alice, List.of(operation(PlanOperationType.UPDATE, 1L))); // 좌표 없음
+
+		assertThat(received(alice).getType()).isEqualTo("error");
+		verify(bob, after(300).never()).sendMessage(any());
+		verify(planOperationService, never()).apply(any(), anyList());
+	}
+
+	private void appliesEverything(Long version) {
+		when(planOperationService.apply(eq(PROJECT_ID), anyList()))
+				.thenAnswer(invocation -> new PlanOperationService.AppliedOperations(version,
+						invocation.getArgument(1)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<PlanOperationDto> appliedOperations() {
+		ArgumentCaptor<List<PlanOperationDto>> captor = ArgumentCaptor.forClass(List.class);
+		verify(planOperationService, timeout(2000)).apply(eq(PROJECT_ID), captor.capture());
+		return captor.getValue();
+	}
+
+	private PlanEditMessage received(WebSocketSession session) throws Exception {
+		ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+		verify(session, timeout(2000)).sendMessage(captor.capture());
+		return objectMapper.readValue(captor.getValue().getPayload(), PlanEditMessage.class);
+	}
+
+	private static WebSocketSession session(String id) {
+		WebSocketSession session = mock(WebSocketSession.class);
+		when(session.getId()).thenReturn(id);
+		when(session.isOpen()).thenReturn(true);
+		return session;
+	}
+
+	private static PlanOperationDto moveWall(Long id, double x) {
+		PlanOperationDto operation = operation(PlanOperationType.UPDATE, id);
+		operation.setStart(new PointDto(x, 0));
+		operation.setEnd(new PointDto(x, 100));
+		return operation;
+	}
+
+	private static PlanOperationDto addWall(String clientRef) {
+		PlanOperationDto operation = operation(PlanOperationType.ADD, null);
+		operation.setClientRef(clientRef);
+		operation.setStart(new PointDto(0, 0));
+		operation.setEnd(new PointDto(0, 100));
+		return operation;
+	}
+
+	private static PlanOperationDto operation(PlanOperationType type, Long id) {
+		PlanOperationDto operation = new PlanOperationDto();
+		operation.setOp(type);
+		operation.setElement(PlanElementType.WALL);
+		operation.setId(id);
+		return operation;
+	}
+}
@@ -0,0 +1,140 @@
+package com.example.SAFPE.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import com.example.SAFPE.dto.PlanDataDto;
+import com.example.SAFPE.dto.PointDto;
+import com.example.SAFPE.dto.WallDto;
+import com.example.SAFPE.dto.collab.PlanElementType;
+import com.example.SAFPE.dto.collab.PlanOperationDto;
+import com.example.SAFPE.dto.collab.PlanOperationType;
+import com.example.SAFPE.entity.Door;
+import com.example.SAFPE.entity.PlanOperation;
+import com.example.SAFPE.entity.PlanSnapshot;
+import com.example.SAFPE.entity.Point;
+import com.example.SAFPE.entity.Project;
+import com.example.SAFPE.entity.Wall;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 바뀐 요소만 기록하는지, 스냅샷 + 이후 작업으로 과거 평면도를 다시 만드는지 확인
+ */
+class PlanHistoryServiceTests {
+
+	private final InMemoryPlanHistory history = new InMemoryPlanHistory(3);
+	private final PlanHistoryService service = history.service;
+
+	@Test
+	void recordsOnlyChangedElements() {
+		Project project = project();
+		project.getWalls().add(wall(project, 1L, 0));
+		project.getWalls().add(wall(project, 2L, 10));
+		project.getWalls().add(wall(project, 3L, 20));
+		service.recordBaseline(project);
+
+		PlanState before = PlanState.of(project);
+		project.getWalls().get(0).setEndPoint(new Point(0, 500)); // UPDATE
+		project.getWalls().remove(1); // REMOVE, 벽 3은 그대로
+		project.getWalls().add(wall(project, 4L, 30)); // ADD
+		project.getDoors().add(Door.builder().id(10L).position(new Point(5, 5)).width(90).project(project).build());
+		service.recordChanges(project, before);
+
+		assertThat(history.operations).extracting(PlanOperation::getSeq, PlanOperation::getOp,
+				PlanOperation::getElement, PlanOperation::getElementId)
+				.containsExactly(tuple(1L, PlanOperationType.REMOVE, PlanElementType.WALL, 2L),
+						tuple(2L, PlanOperationType.UPDATE, PlanElementType.WALL, 1L),
+						tuple(3L, PlanOperationType.ADD, PlanElementType.WALL, 4L),
+						tuple(4L, PlanOperationType.ADD, PlanElementType.DOOR, 10L));
+		assertThat(project.getHistorySeq()).isEqualTo(4L);
+
+		// 전체 복사본은 seq 0과 interval(3)의 스냅샷에만 있다.
+		assertThat(history.snapshots).extracting(PlanSnapshot::getSeq).containsExactly(0L, 3L);
+		assertThat(service.getPlanAt(1L, 3L).getWalls()).extracting(WallDto::getId).containsExactly(1L, 3L, 4L);
+		assertThat(service.getPlanAt(1L, 3L).getDoors()).isEmpty();
+		assertThat(service.getPlanAt(1L, 4L).getDoors()).hasSize(1);
+	}
+
+	@Test
+	void unchangedPlanRecordsNothing() {
+		Project project = project();
+		project.getWalls().add(wall(project, 1L, 0));
+		service.recordBaseline(project);
+
+		service.recordChanges(project, PlanState.of(project));
+
+		assertThat(history.operations).isEmpty();
+		assertThat(project.getHistorySeq()).isZero();
+	}
+
+	@Test
+	void replaysNearestSnapshotAndTail() {
+		Project project = project();
+		project.getWalls().add(wall(project, 1L, 0));
+		service.recordBaseline(project);
+
+		for (int x = 1; x <= 7; x++) {
+			service.recordOperations(project, List.of(moveWall(1L, x)));
+		}
+
+		assertThat(history.snapshots).extracting(PlanSnapshot::getSeq).containsExactly(0L, 3L, 6L);
+		for (long seq = 0; seq <= 7; seq++) {
+			assertThat(service.getPlanAt(1L, seq).getWalls()).extracting(wall -> wall.getStart().getX())
+					.containsExactly((double) seq);
+		}
+	}
+
+	@Test
+	void replaysLegacyReplaceEntries() throws Exception {
+		Project project = project();
+		project.getWalls().add(wall(project, 1L, 0));
+		service.recordBaseline(project);
+
+		WallDto replaced = new WallDto();
+		replaced.setId(7L);
+		replaced.setStart(new PointDto(1, 1));
+		replaced.setEnd(new PointDto(2, 2));
+		PlanDataDto planData = new PlanDataDto();
+		planData.setWalls(List.of(replaced));
+		history.operations.add(PlanOperation.builder().projectId(1L).seq(1L).op(PlanOperationType.REPLACE)
+				.payload(new ObjectMapper().writeValueAsString(planData)).build());
+
+		assertThat(service.getPlanAt(1L, 1L).getWalls()).extracting(WallDto::getId).containsExactly(7L);
+	}
+
+	@Test
+	void concurrentAppendIsVersionConflict() {
+		// 같은 historySeq를 읽은 두 트랜잭션
+		Project first = project();
+		Project second = project();
+
+		service.recordOperations(first, List.of(moveWall(1L, 1)));
+
+		assertThatThrownBy(() -> service.recordOperations(second, List.of(moveWall(1L, 2))))
+				.isInstanceOf(OptimisticLockingFailureException.class);
+	}
+
+	private static Project project() {
+		return Project.builder().id(1L).version(0L).build();
+	}
+
+	private static Wall wall(Project project, Long id, double x) {
+		return Wall.builder().id(id).startPoint(new Point(x, 0)).endPoint(new Point(x, 100)).project(project).build();
+	}
+
+	private static PlanOperationDto moveWall(Long id, double x) {
+		PlanOperationDto operation = new PlanOperationDto();
+		operation.setOp(PlanOperationType.UPDATE);
+		operation.setElement(PlanElementType.WALL);
+		operation.setId(id);
+		operation.setStart(new PointDto(x, 0));
+		operation.setEnd(new PointDto(x, 100));
+		return operation;
+	}
+}
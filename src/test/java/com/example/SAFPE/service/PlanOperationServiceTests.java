@@ -0,0 +1,107 @@
+package com.example.SAFPE.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import com.example.SAFPE.dto.PointDto;
+import com.example.SAFPE.dto.collab.PlanElementType;
+import com.example.SAFPE.dto.collab.PlanOperationDto;
+import com.example.SAFPE.dto.collab.PlanOperationType;
+import com.example.SAFPE.entity.Door;
+import com.example.SAFPE.entity.Point;
+import com.example.SAFPE.entity.Project;
+import com.example.SAFPE.entity.Wall;
+import com.example.SAFPE.repository.DoorRepository;
+import com.example.SAFPE.repository.PlanElementJdbcRepository;
+import com.example.SAFPE.repository.ProjectRepository;
+import com.example.SAFPE.repository.WallRepository;
+import com.example.SAFPE.repository.WindowRepository;
+
+/**
+ * 작업 배치를 받은 순서대로 반영하고, 대상이 없는 작업은 결과에서 빼는지 확인
+ */
+class PlanOperationServiceTests {
+
+	private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+	private final WallRepository wallRepository = mock(WallRepository.class);
+	private final DoorRepository doorRepository = mock(DoorRepository.class);
+	private final WindowRepository windowRepository = mock(WindowRepository.class);
+	private final PlanHistoryService planHistoryService = mock(PlanHistoryService.class);
+	private final PlanElementJdbcRepository planElementJdbcRepository = mock(PlanElementJdbcRepository.class);
+
+	private final PlanOperationService service = new PlanOperationService(projectRepository, wallRepository,
+			doorRepository, windowRepository, mock(PublicProjectCache.class), planHistoryService,
+			planElementJdbcRepository, mock(PlanThumbnailService.class));
+
+	private final Project project = Project.builder().id(1L).version(3L).build();
+
+	@Test
+	void appliesOperationsInOrderAndDropsMissingTargets() {
+		when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+		Wall wall = Wall.builder().id(10L).startPoint(new Point(0, 0)).endPoint(new Point(0, 1)).project(project)
+				.build();
+		when(wallRepository.findByIdAndProjectId(10L, 1L)).thenReturn(Optional.of(wall));
+		when(windowRepository.findByIdAndProjectId(99L, 1L)).thenReturn(Optional.empty());
+		when(doorRepository.save(any(Door.class))).thenAnswer(invocation -> {
+			Door door = invocation.getArgument(0);
+			door.setId(20L);
+			return door;
+		});
+
+		PlanOperationDto moveWall = operation(PlanOperationType.UPDATE, PlanElementType.WALL, 10L);
+		moveWall.setStart(new PointDto(5, 5));
+		moveWall.setEnd(new PointDto(5, 50));
+		PlanOperationDto addDoor = operation(PlanOperationType.ADD, PlanElementType.DOOR, null);
+		addDoor.setPosition(new PointDto(1, 1));
+		addDoor.setWidth(90.0);
+		PlanOperationDto removeWindow = operation(PlanOperationType.REMOVE, PlanElementType.WINDOW, 99L);
+
+		PlanOperationService.AppliedOperations applied = service.apply(1L, List.of(moveWall, addDoor, removeWindow));
+
+		assertThat(applied.getOperations()).containsExactly(moveWall, addDoor);
+		assertThat(addDoor.getId()).isEqualTo(20L);
+		assertThat(wall.getEndPoint().getY()).isEqualTo(50);
+
+		InOrder inOrder = inOrder(planHistoryService, wallRepository, doorRepository, projectRepository);
+		inOrder.verify(planHistoryService).ensureBaseline(project);
+		inOrder.verify(wallRepository).findByIdAndProjectId(10L, 1L);
+		inOrder.verify(doorRepository).save(any(Door.class));
+		inOrder.verify(planHistoryService).recordOperations(project, List.of(moveWall, addDoor));
+		inOrder.verify(projectRepository).saveAndFlush(project);
+		verify(planElementJdbcRepository).updateEstimatedArea(1L);
+	}
+
+	@Test
+	void nothingAppliedLeavesProjectUntouched() {
+		when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+		when(wallRepository.findByIdAndProjectId(10L, 1L)).thenReturn(Optional.empty());
+
+		PlanOperationService.AppliedOperations applied = service.apply(1L,
+				List.of(operation(PlanOperationType.REMOVE, PlanElementType.WALL, 10L)));
+
+		assertThat(applied.getOperations()).isEmpty();
+		assertThat(applied.getVersion()).isEqualTo(3L);
+		verify(planHistoryService, never()).recordOperations(any(), anyList());
+		verify(projectRepository, never()).saveAndFlush(any());
+	}
+
+	private static PlanOperationDto operation(PlanOperationType type, PlanElementType element, Long id) {
+		PlanOperationDto operation = new PlanOperationDto();
+		operation.setOp(type);
+		operation.setElement(element);
+		operation.setId(id);
+		return operation;
+	}
+}
@@ -0,0 +1,56 @@
+package com.example.SAFPE.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 미리보기 격자에 맞춘 좌표 변환과 겹치는 선 제거 확인
+ */
+class PlanThumbnailRendererTests {
+
+	@Test
+	void fitsPlanIntoGridKeepingAspectRatio() {
+		// 200 x 100 평면도 -> 108px 안에 들어가도록 0.5배, 세로는 가운데 정렬
+		PlanThumbnailRenderer renderer = new PlanThumbnailRenderer(new double[] { 0, 0, 200, 100 }, 108, 100);
+		renderer.addWall(0, 0, 200, 0);
+		renderer.addWall(200, 100, 0, 100);
+
+		assertThat(svg(renderer)).contains("viewBox=\"0 0 108 108\"").contains("M4 29L104 29M104 79L4 79");
+	}
+
+	@Test
+	void dropsDuplicateAndSubPixelSegments() {
+		PlanThumbnailRenderer renderer = new PlanThumbnailRenderer(new double[] { 0, 0, 1000, 1000 }, 108, 100);
+		renderer.addWall(0, 0, 1000, 0);
+		renderer.addWall(1000, 0, 0, 0); // 방향만 반대
+		renderer.addWall(0, 1, 1000, 1); // 같은 픽셀 줄
+		renderer.addWall(500, 500, 501, 501); // 한 픽셀보다 짧음
+		renderer.addDoor(500, 1000, 200);
+
+		String svg = svg(renderer);
+		assertThat(svg).contains("d=\"M4 4L104 4\"").contains("d=\"M44 104L64 104\"");
+		assertThat(svg.split("<path").length - 1).isEqualTo(2);
+	}
+
+	@Test
+	void stopsAtMaxSegments() {
+		PlanThumbnailRenderer renderer = new PlanThumbnailRenderer(new double[] { 0, 0, 100, 100 }, 108, 3);
+		for (int i = 0; i <= 100; i += 10) {
+			renderer.addWall(0, i, 100, i);
+		}
+
+		assertThat(svg(renderer).split("M", -1).length - 1).isEqualTo(3);
+	}
+
+	@Test
+	void emptyPlanIsBlankImage() {
+		assertThat(svg(new PlanThumbnailRenderer(null, 64, 100))).doesNotContain("<path");
+	}
+
+	private static String svg(PlanThumbnailRenderer renderer) {
+		return new String(renderer.toSvg(), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,128 @@
+package com.example.SAFPE.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.SAFPE.config.Bulkheads;
+import com.example.SAFPE.repository.PlanElementJdbcRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 미리보기는 그리기 시작할 때의 버전으로만 저장되고, 대기 중인 작업은 하나로 합쳐지며, 풀이 가득 차면 버려졌다가 다음에 다시
+ * 예약되는지 확인
+ *
+ * thumbnail 풀은 스레드 1개, 대기열 2개로 두고 첫 작업을 멈춰 두어서 대기열 상태를 만든다.
+ */
+class PlanThumbnailServiceTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final PlanElementJdbcRepository planElementJdbcRepository = mock(PlanElementJdbcRepository.class);
+	private final FileStorageService fileStorageService = mock(FileStorageService.class);
+	private final Bulkheads bulkheads = new Bulkheads(meterRegistry, 1, 1, 1, 1, 1, 1, 1, 2, 10);
+	private final PlanThumbnailService thumbnailService = new PlanThumbnailService(planElementJdbcRepository,
+			fileStorageService, bulkheads, true, 64, 100);
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@BeforeEach
+	void setUp() throws Exception {
+		when(planElementJdbcRepository.findProjectVersion(anyLong())).thenReturn(3L);
+		when(fileStorageService.storeFile(any(byte[].class), anyString())).thenReturn("thumb.svg");
+		when(planElementJdbcRepository.updateThumbnailUrl(anyLong(), anyLong(), anyString())).thenReturn(true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		bulkheads.shutdown();
+	}
+
+	@Test
+	void savesOnlyForTheVersionItRendered() throws Exception {
+		assertThat(thumbnailService.render(1L)).isEqualTo("/uploads/thumb.svg");
+		verify(planElementJdbcRepository).updateThumbnailUrl(1L, 3L, "/uploads/thumb.svg");
+
+		// 그리는 사이 평면도가 수정되어 버전이 달라진 경우
+		when(planElementJdbcRepository.updateThumbnailUrl(1L, 3L, "/uploads/thumb.svg")).thenReturn(false);
+		assertThat(thumbnailService.render(1L)).isNull();
+
+		// 삭제된 프로젝트는 그리지 않는다.
+		when(planElementJdbcRepository.findProjectVersion(2L)).thenReturn(null);
+		assertThat(thumbnailService.render(2L)).isNull();
+		verify(fileStorageService, times(2)).storeFile(any(byte[].class), anyString());
+	}
+
+	@Test
+	void coalescesRefreshesWhilePending() throws Exception {
+		blockWorker();
+
+		thumbnailService.refreshAfterCommit(1L);
+		thumbnailService.refreshAfterCommit(1L);
+		thumbnailService.refreshAfterCommit(1L);
+		assertThat(bulkheads.thumbnail().getQueueDepth()).isEqualTo(1);
+
+		release.countDown();
+		verify(planElementJdbcRepository, timeout(5000)).updateThumbnailUrl(1L, 3L, "/uploads/thumb.svg");
+		verify(planElementJdbcRepository, after(200).times(1)).findProjectVersion(1L);
+	}
+
+	@Test
+	void rejectedRefreshIsDroppedAndCanBeScheduledAgain() throws Exception {
+		blockWorker();
+		thumbnailService.refreshAfterCommit(1L);
+		thumbnailService.refreshAfterCommit(2L);
+
+		// 대기열이 가득 차면 예외 없이 버린다.
+		thumbnailService.refreshAfterCommit(3L);
+		assertThat(meterRegistry.get("bulkhead.rejected").tag("name", "thumbnail").counter().count()).isEqualTo(1);
+
+		release.countDown();
+		verify(planElementJdbcRepository, timeout(5000)).updateThumbnailUrl(eq(2L), anyLong(), anyString());
+		verify(planElementJdbcRepository, never()).findProjectVersion(3L);
+
+		// 대기 표시가 남지 않았으므로 다음 저장 때 다시 예약된다.
+		thumbnailService.refreshAfterCommit(3L);
+		verify(planElementJdbcRepository, timeout(5000)).updateThumbnailUrl(eq(3L), anyLong(), anyString());
+	}
+
+	@Test
+	void backfillLeavesHalfOfTheQueueForSaves() throws Exception {
+		blockWorker();
+
+		thumbnailService.backfill(List.of(1L, 2L, 3L, 4L));
+		assertThat(bulkheads.thumbnail().getQueueDepth()).isEqualTo(1);
+
+		// 저장 후 갱신은 남은 자리에 들어간다.
+		thumbnailService.refreshAfterCommit(5L);
+		assertThat(bulkheads.thumbnail().getQueueDepth()).isEqualTo(2);
+		assertThat(meterRegistry.get("bulkhead.rejected").tag("name", "thumbnail").counter().count()).isZero();
+	}
+
+	// 하나뿐인 스레드를 멈춰 두어서 이후 작업이 대기열에 쌓이게 한다.
+	private void blockWorker() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		bulkheads.thumbnail().submit(() -> {
+			started.countDown();
+			release.await();
+			return null;
+		});
+		started.await();
+	}
+}
@@ -0,0 +1,183 @@
+package com.example.SAFPE.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.SAFPE.config.Bulkheads;
+import com.example.SAFPE.dto.BatchProjectResultDto;
+import com.example.SAFPE.dto.PointDto;
+import com.example.SAFPE.dto.WallDto;
+import com.example.SAFPE.dto.ai.AiAnalysisResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * 일괄 생성에서 파일별 실패가 다른 파일에 영향을 주지 않는지, persist-size만큼 모아 저장하는지, 결과가 요청 순서인지 확인
+ *
+ * AI 분석 응답은 테스트가 직접 완료시키므로 파일이 끝나는 순서를 시간에 기대지 않고 바꿀 수 있다.
+ */
+class ProjectBatchServiceTests {
+
+	private final ProjectService projectService = mock(ProjectService.class);
+	private final FileStorageService fileStorageService = mock(FileStorageService.class);
+	private final AiAnalysisClient aiAnalysisClient = mock(AiAnalysisClient.class);
+
+	// 저장소 풀은 작게 두어서 대기열이 가득 찬 경우(제출한 스레드에서 실행)도 지나가게 한다.
+	private final Bulkheads bulkheads = new Bulkheads(new SimpleMeterRegistry(), 1, 1, 1, 1, 1, 1, 1, 1, 10);
+
+	// 파일 이름별 AI 분석 응답
+	private final Map<String, CompletableFuture<AiAnalysisResponse>> analyses = new ConcurrentHashMap<>();
+	// createAnalyzedProjects 호출마다 받은 제목
+	private final List<List<String>> persisted = new ArrayList<>();
+	private long nextProjectId = 100;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		when(fileStorageService.storeFile(any(byte[].class), anyString())).thenAnswer(invocation -> {
+			String filename = invocation.getArgument(1);
+			if (filename.startsWith("broken")) {
+				throw new IOException("Disk full");
+			}
+			return "stored-" + filename;
+		});
+		when(aiAnalysisClient.analyze(any(), anyString()))
+				.thenAnswer(invocation -> Mono.fromFuture(analysisOf(invocation.getArgument(1))));
+		when(projectService.createAnalyzedProjects(anyList())).thenAnswer(invocation -> {
+			List<ProjectService.AnalyzedUpload> uploads = invocation.getArgument(0);
+			persisted.add(uploads.stream().map(ProjectService.AnalyzedUpload::getTitle).toList());
+			return uploads.stream().map(upload -> nextProjectId++).toList();
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		bulkheads.shutdown();
+	}
+
+	@Test
+	void resultsFollowRequestOrderWhenFilesFinishInReverse() throws Exception {
+		List<MultipartFile> files = files("a.png", "broken.png", "c.png", "d.png");
+		CompletableFuture<List<BatchProjectResultDto>> batch = CompletableFuture
+				.supplyAsync(() -> service(1, 10_000).createProjects(files, List.of("첫 번째", "")));
+
+		analysisOf("d.png").complete(analysis(2));
+		analysisOf("c.png").completeExceptionally(new IllegalStateException("AI server down"));
+		analysisOf("broken.png").complete(analysis(1));
+		analysisOf("a.png").complete(analysis(1));
+		List<BatchProjectResultDto> results = batch.get(10, TimeUnit.SECONDS);
+
+		assertThat(results).extracting(BatchProjectResultDto::getIndex).containsExactly(0, 1, 2, 3);
+		assertThat(results).extracting(BatchProjectResultDto::getTitle).containsExactly("첫 번째", "broken", "c",
+				"d");
+		assertThat(results).extracting(BatchProjectResultDto::getWalls).containsExactly(1, 0, 0, 2);
+		assertThat(results).extracting(BatchProjectResultDto::isAnalyzed).containsExactly(true, false, false, true);
+		// 저장에 실패한 파일만 실패, AI 분석에 실패한 파일은 빈 평면도로 생성
+		assertThat(results.get(1).getProjectId()).isNull();
+		assertThat(results.get(1).getError()).isEqualTo("Disk full");
+		assertThat(results).filteredOn(result -> result.getIndex() != 1)
+				.allSatisfy(result -> assertThat(result.getProjectId()).isNotNull())
+				.allSatisfy(result -> assertThat(result.getError()).isNull());
+		assertThat(persisted).flatExtracting(titles -> titles).containsExactlyInAnyOrder("첫 번째", "c", "d");
+	}
+
+	@Test
+	void persistsInGroupsOfPersistSize() {
+		List<MultipartFile> files = files("a.png", "b.png", "c.png", "d.png", "e.png");
+		files.forEach(file -> analysisOf(file.getOriginalFilename()).complete(analysis(1)));
+
+		List<BatchProjectResultDto> results = service(2, 10_000).createProjects(files, null);
+
+		assertThat(persisted).extracting(List::size).containsExactly(2, 2, 1);
+		assertThat(persisted).flatExtracting(titles -> titles).containsExactlyInAnyOrder("a", "b", "c", "d", "e");
+		assertThat(results).extracting(BatchProjectResultDto::getFilename).containsExactly("a.png", "b.png", "c.png",
+				"d.png", "e.png");
+		assertThat(results).extracting(BatchProjectResultDto::getProjectId).doesNotContainNull()
+				.doesNotHaveDuplicates();
+	}
+
+	@Test
+	void failedPersistMarksOnlyThatGroup() {
+		List<MultipartFile> files = files("a.png", "b.png", "c.png", "d.png");
+		files.forEach(file -> analysisOf(file.getOriginalFilename()).complete(analysis(1)));
+		doAnswer(invocation -> {
+			List<ProjectService.AnalyzedUpload> uploads = invocation.getArgument(0);
+			persisted.add(uploads.stream().map(ProjectService.AnalyzedUpload::getTitle).toList());
+			if (persisted.size() == 1) {
+				throw new IllegalStateException("Deadlock");
+			}
+			return uploads.stream().map(upload -> nextProjectId++).toList();
+		}).when(projectService).createAnalyzedProjects(anyList());
+
+		List<BatchProjectResultDto> results = service(2, 10_000).createProjects(files, null);
+
+		List<String> failedTitles = persisted.get(0);
+		assertThat(results).filteredOn(result -> failedTitles.contains(result.getTitle()))
+				.hasSize(2).allSatisfy(result -> {
+					assertThat(result.getError()).isEqualTo("Deadlock");
+					assertThat(result.getProjectId()).isNull();
+				});
+		assertThat(results).filteredOn(result -> !failedTitles.contains(result.getTitle())).hasSize(2)
+				.allSatisfy(result -> assertThat(result.getProjectId()).isNotNull());
+	}
+
+	@Test
+	void rejectsEmptyAndOversizedBatches() {
+		ProjectBatchService service = new ProjectBatchService(projectService, fileStorageService, aiAnalysisClient,
+				bulkheads, 2, 16, 20, 200);
+
+		assertThatThrownBy(() -> service.createProjects(List.of(), null))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service.createProjects(files("a.png", "b.png", "c.png"), null))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("max 2");
+	}
+
+	private ProjectBatchService service(int persistSize, long persistWaitMs) {
+		return new ProjectBatchService(projectService, fileStorageService, aiAnalysisClient, bulkheads, 100, 16,
+				persistSize, persistWaitMs);
+	}
+
+	private CompletableFuture<AiAnalysisResponse> analysisOf(String filename) {
+		return analyses.computeIfAbsent(filename, name -> new CompletableFuture<>());
+	}
+
+	private static List<MultipartFile> files(String... filenames) {
+		return Arrays.stream(filenames).<MultipartFile>map(filename -> new MockMultipartFile("files", filename,
+				"image/png", filename.getBytes(StandardCharsets.UTF_8))).toList();
+	}
+
+	// 벽 walls개를 찾은 분석 결과
+	private static AiAnalysisResponse analysis(int walls) {
+		AiAnalysisResponse response = new AiAnalysisResponse();
+		response.setDetectedLines(IntStream.range(0, walls).mapToObj(i -> {
+			WallDto wall = new WallDto();
+			wall.setStart(new PointDto(0, i));
+			wall.setEnd(new PointDto(10, i));
+			return wall;
+		}).toList());
+		return response;
+	}
+}
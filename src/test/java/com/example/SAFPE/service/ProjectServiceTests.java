@@ -0,0 +1,293 @@
+package com.example.SAFPE.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.example.SAFPE.config.jwt.UserPrincipal;
+import com.example.SAFPE.dto.PlanDataDto;
+import com.example.SAFPE.dto.PlanImportResultDto;
+import com.example.SAFPE.dto.PointDto;
+import com.example.SAFPE.dto.ProjectDto;
+import com.example.SAFPE.dto.UpdateProjectRequest;
+import com.example.SAFPE.dto.WallDto;
+import com.example.SAFPE.dto.collab.PlanElementType;
+import com.example.SAFPE.dto.collab.PlanOperationType;
+import com.example.SAFPE.entity.PlanOperation;
+import com.example.SAFPE.entity.Point;
+import com.example.SAFPE.entity.Project;
+import com.example.SAFPE.entity.User;
+import com.example.SAFPE.entity.Wall;
+import com.example.SAFPE.exception.PreconditionFailedException;
+import com.example.SAFPE.exception.ResourceNotFoundException;
+import com.example.SAFPE.repository.PlanElementJdbcRepository;
+import com.example.SAFPE.repository.ProjectRepository;
+import com.example.SAFPE.repository.UserRepository;
+import com.example.SAFPE.service.importer.PlanImporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * 평면도 저장과 복원이 바뀐 요소만 이력에 남기고, 복원한 평면도가 그 시점과 같은지 확인
+ *
+ * 삭제는 버전을 확인하고 캐시를 비우는지, 복제는 제목을 문자 단위로 자르는지 확인
+ */
+class ProjectServiceTests {
+
+	private static final Long USER_ID = 1L;
+	private static final Long PROJECT_ID = 1L;
+
+	private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+	private final EntityManager entityManager = mock(EntityManager.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private final PublicProjectCache publicProjectCache = mock(PublicProjectCache.class);
+	private final PlanElementJdbcRepository planElementJdbcRepository = mock(PlanElementJdbcRepository.class);
+	private final InMemoryPlanHistory history = new InMemoryPlanHistory(50);
+
+	private final ProjectService projectService = new ProjectService(projectRepository,
+			mock(FileStorageService.class), mock(UserRepository.class), mock(AiAnalysisClient.class),
+			publicProjectCache, history.service, new ProjectJsonWriter(new ObjectMapper()), mock(PlanImporter.class),
+			planElementJdbcRepository, mock(PlanThumbnailService.class),
+			entityManager, transactionManager);
+
+	private final Project project = Project.builder().id(PROJECT_ID).title("plan").version(0L).shareId("share")
+			.user(User.builder().id(USER_ID).build()).build();
+
+	@BeforeEach
+	void setUp() {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new UserPrincipal(USER_ID, "user", "password"), null, List.of()));
+
+		project.getWalls().add(Wall.builder().id(1L).startPoint(new Point(0, 0)).endPoint(new Point(0, 100))
+				.project(project).build());
+		when(projectRepository.findById(PROJECT_ID)).thenReturn(Optional.of(project));
+		when(projectRepository.saveAndFlush(any(Project.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		// IDENTITY 전략처럼 persist할 때 ID를 부여
+		AtomicLong ids = new AtomicLong(100);
+		doAnswer(invocation -> {
+			if (invocation.getArgument(0) instanceof Wall wall) {
+				wall.setId(ids.getAndIncrement());
+			}
+			return null;
+		}).when(entityManager).persist(any());
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void updateKeepsElementIdsAndRecordsOnlyChanges() {
+		projectService.updateProject(PROJECT_ID, request(wall(1L, 50), wall(null, 10)), null);
+
+		assertThat(project.getWalls()).extracting(Wall::getId).containsExactly(1L, 100L);
+		assertThat(history.operations).extracting(PlanOperation::getSeq, PlanOperation::getOp,
+				PlanOperation::getElementId)
+				.containsExactly(tuple(1L, PlanOperationType.UPDATE, 1L), tuple(2L, PlanOperationType.ADD, 100L));
+	}
+
+	@Test
+	void updateWithoutPlanDataKeepsElements() {
+		UpdateProjectRequest rename = new UpdateProjectRequest();
+		rename.setTitle("renamed");
+
+		ProjectDto updated = projectService.updateProject(PROJECT_ID, rename, null);
+
+		assertThat(updated.getTitle()).isEqualTo("renamed");
+		assertThat(project.getWalls()).extracting(Wall::getId).containsExactly(1L);
+		assertThat(history.operations).isEmpty();
+	}
+
+	@Test
+	void restoreReturnsPlanAtSeqAndRecordsDiff() {
+		projectService.updateProject(PROJECT_ID, request(wall(1L, 50), wall(null, 10)), null);
+		projectService.updateProject(PROJECT_ID, request(wall(1L, 70)), null);
+
+		ProjectDto restored = projectService.restoreProject(PROJECT_ID, 2, null);
+
+		assertThat(restored.getPlanData().getWalls()).extracting(WallDto::getId, w -> w.getStart().getX())
+				.containsExactly(tuple(1L, 50.0), tuple(101L, 10.0));
+		// 복원도 바뀐 요소만 새 이력으로 남는다. (지워졌던 벽은 새 ID로 ADD)
+		assertThat(history.operations).filteredOn(operation -> operation.getSeq() > 4)
+				.extracting(PlanOperation::getOp, PlanOperation::getElement, PlanOperation::getElementId)
+				.containsExactly(tuple(PlanOperationType.UPDATE, PlanElementType.WALL, 1L),
+						tuple(PlanOperationType.ADD, PlanElementType.WALL, 101L));
+		assertThat(history.operations).extracting(PlanOperation::getOp).doesNotContain(PlanOperationType.REPLACE);
+
+		// 복원 전 시점도 그대로 다시 만들 수 있다.
+		assertThat(projectService.getPlanAt(PROJECT_ID, 4).getWalls()).extracting(w -> w.getStart().getX())
+				.containsExactly(70.0);
+	}
+
+	@Test
+	void writeAllProjectsSendsEachPageAfterItsTransaction() throws Exception {
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		List<Project> firstPage = new ArrayList<>();
+		for (long id = 200; id > 150; id--) {
+			firstPage.add(Project.builder().id(id).title("p" + id).version(0L).build());
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		when(projectRepository.findByUserIdAndIdLessThanOrderByIdDesc(eq(USER_ID), eq(Long.MAX_VALUE), any()))
+				.thenReturn(firstPage);
+		when(projectRepository.findByUserIdAndIdLessThanOrderByIdDesc(eq(USER_ID), eq(151L), any()))
+				.thenAnswer(invocation -> {
+					// 첫 페이지는 트랜잭션이 끝난 뒤 이미 보냈다.
+					assertThat(out.size()).isPositive();
+					verify(transactionManager).commit(any());
+					return List.of(project);
+				});
+
+		projectService.writeAllProjects(out);
+
+		verify(transactionManager, times(2)).commit(any());
+		assertThat(new ObjectMapper().readTree(out.toByteArray())).hasSize(51);
+	}
+
+	@Test
+	void updatesEvictSharedCopy() {
+		projectService.updateProject(PROJECT_ID, request(wall(1L, 50)), null);
+		verify(publicProjectCache).evictAfterCommit("share");
+
+		projectService.updateShareSettings(PROJECT_ID, false);
+		verify(publicProjectCache, times(2)).evictAfterCommit("share");
+		assertThat(project.isPublic()).isFalse();
+	}
+
+	@Test
+	void deleteRejectsStaleVersion() {
+		assertThatThrownBy(() -> projectService.deleteProject(PROJECT_ID, 3L))
+				.isInstanceOf(PreconditionFailedException.class);
+
+		verify(planElementJdbcRepository, never()).deleteProject(anyLong(), anyLong());
+		verify(publicProjectCache, never()).evictAfterCommit(any());
+	}
+
+	@Test
+	void deleteRemovesProjectAndEvictsSharedCopy() {
+		when(planElementJdbcRepository.deleteProject(PROJECT_ID, 0L)).thenReturn(true);
+
+		projectService.deleteProject(PROJECT_ID, 0L);
+
+		// 요소와 2차 캐시는 JDBC 저장소가 지우고, 공유 링크 캐시는 커밋 후 비운다.
+		verify(entityManager).detach(project);
+		verify(planElementJdbcRepository).deleteProject(PROJECT_ID, 0L);
+		verify(publicProjectCache).evictAfterCommit("share");
+	}
+
+	@Test
+	void deleteFailsWhenModifiedConcurrently() {
+		// 읽은 뒤 다른 요청이 버전을 올린 경우
+		when(planElementJdbcRepository.deleteProject(PROJECT_ID, 0L)).thenReturn(false);
+
+		assertThatThrownBy(() -> projectService.deleteProject(PROJECT_ID, null))
+				.isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		verify(publicProjectCache, never()).evictAfterCommit(any());
+	}
+
+	@Test
+	void duplicateTruncatesTitleByCodePoints() {
+		when(projectRepository.save(any(Project.class))).thenAnswer(invocation -> {
+			Project copy = invocation.getArgument(0);
+			copy.setId(2L);
+			return copy;
+		});
+		when(planElementJdbcRepository.copyElements(PROJECT_ID, 2L)).thenReturn(new int[] { 1, 0, 0 });
+
+		// 99자 + 이모지(서로게이트 쌍) 2개 = 101자
+		String title = "a".repeat(99) + "\uD83C\uDFE0\uD83C\uDFE1";
+		PlanImportResultDto result = projectService.duplicateProject(PROJECT_ID, title);
+
+		assertThat(result.getTitle()).isEqualTo("a".repeat(99) + "\uD83C\uDFE0");
+		assertThat(result.getTitle().codePointCount(0, result.getTitle().length())).isEqualTo(100);
+		assertThat(result.getWalls()).isEqualTo(1);
+	}
+
+	@Test
+	void backgroundImageRequiresOwner() {
+		Project other = Project.builder().id(2L).title("other").version(0L).user(User.builder().id(2L).build())
+				.build();
+		when(projectRepository.findById(2L)).thenReturn(Optional.of(other));
+
+		assertThatThrownBy(() -> projectService.uploadBackgroundImage(2L, "/uploads/plan.png", null))
+				.isInstanceOf(ResourceNotFoundException.class);
+		assertThat(other.getBackgroundImageUrl()).isNull();
+		verify(projectRepository, never()).saveAndFlush(any());
+	}
+
+	@Test
+	void exportDxfSendsEachChunkAfterItsTransaction() throws Exception {
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		ResultSet wall = mock(ResultSet.class);
+		when(wall.getDouble(anyInt())).thenReturn(1.0);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		when(planElementJdbcRepository.forEachWallAfter(eq(PROJECT_ID), eq(0L), anyInt(), any()))
+				.thenAnswer(invocation -> {
+					invocation.<RowCallbackHandler>getArgument(3).processRow(wall);
+					return 7L;
+				});
+		when(planElementJdbcRepository.forEachWallAfter(eq(PROJECT_ID), eq(7L), anyInt(), any()))
+				.thenAnswer(invocation -> {
+					// 앞 묶음은 트랜잭션이 끝난 뒤 이미 보냈다. (헤더 1번 + 벽 1번)
+					assertThat(out.toString(StandardCharsets.UTF_8)).contains("ENTITIES").contains("LINE");
+					verify(transactionManager, times(2)).commit(any());
+					invocation.<RowCallbackHandler>getArgument(3).processRow(wall);
+					return null;
+				});
+
+		projectService.exportDxf(PROJECT_ID, out);
+
+		// 헤더, 벽 2묶음, 문, 창문
+		verify(transactionManager, times(5)).commit(any());
+		String dxf = out.toString(StandardCharsets.UTF_8);
+		assertThat(dxf.split("\nLINE\n", -1)).hasSize(3);
+		assertThat(dxf).endsWith("EOF\n");
+	}
+
+	private static UpdateProjectRequest request(WallDto... walls) {
+		PlanDataDto planData = new PlanDataDto();
+		planData.setWalls(new ArrayList<>(List.of(walls)));
+		UpdateProjectRequest request = new UpdateProjectRequest();
+		request.setTitle("plan");
+		request.setPlanData(planData);
+		return request;
+	}
+
+	private static WallDto wall(Long id, double x) {
+		WallDto wall = new WallDto();
+		wall.setId(id);
+		wall.setStart(new PointDto(x, 0));
+		wall.setEnd(new PointDto(x, 100));
+		return wall;
+	}
+}
@@ -0,0 +1,96 @@
+package com.example.SAFPE.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 공유 링크 캐시가 DB 조회 없이 응답하고, 조회 도중 무효화되면 저장하지 않으며, 커밋된 뒤에만 비워지는지 확인
+ */
+class ShareServiceTests {
+
+	private static final String SHARE_ID = "share";
+
+	private final ProjectService projectService = mock(ProjectService.class);
+	private final PublicProjectCache cache = new PublicProjectCache(10);
+	private final ShareService shareService = new ShareService(projectService, cache);
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void servesCachedBodyWithoutLoading() throws Exception {
+		when(projectService.getPublicProjectJson(SHARE_ID)).thenReturn(json("v1"));
+
+		PublicProjectCache.CachedProject first = shareService.getPublicProjectJson(SHARE_ID);
+		PublicProjectCache.CachedProject second = shareService.getPublicProjectJson(SHARE_ID);
+
+		assertThat(second).isSameAs(first);
+		assertThat(first.getETag()).startsWith("\"").endsWith("\"").hasSize(34);
+		verify(projectService, times(1)).getPublicProjectJson(SHARE_ID);
+	}
+
+	@Test
+	void skipsPutWhenInvalidatedDuringLoad() throws Exception {
+		// 조회하는 사이 수정이 커밋되어 캐시가 비워진 경우
+		when(projectService.getPublicProjectJson(SHARE_ID)).thenAnswer(invocation -> {
+			cache.evict(SHARE_ID);
+			return json("v1");
+		}).thenReturn(json("v2"));
+
+		assertThat(body(shareService.getPublicProjectJson(SHARE_ID))).isEqualTo(json("v1"));
+		assertThat(cache.get(SHARE_ID)).isNull();
+
+		// 다음 조회는 다시 읽어서 저장한다.
+		assertThat(body(shareService.getPublicProjectJson(SHARE_ID))).isEqualTo(json("v2"));
+		assertThat(body(cache.get(SHARE_ID))).isEqualTo(json("v2"));
+	}
+
+	@Test
+	void evictsOnlyAfterCommit() throws Exception {
+		when(projectService.getPublicProjectJson(SHARE_ID)).thenReturn(json("v1"));
+		shareService.getPublicProjectJson(SHARE_ID);
+
+		TransactionSynchronizationManager.initSynchronization();
+		cache.evictAfterCommit(SHARE_ID);
+		// 커밋 전에는 다른 요청이 이전 내용을 받는다. (아직 커밋되지 않은 수정은 보이지 않음)
+		assertThat(cache.get(SHARE_ID)).isNotNull();
+
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+		assertThat(cache.get(SHARE_ID)).isNull();
+	}
+
+	@Test
+	void differentBodiesHaveDifferentETags() throws Exception {
+		when(projectService.getPublicProjectJson(SHARE_ID)).thenReturn(json("v1"), json("v2"));
+
+		String before = shareService.getPublicProjectJson(SHARE_ID).getETag();
+		cache.evict(SHARE_ID);
+		String after = shareService.getPublicProjectJson(SHARE_ID).getETag();
+
+		assertThat(after).isNotEqualTo(before);
+	}
+
+	private static byte[] body(PublicProjectCache.CachedProject cached) {
+		return cached.getBody();
+	}
+
+	private static byte[] json(String title) {
+		return ("{\"title\":\"" + title + "\"}").getBytes(StandardCharsets.UTF_8);
+	}
+}
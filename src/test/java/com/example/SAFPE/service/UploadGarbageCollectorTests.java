@@ -0,0 +1,133 @@
+package com.example.SAFPE.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.example.SAFPE.config.FileStorageConfig;
+import com.example.SAFPE.repository.ProjectRepository;
+import com.example.SAFPE.service.UploadGarbageCollector.SweepResult;
+import com.example.SAFPE.service.storage.LocalBlobStorage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 로컬 디스크 저장소에서 유예 기간, 참조 중인 파일, 쓰는 중인 임시 파일, 삭제 속도 제한을 지키는지 확인
+ */
+class UploadGarbageCollectorTests {
+
+	private static final Duration OLD = Duration.ofHours(48); // 유예 기간(24시간)보다 오래됨
+
+	@TempDir
+	Path uploadDir;
+
+	private LocalBlobStorage storage;
+	private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void setUp() {
+		FileStorageConfig config = new FileStorageConfig();
+		config.setUploadDir(uploadDir.toString());
+		storage = new LocalBlobStorage(config);
+
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		when(projectRepository.streamBackgroundImageUrls())
+				.thenAnswer(invocation -> Stream.of("/uploads/background.png", "https://cdn.example.com/orphan.png"));
+		when(projectRepository.streamThumbnailUrls()).thenAnswer(invocation -> Stream.of("/uploads/thumbnail.svg"));
+	}
+
+	@Test
+	void deletesOnlyOldUnreferencedFiles() throws IOException {
+		write("background.png", "bg", OLD);
+		write("thumbnail.svg", "svg", OLD);
+		write("orphan.png", "orphan", OLD);
+		write("recent.png", "recent", Duration.ZERO); // 아직 커밋되지 않은 프로젝트의 파일일 수 있음
+		// 나누기 전에 최상위 디렉터리에 저장된 파일
+		Path legacy = Files.writeString(uploadDir.resolve("legacy.png"), "legacy");
+		Files.setLastModifiedTime(legacy, FileTime.from(Instant.now().minus(OLD)));
+		// 쓰는 중인 임시 파일
+		Path temp = Files.writeString(uploadDir.resolve(".upload-123.tmp"), "partial");
+		Files.setLastModifiedTime(temp, FileTime.from(Instant.now().minus(OLD)));
+
+		SweepResult result = collector(1000, 100).sweep();
+
+		assertThat(result.getScanned()).isEqualTo(5);
+		assertThat(result.getDeleted()).isEqualTo(2);
+		assertThat(result.getReclaimedBytes()).isEqualTo("orphan".length() + "legacy".length());
+		assertThat(storage.exists("orphan.png")).isFalse();
+		assertThat(storage.exists("legacy.png")).isFalse();
+		assertThat(storage.exists("background.png")).isTrue();
+		assertThat(storage.exists("thumbnail.svg")).isTrue();
+		assertThat(storage.exists("recent.png")).isTrue();
+		assertThat(temp).exists();
+
+		assertThat(meterRegistry.get("uploads.gc.deleted").counter().count()).isEqualTo(2);
+		assertThat(meterRegistry.get("uploads.gc.reclaimed").counter().count()).isEqualTo(12);
+	}
+
+	@Test
+	void stopsAtMaxDeletesPerRun() throws IOException {
+		List<String> orphans = List.of("a.png", "b.png", "c.png");
+		for (String orphan : orphans) {
+			write(orphan, orphan, OLD);
+		}
+
+		SweepResult result = collector(1000, 2).sweep();
+
+		assertThat(result.getDeleted()).isEqualTo(2);
+		assertThat(orphans.stream().filter(storage::exists)).hasSize(1);
+
+		// 남은 파일은 다음 실행에서 지운다.
+		assertThat(collector(1000, 2).sweep().getDeleted()).isEqualTo(1);
+	}
+
+	@Test
+	void pacesDeletes() throws IOException {
+		for (String orphan : List.of("a.png", "b.png", "c.png", "d.png")) {
+			write(orphan, orphan, OLD);
+		}
+
+		// 초당 10개: 첫 삭제는 바로, 이후 100ms 간격
+		long startedAt = System.nanoTime();
+		SweepResult result = collector(10, 100).sweep();
+		Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+		assertThat(result.getDeleted()).isEqualTo(4);
+		assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+	}
+
+	private UploadGarbageCollector collector(int maxDeletesPerSecond, int maxDeletesPerRun) {
+		return new UploadGarbageCollector(projectRepository, storage, transactionManager, meterRegistry, true, 24,
+				maxDeletesPerSecond, maxDeletesPerRun);
+	}
+
+	// 저장소에 쓰고 수정 시각을 age만큼 과거로 돌린다.
+	private void write(String name, String content, Duration age) throws IOException {
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		storage.write(name, new ByteArrayInputStream(bytes), bytes.length, null);
+		try (Stream<Path> files = Files.walk(uploadDir)) {
+			Path path = files.filter(file -> file.getFileName().toString().equals(name)).findFirst().orElseThrow();
+			Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(age)));
+		}
+	}
+}
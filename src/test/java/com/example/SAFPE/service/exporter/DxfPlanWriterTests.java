@@ -0,0 +1,96 @@
+package com.example.SAFPE.service.exporter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.SAFPE.service.importer.DxfPlanReader;
+import com.example.SAFPE.service.importer.PlanElementSink;
+
+/**
+ * 내보낸 DXF를 다시 가져오면 같은 평면도가 되는지 확인
+ */
+class DxfPlanWriterTests {
+
+	@Test
+	void roundTripsThroughDxfPlanReader() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DxfPlanWriter writer = new DxfPlanWriter(out, 1.0);
+		writer.begin("mm", new double[] { 0, 0, 400, 300 });
+		writer.wall(0, 0, 400, 0);
+		writer.wall(400, 0, 400, 300);
+		writer.door(200, 300, 90);
+		writer.window(0, 150, 120);
+		writer.end();
+
+		List<String> elements = new ArrayList<>();
+		String unit = new DxfPlanReader().read(new ByteArrayInputStream(out.toByteArray()), recorder(elements));
+
+		assertThat(unit).isEqualTo("mm");
+		assertThat(elements).containsExactly("wall 0.0 0.0 400.0 0.0", "wall 400.0 0.0 400.0 300.0",
+				"door 200.0 300.0 90.0", "window 0.0 150.0 120.0");
+	}
+
+	@Test
+	void scaledPlanComesBackInRealUnitsFromTopLeft() throws IOException {
+		// 평면도 좌표 1 = 10cm, 도면 왼쪽 위가 (100, 50)
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DxfPlanWriter writer = new DxfPlanWriter(out, 10);
+		writer.begin("cm", new double[] { 100, 50, 150, 80 });
+		writer.wall(100, 50, 150, 80);
+		writer.door(125, 80, 4);
+		writer.end();
+
+		List<String> elements = new ArrayList<>();
+		String unit = new DxfPlanReader().read(new ByteArrayInputStream(out.toByteArray()), recorder(elements));
+
+		assertThat(unit).isEqualTo("cm");
+		assertThat(elements).containsExactly("wall 0.0 0.0 500.0 300.0", "door 250.0 300.0 40.0");
+	}
+
+	@Test
+	void writesPlainDecimalsAndUnknownUnit() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DxfPlanWriter writer = new DxfPlanWriter(out, 1.0);
+		writer.begin(null, null);
+		writer.wall(0.0001, 0, 2e7, 0);
+		writer.end();
+
+		String dxf = out.toString(StandardCharsets.UTF_8);
+		assertThat(dxf).contains("$INSUNITS\n70\n0\n").doesNotContain("$EXTMIN");
+		// 지수 표기 없이
+		assertThat(dxf).contains("\n10\n0.00010\n").contains("\n11\n20000000\n").endsWith("0\nEOF\n");
+
+		List<String> elements = new ArrayList<>();
+		assertThat(new DxfPlanReader().read(new ByteArrayInputStream(out.toByteArray()), recorder(elements)))
+				.isNull();
+		// 범위가 없으면 원점을 옮기지 않는다.
+		assertThat(elements).containsExactly("wall 1.0E-4 0.0 2.0E7 0.0");
+	}
+
+	private static PlanElementSink recorder(List<String> elements) {
+		return new PlanElementSink() {
+			@Override
+			public void wall(double startX, double startY, double endX, double endY) {
+				elements.add("wall " + startX + " " + startY + " " + endX + " " + endY);
+			}
+
+			@Override
+			public void door(double x, double y, double width) {
+				elements.add("door " + x + " " + y + " " + width);
+			}
+
+			@Override
+			public void window(double x, double y, double width) {
+				elements.add("window " + x + " " + y + " " + width);
+			}
+		};
+	}
+}
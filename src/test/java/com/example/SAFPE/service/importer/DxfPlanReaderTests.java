@@ -0,0 +1,98 @@
+package com.example.SAFPE.service.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 그룹 코드 해석, 레이어별 요소 구분, $EXTMIN/$EXTMAX 기준 y축 뒤집기 확인
+ */
+class DxfPlanReaderTests {
+
+	private final RecordingSink sink = new RecordingSink();
+
+	@Test
+	void readsLinesAndPolylinesByLayer() throws IOException {
+		String unit = read("0", "SECTION", "2", "ENTITIES",
+				"0", "LINE", "8", "WALLS", "10", "0", "20", "0", "11", "100", "21", "0",
+				"0", "LINE", "8", "A-DOOR", "10", "0", "20", "50", "11", "80", "21", "50",
+				"0", "LWPOLYLINE", "8", "벽", "90", "3", "70", "1",
+				"10", "0", "20", "0", "10", "10", "20", "0", "10", "10", "20", "10",
+				"0", "LWPOLYLINE", "8", "창문", "90", "2", "70", "0", "10", "0", "20", "0", "10", "0", "20", "60",
+				"0", "ENDSEC", "0", "EOF");
+
+		assertThat(unit).isNull();
+		assertThat(sink.elements).containsExactly("wall 0.0 0.0 100.0 0.0", "door 40.0 50.0 80.0",
+				"wall 0.0 0.0 10.0 0.0", "wall 10.0 0.0 10.0 10.0", "wall 10.0 10.0 0.0 0.0",
+				"window 0.0 30.0 60.0");
+	}
+
+	@Test
+	void ignoresOtherEntitiesAndSections() throws IOException {
+		read("0", "SECTION", "2", "BLOCKS", "0", "LINE", "8", "WALLS", "10", "0", "20", "0", "11", "5", "21", "0",
+				"0", "ENDSEC",
+				"0", "SECTION", "2", "ENTITIES",
+				"0", "CIRCLE", "8", "WALLS", "10", "0", "20", "0", "40", "5",
+				"0", "LINE", "8", "WALLS", "999", "comment", "10", "1", "20", "2", "11", "3", "21", "4",
+				"0", "ENDSEC", "0", "EOF");
+
+		assertThat(sink.elements).containsExactly("wall 1.0 2.0 3.0 4.0");
+	}
+
+	@Test
+	void movesOriginToTopLeftAndFlipsYWhenExtentsArePresent() throws IOException {
+		String unit = read("0", "SECTION", "2", "HEADER",
+				"9", "$INSUNITS", "70", "4",
+				"9", "$EXTMIN", "10", "100", "20", "50",
+				"9", "$EXTMAX", "10", "300", "20", "250",
+				"0", "ENDSEC",
+				"0", "SECTION", "2", "ENTITIES",
+				"0", "LINE", "8", "WALLS", "10", "100", "20", "250", "11", "300", "21", "50",
+				"0", "LINE", "8", "DOORS", "10", "150", "20", "200", "11", "250", "21", "200",
+				"0", "ENDSEC", "0", "EOF");
+
+		assertThat(unit).isEqualTo("mm");
+		assertThat(sink.elements).containsExactly("wall 0.0 0.0 200.0 200.0", "door 100.0 50.0 100.0");
+	}
+
+	@Test
+	void keepsCoordinatesWithoutBothExtents() throws IOException {
+		read("0", "SECTION", "2", "HEADER", "9", "$EXTMIN", "10", "100", "20", "50", "0", "ENDSEC",
+				"0", "SECTION", "2", "ENTITIES",
+				"0", "LINE", "8", "WALLS", "10", "100", "20", "250", "11", "300", "21", "50",
+				"0", "ENDSEC", "0", "EOF");
+
+		assertThat(sink.elements).containsExactly("wall 100.0 250.0 300.0 50.0");
+	}
+
+	@Test
+	void finishesLastEntityWithoutEof() throws IOException {
+		read("0", "SECTION", "2", "ENTITIES", "0", "LINE", "8", "WALLS", "10", "0", "20", "0", "11", "1", "21", "0");
+
+		assertThat(sink.elements).containsExactly("wall 0.0 0.0 1.0 0.0");
+	}
+
+	@Test
+	void rejectsBinaryDxf() {
+		assertThatThrownBy(() -> read("AutoCAD Binary DXF", "\u001a"))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Binary DXF");
+	}
+
+	@Test
+	void rejectsInvalidValueWithLineNumber() {
+		assertThatThrownBy(() -> read("0", "SECTION", "2", "ENTITIES", "0", "LINE", "10", "abc"))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("line 8");
+		assertThatThrownBy(() -> read("0", "SECTION", "2"))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Unexpected end");
+	}
+
+	private String read(String... lines) throws IOException {
+		byte[] dxf = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+		return new DxfPlanReader().read(new ByteArrayInputStream(dxf), sink);
+	}
+}
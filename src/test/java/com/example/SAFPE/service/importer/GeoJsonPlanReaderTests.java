@@ -0,0 +1,95 @@
+package com.example.SAFPE.service.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 도형 종류별 변환과 properties 값으로 문/창문을 구분하는지 확인
+ */
+class GeoJsonPlanReaderTests {
+
+	private final RecordingSink sink = new RecordingSink();
+
+	@Test
+	void readsEachGeometryType() throws IOException {
+		read("""
+				{"type": "FeatureCollection", "features": [
+				  {"type": "Feature", "geometry": {"type": "LineString", "coordinates": [[0, 0], [10, 0]]}},
+				  {"type": "Feature", "geometry": {"type": "MultiLineString",
+				    "coordinates": [[[0, 1], [0, 2]], [[5, 1], [5, 2]]]}},
+				  {"type": "Feature", "geometry": {"type": "Polygon",
+				    "coordinates": [[[0, 0], [4, 0], [4, 4], [0, 0]]]}},
+				  {"type": "Feature", "geometry": {"type": "MultiPolygon",
+				    "coordinates": [[[[0, 0], [2, 0], [2, 2]]]]}},
+				  {"type": "Feature", "geometry": {"type": "GeometryCollection", "geometries": [
+				    {"type": "Point", "coordinates": [9, 9]},
+				    {"type": "LineString", "coordinates": [[7, 7], [8, 8]]}]}}
+				]}
+				""");
+
+		assertThat(sink.elements).containsExactly("wall 0.0 0.0 10.0 0.0",
+				"wall 0.0 1.0 0.0 2.0", "wall 5.0 1.0 5.0 2.0",
+				"wall 0.0 0.0 4.0 0.0", "wall 4.0 0.0 4.0 4.0", "wall 4.0 4.0 0.0 0.0",
+				"wall 0.0 0.0 2.0 0.0", "wall 2.0 0.0 2.0 2.0", "wall 2.0 2.0 0.0 0.0",
+				"wall 7.0 7.0 8.0 8.0");
+	}
+
+	@Test
+	void mapsDoorAndWindowFromProperties() throws IOException {
+		read("""
+				{"type": "FeatureCollection", "features": [
+				  {"type": "Feature", "properties": {"element": "door"},
+				    "geometry": {"type": "LineString", "coordinates": [[0, 0], [90, 0]]}},
+				  {"type": "Feature", "properties": {"kind": "Window"},
+				    "geometry": {"type": "LineString", "coordinates": [[0, 0], [0, 120]]}},
+				  {"type": "Feature", "properties": {"layer": "현관문"},
+				    "geometry": {"type": "LineString", "coordinates": [[10, 10], [10, 30]]}},
+				  {"type": "Feature", "properties": {"type": "창", "layer": "door"},
+				    "geometry": {"type": "Polygon", "coordinates": [[[0, 0], [60, 0], [60, 10], [0, 10], [0, 0]]]}},
+				  {"type": "Feature", "properties": {"element": null, "name": "door"},
+				    "geometry": {"type": "LineString", "coordinates": [[0, 0], [1, 0]]}}
+				]}
+				""");
+
+		assertThat(sink.elements).containsExactly("door 45.0 0.0 90.0", "window 0.0 60.0 120.0",
+				"door 10.0 20.0 20.0", "window 30.0 5.0 60.0", "wall 0.0 0.0 1.0 0.0");
+	}
+
+	@Test
+	void readsSingleFeatureAndBareGeometry() throws IOException {
+		read("""
+				{"properties": {"kind": "door"}, "type": "Feature",
+				 "geometry": {"type": "LineString", "coordinates": [[0, 0], [2, 0]]}}
+				""");
+		read("""
+				{"coordinates": [[0, 0], [0, 3]], "type": "LineString"}
+				""");
+
+		assertThat(sink.elements).containsExactly("door 1.0 0.0 2.0", "wall 0.0 0.0 0.0 3.0");
+	}
+
+	@Test
+	void rejectsInvalidInput() {
+		assertThatThrownBy(() -> read("[]")).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("JSON object");
+		assertThatThrownBy(() -> read("""
+				{"type": "FeatureCollection", "features": {}}
+				""")).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("array");
+		assertThatThrownBy(() -> read("""
+				{"type": "LineString", "coordinates": [[0, 0], [1]]}
+				""")).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("position");
+	}
+
+	private void read(String json) throws IOException {
+		new GeoJsonPlanReader(new ObjectMapper())
+				.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), sink);
+	}
+}
@@ -0,0 +1,112 @@
+package com.example.SAFPE.service.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.SAFPE.repository.PlanElementJdbcRepository;
+import com.example.SAFPE.service.importer.PlanImporter.ImportResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 요소를 배치 크기마다 INSERT하고 마지막에 남은 요소를 내보내는지, 최대 요소 수를 넘으면 멈추는지 확인
+ */
+class PlanImporterTests {
+
+	private final PlanElementJdbcRepository planElementJdbcRepository = mock(PlanElementJdbcRepository.class);
+
+	// INSERT 호출마다 "종류 좌표..." (배열은 재사용되므로 호출 시점에 복사)
+	private final List<String> inserts = new ArrayList<>();
+
+	PlanImporterTests() {
+		doAnswer(invocation -> record("walls", invocation.getArgument(1), invocation.getArgument(2), 4))
+				.when(planElementJdbcRepository).insertWalls(eq(1L), any(double[].class), anyInt());
+		doAnswer(invocation -> record("doors", invocation.getArgument(1), invocation.getArgument(2), 3))
+				.when(planElementJdbcRepository).insertDoors(eq(1L), any(double[].class), anyInt());
+		doAnswer(invocation -> record("windows", invocation.getArgument(1), invocation.getArgument(2), 3))
+				.when(planElementJdbcRepository).insertWindows(eq(1L), any(double[].class), anyInt());
+	}
+
+	@Test
+	void insertsEveryBatchAndFlushesRemainder() throws IOException {
+		PlanImporter importer = new PlanImporter(planElementJdbcRepository, new ObjectMapper(), 2, 100);
+
+		// 벽 5개, 문 1개
+		ImportResult result = importer.importInto(1L, input("""
+				{"type": "FeatureCollection", "features": [
+				  {"type": "Feature", "geometry": {"type": "LineString",
+				    "coordinates": [[0, 0], [1, 0], [2, 0], [3, 0], [4, 0], [5, 0]]}},
+				  {"type": "Feature", "properties": {"kind": "door"},
+				    "geometry": {"type": "LineString", "coordinates": [[0, 0], [2, 0]]}}
+				]}
+				"""), PlanImportFormat.GEOJSON);
+
+		assertThat(inserts).containsExactly(
+				"walls [0.0, 0.0, 1.0, 0.0, 1.0, 0.0, 2.0, 0.0]",
+				"walls [2.0, 0.0, 3.0, 0.0, 3.0, 0.0, 4.0, 0.0]",
+				"walls [4.0, 0.0, 5.0, 0.0]",
+				"doors [1.0, 0.0, 2.0]",
+				"windows []");
+		assertThat(result.getWalls()).isEqualTo(5);
+		assertThat(result.getDoors()).isEqualTo(1);
+		assertThat(result.getWindows()).isZero();
+		assertThat(result.getUnit()).isNull();
+	}
+
+	@Test
+	void returnsDxfUnit() throws IOException {
+		PlanImporter importer = new PlanImporter(planElementJdbcRepository, new ObjectMapper(), 10, 100);
+
+		ImportResult result = importer.importInto(1L, input(String.join("\n", "0", "SECTION", "2", "HEADER",
+				"9", "$INSUNITS", "70", "6", "0", "ENDSEC",
+				"0", "SECTION", "2", "ENTITIES",
+				"0", "LINE", "8", "WINDOWS", "10", "0", "20", "0", "11", "4", "21", "0",
+				"0", "ENDSEC", "0", "EOF")), PlanImportFormat.DXF);
+
+		assertThat(result.getUnit()).isEqualTo("m");
+		assertThat(result.getWindows()).isEqualTo(1);
+		assertThat(inserts).containsExactly("walls []", "doors []", "windows [2.0, 0.0, 4.0]");
+	}
+
+	@Test
+	void stopsAtMaxElements() {
+		PlanImporter importer = new PlanImporter(planElementJdbcRepository, new ObjectMapper(), 2, 3);
+
+		assertThatThrownBy(() -> importer.importInto(1L, input("""
+				{"type": "LineString", "coordinates": [[0, 0], [1, 0], [2, 0], [3, 0], [4, 0]]}
+				"""), PlanImportFormat.GEOJSON))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("max 3");
+		// 한도 전의 배치만 INSERT되고, 나머지는 호출한 쪽 트랜잭션과 함께 롤백된다.
+		assertThat(inserts).containsExactly("walls [0.0, 0.0, 1.0, 0.0, 1.0, 0.0, 2.0, 0.0]");
+	}
+
+	@Test
+	void invalidJsonIsBadRequest() {
+		PlanImporter importer = new PlanImporter(planElementJdbcRepository, new ObjectMapper(), 2, 100);
+
+		assertThatThrownBy(() -> importer.importInto(1L, input("{\"type\": "), PlanImportFormat.GEOJSON))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageStartingWith("Invalid GeoJSON");
+	}
+
+	private Object record(String kind, double[] values, int count, int stride) {
+		inserts.add(kind + " " + Arrays.toString(Arrays.copyOf(values, count * stride)));
+		return null;
+	}
+
+	private static ByteArrayInputStream input(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
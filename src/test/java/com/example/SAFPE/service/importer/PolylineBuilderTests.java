@@ -0,0 +1,85 @@
+package com.example.SAFPE.service.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.SAFPE.dto.collab.PlanElementType;
+
+/**
+ * 점 목록이 벽(이웃한 두 점마다)과 문/창문(선 전체를 하나로)으로 바뀌는지 확인
+ */
+class PolylineBuilderTests {
+
+	private final RecordingSink sink = new RecordingSink();
+
+	@Test
+	void wallPerSegmentSkippingRepeatedPoints() {
+		PolylineBuilder polyline = new PolylineBuilder(PlanElementType.WALL, sink);
+		polyline.add(0, 0);
+		polyline.add(10, 0);
+		polyline.add(10, 0); // 같은 점
+		polyline.add(10, 5);
+		polyline.finish(false);
+
+		assertThat(sink.elements).containsExactly("wall 0.0 0.0 10.0 0.0", "wall 10.0 0.0 10.0 5.0");
+	}
+
+	@Test
+	void closedWallJoinsLastPointToFirst() {
+		PolylineBuilder polyline = new PolylineBuilder(PlanElementType.WALL, sink);
+		polyline.add(0, 0);
+		polyline.add(10, 0);
+		polyline.add(10, 10);
+		polyline.finish(true);
+
+		assertThat(sink.elements).containsExactly("wall 0.0 0.0 10.0 0.0", "wall 10.0 0.0 10.0 10.0",
+				"wall 10.0 10.0 0.0 0.0");
+	}
+
+	@Test
+	void closedWallAlreadyEndingAtFirstPointIsNotClosedAgain() {
+		PolylineBuilder polyline = new PolylineBuilder(PlanElementType.WALL, sink);
+		polyline.add(0, 0);
+		polyline.add(10, 0);
+		polyline.add(10, 10);
+		polyline.add(0, 0);
+		polyline.finish(true);
+
+		assertThat(sink.elements).hasSize(3).last().isEqualTo("wall 10.0 10.0 0.0 0.0");
+	}
+
+	@Test
+	void twoPointDoorIsMidpointAndLength() {
+		PolylineBuilder polyline = new PolylineBuilder(PlanElementType.DOOR, sink);
+		polyline.add(0, 0);
+		polyline.add(30, 40);
+		polyline.finish(false);
+
+		assertThat(sink.elements).containsExactly("door 15.0 20.0 50.0");
+	}
+
+	@Test
+	void multiPointWindowIsBoundingBoxCenterAndLongerSide() {
+		PolylineBuilder polyline = new PolylineBuilder(PlanElementType.WINDOW, sink);
+		polyline.add(0, 0);
+		polyline.add(100, 0);
+		polyline.add(100, 10);
+		polyline.add(0, 10);
+		polyline.finish(true);
+
+		assertThat(sink.elements).containsExactly("window 50.0 5.0 100.0");
+	}
+
+	@Test
+	void singlePointIsIgnored() {
+		PolylineBuilder wall = new PolylineBuilder(PlanElementType.WALL, sink);
+		wall.add(1, 1);
+		wall.finish(true);
+		PolylineBuilder door = new PolylineBuilder(PlanElementType.DOOR, sink);
+		door.add(1, 1);
+		door.finish(false);
+
+		assertThat(sink.elements).isEmpty();
+	}
+}
@@ -0,0 +1,27 @@
+package com.example.SAFPE.service.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 받은 요소를 "종류 좌표..." 문자열로 순서대로 기록하는 테스트용 sink
+ */
+class RecordingSink implements PlanElementSink {
+
+	final List<String> elements = new ArrayList<>();
+
+	@Override
+	public void wall(double startX, double startY, double endX, double endY) {
+		elements.add("wall " + startX + " " + startY + " " + endX + " " + endY);
+	}
+
+	@Override
+	public void door(double x, double y, double width) {
+		elements.add("door " + x + " " + y + " " + width);
+	}
+
+	@Override
+	public void window(double x, double y, double width) {
+		elements.add("window " + x + " " + y + " " + width);
+	}
+}
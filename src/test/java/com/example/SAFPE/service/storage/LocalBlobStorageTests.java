@@ -0,0 +1,74 @@
+package com.example.SAFPE.service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.SAFPE.config.FileStorageConfig;
+import com.example.SAFPE.exception.ResourceNotFoundException;
+
+/**
+ * 로컬 디스크 저장소의 디렉터리 분할과 기존(분할 전) 파일 조회 테스트
+ */
+class LocalBlobStorageTests {
+
+	@TempDir
+	Path uploadDir;
+
+	private LocalBlobStorage storage;
+
+	@BeforeEach
+	void setUp() {
+		FileStorageConfig config = new FileStorageConfig();
+		config.setUploadDir(uploadDir.toString());
+		storage = new LocalBlobStorage(config);
+	}
+
+	@Test
+	void writesIntoHashPrefixedDirectories() throws Exception {
+		byte[] content = "plan".getBytes(StandardCharsets.UTF_8);
+		storage.write("a_plan.png", new ByteArrayInputStream(content), content.length, "image/png");
+
+		Path path = storage.shardedPath("a_plan.png");
+		assertThat(uploadDir.relativize(path).getNameCount()).isEqualTo(3);
+		assertThat(Files.readAllBytes(path)).isEqualTo(content);
+		// 임시 파일이 남지 않아야 한다.
+		try (var files = Files.list(path.getParent())) {
+			assertThat(files).containsExactly(path);
+		}
+
+		StoredBlob blob = storage.open("a_plan.png");
+		try (InputStream in = blob.getContent()) {
+			assertThat(in.readAllBytes()).isEqualTo(content);
+		}
+		assertThat(blob.getSize()).isEqualTo(content.length);
+
+		storage.delete("a_plan.png");
+		assertThat(storage.exists("a_plan.png")).isFalse();
+	}
+
+	@Test
+	void readsFilesStoredBeforeSharding() throws Exception {
+		Files.writeString(uploadDir.resolve("old_plan.png"), "old");
+
+		assertThat(storage.exists("old_plan.png")).isTrue();
+		try (InputStream in = storage.open("old_plan.png").getContent()) {
+			assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("old");
+		}
+	}
+
+	@Test
+	void rejectsKeysOutsideTheUploadDirectory() {
+		assertThatThrownBy(() -> storage.open("../secret")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> storage.open("missing.png")).isInstanceOf(ResourceNotFoundException.class);
+	}
+}
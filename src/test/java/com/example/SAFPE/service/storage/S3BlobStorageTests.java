@@ -0,0 +1,141 @@
+package com.example.SAFPE.service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.example.SAFPE.controller.UploadController;
+import com.example.SAFPE.exception.ResourceNotFoundException;
+import com.example.SAFPE.service.FileStorageService;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * MinIO 컨테이너에 저장, 조회, 서명된 URL 리다이렉트, 목록, 삭제가 되는지 확인 (Docker가 없으면 건너뜀)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class S3BlobStorageTests {
+
+	private static final String REGION = "us-east-1";
+
+	@Container
+	private static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2024-06-13T22-53-53Z");
+
+	private static final AtomicInteger BUCKETS = new AtomicInteger();
+
+	// 버킷 생성용 (S3BlobStorage는 이미 있는 버킷을 씀)
+	private static S3Client admin;
+
+	private S3BlobStorage storage;
+
+	@BeforeAll
+	static void connect() {
+		admin = S3Client.builder().region(Region.of(REGION)).endpointOverride(URI.create(MINIO.getS3URL()))
+				.credentialsProvider(StaticCredentialsProvider
+						.create(AwsBasicCredentials.create(MINIO.getUserName(), MINIO.getPassword())))
+				.forcePathStyle(true).build();
+	}
+
+	@AfterAll
+	static void disconnect() {
+		admin.close();
+	}
+
+	// 테스트마다 빈 버킷
+	@BeforeEach
+	void setUp() {
+		String bucket = "uploads-" + BUCKETS.incrementAndGet();
+		admin.createBucket(request -> request.bucket(bucket));
+		storage = new S3BlobStorage(bucket, REGION, MINIO.getS3URL(), MINIO.getUserName(), MINIO.getPassword(), true,
+				60);
+	}
+
+	@AfterEach
+	void tearDown() {
+		storage.close();
+	}
+
+	@Test
+	void writesAndOpens() throws Exception {
+		byte[] content = "plan".getBytes(StandardCharsets.UTF_8);
+		storage.write("a_plan.png", new ByteArrayInputStream(content), content.length, "image/png");
+
+		assertThat(storage.exists("a_plan.png")).isTrue();
+		StoredBlob blob = storage.open("a_plan.png");
+		try (InputStream in = blob.getContent()) {
+			assertThat(in.readAllBytes()).isEqualTo(content);
+		}
+		assertThat(blob.getSize()).isEqualTo(content.length);
+		assertThat(blob.getContentType()).isEqualTo("image/png");
+	}
+
+	@Test
+	void missingObjectIsNotFound() {
+		assertThat(storage.exists("missing.png")).isFalse();
+		assertThatThrownBy(() -> storage.open("missing.png")).isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	@Test
+	void uploadsRedirectToPresignedUrl() throws Exception {
+		FileStorageService fileStorageService = new FileStorageService(storage);
+		String fileName = fileStorageService.storeFile("plan".getBytes(StandardCharsets.UTF_8), "plan.png");
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new UploadController(fileStorageService)).build();
+
+		String location = mockMvc.perform(get("/uploads/" + fileName)).andExpect(status().isFound())
+				.andExpect(header().string("Cache-Control", "no-store")).andReturn().getResponse()
+				.getHeader("Location");
+
+		assertThat(location).startsWith(MINIO.getS3URL()).contains("X-Amz-Expires=60");
+		// 클라이언트는 서버를 거치지 않고 저장소에서 바로 받는다.
+		HttpResponse<String> response = HttpClient.newHttpClient()
+				.send(HttpRequest.newBuilder(URI.create(location)).build(), HttpResponse.BodyHandlers.ofString());
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.body()).isEqualTo("plan");
+		assertThat(response.headers().firstValue("Content-Type")).hasValue("image/png");
+	}
+
+	@Test
+	void listsAndDeletes() throws Exception {
+		for (String key : List.of("a.png", "b.svg", "c.dxf")) {
+			byte[] content = key.getBytes(StandardCharsets.UTF_8);
+			storage.write(key, new ByteArrayInputStream(content), content.length, "application/octet-stream");
+		}
+
+		assertThat(storage.list()).extracting(BlobEntry::getKey, BlobEntry::getSize)
+				.containsExactlyInAnyOrder(tuple("a.png", 5L), tuple("b.svg", 5L), tuple("c.dxf", 5L));
+		assertThat(storage.list()).allSatisfy(entry -> assertThat(entry.getLastModified()).isNotNull());
+
+		storage.delete("b.svg");
+		storage.delete("missing.png"); // 없는 파일을 지워도 오류가 아님
+
+		assertThat(storage.exists("b.svg")).isFalse();
+		assertThat(storage.list()).extracting(BlobEntry::getKey).containsExactlyInAnyOrder("a.png", "c.dxf");
+	}
+}